@@ -0,0 +1,28 @@
+package com.zentry.app;
+
+import android.app.Application;
+import android.os.Trace;
+
+import com.zentry.app.network.NetworkConfig;
+import com.zentry.app.network.NetworkModule;
+
+/**
+ * Application của app - chỉ làm những việc rẻ trên main thread khi khởi động.
+ * Network stack được dựng lazy, có thể prewarm trên background thread.
+ */
+public class ZentryApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        Trace.beginSection("ZentryApplication.onCreate");
+        try {
+            super.onCreate();
+
+            if (NetworkConfig.PREWARM_NETWORK_ON_STARTUP) {
+                NetworkModule.prewarm(this);
+            }
+        } finally {
+            Trace.endSection();
+        }
+    }
+}
@@ -1,4 +1,258 @@
 package com.zentry.app.adapter;
 
-public class AttendanceAdapter {
+import android.graphics.Color;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AdapterListUpdateCallback;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.zentry.app.R;
+import com.zentry.app.model.entity.AttendanceStatus;
+import com.zentry.app.model.response.AttendanceRecordModel;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Danh sách lịch sử điểm danh (có thể hàng nghìn dòng), tải theo trang từ {@link AttendancePagingSource}.
+ * - Trang tiếp theo được tải khi bind tới gần cuối danh sách
+ * - Diff giữa danh sách cũ và mới chạy trên background thread (AsyncListDiffer)
+ * - Stable ID từ id của record để RecyclerView chỉ animate các dòng thực sự đổi
+ * - bind() chỉ gán lại String/int có sẵn, không cấp phát object mới
+ * Mọi method public gọi trên main thread.
+ */
+public class AttendanceAdapter extends RecyclerView.Adapter<AttendanceAdapter.RecordViewHolder> {
+    private static final String TAG = "AttendanceAdapter";
+
+    public static final int VIEW_TYPE_RECORD = 0;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int PREFETCH_DISTANCE = 20; // Còn chừng này dòng chưa hiển thị thì tải trang tiếp
+    private static final int RECYCLED_RECORD_VIEWS = 24; // Đủ cho một màn hình + fling
+
+    static final String[] STATUS_LABELS = {"Absent", "Present", "Late"}; // theo AttendanceStatus.ordinal()
+    static final int[] STATUS_COLORS = {
+            Color.rgb(0xC6, 0x28, 0x28),
+            Color.rgb(0x2E, 0x7D, 0x32),
+            Color.rgb(0xEF, 0x6C, 0x00),
+    };
+
+    static final DiffUtil.ItemCallback<AttendanceRecordModel> DIFF_CALLBACK =
+            new DiffUtil.ItemCallback<AttendanceRecordModel>() {
+                @Override
+                public boolean areItemsTheSame(@NonNull AttendanceRecordModel oldItem,
+                                               @NonNull AttendanceRecordModel newItem) {
+                    return Objects.equals(oldItem.getId(), newItem.getId());
+                }
+
+                @Override
+                public boolean areContentsTheSame(@NonNull AttendanceRecordModel oldItem,
+                                                  @NonNull AttendanceRecordModel newItem) {
+                    return oldItem.getStatus() == newItem.getStatus()
+                            && Objects.equals(oldItem.getCourseCode(), newItem.getCourseCode())
+                            && Objects.equals(oldItem.getStudentName(), newItem.getStudentName())
+                            && Objects.equals(oldItem.getSessionDate(), newItem.getSessionDate());
+                }
+            };
+
+    private static final Executor LOAD_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "attendance-paging");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Executor DIFF_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "attendance-diff");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AttendancePagingSource source;
+    private final int pageSize;
+    private final Executor loadExecutor;
+    private final AsyncListDiffer<AttendanceRecordModel> differ;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // Chỉ truy cập trên main thread
+    private List<AttendanceRecordModel> loaded = Collections.emptyList(); // danh sách submit gần nhất
+    private boolean loading;
+    private boolean endReached;
+    private boolean failed;
+    private int generation; // tăng khi refresh để bỏ trang của lần tải trước
+    private int createdViewHolders;
+
+    public AttendanceAdapter(AttendancePagingSource source) {
+        this(source, DEFAULT_PAGE_SIZE, LOAD_EXECUTOR, DIFF_EXECUTOR, DIFF_CALLBACK);
+    }
+
+    AttendanceAdapter(AttendancePagingSource source, int pageSize, Executor loadExecutor, Executor diffExecutor,
+                      DiffUtil.ItemCallback<AttendanceRecordModel> itemCallback) {
+        this.source = source;
+        this.pageSize = pageSize;
+        this.loadExecutor = loadExecutor;
+        this.differ = new AsyncListDiffer<>(new AdapterListUpdateCallback(this),
+                new AsyncDifferConfig.Builder<>(itemCallback)
+                        .setBackgroundThreadExecutor(diffExecutor)
+                        .build());
+        setHasStableIds(true);
+    }
+
+    /**
+     * Cấu hình RecyclerView cho adapter: kích thước cố định, pool ViewHolder đủ lớn để
+     * scroll nhanh không phải inflate thêm
+     */
+    public static void configure(RecyclerView recyclerView) {
+        recyclerView.setHasFixedSize(true);
+        recyclerView.getRecycledViewPool().setMaxRecycledViews(VIEW_TYPE_RECORD, RECYCLED_RECORD_VIEWS);
+    }
+
+    /**
+     * Tải lại từ đầu; danh sách cũ vẫn hiển thị cho tới khi có trang đầu mới
+     */
+    public void refresh() {
+        generation++;
+        loaded = Collections.emptyList();
+        loading = false;
+        endReached = false;
+        failed = false;
+        loadNextPage();
+    }
+
+    /**
+     * Thử lại sau khi tải trang lỗi
+     */
+    public void retry() {
+        failed = false;
+        loadNextPage();
+    }
+
+    @Override
+    public int getItemCount() {
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return VIEW_TYPE_RECORD;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return stableId(differ.getCurrentList().get(position).getId());
+    }
+
+    @NonNull
+    @Override
+    public RecordViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        createdViewHolders++;
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_attendance_record, parent, false);
+        return new RecordViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecordViewHolder holder, int position) {
+        holder.bind(differ.getCurrentList().get(position));
+        if (position >= getItemCount() - PREFETCH_DISTANCE) {
+            loadNextPage();
+        }
+    }
+
+    /**
+     * Số ViewHolder đã inflate - dùng để kiểm tra scroll có tái sử dụng holder không
+     */
+    int getCreatedViewHolderCount() {
+        return createdViewHolders;
+    }
+
+    private void loadNextPage() {
+        if (loading || endReached || failed) {
+            return;
+        }
+        loading = true;
+        int requestGeneration = generation;
+        int offset = loaded.size();
+        loadExecutor.execute(() -> {
+            try {
+                List<AttendanceRecordModel> page = source.load(offset, pageSize);
+                mainHandler.post(() -> onPageLoaded(requestGeneration, page));
+            } catch (IOException e) {
+                mainHandler.post(() -> onPageFailed(requestGeneration, e));
+            }
+        });
+    }
+
+    private void onPageLoaded(int requestGeneration, List<AttendanceRecordModel> page) {
+        if (requestGeneration != generation) {
+            return;
+        }
+        loading = false;
+        if (page.size() < pageSize) {
+            endReached = true;
+        }
+        List<AttendanceRecordModel> next = new ArrayList<>(loaded.size() + page.size());
+        next.addAll(loaded);
+        next.addAll(page);
+        loaded = next;
+        differ.submitList(next);
+    }
+
+    private void onPageFailed(int requestGeneration, IOException e) {
+        if (requestGeneration != generation) {
+            return;
+        }
+        loading = false;
+        failed = true; // Dừng tự tải khi scroll cho tới khi retry()
+        Log.w(TAG, "Failed to load attendance page at " + loaded.size(), e);
+    }
+
+    /**
+     * Hash 64-bit (FNV-1a) của id record - không cấp phát, va chạm gần như không thể với vài nghìn dòng
+     */
+    static long stableId(String id) {
+        if (id == null) {
+            return RecyclerView.NO_ID;
+        }
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            hash ^= id.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    static final class RecordViewHolder extends RecyclerView.ViewHolder {
+        private final TextView tvCourseCode;
+        private final TextView tvDetail;
+        private final TextView tvStatus;
+
+        RecordViewHolder(@NonNull View itemView) {
+            super(itemView);
+            tvCourseCode = itemView.findViewById(R.id.tv_course_code);
+            tvDetail = itemView.findViewById(R.id.tv_detail);
+            tvStatus = itemView.findViewById(R.id.tv_status);
+        }
+
+        void bind(AttendanceRecordModel record) {
+            tvCourseCode.setText(record.getCourseCode());
+            // Lịch sử của giảng viên có tên sinh viên, của sinh viên thì hiện ngày
+            tvDetail.setText(record.getStudentName() != null ? record.getStudentName() : record.getSessionDate());
+            AttendanceStatus status = record.getStatus();
+            tvStatus.setText(STATUS_LABELS[status.ordinal()]);
+            tvStatus.setTextColor(STATUS_COLORS[status.ordinal()]);
+        }
+    }
 }
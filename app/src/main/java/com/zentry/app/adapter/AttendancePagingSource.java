@@ -0,0 +1,18 @@
+package com.zentry.app.adapter;
+
+import com.zentry.app.model.response.AttendanceRecordModel;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Nguồn dữ liệu theo trang cho {@link AttendanceAdapter}
+ */
+public interface AttendancePagingSource {
+    /**
+     * Tải một trang - luôn được gọi trên background thread
+     *
+     * @return tối đa limit dòng; ít hơn limit nghĩa là đã hết dữ liệu
+     */
+    List<AttendanceRecordModel> load(int offset, int limit) throws IOException;
+}
@@ -0,0 +1,102 @@
+package com.zentry.app.adapter;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.zentry.app.R;
+import com.zentry.app.model.entity.AttendanceStatus;
+import com.zentry.app.model.roster.AttendanceRoster;
+
+import java.util.function.IntFunction;
+
+/**
+ * Danh sách điểm danh live của một buổi học, đọc trạng thái thẳng từ {@link AttendanceRoster}.
+ * - Mỗi dòng là một index của roster nên stable ID chính là index
+ * - applyChanges() chỉ bind lại các dòng roster báo đã đổi, không diff cả danh sách
+ * - Chạm vào dòng để giảng viên đổi trạng thái của sinh viên
+ * Mọi method public gọi trên main thread.
+ */
+public class SessionRosterAdapter extends RecyclerView.Adapter<SessionRosterAdapter.RowViewHolder> {
+
+    public interface OnRowClickListener {
+        void onRowClick(int index);
+    }
+
+    private final AttendanceRoster roster;
+    private final IntFunction<String> studentNames;
+    private final OnRowClickListener listener;
+
+    public SessionRosterAdapter(AttendanceRoster roster, IntFunction<String> studentNames,
+                                OnRowClickListener listener) {
+        this.roster = roster;
+        this.studentNames = studentNames;
+        this.listener = listener;
+        setHasStableIds(true);
+    }
+
+    /**
+     * Bind lại các dòng đổi trạng thái từ lần gọi trước
+     */
+    public void applyChanges() {
+        for (int index : roster.drainChanges()) {
+            notifyItemChanged(index);
+        }
+    }
+
+    @Override
+    public int getItemCount() {
+        return roster.size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return position;
+    }
+
+    @NonNull
+    @Override
+    public RowViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_attendance_record, parent, false);
+        RowViewHolder holder = new RowViewHolder(view);
+        view.setOnClickListener(v -> {
+            int position = holder.getBindingAdapterPosition();
+            if (position != RecyclerView.NO_POSITION) {
+                listener.onRowClick(position);
+            }
+        });
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RowViewHolder holder, int position) {
+        String studentId = roster.studentIdAt(position);
+        String name = studentNames.apply(position);
+        holder.bind(name != null ? name : studentId, studentId, roster.getStatus(position));
+    }
+
+    static final class RowViewHolder extends RecyclerView.ViewHolder {
+        private final TextView tvName;
+        private final TextView tvStudentId;
+        private final TextView tvStatus;
+
+        RowViewHolder(@NonNull View itemView) {
+            super(itemView);
+            tvName = itemView.findViewById(R.id.tv_course_code);
+            tvStudentId = itemView.findViewById(R.id.tv_detail);
+            tvStatus = itemView.findViewById(R.id.tv_status);
+        }
+
+        void bind(String name, String studentId, AttendanceStatus status) {
+            tvName.setText(name);
+            tvStudentId.setText(studentId);
+            tvStatus.setText(AttendanceAdapter.STATUS_LABELS[status.ordinal()]);
+            tvStatus.setTextColor(AttendanceAdapter.STATUS_COLORS[status.ordinal()]);
+        }
+    }
+}
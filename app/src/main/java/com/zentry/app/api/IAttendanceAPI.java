@@ -0,0 +1,81 @@
+package com.zentry.app.api;
+
+import com.zentry.app.model.request.CheckInBatchRequest;
+import com.zentry.app.model.request.MarkAttendanceRequest;
+import com.zentry.app.model.response.AttendanceRecordModel;
+import com.zentry.app.model.response.CheckInCodeSecretModel;
+import com.zentry.app.network.CachePolicy;
+import com.zentry.app.network.Deferrable;
+import com.zentry.app.network.DeviceBound;
+
+import java.util.List;
+
+import retrofit2.Call;
+import retrofit2.http.Body;
+import retrofit2.http.GET;
+import retrofit2.http.POST;
+import retrofit2.http.PUT;
+import retrofit2.http.Path;
+import retrofit2.http.Query;
+
+public interface IAttendanceAPI {
+    /**
+     * Gửi nhiều check-in một lần. Server dedupe theo idempotencyKey của từng check-in
+     * nên gửi lại cùng một batch là an toàn.
+     * Upload nền nên được giữ lại khi offline và gom batch khi online.
+     * Server chỉ nhận check-in từ thiết bị đã đăng ký.
+     */
+    @Deferrable
+    @DeviceBound
+    @POST("api/attendance/check-ins/batch")
+    Call<Void> submitCheckIns(@Body CheckInBatchRequest request);
+
+    /**
+     * Lịch sử điểm danh theo trang: của sinh viên (cả học kỳ) hoặc của mọi buổi giảng viên dạy,
+     * server xác định theo token. Trang ít hơn limit dòng là trang cuối.
+     * Đổi sau mỗi buổi điểm danh: mới trong 30 giây, bản cũ tối đa 5 phút trong lúc revalidate
+     */
+    @CachePolicy(maxAgeSeconds = 30, staleWhileRevalidateSeconds = 300)
+    @GET("api/attendance/history")
+    Call<List<AttendanceRecordModel>> getHistory(@Query("offset") int offset, @Query("limit") int limit);
+
+    /**
+     * Record được tạo hoặc sửa sau con trỏ (updatedAfter, afterId), sắp tăng dần theo updatedAt rồi id.
+     * Dùng để sync thống kê tăng dần - không cache. Trang ít hơn limit dòng là trang cuối.
+     *
+     * @param afterId id của record cuối cùng đã sync, rỗng nếu chưa sync lần nào
+     */
+    @GET("api/attendance/history/changes")
+    Call<List<AttendanceRecordModel>> getHistoryChanges(@Query("updatedAfter") long updatedAfter,
+                                                        @Query("afterId") String afterId,
+                                                        @Query("limit") int limit);
+
+    /**
+     * Toàn bộ record điểm danh của một môn theo trang (export báo cáo cho phòng đào tạo)
+     */
+    @GET("api/attendance/courses/{courseCode}/records")
+    Call<List<AttendanceRecordModel>> getCourseRecords(@Path("courseCode") String courseCode,
+                                                       @Query("offset") int offset, @Query("limit") int limit);
+
+    /**
+     * Danh sách điểm danh của một buổi: mỗi sinh viên của lớp một dòng, chưa check-in là ABSENT.
+     * Giảng viên tải lại định kỳ khi đang chiếu mã - không cache
+     */
+    @GET("api/attendance/sessions/{sessionId}/records")
+    Call<List<AttendanceRecordModel>> getSessionRecords(@Path("sessionId") String sessionId);
+
+    /**
+     * Giảng viên đặt trạng thái cho một sinh viên của buổi (đi muộn, điểm danh hộ khi không quét được mã).
+     * Gửi lại cùng trạng thái là an toàn
+     */
+    @PUT("api/attendance/sessions/{sessionId}/records/{studentId}")
+    Call<Void> markAttendance(@Path("sessionId") String sessionId, @Path("studentId") String studentId,
+                              @Body MarkAttendanceRequest request);
+
+    /**
+     * Mở điểm danh cho buổi học: server cấp secret để máy giảng viên tự sinh mã QR xoay vòng,
+     * server kiểm tra mã sinh viên gửi lên bằng cùng secret
+     */
+    @POST("api/attendance/sessions/{sessionId}/check-in-code")
+    Call<CheckInCodeSecretModel> startCheckInCode(@Path("sessionId") String sessionId);
+}
@@ -2,12 +2,13 @@ package com.zentry.app.api;
 
 import com.zentry.app.model.request.LoginRequest;
 import com.zentry.app.model.response.TokenModel;
+import com.zentry.app.network.NetworkConfig;
 
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.POST;
 
 public interface IAuthenticationAPI {
-    @POST("api/auth/sign-in")
+    @POST(NetworkConfig.AUTH_LOGIN_ENDPOINT)
     Call<TokenModel> login(@Body LoginRequest request);
 }
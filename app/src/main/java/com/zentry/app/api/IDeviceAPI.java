@@ -0,0 +1,17 @@
+package com.zentry.app.api;
+
+import com.zentry.app.model.request.RegisterDeviceRequest;
+import com.zentry.app.model.response.RegisteredDeviceModel;
+
+import retrofit2.Call;
+import retrofit2.http.Body;
+import retrofit2.http.POST;
+
+public interface IDeviceAPI {
+    /**
+     * Gắn thiết bị với tài khoản đang đăng nhập. Mỗi tài khoản chỉ có một thiết bị điểm danh;
+     * thiết bị đã gắn với tài khoản khác trả về 409.
+     */
+    @POST("api/devices/register")
+    Call<RegisteredDeviceModel> register(@Body RegisterDeviceRequest request);
+}
@@ -0,0 +1,31 @@
+package com.zentry.app.api;
+
+import com.zentry.app.model.response.ClassSessionModel;
+import com.zentry.app.network.CachePolicy;
+import com.zentry.app.network.Hedge;
+
+import java.util.List;
+
+import retrofit2.Call;
+import retrofit2.http.GET;
+
+public interface IScheduleAPI {
+    /**
+     * Các buổi học hôm nay của sinh viên đang đăng nhập
+     * Hedge: màn hình home chờ request này, request chậm bất thường được gửi lại.
+     * Lịch trong ngày ít đổi: mới trong 1 phút, sau đó trả bản cũ (tối đa 1 giờ) và revalidate nền
+     */
+    @Hedge
+    @CachePolicy(maxAgeSeconds = 60, staleWhileRevalidateSeconds = 3600)
+    @GET("api/schedules/student/today")
+    Call<List<ClassSessionModel>> getTodaySessions();
+
+    /**
+     * Lịch dạy sắp tới của giảng viên đang đăng nhập.
+     * Đổi theo học kỳ: mới trong 5 phút, bản cũ dùng được tới 1 ngày trong lúc revalidate
+     */
+    @Hedge
+    @CachePolicy(maxAgeSeconds = 300, staleWhileRevalidateSeconds = 86400)
+    @GET("api/schedules/lecturer/teaching")
+    Call<List<ClassSessionModel>> getTeachingSchedule();
+}
@@ -0,0 +1,10 @@
+package com.zentry.app.model.entity;
+
+/**
+ * Trạng thái điểm danh của một sinh viên trong buổi học
+ */
+public enum AttendanceStatus {
+    ABSENT,
+    PRESENT,
+    LATE,
+}
@@ -0,0 +1,13 @@
+package com.zentry.app.model.request;
+
+import java.util.List;
+
+public class CheckInBatchRequest {
+    private List<CheckInRequest> checkIns;
+
+    public CheckInBatchRequest(List<CheckInRequest> checkIns) {
+        this.checkIns = checkIns;
+    }
+
+    public List<CheckInRequest> getCheckIns() { return checkIns; }
+}
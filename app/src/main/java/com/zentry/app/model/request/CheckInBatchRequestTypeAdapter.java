@@ -0,0 +1,59 @@
+package com.zentry.app.model.request;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming adapter cho CheckInBatchRequest (không dùng reflection)
+ */
+public class CheckInBatchRequestTypeAdapter extends TypeAdapter<CheckInBatchRequest> {
+    private final CheckInRequestTypeAdapter itemAdapter = new CheckInRequestTypeAdapter();
+
+    @Override
+    public void write(JsonWriter out, CheckInBatchRequest value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("checkIns").beginArray();
+        for (CheckInRequest checkIn : value.getCheckIns()) {
+            itemAdapter.write(out, checkIn);
+        }
+        out.endArray();
+        out.endObject();
+    }
+
+    @Override
+    public CheckInBatchRequest read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        List<CheckInRequest> checkIns = new ArrayList<>();
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if ("checkIns".equals(name) && in.peek() == JsonToken.BEGIN_ARRAY) {
+                in.beginArray();
+                while (in.hasNext()) {
+                    checkIns.add(itemAdapter.read(in));
+                }
+                in.endArray();
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new CheckInBatchRequest(checkIns);
+    }
+}
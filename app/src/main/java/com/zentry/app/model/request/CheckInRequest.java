@@ -0,0 +1,27 @@
+package com.zentry.app.model.request;
+
+/**
+ * Một check-in của sinh viên. step là bước thời gian của mã QR đã quét để server kiểm tra mã
+ * theo đúng step đó khi check-in được upload trễ (offline, gom batch)
+ */
+public class CheckInRequest {
+    private String idempotencyKey;
+    private String sessionId;
+    private long step;
+    private String code;
+    private long checkedInAt;
+
+    public CheckInRequest(String idempotencyKey, String sessionId, long step, String code, long checkedInAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.sessionId = sessionId;
+        this.step = step;
+        this.code = code;
+        this.checkedInAt = checkedInAt;
+    }
+
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public String getSessionId() { return sessionId; }
+    public long getStep() { return step; }
+    public String getCode() { return code; }
+    public long getCheckedInAt() { return checkedInAt; }
+}
@@ -0,0 +1,75 @@
+package com.zentry.app.model.request;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Streaming adapter cho CheckInRequest (không dùng reflection)
+ */
+public class CheckInRequestTypeAdapter extends TypeAdapter<CheckInRequest> {
+
+    @Override
+    public void write(JsonWriter out, CheckInRequest value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("idempotencyKey").value(value.getIdempotencyKey());
+        out.name("sessionId").value(value.getSessionId());
+        out.name("step").value(value.getStep());
+        out.name("code").value(value.getCode());
+        out.name("checkedInAt").value(value.getCheckedInAt());
+        out.endObject();
+    }
+
+    @Override
+    public CheckInRequest read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String idempotencyKey = null;
+        String sessionId = null;
+        long step = 0;
+        String code = null;
+        long checkedInAt = 0;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "idempotencyKey":
+                    idempotencyKey = in.nextString();
+                    break;
+                case "sessionId":
+                    sessionId = in.nextString();
+                    break;
+                case "step":
+                    step = in.nextLong();
+                    break;
+                case "code":
+                    code = in.nextString();
+                    break;
+                case "checkedInAt":
+                    checkedInAt = in.nextLong();
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+
+        return new CheckInRequest(idempotencyKey, sessionId, step, code, checkedInAt);
+    }
+}
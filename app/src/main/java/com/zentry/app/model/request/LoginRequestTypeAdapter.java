@@ -0,0 +1,60 @@
+package com.zentry.app.model.request;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Streaming adapter cho LoginRequest (không dùng reflection)
+ */
+public class LoginRequestTypeAdapter extends TypeAdapter<LoginRequest> {
+
+    @Override
+    public void write(JsonWriter out, LoginRequest value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("userName").value(value.getUserName());
+        out.name("password").value(value.getPassword());
+        out.endObject();
+    }
+
+    @Override
+    public LoginRequest read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String userName = null;
+        String password = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "userName":
+                    userName = in.nextString();
+                    break;
+                case "password":
+                    password = in.nextString();
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+
+        return new LoginRequest(userName, password);
+    }
+}
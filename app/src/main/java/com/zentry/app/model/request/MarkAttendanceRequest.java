@@ -0,0 +1,13 @@
+package com.zentry.app.model.request;
+
+import com.zentry.app.model.entity.AttendanceStatus;
+
+public class MarkAttendanceRequest {
+    private AttendanceStatus status;
+
+    public MarkAttendanceRequest(AttendanceStatus status) {
+        this.status = status;
+    }
+
+    public AttendanceStatus getStatus() { return status; }
+}
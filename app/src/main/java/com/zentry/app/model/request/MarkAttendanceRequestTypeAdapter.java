@@ -0,0 +1,53 @@
+package com.zentry.app.model.request;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.zentry.app.model.entity.AttendanceStatus;
+
+import java.io.IOException;
+
+/**
+ * Streaming adapter cho MarkAttendanceRequest (không dùng reflection)
+ */
+public class MarkAttendanceRequestTypeAdapter extends TypeAdapter<MarkAttendanceRequest> {
+
+    @Override
+    public void write(JsonWriter out, MarkAttendanceRequest value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("status").value(value.getStatus() != null ? value.getStatus().name() : null);
+        out.endObject();
+    }
+
+    @Override
+    public MarkAttendanceRequest read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        AttendanceStatus status = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if ("status".equals(name) && in.peek() != JsonToken.NULL) {
+                try {
+                    status = AttendanceStatus.valueOf(in.nextString());
+                } catch (IllegalArgumentException e) {
+                    status = null;
+                }
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new MarkAttendanceRequest(status);
+    }
+}
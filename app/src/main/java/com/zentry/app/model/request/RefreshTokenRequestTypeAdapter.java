@@ -0,0 +1,48 @@
+package com.zentry.app.model.request;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Streaming adapter cho RefreshTokenRequest (không dùng reflection)
+ */
+public class RefreshTokenRequestTypeAdapter extends TypeAdapter<RefreshTokenRequest> {
+
+    @Override
+    public void write(JsonWriter out, RefreshTokenRequest value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("refreshToken").value(value.getRefreshToken());
+        out.endObject();
+    }
+
+    @Override
+    public RefreshTokenRequest read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String refreshToken = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if ("refreshToken".equals(name) && in.peek() != JsonToken.NULL) {
+                refreshToken = in.nextString();
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new RefreshTokenRequest(refreshToken);
+    }
+}
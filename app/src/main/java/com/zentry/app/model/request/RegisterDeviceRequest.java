@@ -0,0 +1,26 @@
+package com.zentry.app.model.request;
+
+import java.util.List;
+
+/**
+ * Đăng ký thiết bị với server: fingerprint cùng public key và chuỗi chứng chỉ attestation
+ * của key trong Android Keystore để server xác minh key nằm trên thiết bị thật
+ */
+public class RegisterDeviceRequest {
+    private String fingerprint;
+    private String deviceName;
+    private String publicKey; // Base64, null nếu thiết bị không có Keystore
+    private List<String> attestationChain; // Base64 DER, lá trước
+
+    public RegisterDeviceRequest(String fingerprint, String deviceName, String publicKey, List<String> attestationChain) {
+        this.fingerprint = fingerprint;
+        this.deviceName = deviceName;
+        this.publicKey = publicKey;
+        this.attestationChain = attestationChain;
+    }
+
+    public String getFingerprint() { return fingerprint; }
+    public String getDeviceName() { return deviceName; }
+    public String getPublicKey() { return publicKey; }
+    public List<String> getAttestationChain() { return attestationChain; }
+}
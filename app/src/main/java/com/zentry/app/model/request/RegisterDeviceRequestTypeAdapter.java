@@ -0,0 +1,82 @@
+package com.zentry.app.model.request;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming adapter cho RegisterDeviceRequest (không dùng reflection)
+ */
+public class RegisterDeviceRequestTypeAdapter extends TypeAdapter<RegisterDeviceRequest> {
+
+    @Override
+    public void write(JsonWriter out, RegisterDeviceRequest value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("fingerprint").value(value.getFingerprint());
+        out.name("deviceName").value(value.getDeviceName());
+        out.name("publicKey").value(value.getPublicKey());
+        out.name("attestationChain").beginArray();
+        if (value.getAttestationChain() != null) {
+            for (String certificate : value.getAttestationChain()) {
+                out.value(certificate);
+            }
+        }
+        out.endArray();
+        out.endObject();
+    }
+
+    @Override
+    public RegisterDeviceRequest read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String fingerprint = null;
+        String deviceName = null;
+        String publicKey = null;
+        List<String> attestationChain = new ArrayList<>();
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "fingerprint":
+                    fingerprint = in.nextString();
+                    break;
+                case "deviceName":
+                    deviceName = in.nextString();
+                    break;
+                case "publicKey":
+                    publicKey = in.nextString();
+                    break;
+                case "attestationChain":
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        attestationChain.add(in.nextString());
+                    }
+                    in.endArray();
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+
+        return new RegisterDeviceRequest(fingerprint, deviceName, publicKey, attestationChain);
+    }
+}
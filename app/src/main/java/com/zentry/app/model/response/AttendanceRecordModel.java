@@ -0,0 +1,44 @@
+package com.zentry.app.model.response;
+
+import com.zentry.app.model.entity.AttendanceStatus;
+
+/**
+ * Một dòng lịch sử điểm danh (một sinh viên trong một buổi học).
+ * sessionDate dạng yyyy-MM-dd; updatedAt là lần tạo/sửa gần nhất trên server (epoch millis, 0 nếu không có)
+ */
+public class AttendanceRecordModel {
+    private String id;
+    private String sessionId;
+    private String courseCode;
+    private String studentId;
+    private String studentName;
+    private String sessionDate;
+    private AttendanceStatus status;
+    private long updatedAt;
+
+    public AttendanceRecordModel(String id, String sessionId, String courseCode, String studentId,
+                                 String studentName, String sessionDate, AttendanceStatus status) {
+        this(id, sessionId, courseCode, studentId, studentName, sessionDate, status, 0);
+    }
+
+    public AttendanceRecordModel(String id, String sessionId, String courseCode, String studentId,
+                                 String studentName, String sessionDate, AttendanceStatus status, long updatedAt) {
+        this.id = id;
+        this.sessionId = sessionId;
+        this.courseCode = courseCode;
+        this.studentId = studentId;
+        this.studentName = studentName;
+        this.sessionDate = sessionDate;
+        this.status = status;
+        this.updatedAt = updatedAt;
+    }
+
+    public String getId() { return id; }
+    public String getSessionId() { return sessionId; }
+    public String getCourseCode() { return courseCode; }
+    public String getStudentId() { return studentId; }
+    public String getStudentName() { return studentName; }
+    public String getSessionDate() { return sessionDate; }
+    public AttendanceStatus getStatus() { return status; }
+    public long getUpdatedAt() { return updatedAt; }
+}
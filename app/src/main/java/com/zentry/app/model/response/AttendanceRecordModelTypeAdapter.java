@@ -0,0 +1,110 @@
+package com.zentry.app.model.response;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.zentry.app.model.entity.AttendanceStatus;
+
+import java.io.IOException;
+
+/**
+ * Streaming adapter cho AttendanceRecordModel (không dùng reflection).
+ * Status không nhận ra được coi là ABSENT.
+ */
+public class AttendanceRecordModelTypeAdapter extends TypeAdapter<AttendanceRecordModel> {
+
+    @Override
+    public void write(JsonWriter out, AttendanceRecordModel value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("id").value(value.getId());
+        out.name("sessionId").value(value.getSessionId());
+        out.name("courseCode").value(value.getCourseCode());
+        out.name("studentId").value(value.getStudentId());
+        out.name("studentName").value(value.getStudentName());
+        out.name("sessionDate").value(value.getSessionDate());
+        out.name("status").value(value.getStatus() != null ? value.getStatus().name() : null);
+        out.name("updatedAt").value(value.getUpdatedAt());
+        out.endObject();
+    }
+
+    @Override
+    public AttendanceRecordModel read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String id = null;
+        String sessionId = null;
+        String courseCode = null;
+        String studentId = null;
+        String studentName = null;
+        String sessionDate = null;
+        AttendanceStatus status = AttendanceStatus.ABSENT;
+        long updatedAt = 0;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "id":
+                    id = in.nextString();
+                    break;
+                case "session_id":
+                case "sessionId":
+                    sessionId = in.nextString();
+                    break;
+                case "course_code":
+                case "courseCode":
+                    courseCode = in.nextString();
+                    break;
+                case "student_id":
+                case "studentId":
+                    studentId = in.nextString();
+                    break;
+                case "student_name":
+                case "studentName":
+                    studentName = in.nextString();
+                    break;
+                case "session_date":
+                case "sessionDate":
+                    sessionDate = in.nextString();
+                    break;
+                case "status":
+                    status = parseStatus(in.nextString());
+                    break;
+                case "updated_at":
+                case "updatedAt":
+                    updatedAt = in.nextLong();
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+
+        return new AttendanceRecordModel(id, sessionId, courseCode, studentId, studentName, sessionDate, status,
+                updatedAt);
+    }
+
+    private static AttendanceStatus parseStatus(String value) {
+        switch (value.toLowerCase()) {
+            case "present":
+                return AttendanceStatus.PRESENT;
+            case "late":
+                return AttendanceStatus.LATE;
+            default:
+                return AttendanceStatus.ABSENT;
+        }
+    }
+}
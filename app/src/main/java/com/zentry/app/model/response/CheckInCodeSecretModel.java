@@ -0,0 +1,23 @@
+package com.zentry.app.model.response;
+
+/**
+ * Secret để sinh mã check-in xoay vòng của một buổi học, server cấp khi giảng viên mở điểm danh
+ */
+public class CheckInCodeSecretModel {
+    private String sessionId;
+    private String secret; // Base64
+    private int stepSeconds;
+    private int digits;
+
+    public CheckInCodeSecretModel(String sessionId, String secret, int stepSeconds, int digits) {
+        this.sessionId = sessionId;
+        this.secret = secret;
+        this.stepSeconds = stepSeconds;
+        this.digits = digits;
+    }
+
+    public String getSessionId() { return sessionId; }
+    public String getSecret() { return secret; }
+    public int getStepSeconds() { return stepSeconds; }
+    public int getDigits() { return digits; }
+}
@@ -0,0 +1,73 @@
+package com.zentry.app.model.response;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Streaming adapter cho CheckInCodeSecretModel (không dùng reflection).
+ * Đọc được cả key snake_case và camelCase.
+ */
+public class CheckInCodeSecretModelTypeAdapter extends TypeAdapter<CheckInCodeSecretModel> {
+
+    @Override
+    public void write(JsonWriter out, CheckInCodeSecretModel value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("sessionId").value(value.getSessionId());
+        out.name("secret").value(value.getSecret());
+        out.name("stepSeconds").value(value.getStepSeconds());
+        out.name("digits").value(value.getDigits());
+        out.endObject();
+    }
+
+    @Override
+    public CheckInCodeSecretModel read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String sessionId = null;
+        String secret = null;
+        int stepSeconds = 0;
+        int digits = 0;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "session_id":
+                case "sessionId":
+                    sessionId = in.nextString();
+                    break;
+                case "secret":
+                    secret = in.nextString();
+                    break;
+                case "step_seconds":
+                case "stepSeconds":
+                    stepSeconds = in.nextInt();
+                    break;
+                case "digits":
+                    digits = in.nextInt();
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+
+        return new CheckInCodeSecretModel(sessionId, secret, stepSeconds, digits);
+    }
+}
@@ -0,0 +1,30 @@
+package com.zentry.app.model.response;
+
+/**
+ * Một buổi học trong lịch (buổi học hôm nay của sinh viên, lịch dạy của giảng viên)
+ */
+public class ClassSessionModel {
+    private String id;
+    private String courseCode;
+    private String courseName;
+    private String room;
+    private String startTime;
+    private String endTime;
+
+    public ClassSessionModel(String id, String courseCode, String courseName, String room,
+                             String startTime, String endTime) {
+        this.id = id;
+        this.courseCode = courseCode;
+        this.courseName = courseName;
+        this.room = room;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public String getId() { return id; }
+    public String getCourseCode() { return courseCode; }
+    public String getCourseName() { return courseName; }
+    public String getRoom() { return room; }
+    public String getStartTime() { return startTime; }
+    public String getEndTime() { return endTime; }
+}
@@ -0,0 +1,86 @@
+package com.zentry.app.model.response;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Streaming adapter cho ClassSessionModel (không dùng reflection).
+ * Đọc được cả key snake_case và camelCase.
+ */
+public class ClassSessionModelTypeAdapter extends TypeAdapter<ClassSessionModel> {
+
+    @Override
+    public void write(JsonWriter out, ClassSessionModel value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("id").value(value.getId());
+        out.name("courseCode").value(value.getCourseCode());
+        out.name("courseName").value(value.getCourseName());
+        out.name("room").value(value.getRoom());
+        out.name("startTime").value(value.getStartTime());
+        out.name("endTime").value(value.getEndTime());
+        out.endObject();
+    }
+
+    @Override
+    public ClassSessionModel read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String id = null;
+        String courseCode = null;
+        String courseName = null;
+        String room = null;
+        String startTime = null;
+        String endTime = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "id":
+                case "sessionId":
+                    id = in.nextString();
+                    break;
+                case "course_code":
+                case "courseCode":
+                    courseCode = in.nextString();
+                    break;
+                case "course_name":
+                case "courseName":
+                    courseName = in.nextString();
+                    break;
+                case "room":
+                    room = in.nextString();
+                    break;
+                case "start_time":
+                case "startTime":
+                    startTime = in.nextString();
+                    break;
+                case "end_time":
+                case "endTime":
+                    endTime = in.nextString();
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+
+        return new ClassSessionModel(id, courseCode, courseName, room, startTime, endTime);
+    }
+}
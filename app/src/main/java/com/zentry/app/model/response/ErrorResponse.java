@@ -0,0 +1,54 @@
+package com.zentry.app.model.response;
+
+/**
+ * Lỗi trả về từ server (body của response không thành công).
+ * Đọc được cả dạng {"message": ...} và ProblemDetails {"title", "detail", "status"}.
+ */
+public class ErrorResponse {
+    private final int status;
+    private final String message;
+    private final String detail;
+    private final boolean truncated;
+
+    public ErrorResponse(int status, String message, String detail, boolean truncated) {
+        this.status = status;
+        this.message = message;
+        this.detail = detail;
+        this.truncated = truncated;
+    }
+
+    /**
+     * HTTP status code
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    /**
+     * true nếu body lớn hơn giới hạn đọc và chỉ phần đầu được dùng
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Thông điệp hiển thị cho user, fallback nếu server không gửi gì dùng được
+     */
+    public String getDisplayMessage(String fallback) {
+        if (message != null && !message.isEmpty()) {
+            return message;
+        }
+        if (detail != null && !detail.isEmpty()) {
+            return detail;
+        }
+        return fallback;
+    }
+}
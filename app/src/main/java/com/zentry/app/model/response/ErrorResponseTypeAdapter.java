@@ -0,0 +1,84 @@
+package com.zentry.app.model.response;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Streaming adapter cho ErrorResponse (không dùng reflection).
+ * Nhận message từ "message", "error" hoặc "title"; detail từ "detail" hoặc "error_description".
+ */
+public class ErrorResponseTypeAdapter extends TypeAdapter<ErrorResponse> {
+
+    @Override
+    public void write(JsonWriter out, ErrorResponse value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("status").value(value.getStatus());
+        out.name("message").value(value.getMessage());
+        out.name("detail").value(value.getDetail());
+        out.endObject();
+    }
+
+    @Override
+    public ErrorResponse read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        int status = 0;
+        String message = null;
+        String detail = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            JsonToken token = in.peek();
+            if (token == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "status":
+                case "statusCode":
+                    if (token == JsonToken.NUMBER) {
+                        status = in.nextInt();
+                    } else {
+                        in.skipValue();
+                    }
+                    break;
+                case "message":
+                case "error":
+                case "title":
+                    // "message" ưu tiên hơn "error"/"title" nếu server gửi cả hai
+                    if (token == JsonToken.STRING && (message == null || name.equals("message"))) {
+                        message = in.nextString();
+                    } else {
+                        in.skipValue();
+                    }
+                    break;
+                case "detail":
+                case "error_description":
+                    if (token == JsonToken.STRING) {
+                        detail = in.nextString();
+                    } else {
+                        in.skipValue();
+                    }
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+
+        return new ErrorResponse(status, message, detail, false);
+    }
+}
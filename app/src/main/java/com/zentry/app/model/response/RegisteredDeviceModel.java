@@ -0,0 +1,17 @@
+package com.zentry.app.model.response;
+
+/**
+ * Thiết bị đã đăng ký, server trả về sau khi đăng ký thành công
+ */
+public class RegisteredDeviceModel {
+    private String deviceId;
+    private String fingerprint;
+
+    public RegisteredDeviceModel(String deviceId, String fingerprint) {
+        this.deviceId = deviceId;
+        this.fingerprint = fingerprint;
+    }
+
+    public String getDeviceId() { return deviceId; }
+    public String getFingerprint() { return fingerprint; }
+}
@@ -0,0 +1,63 @@
+package com.zentry.app.model.response;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Streaming adapter cho RegisteredDeviceModel (không dùng reflection).
+ * Đọc được cả key snake_case và camelCase.
+ */
+public class RegisteredDeviceModelTypeAdapter extends TypeAdapter<RegisteredDeviceModel> {
+
+    @Override
+    public void write(JsonWriter out, RegisteredDeviceModel value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("deviceId").value(value.getDeviceId());
+        out.name("fingerprint").value(value.getFingerprint());
+        out.endObject();
+    }
+
+    @Override
+    public RegisteredDeviceModel read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String deviceId = null;
+        String fingerprint = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "id":
+                case "device_id":
+                case "deviceId":
+                    deviceId = in.nextString();
+                    break;
+                case "fingerprint":
+                    fingerprint = in.nextString();
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+
+        return new RegisteredDeviceModel(deviceId, fingerprint);
+    }
+}
@@ -0,0 +1,80 @@
+package com.zentry.app.model.response;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Streaming adapter cho TokenModel (không dùng reflection).
+ * Đọc được cả key snake_case của login và camelCase của refresh token.
+ */
+public class TokenModelTypeAdapter extends TypeAdapter<TokenModel> {
+
+    @Override
+    public void write(JsonWriter out, TokenModel value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("access_token").value(value.getAccessToken());
+        out.name("refresh_token").value(value.getRefreshToken());
+        out.name("user_id").value(value.getUserId());
+        out.name("role").value(value.getRole());
+        out.name("expires_in").value(value.getExpiresIn());
+        out.endObject();
+    }
+
+    @Override
+    public TokenModel read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String accessToken = null;
+        String refreshToken = null;
+        String userId = null;
+        String role = null;
+        long expiresIn = 0;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "access_token":
+                case "accessToken":
+                    accessToken = in.nextString();
+                    break;
+                case "refresh_token":
+                case "refreshToken":
+                    refreshToken = in.nextString();
+                    break;
+                case "user_id":
+                case "userId":
+                    userId = in.nextString();
+                    break;
+                case "role":
+                    role = in.nextString();
+                    break;
+                case "expires_in":
+                case "expiresIn":
+                    expiresIn = in.nextLong();
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+
+        return new TokenModel(accessToken, refreshToken, userId, role, expiresIn);
+    }
+}
@@ -0,0 +1,167 @@
+package com.zentry.app.model.roster;
+
+import com.zentry.app.model.entity.AttendanceStatus;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Danh sách điểm danh của một buổi học lớn (300-800 sinh viên), cập nhật live.
+ * - Mỗi sinh viên có một index dày 0..size-1 theo thứ tự hiển thị; tra theo id qua bảng băm int[]
+ *   (open addressing) thay vì {@code HashMap<String, Integer>} - không có entry/Integer mỗi dòng
+ * - Trạng thái lưu trong hai bitset (present, late) thay vì một object mỗi dòng;
+ *   không bit nào = ABSENT
+ * - mark() O(1), số lượng theo từng trạng thái được cập nhật ngay khi mark
+ * - Index thay đổi được ghi vào bitset changed; drainChanges() trả về để UI chỉ bind lại các dòng đó
+ * Không thread-safe: chỉ dùng trên main thread (hoặc một thread duy nhất).
+ */
+public final class AttendanceRoster {
+    private static final AttendanceStatus[] STATUSES = AttendanceStatus.values();
+
+    private final String[] studentIds;
+    private final int[] slots; // index + 1 của sinh viên, 0 = ô trống; kích thước là lũy thừa của 2
+    private final long[] present;
+    private final long[] late;
+    private final long[] changed;
+    private final int[] counts = new int[STATUSES.length];
+    private int changedCount;
+
+    public AttendanceRoster(List<String> studentIds) {
+        int size = studentIds.size();
+        this.studentIds = studentIds.toArray(new String[0]);
+        // Load factor <= 0.5 để chuỗi dò ngắn
+        this.slots = new int[Integer.highestOneBit(Math.max(size, 1)) << 2];
+        for (int i = 0; i < size; i++) {
+            int slot = findSlot(this.studentIds[i]);
+            if (slots[slot] != 0) {
+                throw new IllegalArgumentException("Duplicate student id: " + this.studentIds[i]);
+            }
+            slots[slot] = i + 1;
+        }
+        int words = (size + 63) >>> 6;
+        this.present = new long[words];
+        this.late = new long[words];
+        this.changed = new long[words];
+        counts[AttendanceStatus.ABSENT.ordinal()] = size;
+    }
+
+    public int size() {
+        return studentIds.length;
+    }
+
+    /**
+     * Index của sinh viên, -1 nếu không có trong buổi học
+     */
+    public int indexOf(String studentId) {
+        return slots[findSlot(studentId)] - 1;
+    }
+
+    public String studentIdAt(int index) {
+        return studentIds[index];
+    }
+
+    public AttendanceStatus getStatus(int index) {
+        checkIndex(index);
+        int word = index >>> 6;
+        long bit = 1L << index;
+        if ((present[word] & bit) != 0) {
+            return AttendanceStatus.PRESENT;
+        }
+        if ((late[word] & bit) != 0) {
+            return AttendanceStatus.LATE;
+        }
+        return AttendanceStatus.ABSENT;
+    }
+
+    /**
+     * Đặt trạng thái của một sinh viên
+     *
+     * @return true nếu trạng thái thay đổi
+     */
+    public boolean mark(int index, AttendanceStatus status) {
+        checkIndex(index);
+        int word = index >>> 6;
+        long bit = 1L << index;
+        // Không rẽ nhánh theo trạng thái: ordinal cũ = bit present | bit late << 1 (ABSENT=0, PRESENT=1, LATE=2)
+        int previous = (int) ((present[word] >>> index) & 1L) | (int) ((late[word] >>> index) & 1L) << 1;
+        int next = status.ordinal();
+        if (previous == next) {
+            return false;
+        }
+        present[word] = (present[word] & ~bit) | (-(long) (next & 1) & bit);
+        late[word] = (late[word] & ~bit) | (-(long) (next >>> 1) & bit);
+        counts[previous]--;
+        counts[next]++;
+
+        changedCount += (int) ((~changed[word] >>> index) & 1L);
+        changed[word] |= bit;
+        return true;
+    }
+
+    /**
+     * Đặt trạng thái theo student id (ví dụ khi nhận check-in từ server)
+     *
+     * @return true nếu trạng thái thay đổi; false nếu không đổi hoặc sinh viên không thuộc buổi học
+     */
+    public boolean mark(String studentId, AttendanceStatus status) {
+        int index = indexOf(studentId);
+        return index >= 0 && mark(index, status);
+    }
+
+    /**
+     * Bỏ điểm danh - trở về ABSENT
+     */
+    public boolean unmark(int index) {
+        return mark(index, AttendanceStatus.ABSENT);
+    }
+
+    /**
+     * Số sinh viên đang ở trạng thái này - O(1)
+     */
+    public int count(AttendanceStatus status) {
+        return counts[status.ordinal()];
+    }
+
+    public boolean hasChanges() {
+        return changedCount > 0;
+    }
+
+    /**
+     * Các index đã đổi trạng thái từ lần drain trước (tăng dần), rồi xóa danh sách thay đổi.
+     * Một dòng đổi nhiều lần vẫn chỉ xuất hiện một lần.
+     */
+    public int[] drainChanges() {
+        int[] indices = new int[changedCount];
+        int n = 0;
+        for (int word = 0; word < changed.length; word++) {
+            long bits = changed[word];
+            while (bits != 0) {
+                indices[n++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        Arrays.fill(changed, 0L);
+        changedCount = 0;
+        return indices;
+    }
+
+    /**
+     * Ô chứa studentId, hoặc ô trống đầu tiên trên chuỗi dò nếu chưa có
+     */
+    private int findSlot(String studentId) {
+        int mask = slots.length - 1;
+        // Mã sinh viên liền nhau có hashCode gần nhau: nhân Fibonacci để rải đều, tránh dò tuyến tính thành cụm
+        int hash = studentId.hashCode() * 0x9E3779B9;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (slots[slot] != 0 && !studentIds[slots[slot] - 1].equals(studentId)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= studentIds.length) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + studentIds.length);
+        }
+    }
+}
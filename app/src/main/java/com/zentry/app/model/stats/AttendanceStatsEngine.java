@@ -0,0 +1,549 @@
+package com.zentry.app.model.stats;
+
+import com.zentry.app.model.entity.AttendanceStatus;
+import com.zentry.app.model.response.AttendanceRecordModel;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Thống kê điểm danh dạng materialized summary, cập nhật tăng dần khi record được sync về.
+ * - Theo sinh viên, theo môn, theo sinh viên trong môn (kèm streak) và theo môn/tuần
+ * - apply() chỉ cập nhật các summary liên quan tới record: O(1), trừ khi record đến trễ
+ *   hoặc bị sửa thì streak của đúng sinh viên/môn đó được tính lại (vài chục buổi)
+ * - rebuild() dựng lại từ đầu song song theo môn bằng fork/join, rồi gộp kết quả
+ * - writeTo()/readFrom(): lưu nguyên trạng thái đã tính xuống đĩa, mở lại không phải tính lại
+ * Record thiếu studentId, courseCode hoặc sessionDate hợp lệ bị bỏ qua.
+ */
+public final class AttendanceStatsEngine {
+    private static final AttendanceStatus[] STATUSES = AttendanceStatus.values();
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final Map<String, StoredRecord> records = new HashMap<>();
+    private final Map<String, AttendanceSummary> byStudent = new HashMap<>();
+    private final Map<String, AttendanceSummary> byCourse = new HashMap<>();
+    private final Map<String, Timeline> byStudentCourse = new HashMap<>();
+    private final Map<String, TreeMap<Integer, AttendanceSummary>> byCourseWeek = new HashMap<>();
+
+    /**
+     * Thêm hoặc cập nhật một record (cùng id thì thay trạng thái cũ)
+     *
+     * @return false nếu record không hợp lệ hoặc không có gì thay đổi
+     */
+    public synchronized boolean apply(AttendanceRecordModel record) {
+        if (record.getId() == null || record.getStudentId() == null || record.getCourseCode() == null) {
+            return false;
+        }
+        int day = epochDay(record.getSessionDate());
+        if (day == Integer.MIN_VALUE) {
+            return false;
+        }
+        AttendanceStatus status = record.getStatus() != null ? record.getStatus() : AttendanceStatus.ABSENT;
+
+        StoredRecord stored = records.get(record.getId());
+        if (stored != null) {
+            if (stored.status == status) {
+                return false;
+            }
+            // Sửa điểm danh (vd vắng -> đi muộn): trừ trạng thái cũ, cộng trạng thái mới
+            count(stored.studentId, stored.courseCode, stored.day, stored.status, -1);
+            count(stored.studentId, stored.courseCode, stored.day, status, 1);
+            timeline(stored.studentId, stored.courseCode).replace(stored.day, stored.status, status);
+            stored.status = status;
+            return true;
+        }
+
+        records.put(record.getId(), new StoredRecord(record.getStudentId(), record.getCourseCode(), day, status));
+        count(record.getStudentId(), record.getCourseCode(), day, status, 1);
+        timeline(record.getStudentId(), record.getCourseCode()).add(day, status);
+        return true;
+    }
+
+    /**
+     * Áp dụng một trang record vừa sync
+     *
+     * @return số record làm thay đổi thống kê
+     */
+    public synchronized int applyAll(Collection<AttendanceRecordModel> batch) {
+        int changed = 0;
+        for (AttendanceRecordModel record : batch) {
+            if (apply(record)) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    public synchronized int getRecordCount() {
+        return records.size();
+    }
+
+    /**
+     * Thống kê toàn bộ record đã có
+     */
+    public synchronized AttendanceSummary getOverallSummary() {
+        AttendanceSummary overall = new AttendanceSummary();
+        for (AttendanceSummary course : byCourse.values()) {
+            overall.addAll(course);
+        }
+        return overall;
+    }
+
+    /**
+     * Snapshot thống kê của sinh viên trên mọi môn, null nếu chưa có record
+     */
+    public synchronized AttendanceSummary getStudentSummary(String studentId) {
+        AttendanceSummary summary = byStudent.get(studentId);
+        return summary != null ? summary.copy() : null;
+    }
+
+    public synchronized AttendanceSummary getCourseSummary(String courseCode) {
+        AttendanceSummary summary = byCourse.get(courseCode);
+        return summary != null ? summary.copy() : null;
+    }
+
+    /**
+     * Thống kê của sinh viên trong một môn, kèm streak
+     */
+    public synchronized AttendanceSummary getStudentCourseSummary(String studentId, String courseCode) {
+        Timeline timeline = byStudentCourse.get(key(studentId, courseCode));
+        return timeline != null ? timeline.summary.copy() : null;
+    }
+
+    /**
+     * Tỉ lệ đi học theo tuần của môn: key là ngày thứ Hai đầu tuần (epoch day)
+     */
+    public synchronized SortedMap<Integer, AttendanceSummary> getCourseWeeklySummaries(String courseCode) {
+        TreeMap<Integer, AttendanceSummary> weeks = byCourseWeek.get(courseCode);
+        TreeMap<Integer, AttendanceSummary> copy = new TreeMap<>();
+        if (weeks != null) {
+            for (Map.Entry<Integer, AttendanceSummary> week : weeks.entrySet()) {
+                copy.put(week.getKey() * 7 - 3, week.getValue().copy());
+            }
+        }
+        return Collections.unmodifiableSortedMap(copy);
+    }
+
+    /**
+     * Dựng lại toàn bộ thống kê (lần đầu mở hoặc sau khi xóa dữ liệu).
+     * Record được chia theo môn; mỗi nhóm môn dựng trên một worker của pool rồi gộp lại.
+     */
+    public static AttendanceStatsEngine rebuild(Collection<AttendanceRecordModel> all, ForkJoinPool pool) {
+        Map<String, List<AttendanceRecordModel>> byCourse = new LinkedHashMap<>();
+        for (AttendanceRecordModel record : all) {
+            if (record.getCourseCode() == null) {
+                continue;
+            }
+            List<AttendanceRecordModel> course = byCourse.get(record.getCourseCode());
+            if (course == null) {
+                course = new ArrayList<>();
+                byCourse.put(record.getCourseCode(), course);
+            }
+            course.add(record);
+        }
+        List<List<AttendanceRecordModel>> courses = new ArrayList<>(byCourse.values());
+        if (courses.isEmpty()) {
+            return new AttendanceStatsEngine();
+        }
+        return pool.invoke(new RebuildTask(courses, 0, courses.size()));
+    }
+
+    private static final class RebuildTask extends RecursiveTask<AttendanceStatsEngine> {
+        private static final Comparator<AttendanceRecordModel> BY_DATE =
+                (a, b) -> compareNullable(a.getSessionDate(), b.getSessionDate());
+
+        private final List<List<AttendanceRecordModel>> courses;
+        private final int from;
+        private final int to;
+
+        RebuildTask(List<List<AttendanceRecordModel>> courses, int from, int to) {
+            this.courses = courses;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected AttendanceStatsEngine compute() {
+            if (to - from == 1) {
+                // yyyy-MM-dd sắp xếp theo chuỗi đúng thứ tự ngày -> mọi record đều append, streak O(1)
+                List<AttendanceRecordModel> course = new ArrayList<>(courses.get(from));
+                Collections.sort(course, BY_DATE);
+                AttendanceStatsEngine engine = new AttendanceStatsEngine();
+                for (AttendanceRecordModel record : course) {
+                    engine.apply(record);
+                }
+                return engine;
+            }
+            int mid = (from + to) >>> 1;
+            RebuildTask left = new RebuildTask(courses, from, mid);
+            left.fork();
+            AttendanceStatsEngine right = new RebuildTask(courses, mid, to).compute();
+            AttendanceStatsEngine merged = left.join();
+            merged.mergeCoursesFrom(right);
+            return merged;
+        }
+
+        private static int compareNullable(String a, String b) {
+            if (a == null) {
+                return b == null ? 0 : -1;
+            }
+            return b == null ? 1 : a.compareTo(b);
+        }
+    }
+
+    /**
+     * Ghi toàn bộ trạng thái: summary đã tính, timeline streak và chỉ mục record
+     * (để record bị sửa sau này vẫn trừ đúng trạng thái cũ). Mã sinh viên/môn ghi một lần trong bảng chuỗi.
+     */
+    public synchronized void writeTo(DataOutputStream out) throws IOException {
+        Map<String, Integer> strings = new HashMap<>();
+        List<String> table = new ArrayList<>();
+        for (StoredRecord record : records.values()) {
+            intern(strings, table, record.studentId);
+            intern(strings, table, record.courseCode);
+        }
+
+        out.writeInt(SNAPSHOT_VERSION);
+        out.writeInt(table.size());
+        for (String value : table) {
+            out.writeUTF(value);
+        }
+
+        out.writeInt(records.size());
+        for (Map.Entry<String, StoredRecord> entry : records.entrySet()) {
+            StoredRecord record = entry.getValue();
+            out.writeUTF(entry.getKey());
+            out.writeInt(strings.get(record.studentId));
+            out.writeInt(strings.get(record.courseCode));
+            out.writeInt(record.day);
+            out.writeByte(record.status.ordinal());
+        }
+
+        writeSummaries(out, strings, byStudent);
+        writeSummaries(out, strings, byCourse);
+
+        out.writeInt(byStudentCourse.size());
+        for (Map.Entry<String, Timeline> entry : byStudentCourse.entrySet()) {
+            String key = entry.getKey();
+            int separator = key.indexOf('\u0000');
+            out.writeInt(strings.get(key.substring(0, separator)));
+            out.writeInt(strings.get(key.substring(separator + 1)));
+            entry.getValue().writeTo(out);
+        }
+
+        out.writeInt(byCourseWeek.size());
+        for (Map.Entry<String, TreeMap<Integer, AttendanceSummary>> course : byCourseWeek.entrySet()) {
+            out.writeInt(strings.get(course.getKey()));
+            out.writeInt(course.getValue().size());
+            for (Map.Entry<Integer, AttendanceSummary> week : course.getValue().entrySet()) {
+                out.writeInt(week.getKey());
+                writeCounts(out, week.getValue());
+            }
+        }
+    }
+
+    /**
+     * Đọc trạng thái đã ghi bằng {@link #writeTo(DataOutputStream)}
+     *
+     * @throws IOException nếu dữ liệu hỏng hoặc khác phiên bản
+     */
+    public static AttendanceStatsEngine readFrom(DataInputStream in) throws IOException {
+        int version = in.readInt();
+        if (version != SNAPSHOT_VERSION) {
+            throw new IOException("Unsupported stats snapshot version " + version);
+        }
+        String[] table = new String[in.readInt()];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = in.readUTF();
+        }
+
+        AttendanceStatsEngine engine = new AttendanceStatsEngine();
+        try {
+            int recordCount = in.readInt();
+            for (int i = 0; i < recordCount; i++) {
+                String id = in.readUTF();
+                engine.records.put(id, new StoredRecord(table[in.readInt()], table[in.readInt()], in.readInt(),
+                        STATUSES[in.readByte()]));
+            }
+
+            readSummaries(in, table, engine.byStudent);
+            readSummaries(in, table, engine.byCourse);
+
+            int timelineCount = in.readInt();
+            for (int i = 0; i < timelineCount; i++) {
+                String studentId = table[in.readInt()];
+                String courseCode = table[in.readInt()];
+                engine.byStudentCourse.put(key(studentId, courseCode), Timeline.readFrom(in));
+            }
+
+            int courseCount = in.readInt();
+            for (int i = 0; i < courseCount; i++) {
+                String courseCode = table[in.readInt()];
+                int weekCount = in.readInt();
+                TreeMap<Integer, AttendanceSummary> weeks = new TreeMap<>();
+                for (int w = 0; w < weekCount; w++) {
+                    int week = in.readInt();
+                    weeks.put(week, readCounts(in));
+                }
+                engine.byCourseWeek.put(courseCode, weeks);
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Corrupt stats snapshot", e);
+        }
+        return engine;
+    }
+
+    private static void intern(Map<String, Integer> strings, List<String> table, String value) {
+        if (!strings.containsKey(value)) {
+            strings.put(value, table.size());
+            table.add(value);
+        }
+    }
+
+    private static void writeSummaries(DataOutputStream out, Map<String, Integer> strings,
+                                       Map<String, AttendanceSummary> summaries) throws IOException {
+        out.writeInt(summaries.size());
+        for (Map.Entry<String, AttendanceSummary> entry : summaries.entrySet()) {
+            out.writeInt(strings.get(entry.getKey()));
+            writeCounts(out, entry.getValue());
+        }
+    }
+
+    private static void readSummaries(DataInputStream in, String[] table,
+                                      Map<String, AttendanceSummary> summaries) throws IOException {
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            String key = table[in.readInt()];
+            summaries.put(key, readCounts(in));
+        }
+    }
+
+    private static void writeCounts(DataOutputStream out, AttendanceSummary summary) throws IOException {
+        out.writeInt(summary.getPresent());
+        out.writeInt(summary.getLate());
+        out.writeInt(summary.getAbsent());
+    }
+
+    private static AttendanceSummary readCounts(DataInputStream in) throws IOException {
+        AttendanceSummary summary = new AttendanceSummary();
+        summary.add(AttendanceStatus.PRESENT, in.readInt());
+        summary.add(AttendanceStatus.LATE, in.readInt());
+        summary.add(AttendanceStatus.ABSENT, in.readInt());
+        return summary;
+    }
+
+    /**
+     * Gộp engine chứa các môn khác (không giao nhau) vào engine này
+     */
+    private void mergeCoursesFrom(AttendanceStatsEngine other) {
+        records.putAll(other.records);
+        byCourse.putAll(other.byCourse);
+        byStudentCourse.putAll(other.byStudentCourse);
+        byCourseWeek.putAll(other.byCourseWeek);
+        for (Map.Entry<String, AttendanceSummary> student : other.byStudent.entrySet()) {
+            AttendanceSummary existing = byStudent.get(student.getKey());
+            if (existing == null) {
+                byStudent.put(student.getKey(), student.getValue());
+            } else {
+                existing.addAll(student.getValue());
+            }
+        }
+    }
+
+    private void count(String studentId, String courseCode, int day, AttendanceStatus status, int delta) {
+        summary(byStudent, studentId).add(status, delta);
+        summary(byCourse, courseCode).add(status, delta);
+
+        TreeMap<Integer, AttendanceSummary> weeks = byCourseWeek.get(courseCode);
+        if (weeks == null) {
+            weeks = new TreeMap<>();
+            byCourseWeek.put(courseCode, weeks);
+        }
+        int week = Math.floorDiv(day + 3, 7); // 1970-01-01 là thứ Năm -> tuần bắt đầu từ thứ Hai
+        AttendanceSummary weekSummary = weeks.get(week);
+        if (weekSummary == null) {
+            weekSummary = new AttendanceSummary();
+            weeks.put(week, weekSummary);
+        }
+        weekSummary.add(status, delta);
+    }
+
+    private Timeline timeline(String studentId, String courseCode) {
+        String key = key(studentId, courseCode);
+        Timeline timeline = byStudentCourse.get(key);
+        if (timeline == null) {
+            timeline = new Timeline();
+            byStudentCourse.put(key, timeline);
+        }
+        return timeline;
+    }
+
+    private static AttendanceSummary summary(Map<String, AttendanceSummary> map, String key) {
+        AttendanceSummary summary = map.get(key);
+        if (summary == null) {
+            summary = new AttendanceSummary();
+            map.put(key, summary);
+        }
+        return summary;
+    }
+
+    private static String key(String studentId, String courseCode) {
+        return studentId + '\u0000' + courseCode;
+    }
+
+    /**
+     * Ngày yyyy-MM-dd thành số ngày từ 1970-01-01 (không dùng java.time vì minSdk 24),
+     * Integer.MIN_VALUE nếu không hợp lệ
+     */
+    static int epochDay(String date) {
+        if (date == null || date.length() < 10 || date.charAt(4) != '-' || date.charAt(7) != '-') {
+            return Integer.MIN_VALUE;
+        }
+        int year;
+        int month;
+        int dayOfMonth;
+        try {
+            year = Integer.parseInt(date.substring(0, 4));
+            month = Integer.parseInt(date.substring(5, 7));
+            dayOfMonth = Integer.parseInt(date.substring(8, 10));
+        } catch (NumberFormatException e) {
+            return Integer.MIN_VALUE;
+        }
+        if (month < 1 || month > 12 || dayOfMonth < 1 || dayOfMonth > 31) {
+            return Integer.MIN_VALUE;
+        }
+        // days_from_civil (proleptic Gregorian)
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + dayOfMonth - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    private static final class StoredRecord {
+        final String studentId;
+        final String courseCode;
+        final int day;
+        AttendanceStatus status;
+
+        StoredRecord(String studentId, String courseCode, int day, AttendanceStatus status) {
+            this.studentId = studentId;
+            this.courseCode = courseCode;
+            this.day = day;
+            this.status = status;
+        }
+    }
+
+    /**
+     * Các buổi của một sinh viên trong một môn, sắp theo ngày, mỗi buổi một int (day << 2 | status).
+     * Record đến đúng thứ tự chỉ cập nhật streak O(1); đến trễ hoặc bị sửa thì tính lại trên timeline.
+     */
+    private static final class Timeline {
+        final AttendanceSummary summary = new AttendanceSummary();
+        private int[] entries = new int[8];
+        private int size;
+        private int currentStreak;
+        private int longestStreak;
+
+        void add(int day, AttendanceStatus status) {
+            summary.add(status, 1);
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            int entry = pack(day, status);
+            if (size == 0 || dayOf(entries[size - 1]) <= day) {
+                entries[size++] = entry;
+                extendStreak(status);
+            } else {
+                int insertAt = size;
+                while (insertAt > 0 && dayOf(entries[insertAt - 1]) > day) {
+                    insertAt--;
+                }
+                System.arraycopy(entries, insertAt, entries, insertAt + 1, size - insertAt);
+                entries[insertAt] = entry;
+                size++;
+                recomputeStreaks();
+            }
+            summary.setStreaks(currentStreak, longestStreak);
+        }
+
+        void replace(int day, AttendanceStatus oldStatus, AttendanceStatus newStatus) {
+            int oldEntry = pack(day, oldStatus);
+            for (int i = size - 1; i >= 0; i--) {
+                if (entries[i] == oldEntry) {
+                    entries[i] = pack(day, newStatus);
+                    break;
+                }
+            }
+            summary.add(oldStatus, -1);
+            summary.add(newStatus, 1);
+            recomputeStreaks();
+            summary.setStreaks(currentStreak, longestStreak);
+        }
+
+        private void extendStreak(AttendanceStatus status) {
+            if (status == AttendanceStatus.ABSENT) {
+                currentStreak = 0;
+            } else {
+                currentStreak++;
+                longestStreak = Math.max(longestStreak, currentStreak);
+            }
+        }
+
+        private void recomputeStreaks() {
+            currentStreak = 0;
+            longestStreak = 0;
+            for (int i = 0; i < size; i++) {
+                extendStreak(STATUSES[entries[i] & 0b11]);
+            }
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                out.writeInt(entries[i]);
+            }
+            writeCounts(out, summary);
+            out.writeInt(currentStreak);
+            out.writeInt(longestStreak);
+        }
+
+        static Timeline readFrom(DataInputStream in) throws IOException {
+            Timeline timeline = new Timeline();
+            int size = in.readInt();
+            timeline.entries = new int[Math.max(8, size)];
+            for (int i = 0; i < size; i++) {
+                timeline.entries[i] = in.readInt();
+            }
+            timeline.size = size;
+            timeline.summary.addAll(readCounts(in));
+            timeline.currentStreak = in.readInt();
+            timeline.longestStreak = in.readInt();
+            timeline.summary.setStreaks(timeline.currentStreak, timeline.longestStreak);
+            return timeline;
+        }
+
+        private static int pack(int day, AttendanceStatus status) {
+            return (day << 2) | status.ordinal();
+        }
+
+        private static int dayOf(int entry) {
+            return entry >> 2;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.zentry.app.model.stats;
+
+import com.zentry.app.model.entity.AttendanceStatus;
+
+/**
+ * Số buổi có mặt/đi muộn/vắng của một nhóm record (sinh viên, môn, tuần...).
+ * Chuỗi buổi đi học liên tiếp (streak) chỉ có nghĩa ở mức sinh viên trong một môn.
+ */
+public final class AttendanceSummary {
+    private int present;
+    private int late;
+    private int absent;
+    private int currentStreak;
+    private int longestStreak;
+
+    AttendanceSummary() {
+    }
+
+    private AttendanceSummary(AttendanceSummary other) {
+        this.present = other.present;
+        this.late = other.late;
+        this.absent = other.absent;
+        this.currentStreak = other.currentStreak;
+        this.longestStreak = other.longestStreak;
+    }
+
+    public int getPresent() { return present; }
+    public int getLate() { return late; }
+    public int getAbsent() { return absent; }
+
+    public int getTotal() {
+        return present + late + absent;
+    }
+
+    /**
+     * Tỉ lệ đi học (có mặt + đi muộn) / tổng số buổi, 0 nếu chưa có buổi nào
+     */
+    public double getAttendanceRate() {
+        int total = getTotal();
+        return total == 0 ? 0 : (double) (present + late) / total;
+    }
+
+    /**
+     * Số buổi đi học liên tiếp tính tới buổi gần nhất
+     */
+    public int getCurrentStreak() { return currentStreak; }
+
+    public int getLongestStreak() { return longestStreak; }
+
+    void add(AttendanceStatus status, int delta) {
+        switch (status) {
+            case PRESENT:
+                present += delta;
+                break;
+            case LATE:
+                late += delta;
+                break;
+            default:
+                absent += delta;
+                break;
+        }
+    }
+
+    void addAll(AttendanceSummary other) {
+        present += other.present;
+        late += other.late;
+        absent += other.absent;
+    }
+
+    void setStreaks(int current, int longest) {
+        this.currentStreak = current;
+        this.longestStreak = longest;
+    }
+
+    AttendanceSummary copy() {
+        return new AttendanceSummary(this);
+    }
+}
@@ -0,0 +1,74 @@
+package com.zentry.app.network;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Timeout theo từng endpoint thay cho 30s cố định.
+ * Timeout = p99 gần đây của route × hệ số, kẹp trong [floor, ceiling]; route chưa đủ mẫu dùng ceiling.
+ * Request bị timeout được ghi lại bằng chính timeout đó để phân phối tăng lên khi mạng chậm đi.
+ */
+public class AdaptiveTimeoutInterceptor implements Interceptor {
+    private final RouteLatencyTracker tracker;
+    private final long floorMillis;
+    private final long ceilingMillis;
+    private final int multiplier;
+
+    public AdaptiveTimeoutInterceptor(RouteLatencyTracker tracker) {
+        this(tracker, NetworkConfig.ADAPTIVE_TIMEOUT_FLOOR_MS, NetworkConfig.ADAPTIVE_TIMEOUT_CEILING_MS,
+                NetworkConfig.ADAPTIVE_TIMEOUT_MULTIPLIER);
+    }
+
+    public AdaptiveTimeoutInterceptor(RouteLatencyTracker tracker, long floorMillis, long ceilingMillis, int multiplier) {
+        this.tracker = tracker;
+        this.floorMillis = floorMillis;
+        this.ceilingMillis = ceilingMillis;
+        this.multiplier = multiplier;
+    }
+
+    /**
+     * Timeout sẽ dùng cho route (ms)
+     */
+    public long timeoutFor(String route) {
+        long p99 = tracker.getPercentile(route, 99);
+        if (p99 < 0) {
+            return ceilingMillis;
+        }
+        return Math.max(floorMillis, Math.min(ceilingMillis, p99 * multiplier));
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        String route = NetworkMetrics.routeOf(request);
+        int timeout = (int) timeoutFor(route);
+
+        long startNs = System.nanoTime();
+        Response response;
+        try {
+            response = chain
+                    .withConnectTimeout(timeout, TimeUnit.MILLISECONDS)
+                    .withReadTimeout(timeout, TimeUnit.MILLISECONDS)
+                    .withWriteTimeout(timeout, TimeUnit.MILLISECONDS)
+                    .proceed(request);
+        } catch (InterruptedIOException e) {
+            // Timeout: ghi nhận ít nhất bằng timeout đã dùng để lần sau nới ra
+            tracker.record(route, timeout);
+            throw e;
+        }
+
+        // Response từ cache không phản ánh độ trễ mạng
+        if (response.networkResponse() != null) {
+            tracker.record(route, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs));
+        }
+        return response;
+    }
+}
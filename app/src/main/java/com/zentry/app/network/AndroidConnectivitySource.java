@@ -0,0 +1,71 @@
+package com.zentry.app.network;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+
+import androidx.annotation.NonNull;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Theo dõi default network qua ConnectivityManager (cần ACCESS_NETWORK_STATE).
+ * Chỉ coi là offline khi không có network có INTERNET, hoặc network là captive portal đã biết
+ * (Wi-Fi trường chưa đăng nhập). Network chưa VALIDATED vẫn được thử: mạng trường chặn
+ * probe kiểm tra của Android, hoặc validate chưa xong ngay sau khi chuyển mạng.
+ */
+public class AndroidConnectivitySource implements ConnectivitySource {
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean online;
+
+    public AndroidConnectivitySource(Context context) {
+        ConnectivityManager connectivityManager = context.getSystemService(ConnectivityManager.class);
+        this.online = isUsable(
+                connectivityManager.getNetworkCapabilities(connectivityManager.getActiveNetwork()));
+
+        connectivityManager.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+            @Override
+            public void onCapabilitiesChanged(@NonNull Network network, @NonNull NetworkCapabilities capabilities) {
+                update(isUsable(capabilities));
+            }
+
+            @Override
+            public void onLost(@NonNull Network network) {
+                update(false);
+            }
+        });
+    }
+
+    @Override
+    public boolean isOnline() {
+        return online;
+    }
+
+    @Override
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    private synchronized void update(boolean nowOnline) {
+        if (online == nowOnline) {
+            return;
+        }
+        online = nowOnline;
+        for (Listener listener : listeners) {
+            listener.onConnectivityChanged(nowOnline);
+        }
+    }
+
+    static boolean isUsable(NetworkCapabilities capabilities) {
+        return capabilities != null
+                && capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET)
+                && !capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_CAPTIVE_PORTAL);
+    }
+}
@@ -3,115 +3,267 @@ package com.zentry.app.network;
 import android.content.Context;
 import android.content.SharedPreferences;
 
+import com.zentry.app.util.TokenUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Quản lý phiên đăng nhập.
+ * Session được đọc từ SharedPreferences một lần khi khởi tạo và giữ trong bộ nhớ;
+ * mọi thay đổi thay thế nguyên snapshot rồi mới ghi xuống prefs trên I/O thread (write-behind).
+ * Nhiều thay đổi liên quan nên gom vào một {@link Transaction} để chỉ ghi đĩa một lần.
+ */
 public class AuthManager {
-    private static final String PREF_NAME = "auth_prefs";
-    private static final String ACCESS_TOKEN_KEY = "access_token";
-    private static final String REFRESH_TOKEN_KEY = "refresh_token";
-    private static final String USER_ID_KEY = "user_id";
-    private static final String USER_ROLE_KEY = "user_role"; // <--- BỔ SUNG KEY NÀY
-    private static final String IS_LOGGED_IN_KEY = "is_logged_in";
-    private static final String REMEMBER_ME_KEY = "remember_me"; // <--- BỔ SUNG KEY NÀY
+    static final String PREF_NAME = "auth_prefs";
+    private static volatile AuthManager instance;
+
+    private final AtomicReference<Session> session;
+    private final SessionPersister persister;
+    private final List<OnSessionChangedListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Một AuthManager cho cả process để mọi nơi đọc cùng một Session trong bộ nhớ
+     */
+    public static AuthManager getInstance(Context context) {
+        if (instance == null) {
+            synchronized (AuthManager.class) {
+                if (instance == null) {
+                    instance = new AuthManager(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
 
-    private final SharedPreferences sharedPreferences;
-    private final SharedPreferences.Editor editor;
+    AuthManager(Context context) {
+        SharedPreferences sharedPreferences = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+        this.session = new AtomicReference<>(Session.EMPTY);
+        this.persister = new SessionPersister(sharedPreferences, NetworkConfig.SESSION_SYNC_WRITES, session::get);
+        this.session.set(persister.load());
+    }
 
-    public AuthManager(Context context) {
-        this.sharedPreferences = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
-        this.editor = sharedPreferences.edit();
+    /**
+     * Bắt đầu một transaction - mọi thay đổi được áp dụng cùng lúc và ghi đĩa một lần khi commit()
+     */
+    public Transaction edit() {
+        return new Transaction();
+    }
+
+    /**
+     * Snapshot phiên hiện tại - chỉ đọc một field, không lock
+     */
+    public Session getSession() {
+        return session.get();
     }
 
     /**
      * Lưu tokens sau khi login hoặc refresh
      */
     public void saveTokens(String accessToken, String refreshToken) {
-        editor.putString(ACCESS_TOKEN_KEY, accessToken);
-        editor.putString(REFRESH_TOKEN_KEY, refreshToken);
-        editor.putBoolean(IS_LOGGED_IN_KEY, true);
-        editor.apply();
+        saveTokens(accessToken, refreshToken, 0);
+    }
+
+    /**
+     * Lưu tokens kèm thời điểm hết hạn tuyệt đối
+     * @param expiresInSeconds expires_in từ server, 0 nếu không có (khi đó đọc exp trong JWT)
+     */
+    public void saveTokens(String accessToken, String refreshToken, long expiresInSeconds) {
+        edit().putTokens(accessToken, refreshToken, expiresInSeconds).commit();
     }
 
     /**
      * Lấy access token
      */
     public String getAccessToken() {
-        return sharedPreferences.getString(ACCESS_TOKEN_KEY, null);
+        return session.get().getAccessToken();
     }
 
     /**
      * Lấy refresh token
      */
     public String getRefreshToken() {
-        return sharedPreferences.getString(REFRESH_TOKEN_KEY, null);
+        return session.get().getRefreshToken();
+    }
+
+    /**
+     * Lấy thời điểm access token hết hạn (epoch millis), 0 nếu không rõ
+     */
+    public long getTokenExpiresAt() {
+        return session.get().getTokenExpiresAt();
+    }
+
+    /**
+     * Định danh và trạng thái đăng ký thiết bị - đọc từ bộ nhớ, không đọc đĩa
+     */
+    public DeviceRegistration getDeviceRegistration() {
+        return session.get().getDevice();
+    }
+
+    /**
+     * Đăng ký listener khi session thay đổi (login, refresh, logout)
+     */
+    public void addSessionListener(OnSessionChangedListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeSessionListener(OnSessionChangedListener listener) {
+        listeners.remove(listener);
     }
 
     /**
      * Lưu thông tin user (ID và Role)
      */
     public void saveUserInfo(String userId, String role) { // <--- CẬP NHẬT: THÊM THAM SỐ ROLE
-        editor.putString(USER_ID_KEY, userId);
-        editor.putString(USER_ROLE_KEY, role); // <--- LƯU ROLE
-        editor.apply();
+        edit().putUserInfo(userId, role).commit();
     }
 
     /**
      * Lấy user ID
      */
     public String getUserId() {
-        return sharedPreferences.getString(USER_ID_KEY, null);
+        return session.get().getUserId();
     }
 
     /**
      * Lấy user Role
      */
     public String getUserRole() { // <--- BỔ SUNG PHƯƠNG THỨC NÀY
-        return sharedPreferences.getString(USER_ROLE_KEY, null);
+        return session.get().getRole();
     }
 
     /**
      * Kiểm tra user đã login chưa
      */
     public boolean isLoggedIn() {
-        return sharedPreferences.getBoolean(IS_LOGGED_IN_KEY, false)
-                && getAccessToken() != null
-                && getRefreshToken() != null;
+        return session.get().isLoggedIn();
     }
 
     /**
      * Kiểm tra có token không (thường dùng cho việc refresh token)
      */
     public boolean hasValidTokens() {
-        return getAccessToken() != null && getRefreshToken() != null;
+        return session.get().hasValidTokens();
     }
 
     /**
      * Lưu trạng thái "Remember Me"
      */
     public void saveRememberMePreference(boolean remember) { // <--- BỔ SUNG PHƯƠNG THỨC NÀY
-        editor.putBoolean(REMEMBER_ME_KEY, remember);
-        editor.apply();
+        edit().putRememberMe(remember).commit();
     }
 
     /**
      * Lấy trạng thái "Remember Me"
      */
     public boolean getRememberMePreference() { // <--- BỔ SUNG PHƯƠNG THỨC NÀY
-        return sharedPreferences.getBoolean(REMEMBER_ME_KEY, false);
+        return session.get().isRememberMe();
     }
 
     /**
      * Clear tất cả thông tin auth
      */
     public void clearTokens() {
-        editor.clear();
-        editor.apply();
+        edit().clear().commit();
     }
 
     /**
      * Logout user
      */
     public void logout() {
+        // Session.EMPTY đã bao gồm reset "remember me"
         clearTokens();
-        // Khi logout, ta cũng nên clear trạng thái "remember me"
-        saveRememberMePreference(false); // <--- Thêm dòng này để reset remember me khi logout
     }
-}
\ No newline at end of file
+
+    /**
+     * Chờ session đã được ghi xuống prefs
+     */
+    public void flush() {
+        persister.flush(NetworkConfig.SESSION_FLUSH_TIMEOUT, TimeUnit.SECONDS);
+    }
+
+    private void update(UnaryOperator<Session> change) {
+        Session previous;
+        Session next;
+        do {
+            previous = session.get();
+            next = change.apply(previous);
+        } while (!session.compareAndSet(previous, next));
+
+        persister.schedule();
+        for (OnSessionChangedListener listener : listeners) {
+            listener.onSessionChanged(next);
+        }
+    }
+
+    /**
+     * Listener nhận snapshot mới mỗi khi session thay đổi
+     */
+    public interface OnSessionChangedListener {
+        void onSessionChanged(Session session);
+    }
+
+    /**
+     * Gom nhiều thay đổi session thành một lần cập nhật và một lần ghi đĩa
+     */
+    public final class Transaction {
+        private final List<UnaryOperator<Session>> changes = new ArrayList<>();
+
+        private Transaction() {
+        }
+
+        /**
+         * @param expiresInSeconds expires_in từ server, 0 nếu không có (khi đó đọc exp trong JWT)
+         */
+        public Transaction putTokens(String accessToken, String refreshToken, long expiresInSeconds) {
+            long expiresAt = TokenUtils.computeExpiresAt(accessToken, expiresInSeconds, System.currentTimeMillis());
+            changes.add(current -> current.withTokens(accessToken, refreshToken, expiresAt));
+            return this;
+        }
+
+        public Transaction putUserInfo(String userId, String role) {
+            changes.add(current -> current.withUserInfo(userId, role));
+            return this;
+        }
+
+        public Transaction putRememberMe(boolean remember) {
+            changes.add(current -> current.withRememberMe(remember));
+            return this;
+        }
+
+        /**
+         * Lưu fingerprint vừa tính; đăng ký cũ (nếu có) bị bỏ vì thuộc fingerprint khác
+         */
+        public Transaction putDeviceFingerprint(String fingerprint) {
+            changes.add(current -> current.withDevice(current.getDevice().withFingerprint(fingerprint)));
+            return this;
+        }
+
+        public Transaction putDeviceRegistration(String deviceId, String userId) {
+            changes.add(current -> current.withDevice(current.getDevice().withRegistration(deviceId, userId)));
+            return this;
+        }
+
+        /**
+         * Xóa phiên đăng nhập; thông tin thiết bị được giữ lại để không phải tính/đăng ký lại
+         */
+        public Transaction clear() {
+            changes.add(current -> Session.EMPTY.withDevice(current.getDevice()));
+            return this;
+        }
+
+        public void commit() {
+            update(current -> {
+                Session next = current;
+                for (UnaryOperator<Session> change : changes) {
+                    next = change.apply(next);
+                }
+                return next;
+            });
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.zentry.app.network;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Chính sách cache cho một endpoint GET của Retrofit.
+ * Ví dụ:
+ * <pre>
+ * &#64;CachePolicy(maxAgeSeconds = 60, staleWhileRevalidateSeconds = 600)
+ * &#64;GET("api/lectures")
+ * Call&lt;List&lt;Lecture&gt;&gt; getLectures();
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CachePolicy {
+    /**
+     * Thời gian response được coi là còn mới (không cần gọi server)
+     */
+    int maxAgeSeconds();
+
+    /**
+     * Sau khi hết maxAge, trong khoảng này vẫn trả response cũ ngay lập tức
+     * và revalidate (If-None-Match / If-Modified-Since) ở background. 0 = tắt.
+     */
+    int staleWhileRevalidateSeconds() default 0;
+}
@@ -0,0 +1,477 @@
+package com.zentry.app.network;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+/**
+ * Gộp các request idempotent (GET/HEAD) giống hệt nhau đang chạy thành một network call.
+ * - Key = method + URL + auth subject (user hiện tại), user khác nhau không dùng chung kết quả
+ * - Key không gồm header nên request có header riêng (@Header, @HeaderMap, @Headers) không được gộp
+ * - Kết quả được fan-out cho mọi subscriber; body thô (ResponseBody, error body) được buffer
+ *   để mỗi subscriber đọc riêng
+ * - Body đã convert (model) được dùng chung giữa các subscriber và memo: List/Set/Map/Collection
+ *   được trả dưới dạng chỉ đọc, model bên trong cũng phải coi là chỉ đọc (copy trước khi sửa)
+ * - memoTtlMillis > 0: giữ response thành công thêm một khoảng ngắn cho request đến sau
+ * - Cancel một subscriber không hủy call chung trừ khi không còn subscriber nào
+ * Factory bọc Call gốc rồi giao cho CallAdapter kế tiếp, nên callback vẫn về main thread như cũ.
+ */
+public class CoalescingCallAdapterFactory extends CallAdapter.Factory {
+    private static final String GET = "GET";
+    private static final String HEAD = "HEAD";
+
+    private final Supplier<String> subjectProvider;
+    private final long memoTtlMillis;
+    private final Map<String, Flight<?>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Memo<?>> memos = new ConcurrentHashMap<>();
+
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong networkCallCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong memoHitCount = new AtomicLong();
+
+    /**
+     * @param subjectProvider trả về định danh user hiện tại (null nếu chưa đăng nhập)
+     * @param memoTtlMillis   thời gian giữ response thành công, 0 = chỉ gộp request đang chạy
+     */
+    public CoalescingCallAdapterFactory(Supplier<String> subjectProvider, long memoTtlMillis) {
+        this.subjectProvider = subjectProvider;
+        this.memoTtlMillis = memoTtlMillis;
+    }
+
+    /**
+     * Factory theo session của AuthManager (null = request không có auth)
+     */
+    public static CoalescingCallAdapterFactory create(AuthManager authManager) {
+        Supplier<String> subjectProvider = authManager == null ? () -> null : () -> {
+            Session session = authManager.getSession();
+            return session.getUserId() != null ? session.getUserId() : session.getAccessToken();
+        };
+        return new CoalescingCallAdapterFactory(subjectProvider, NetworkConfig.COALESCING_MEMO_TTL_MS);
+    }
+
+    @Override
+    public CallAdapter<?, ?> get(@NonNull Type returnType, @NonNull Annotation[] annotations,
+                                 @NonNull Retrofit retrofit) {
+        CallAdapter<?, ?> delegate = retrofit.nextCallAdapter(this, returnType, annotations);
+        return wrap(delegate);
+    }
+
+    private <R, T> CallAdapter<R, T> wrap(CallAdapter<R, T> delegate) {
+        Class<?> bodyType = getRawType(delegate.responseType());
+        return new CallAdapter<R, T>() {
+            @NonNull
+            @Override
+            public Type responseType() {
+                return delegate.responseType();
+            }
+
+            @NonNull
+            @Override
+            public T adapt(@NonNull Call<R> call) {
+                return delegate.adapt(new CoalescingCall<>(call, bodyType));
+            }
+        };
+    }
+
+    /**
+     * Tổng số request đi qua factory
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * Số network call thực sự được thực hiện
+     */
+    public long getNetworkCallCount() {
+        return networkCallCount.get();
+    }
+
+    /**
+     * Số request được gộp vào call đang chạy
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * Số request được trả từ memo
+     */
+    public long getMemoHitCount() {
+        return memoHitCount.get();
+    }
+
+    /**
+     * Số network call đã tiết kiệm được (gộp + memo)
+     */
+    public long getSavedCallCount() {
+        return coalescedCount.get() + memoHitCount.get();
+    }
+
+    /**
+     * Xóa memo (logout, switch account)
+     */
+    public void clearMemo() {
+        memos.clear();
+    }
+
+    static boolean isCoalescable(Request request) {
+        return (GET.equals(request.method()) || HEAD.equals(request.method()))
+                && request.headers().size() == 0;
+    }
+
+    /**
+     * Bọc chỉ đọc body kiểu collection, theo kiểu khai báo trong interface API
+     * (Call&lt;ArrayList&lt;T&gt;&gt; giữ nguyên vì view chỉ đọc không ép được về ArrayList)
+     */
+    static Object readOnlyView(Class<?> bodyType, Object body) {
+        if (body == null) {
+            return null;
+        }
+        if (bodyType == List.class) {
+            return Collections.unmodifiableList((List<?>) body);
+        }
+        if (bodyType == Set.class) {
+            return Collections.unmodifiableSet((Set<?>) body);
+        }
+        if (bodyType == Map.class) {
+            return Collections.unmodifiableMap((Map<?, ?>) body);
+        }
+        if (bodyType == Collection.class) {
+            return Collections.unmodifiableCollection((Collection<?>) body);
+        }
+        return body;
+    }
+
+    private String keyOf(Request request) {
+        return request.method() + ' ' + request.url() + '|' + subjectProvider.get();
+    }
+
+    /**
+     * Kết quả dùng chung của một network call
+     */
+    private static final class Flight<R> {
+        final CompletableFuture<Result<R>> future = new CompletableFuture<>();
+        final AtomicInteger subscribers = new AtomicInteger();
+        final String key;
+        final Call<R> call;
+
+        Flight(String key, Call<R> call) {
+            this.key = key;
+            this.call = call;
+        }
+    }
+
+    private static final class Memo<R> {
+        final Result<R> result;
+        final long expiresAtNanos;
+
+        Memo(Result<R> result, long expiresAtNanos) {
+            this.result = result;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    /**
+     * Response đã buffer, tạo được Response riêng cho từng subscriber.
+     * Body dạng ResponseBody (success hoặc error) là stream chỉ đọc được một lần nên được đọc thành
+     * byte[] và mỗi subscriber nhận một ResponseBody mới; body đã convert thành model thì dùng chung
+     * (collection được bọc chỉ đọc một lần ở đây).
+     */
+    private static final class Result<R> {
+        final Response<R> response;
+        final byte[] bodyBytes;
+        final MediaType contentType;
+
+        private Result(Response<R> response, byte[] bodyBytes, MediaType contentType) {
+            this.response = response;
+            this.bodyBytes = bodyBytes;
+            this.contentType = contentType;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <R> Result<R> of(Response<R> response, Class<?> bodyType) throws IOException {
+            if (response.isSuccessful()) {
+                if (!(response.body() instanceof ResponseBody)) {
+                    R body = (R) readOnlyView(bodyType, response.body());
+                    return new Result<>(body == response.body() ? response : Response.success(body, response.raw()),
+                            null, null);
+                }
+                try (ResponseBody body = (ResponseBody) response.body()) {
+                    return new Result<>(response, body.bytes(), body.contentType());
+                }
+            }
+            if (response.errorBody() == null) {
+                return new Result<>(response, null, null);
+            }
+            try (ResponseBody errorBody = response.errorBody()) {
+                return new Result<>(response, errorBody.bytes(), errorBody.contentType());
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        Response<R> copy() {
+            if (bodyBytes == null) {
+                return response;
+            }
+            ResponseBody body = ResponseBody.create(bodyBytes, contentType);
+            if (response.isSuccessful()) {
+                return Response.success((R) body, response.raw());
+            }
+            return Response.error(body, response.raw());
+        }
+    }
+
+    private final class CoalescingCall<R> implements Call<R> {
+        private final Call<R> delegate;
+        private final Class<?> bodyType;
+        private final AtomicBoolean executed = new AtomicBoolean();
+        private final CompletableFuture<Result<R>> result = new CompletableFuture<>();
+        private volatile boolean canceled;
+        private volatile Flight<R> flight;
+
+        CoalescingCall(Call<R> delegate, Class<?> bodyType) {
+            this.delegate = delegate;
+            this.bodyType = bodyType;
+        }
+
+        @NonNull
+        @Override
+        public Response<R> execute() throws IOException {
+            markExecuted();
+            Request request = delegate.request();
+            if (!isCoalescable(request)) {
+                networkCallCount.incrementAndGet();
+                return delegate.execute();
+            }
+
+            if (subscribe(request)) {
+                // Leader chạy call chung trên thread hiện tại như execute() bình thường
+                complete(flight, runSync(delegate, bodyType));
+            }
+            return await();
+        }
+
+        @Override
+        public void enqueue(@NonNull Callback<R> callback) {
+            markExecuted();
+            Request request = delegate.request();
+            if (!isCoalescable(request)) {
+                networkCallCount.incrementAndGet();
+                delegate.enqueue(callback);
+                return;
+            }
+
+            if (subscribe(request)) {
+                Flight<R> leaderFlight = flight;
+                delegate.enqueue(new Callback<R>() {
+                    @Override
+                    public void onResponse(@NonNull Call<R> call, @NonNull Response<R> response) {
+                        complete(leaderFlight, buffer(response, bodyType));
+                    }
+
+                    @Override
+                    public void onFailure(@NonNull Call<R> call, @NonNull Throwable t) {
+                        complete(leaderFlight, failed(t));
+                    }
+                });
+            }
+
+            result.whenComplete((value, error) -> {
+                if (error != null) {
+                    callback.onFailure(this, unwrap(error));
+                } else {
+                    callback.onResponse(this, value.copy());
+                }
+            });
+        }
+
+        /**
+         * Gắn call này vào flight (mới hoặc đang chạy) hoặc lấy từ memo
+         *
+         * @return true nếu call này là leader và phải thực hiện network call
+         */
+        @SuppressWarnings("unchecked")
+        private boolean subscribe(Request request) {
+            requestCount.incrementAndGet();
+            String key = keyOf(request);
+
+            Memo<R> memo = (Memo<R>) memos.get(key);
+            if (memo != null) {
+                if (System.nanoTime() - memo.expiresAtNanos < 0) {
+                    memoHitCount.incrementAndGet();
+                    result.complete(memo.result);
+                    return false;
+                }
+                memos.remove(key, memo);
+            }
+
+            Flight<R> created = new Flight<>(key, delegate);
+            Flight<R> existing = (Flight<R>) inFlight.putIfAbsent(key, created);
+            Flight<R> joined = existing != null ? existing : created;
+            joined.subscribers.incrementAndGet();
+            flight = joined;
+            joined.future.whenComplete((value, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+
+            if (existing != null) {
+                coalescedCount.incrementAndGet();
+                return false;
+            }
+            networkCallCount.incrementAndGet();
+            return true;
+        }
+
+        private Response<R> await() throws IOException {
+            try {
+                return result.get().copy();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for coalesced call");
+            } catch (ExecutionException e) {
+                Throwable cause = unwrap(e);
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IOException(cause);
+            } catch (CancellationException e) {
+                throw new IOException("Canceled", e);
+            }
+        }
+
+        private void markExecuted() {
+            if (!executed.compareAndSet(false, true)) {
+                throw new IllegalStateException("Already executed.");
+            }
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return executed.get();
+        }
+
+        @Override
+        public void cancel() {
+            if (canceled) {
+                return;
+            }
+            canceled = true;
+            result.completeExceptionally(new IOException("Canceled"));
+
+            Flight<R> current = flight;
+            if (current == null) {
+                delegate.cancel();
+            } else if (current.subscribers.decrementAndGet() == 0) {
+                // Không còn ai chờ kết quả -> hủy network call chung
+                current.call.cancel();
+            }
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        @SuppressWarnings("MethodDoesntCallSuperMethod")
+        @NonNull
+        @Override
+        public Call<R> clone() {
+            return new CoalescingCall<>(delegate.clone(), bodyType);
+        }
+
+        @NonNull
+        @Override
+        public Request request() {
+            return delegate.request();
+        }
+
+        @NonNull
+        @Override
+        public Timeout timeout() {
+            return delegate.timeout();
+        }
+    }
+
+    private static <R> CompletableFuture<Result<R>> runSync(Call<R> call, Class<?> bodyType) {
+        try {
+            return buffer(call.execute(), bodyType);
+        } catch (Throwable t) {
+            return failed(t);
+        }
+    }
+
+    private static <R> CompletableFuture<Result<R>> buffer(Response<R> response, Class<?> bodyType) {
+        try {
+            return CompletableFuture.completedFuture(Result.of(response, bodyType));
+        } catch (Throwable t) {
+            return failed(t);
+        }
+    }
+
+    private static <R> CompletableFuture<Result<R>> failed(Throwable t) {
+        CompletableFuture<Result<R>> future = new CompletableFuture<>();
+        future.completeExceptionally(t);
+        return future;
+    }
+
+    private <R> void complete(Flight<R> flight, CompletableFuture<Result<R>> outcome) {
+        outcome.whenComplete((value, error) -> {
+            // Gỡ khỏi inFlight trước khi fan-out để request đến sau không gắn vào flight đã xong
+            if (error == null && memoTtlMillis > 0 && value.response.isSuccessful()) {
+                memos.put(flight.key, new Memo<>(value, System.nanoTime()
+                        + TimeUnit.MILLISECONDS.toNanos(memoTtlMillis)));
+            }
+            inFlight.remove(flight.key, flight);
+            if (error != null) {
+                flight.future.completeExceptionally(error);
+            } else {
+                flight.future.complete(value);
+            }
+        });
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        while ((error instanceof ExecutionException || error instanceof CompletionException)
+                && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+}
@@ -0,0 +1,189 @@
+package com.zentry.app.network;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Mở sẵn connection tới server (DNS + TCP + TLS) trong lúc user đang nhập form đăng nhập,
+ * để request login dùng lại socket trong pool thay vì phải handshake.
+ * - Gửi HEAD tới base URL qua client dùng chung connection pool
+ * - Không prewarm lại khi đang chạy hoặc vừa prewarm xong
+ * - Đo thời gian handshake của connection prewarm và cộng dồn khi login dùng lại connection đó
+ */
+public final class ConnectionPrewarmer {
+    private static final String TAG = "ConnectionPrewarmer";
+    private static volatile ConnectionPrewarmer instance;
+
+    private final OkHttpClient client;
+    private final Request prewarmRequest;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile long lastPrewarmAt; // 0 = chưa prewarm
+
+    // Connection do prewarm mở -> thời gian handshake (ms); weak để không giữ connection đã đóng
+    private final Map<Connection, Long> prewarmedConnections = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final AtomicLong prewarmCount = new AtomicLong();
+    private final AtomicLong warmLoginCount = new AtomicLong();
+    private final AtomicLong coldLoginCount = new AtomicLong();
+    private final AtomicLong savedHandshakeMillis = new AtomicLong();
+
+    public static ConnectionPrewarmer getInstance() {
+        if (instance == null) {
+            synchronized (ConnectionPrewarmer.class) {
+                if (instance == null) {
+                    instance = new ConnectionPrewarmer(HttpClientFactory.newBuilder(), NetworkConfig.getBaseUrl());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * @param clientBuilder builder derive từ base client (dùng chung pool với client gọi API)
+     */
+    ConnectionPrewarmer(OkHttpClient.Builder clientBuilder, String baseUrl) {
+        this.client = clientBuilder
+                .eventListenerFactory(call -> new HandshakeTimer())
+                .build();
+        this.prewarmRequest = new Request.Builder()
+                .url(baseUrl)
+                .head()
+                .build();
+    }
+
+    /**
+     * Prewarm nếu chưa có prewarm nào đang chạy hoặc vừa chạy - an toàn để gọi từ main thread
+     *
+     * @return true nếu đã gửi request prewarm
+     */
+    public boolean prewarm() {
+        long now = SystemClock.elapsedRealtime();
+        long last = lastPrewarmAt;
+        if (last != 0 && now - last < NetworkConfig.CONNECTION_PREWARM_INTERVAL_MS) {
+            return false;
+        }
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        lastPrewarmAt = now;
+        prewarmCount.incrementAndGet();
+
+        client.newCall(prewarmRequest).enqueue(new Callback() {
+            @Override
+            public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                running.set(false);
+                // Cho phép thử lại ngay lần focus sau
+                lastPrewarmAt = 0;
+                Log.d(TAG, "Connection prewarm failed: " + e.getMessage());
+            }
+
+            @Override
+            public void onResponse(@NonNull Call call, @NonNull Response response) {
+                // Status không quan trọng, chỉ cần connection quay về pool
+                response.close();
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Network interceptor cho client gọi API: ghi nhận login có dùng connection prewarm hay không
+     */
+    public Interceptor loginConnectionTracker() {
+        return chain -> {
+            Request request = chain.request();
+            if (request.url().encodedPath().endsWith(NetworkConfig.AUTH_LOGIN_ENDPOINT)) {
+                Long handshakeMillis = chain.connection() != null
+                        ? prewarmedConnections.remove(chain.connection())
+                        : null;
+                if (handshakeMillis != null) {
+                    warmLoginCount.incrementAndGet();
+                    savedHandshakeMillis.addAndGet(handshakeMillis);
+                } else {
+                    coldLoginCount.incrementAndGet();
+                }
+            }
+            return chain.proceed(request);
+        };
+    }
+
+    public long getPrewarmCount() {
+        return prewarmCount.get();
+    }
+
+    /**
+     * Số lần login dùng lại connection đã prewarm
+     */
+    public long getWarmLoginCount() {
+        return warmLoginCount.get();
+    }
+
+    /**
+     * Số lần login không dùng connection prewarm (phải handshake hoặc dùng connection khác trong pool)
+     */
+    public long getColdLoginCount() {
+        return coldLoginCount.get();
+    }
+
+    /**
+     * Tổng thời gian DNS + connect + TLS mà các lần login không phải chờ
+     */
+    public long getSavedHandshakeMillis() {
+        return savedHandshakeMillis.get();
+    }
+
+    /**
+     * Đo từ lúc bắt đầu DNS/connect tới khi có connection; không có gì để đo nếu connection lấy từ pool.
+     * Mỗi call một instance để các call chạy song song không ghi đè mốc thời gian của nhau
+     */
+    private final class HandshakeTimer extends EventListener {
+        private long handshakeStartedAt;
+
+        @Override
+        public void dnsStart(@NonNull Call call, @NonNull String domainName) {
+            markStart();
+        }
+
+        @Override
+        public void connectStart(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress,
+                                 @NonNull Proxy proxy) {
+            markStart();
+        }
+
+        @Override
+        public void connectionAcquired(@NonNull Call call, @NonNull Connection connection) {
+            long startedAt = handshakeStartedAt;
+            handshakeStartedAt = 0;
+            if (startedAt != 0) {
+                prewarmedConnections.put(connection, SystemClock.elapsedRealtime() - startedAt);
+            }
+        }
+
+        private void markStart() {
+            if (handshakeStartedAt == 0) {
+                handshakeStartedAt = SystemClock.elapsedRealtime();
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.zentry.app.network;
+
+/**
+ * Nguồn trạng thái kết nối mạng - tách khỏi ConnectivityManager để test được
+ */
+public interface ConnectivitySource {
+    /**
+     * true nếu có mạng đã được xác thực truy cập Internet (không tính captive portal)
+     */
+    boolean isOnline();
+
+    void addListener(Listener listener);
+
+    void removeListener(Listener listener);
+
+    interface Listener {
+        void onConnectivityChanged(boolean online);
+    }
+}
@@ -0,0 +1,19 @@
+package com.zentry.app.network;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Đánh dấu endpoint Retrofit có thể gửi trễ (upload nền, đồng bộ...).
+ * Khi offline call được giữ lại và gửi khi có mạng; khi online được gom theo batch
+ * để radio chỉ phải bật một lần (xem {@link RequestScheduler}).
+ * Endpoint không có annotation này sẽ fail ngay khi offline.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Deferrable {
+}
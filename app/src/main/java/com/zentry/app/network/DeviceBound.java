@@ -0,0 +1,17 @@
+package com.zentry.app.network;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Đánh dấu endpoint Retrofit mà server chỉ chấp nhận từ thiết bị đã đăng ký (check-in).
+ * {@link DeviceFingerprintInterceptor} gắn fingerprint đã tính sẵn vào header của các call này.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface DeviceBound {
+}
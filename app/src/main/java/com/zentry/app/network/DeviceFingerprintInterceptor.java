@@ -0,0 +1,59 @@
+package com.zentry.app.network;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+
+/**
+ * Gắn fingerprint và device id vào header của call {@link DeviceBound}.
+ * Giá trị lấy từ Session trong bộ nhớ của AuthManager (đã tính sẵn lúc đăng ký/sau login):
+ * check-in không phải đọc đĩa hay tính lại định danh thiết bị.
+ */
+public class DeviceFingerprintInterceptor implements Interceptor {
+    private final AuthManager authManager;
+    private final Map<Method, Boolean> deviceBound = new ConcurrentHashMap<>();
+
+    public DeviceFingerprintInterceptor(AuthManager authManager) {
+        this.authManager = authManager;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        DeviceRegistration device = authManager.getDeviceRegistration();
+        if (device.getFingerprint() == null || !device.isRegisteredFor(authManager.getUserId())
+                || !isDeviceBound(request)) {
+            // Máy chưa đăng ký cho user đang đăng nhập (kể cả đã đăng ký cho user khác):
+            // server từ chối và app chuyển sang màn hình đăng ký thiết bị
+            return chain.proceed(request);
+        }
+
+        return chain.proceed(request.newBuilder()
+                .header(NetworkConfig.HEADER_DEVICE_FINGERPRINT, device.getFingerprint())
+                .header(NetworkConfig.HEADER_DEVICE_ID, device.getDeviceId())
+                .build());
+    }
+
+    private boolean isDeviceBound(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation == null) {
+            return false;
+        }
+        Method method = invocation.method();
+        Boolean bound = deviceBound.get(method);
+        if (bound == null) {
+            bound = method.isAnnotationPresent(DeviceBound.class);
+            deviceBound.put(method, bound);
+        }
+        return bound;
+    }
+}
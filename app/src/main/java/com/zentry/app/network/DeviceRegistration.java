@@ -0,0 +1,48 @@
+package com.zentry.app.network;
+
+/**
+ * Định danh thiết bị và trạng thái đăng ký với server, nằm trong {@link Session}.
+ * Fingerprint chỉ tính một lần rồi được giữ lại kể cả khi logout (thiết bị không đổi);
+ * deviceId là id server cấp khi đăng ký, gắn với user đã đăng ký.
+ */
+public final class DeviceRegistration {
+    public static final DeviceRegistration EMPTY = new DeviceRegistration(null, null, null);
+
+    private final String fingerprint;
+    private final String deviceId;
+    private final String userId;
+
+    public DeviceRegistration(String fingerprint, String deviceId, String userId) {
+        this.fingerprint = fingerprint;
+        this.deviceId = deviceId;
+        this.userId = userId;
+    }
+
+    public DeviceRegistration withFingerprint(String fingerprint) {
+        // Fingerprint mới là thiết bị khác với server - phải đăng ký lại
+        return new DeviceRegistration(fingerprint, null, null);
+    }
+
+    public DeviceRegistration withRegistration(String deviceId, String userId) {
+        return new DeviceRegistration(fingerprint, deviceId, userId);
+    }
+
+    /**
+     * Fingerprint đã tính sẵn, null nếu chưa tính
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public String getDeviceId() {
+        return deviceId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public boolean isRegisteredFor(String userId) {
+        return deviceId != null && userId != null && userId.equals(this.userId);
+    }
+}
@@ -0,0 +1,66 @@
+package com.zentry.app.network;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+import okio.Source;
+
+/**
+ * Giới hạn số byte đọc từ error body (non-2xx) ngay trên source của OkHttp.
+ * Retrofit buffer toàn bộ error body trước khi execute() trả về, nên giới hạn trong
+ * {@link ErrorBodyParser} đến quá muộn: trang lỗi vài MB của proxy/captive portal đã nằm trong bộ nhớ.
+ * Body thành công không bị đụng tới.
+ */
+public class ErrorBodyLimitInterceptor implements Interceptor {
+    private final long maxBytes;
+
+    public ErrorBodyLimitInterceptor(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Response response = chain.proceed(chain.request());
+        ResponseBody body = response.body();
+        if (response.isSuccessful() || body == null) {
+            return response;
+        }
+        // Cho đọc thêm 1 byte để ErrorBodyParser biết body đã bị cắt
+        Source limited = new LimitedSource(body.source(), maxBytes + 1);
+        return response.newBuilder()
+                .body(ResponseBody.create(Okio.buffer(limited), body.contentType(), -1))
+                .build();
+    }
+
+    /**
+     * Trả về EOF sau limit byte; đóng source sẽ đóng cả connection phía dưới (phần còn lại không được đọc)
+     */
+    private static final class LimitedSource extends ForwardingSource {
+        private long remaining;
+
+        LimitedSource(Source delegate, long limit) {
+            super(delegate);
+            this.remaining = limit;
+        }
+
+        @Override
+        public long read(@NonNull Buffer sink, long byteCount) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            long read = super.read(sink, Math.min(byteCount, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+    }
+}
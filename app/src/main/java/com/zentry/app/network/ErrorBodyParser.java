@@ -0,0 +1,80 @@
+package com.zentry.app.network;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.zentry.app.model.response.ErrorResponse;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+
+/**
+ * Đọc error body thành {@link ErrorResponse} mà không đọc hết body vào bộ nhớ.
+ * - Chỉ đọc tối đa maxBytes, phần còn lại bị bỏ (body luôn được đóng)
+ * - Body JSON được parse streaming; body khác (HTML của proxy/captive portal) không hiển thị cho user
+ * Không gọi trên main thread: body có thể còn đang tải qua mạng.
+ */
+public final class ErrorBodyParser {
+    private static final TypeAdapter<ErrorResponse> ADAPTER = GsonProvider.getGson().getAdapter(ErrorResponse.class);
+
+    public static ErrorResponse parse(int status, ResponseBody body) {
+        return parse(status, body, NetworkConfig.ERROR_BODY_MAX_BYTES);
+    }
+
+    public static ErrorResponse parse(int status, ResponseBody body, long maxBytes) {
+        if (body == null) {
+            return new ErrorResponse(status, null, null, false);
+        }
+
+        Buffer buffer = new Buffer();
+        boolean truncated;
+        MediaType contentType = body.contentType();
+        try (ResponseBody closing = body) {
+            BufferedSource source = closing.source();
+            while (buffer.size() < maxBytes && source.read(buffer, maxBytes - buffer.size()) != -1) {
+                // đọc tiếp tới giới hạn
+            }
+            truncated = buffer.size() >= maxBytes && !source.exhausted();
+        } catch (IOException e) {
+            // Mất kết nối giữa chừng: dùng phần đã đọc được
+            truncated = true;
+        }
+
+        if (!truncated && isJson(contentType, buffer)) {
+            try (JsonReader reader = new JsonReader(new InputStreamReader(buffer.inputStream(), StandardCharsets.UTF_8))) {
+                ErrorResponse parsed = ADAPTER.read(reader);
+                if (parsed != null) {
+                    return new ErrorResponse(parsed.getStatus() != 0 ? parsed.getStatus() : status,
+                            parsed.getMessage(), parsed.getDetail(), false);
+                }
+            } catch (IOException | JsonParseException | IllegalStateException e) {
+                // Không phải JSON hợp lệ - coi như không có message
+            }
+            return new ErrorResponse(status, null, null, false);
+        }
+
+        String text = buffer.readUtf8().trim();
+        if (truncated || text.isEmpty() || text.startsWith("<")) {
+            return new ErrorResponse(status, null, null, truncated);
+        }
+        // Plain text ngắn: server trả message trực tiếp
+        return new ErrorResponse(status, text, null, false);
+    }
+
+    private static boolean isJson(MediaType contentType, Buffer buffer) {
+        if (contentType != null && contentType.subtype().endsWith("json")) { // json, problem+json
+            return true;
+        }
+        return buffer.size() > 0 && (buffer.getByte(0) == '{');
+    }
+
+    private ErrorBodyParser() {
+        throw new AssertionError("ErrorBodyParser should not be instantiated");
+    }
+}
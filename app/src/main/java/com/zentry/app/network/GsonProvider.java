@@ -0,0 +1,65 @@
+package com.zentry.app.network;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.zentry.app.model.request.CheckInBatchRequest;
+import com.zentry.app.model.request.CheckInBatchRequestTypeAdapter;
+import com.zentry.app.model.request.CheckInRequest;
+import com.zentry.app.model.request.CheckInRequestTypeAdapter;
+import com.zentry.app.model.request.LoginRequest;
+import com.zentry.app.model.request.LoginRequestTypeAdapter;
+import com.zentry.app.model.request.MarkAttendanceRequest;
+import com.zentry.app.model.request.MarkAttendanceRequestTypeAdapter;
+import com.zentry.app.model.request.RefreshTokenRequest;
+import com.zentry.app.model.request.RefreshTokenRequestTypeAdapter;
+import com.zentry.app.model.request.RegisterDeviceRequest;
+import com.zentry.app.model.request.RegisterDeviceRequestTypeAdapter;
+import com.zentry.app.model.response.AttendanceRecordModel;
+import com.zentry.app.model.response.AttendanceRecordModelTypeAdapter;
+import com.zentry.app.model.response.CheckInCodeSecretModel;
+import com.zentry.app.model.response.CheckInCodeSecretModelTypeAdapter;
+import com.zentry.app.model.response.ClassSessionModel;
+import com.zentry.app.model.response.ClassSessionModelTypeAdapter;
+import com.zentry.app.model.response.ErrorResponse;
+import com.zentry.app.model.response.ErrorResponseTypeAdapter;
+import com.zentry.app.model.response.RegisteredDeviceModel;
+import com.zentry.app.model.response.RegisteredDeviceModelTypeAdapter;
+import com.zentry.app.model.response.TokenModel;
+import com.zentry.app.model.response.TokenModelTypeAdapter;
+
+/**
+ * Gson dùng chung cho toàn app, đăng ký sẵn TypeAdapter streaming cho các model
+ * request/response để tránh parse bằng reflection.
+ * Model mới nên thêm adapter ở đây.
+ */
+public final class GsonProvider {
+    private static volatile Gson gson;
+
+    public static Gson getGson() {
+        if (gson == null) {
+            synchronized (GsonProvider.class) {
+                if (gson == null) {
+                    gson = new GsonBuilder()
+                            .registerTypeAdapter(TokenModel.class, new TokenModelTypeAdapter())
+                            .registerTypeAdapter(LoginRequest.class, new LoginRequestTypeAdapter())
+                            .registerTypeAdapter(RefreshTokenRequest.class, new RefreshTokenRequestTypeAdapter())
+                            .registerTypeAdapter(CheckInRequest.class, new CheckInRequestTypeAdapter())
+                            .registerTypeAdapter(CheckInBatchRequest.class, new CheckInBatchRequestTypeAdapter())
+                            .registerTypeAdapter(ErrorResponse.class, new ErrorResponseTypeAdapter())
+                            .registerTypeAdapter(ClassSessionModel.class, new ClassSessionModelTypeAdapter())
+                            .registerTypeAdapter(AttendanceRecordModel.class, new AttendanceRecordModelTypeAdapter())
+                            .registerTypeAdapter(CheckInCodeSecretModel.class, new CheckInCodeSecretModelTypeAdapter())
+                            .registerTypeAdapter(RegisterDeviceRequest.class, new RegisterDeviceRequestTypeAdapter())
+                            .registerTypeAdapter(RegisteredDeviceModel.class, new RegisteredDeviceModelTypeAdapter())
+                            .registerTypeAdapter(MarkAttendanceRequest.class, new MarkAttendanceRequestTypeAdapter())
+                            .create();
+                }
+            }
+        }
+        return gson;
+    }
+
+    private GsonProvider() {
+        throw new AssertionError("GsonProvider should not be instantiated");
+    }
+}
@@ -0,0 +1,23 @@
+package com.zentry.app.network;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Cho phép hedge một endpoint GET của Retrofit: nếu chưa có response sau p95 gần đây
+ * của route thì gửi thêm một request và lấy response nào về trước.
+ * Chỉ dùng cho endpoint idempotent. Ví dụ:
+ * <pre>
+ * &#64;Hedge
+ * &#64;GET("api/schedules/today")
+ * Call&lt;List&lt;Schedule&gt;&gt; getTodaySchedules();
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Hedge {
+}
@@ -0,0 +1,300 @@
+package com.zentry.app.network;
+
+import androidx.annotation.NonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Request;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+/**
+ * Hedged request cho các endpoint GET có {@link Hedge}.
+ * Gửi request chính, nếu sau p95 gần đây của route vẫn chưa có response thì gửi thêm
+ * một bản sao; response nào về trước được dùng, bản còn lại bị cancel.
+ * Mỗi lần hedge tốn một token của {@link RetryBudget} nên tải lên server bị chặn trên.
+ * Route chưa đủ mẫu latency thì không hedge.
+ */
+public class HedgingCallAdapterFactory extends CallAdapter.Factory {
+    private static final String GET = "GET";
+
+    private final RouteLatencyTracker tracker;
+    private final RetryBudget budget;
+    private final ScheduledExecutorService timer;
+
+    private final AtomicLong hedgeCount = new AtomicLong();
+    private final AtomicLong hedgeWinCount = new AtomicLong();
+    private final AtomicLong budgetExhaustedCount = new AtomicLong();
+
+    public HedgingCallAdapterFactory(RouteLatencyTracker tracker, RetryBudget budget) {
+        this.tracker = tracker;
+        this.budget = budget;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hedge-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public CallAdapter<?, ?> get(@NonNull Type returnType, @NonNull Annotation[] annotations,
+                                 @NonNull Retrofit retrofit) {
+        if (!isHedged(annotations)) {
+            return null;
+        }
+        return wrap(retrofit.nextCallAdapter(this, returnType, annotations));
+    }
+
+    private static boolean isHedged(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof Hedge) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private <R, T> CallAdapter<R, T> wrap(CallAdapter<R, T> delegate) {
+        return new CallAdapter<R, T>() {
+            @NonNull
+            @Override
+            public Type responseType() {
+                return delegate.responseType();
+            }
+
+            @NonNull
+            @Override
+            public T adapt(@NonNull Call<R> call) {
+                return delegate.adapt(new HedgedCall<>(call));
+            }
+        };
+    }
+
+    /**
+     * Số request hedge đã gửi
+     */
+    public long getHedgeCount() {
+        return hedgeCount.get();
+    }
+
+    /**
+     * Số lần request hedge về trước request chính
+     */
+    public long getHedgeWinCount() {
+        return hedgeWinCount.get();
+    }
+
+    /**
+     * Số lần muốn hedge nhưng hết budget
+     */
+    public long getBudgetExhaustedCount() {
+        return budgetExhaustedCount.get();
+    }
+
+    private final class HedgedCall<R> implements Call<R> {
+        private final Call<R> primary;
+        private final AtomicBoolean executed = new AtomicBoolean();
+        private final CompletableFuture<Response<R>> result = new CompletableFuture<>();
+        private final AtomicBoolean decided = new AtomicBoolean(); // đã có response thắng hoặc đã cancel
+        private final AtomicInteger pendingAttempts = new AtomicInteger();
+        private volatile Call<R> hedge;
+        private volatile ScheduledFuture<?> hedgeTimer;
+        private volatile boolean canceled;
+
+        HedgedCall(Call<R> primary) {
+            this.primary = primary;
+        }
+
+        @NonNull
+        @Override
+        public Response<R> execute() throws IOException {
+            markExecuted();
+            if (!GET.equals(primary.request().method())) {
+                return primary.execute();
+            }
+            start();
+            try {
+                return result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                throw new InterruptedIOException("Interrupted while waiting for hedged call");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+
+        @Override
+        public void enqueue(@NonNull Callback<R> callback) {
+            markExecuted();
+            if (!GET.equals(primary.request().method())) {
+                primary.enqueue(callback);
+                return;
+            }
+            start();
+            result.whenComplete((response, error) -> {
+                if (error != null) {
+                    callback.onFailure(this, error);
+                } else {
+                    callback.onResponse(this, response);
+                }
+            });
+        }
+
+        private void start() {
+            budget.deposit();
+            launch(primary, false);
+
+            long delay = tracker.getPercentile(NetworkMetrics.routeOf(primary.request()), 95);
+            if (delay >= 0) {
+                hedgeTimer = timer.schedule(this::launchHedge, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        /**
+         * @return true nếu đã gửi request hedge
+         */
+        private boolean launchHedge() {
+            if (result.isDone() || canceled) {
+                return false;
+            }
+            if (!budget.tryAcquire()) {
+                budgetExhaustedCount.incrementAndGet();
+                return false;
+            }
+            hedgeCount.incrementAndGet();
+            Call<R> copy = primary.clone();
+            hedge = copy;
+            launch(copy, true);
+            return true;
+        }
+
+        private void launch(Call<R> attempt, boolean isHedge) {
+            pendingAttempts.incrementAndGet();
+            attempt.enqueue(new Callback<R>() {
+                @Override
+                public void onResponse(@NonNull Call<R> call, @NonNull Response<R> response) {
+                    // Đếm trước khi complete: execute() trả về ngay khi result xong
+                    if (decided.compareAndSet(false, true)) {
+                        if (isHedge) {
+                            hedgeWinCount.incrementAndGet();
+                        }
+                        if (result.complete(response)) {
+                            cancelOthers(attempt);
+                            return;
+                        }
+                    }
+                    // Bản về sau: không ai đọc body, đóng để trả connection về pool
+                    closeQuietly(response);
+                }
+
+                @Override
+                public void onFailure(@NonNull Call<R> call, @NonNull Throwable t) {
+                    int remaining = pendingAttempts.decrementAndGet();
+                    ScheduledFuture<?> scheduled = hedgeTimer;
+                    if (!isHedge && scheduled != null && scheduled.cancel(false)) {
+                        // Request chính lỗi trước thời điểm hedge -> gửi bản sao ngay nếu còn budget
+                        if (launchHedge()) {
+                            return;
+                        }
+                        result.completeExceptionally(t);
+                    } else if (remaining == 0) {
+                        result.completeExceptionally(t);
+                    }
+                }
+            });
+        }
+
+        private void closeQuietly(Response<R> response) {
+            Object body = response.isSuccessful() ? response.body() : response.errorBody();
+            if (body instanceof Closeable) {
+                try {
+                    ((Closeable) body).close();
+                } catch (IOException ignored) {
+                    // Body bị bỏ
+                }
+            }
+        }
+
+        private void cancelOthers(Call<R> winner) {
+            ScheduledFuture<?> scheduled = hedgeTimer;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+            if (winner != primary) {
+                primary.cancel();
+            }
+            Call<R> copy = hedge;
+            if (copy != null && copy != winner) {
+                copy.cancel();
+            }
+        }
+
+        private void markExecuted() {
+            if (!executed.compareAndSet(false, true)) {
+                throw new IllegalStateException("Already executed.");
+            }
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return executed.get();
+        }
+
+        @Override
+        public void cancel() {
+            canceled = true;
+            decided.set(true);
+            result.completeExceptionally(new IOException("Canceled"));
+            cancelOthers(null);
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        @SuppressWarnings("MethodDoesntCallSuperMethod")
+        @NonNull
+        @Override
+        public Call<R> clone() {
+            return new HedgedCall<>(primary.clone());
+        }
+
+        @NonNull
+        @Override
+        public Request request() {
+            return primary.request();
+        }
+
+        @NonNull
+        @Override
+        public Timeout timeout() {
+            return primary.timeout();
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.zentry.app.network;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Cache;
+import okhttp3.CacheControl;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+
+/**
+ * HTTP cache trên đĩa cho các endpoint chỉ đọc.
+ * - ETag / Last-Modified được OkHttp dùng để gửi request có điều kiện (304 không tải lại body)
+ * - Endpoint khai báo freshness bằng {@link CachePolicy}
+ * - Hỗ trợ stale-while-revalidate: trả response cũ ngay, revalidate ở background
+ *   (mỗi URL chỉ có một lượt revalidate đang chạy)
+ * - Đếm hit / miss / conditional hit
+ */
+public class HttpCache {
+    private static final String TAG = "HttpCache";
+    private static final String CACHE_DIR_NAME = "http_cache";
+    private static final String HEADER_CACHE_CONTROL = "Cache-Control";
+    private static final String HEADER_PRAGMA = "Pragma";
+    private static final String HEADER_WARNING = "Warning";
+    private static final String GET = "GET";
+
+    private static volatile HttpCache instance;
+
+    private final Cache cache;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong conditionalHitCount = new AtomicLong();
+    private final AtomicLong revalidationCount = new AtomicLong();
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet(); // URL đang revalidate
+    private volatile Call.Factory revalidationClient;
+
+    /**
+     * Một Cache cho mỗi thư mục - OkHttp không hỗ trợ nhiều Cache cùng thư mục
+     */
+    public static HttpCache getInstance(Context context) {
+        if (instance == null) {
+            synchronized (HttpCache.class) {
+                if (instance == null) {
+                    File directory = new File(context.getApplicationContext().getCacheDir(), CACHE_DIR_NAME);
+                    instance = new HttpCache(directory, NetworkConfig.HTTP_CACHE_SIZE);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Xóa toàn bộ response đã cache (logout, switch account)
+     */
+    public static void clear() {
+        HttpCache current = instance;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.cache.evictAll();
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to clear HTTP cache", e);
+        }
+    }
+
+    HttpCache(File directory, long maxSize) {
+        this.cache = new Cache(directory, maxSize);
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    /**
+     * Client dùng để revalidate ở background, set sau khi OkHttpClient được build
+     */
+    public void attach(Call.Factory client) {
+        this.revalidationClient = client;
+    }
+
+    /**
+     * Application interceptor: stale-while-revalidate và đếm hit/miss
+     */
+    public Interceptor applicationInterceptor() {
+        return new StaleWhileRevalidateInterceptor();
+    }
+
+    /**
+     * Network interceptor: ghi Cache-Control theo CachePolicy để OkHttp lưu response
+     */
+    public Interceptor networkInterceptor() {
+        return new CachePolicyInterceptor();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Số lần server trả 304 và body được lấy từ cache
+     */
+    public long getConditionalHitCount() {
+        return conditionalHitCount.get();
+    }
+
+    /**
+     * Số lượt revalidate ở background đã gửi đi
+     */
+    public long getRevalidationCount() {
+        return revalidationCount.get();
+    }
+
+    static CachePolicy policyOf(Request request) {
+        if (!GET.equals(request.method())) {
+            return null;
+        }
+        Invocation invocation = request.tag(Invocation.class);
+        return invocation != null ? invocation.method().getAnnotation(CachePolicy.class) : null;
+    }
+
+    private void record(Response response) {
+        if (response.cacheResponse() != null && response.networkResponse() == null) {
+            hitCount.incrementAndGet();
+        } else if (response.cacheResponse() != null) {
+            conditionalHitCount.incrementAndGet();
+        } else if (response.networkResponse() != null) {
+            missCount.incrementAndGet();
+        }
+    }
+
+    private static boolean isStale(Response response) {
+        // OkHttp thêm "Warning: 110 ... Response is stale" khi trả response quá hạn
+        String warning = response.header(HEADER_WARNING);
+        return warning != null && warning.startsWith("110");
+    }
+
+    private void revalidateInBackground(Request request) {
+        Call.Factory client = revalidationClient;
+        if (client == null) {
+            return;
+        }
+        // Nhiều màn hình cùng đọc bản cũ chỉ cần một lượt revalidate
+        String key = request.url().toString();
+        if (!revalidating.add(key)) {
+            return;
+        }
+        revalidationCount.incrementAndGet();
+        Request revalidation = request.newBuilder()
+                .tag(Revalidation.class, Revalidation.INSTANCE)
+                .build();
+        client.newCall(revalidation).enqueue(new Callback() {
+            @Override
+            public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                revalidating.remove(key);
+                Log.w(TAG, "Background revalidation failed: " + request.url(), e);
+            }
+
+            @Override
+            public void onResponse(@NonNull Call call, @NonNull Response response) {
+                // Chỉ cần cập nhật cache, body (nếu có) được OkHttp ghi vào cache khi đọc hết
+                try {
+                    if (response.body() != null) {
+                        response.body().source().skip(Long.MAX_VALUE);
+                    }
+                } catch (IOException e) {
+                    Log.w(TAG, "Failed to read revalidated body: " + request.url(), e);
+                } finally {
+                    response.close();
+                    revalidating.remove(key);
+                }
+            }
+        });
+    }
+
+    /**
+     * Đánh dấu request revalidate để không kích hoạt stale-while-revalidate lần nữa
+     */
+    private enum Revalidation {
+        INSTANCE
+    }
+
+    private class StaleWhileRevalidateInterceptor implements Interceptor {
+        @NonNull
+        @Override
+        public Response intercept(@NonNull Chain chain) throws IOException {
+            Request request = chain.request();
+            if (!GET.equals(request.method())) {
+                return chain.proceed(request);
+            }
+
+            CachePolicy policy = policyOf(request);
+            if (policy != null && policy.staleWhileRevalidateSeconds() > 0
+                    && request.tag(Revalidation.class) == null) {
+                Request cacheOnly = request.newBuilder()
+                        .cacheControl(new CacheControl.Builder()
+                                .onlyIfCached()
+                                .maxStale(policy.staleWhileRevalidateSeconds(), TimeUnit.SECONDS)
+                                .build())
+                        .build();
+                Response cached = chain.proceed(cacheOnly);
+                if (cached.code() != NetworkConfig.HTTP_GATEWAY_TIMEOUT) {
+                    hitCount.incrementAndGet();
+                    if (isStale(cached)) {
+                        revalidateInBackground(request);
+                    }
+                    return cached;
+                }
+                // 504: không có trong cache (hoặc quá hạn stale) -> gọi network như bình thường
+                cached.close();
+            }
+
+            Response response = chain.proceed(request);
+            record(response);
+            return response;
+        }
+    }
+
+    private static class CachePolicyInterceptor implements Interceptor {
+        @NonNull
+        @Override
+        public Response intercept(@NonNull Chain chain) throws IOException {
+            Request request = chain.request();
+            Response response = chain.proceed(request);
+
+            CachePolicy policy = policyOf(request);
+            if (policy == null || !(response.isSuccessful() || response.code() == NetworkConfig.HTTP_NOT_MODIFIED)) {
+                return response;
+            }
+
+            // Ghi đè freshness theo policy của client, ETag / Last-Modified từ server được giữ nguyên
+            return response.newBuilder()
+                    .removeHeader(HEADER_PRAGMA)
+                    .header(HEADER_CACHE_CONTROL, "private, max-age=" + policy.maxAgeSeconds())
+                    .build();
+        }
+    }
+}
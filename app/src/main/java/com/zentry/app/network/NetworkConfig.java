@@ -1,5 +1,7 @@
 package com.zentry.app.network;
 
+import com.zentry.app.BuildConfig;
+
 /**
  * Centralized network configuration
  * Tất cả config về network đều nằm ở đây
@@ -12,26 +14,89 @@ public final class NetworkConfig {
 
     // API Endpoints
     public static final String AUTH_REFRESH_ENDPOINT = "api/authentication/refresh";
-    public static final String AUTH_LOGIN_ENDPOINT = "api/authentication/login";
+    public static final String AUTH_LOGIN_ENDPOINT = "api/auth/sign-in"; // IAuthenticationAPI.login
     public static final String AUTH_LOGOUT_ENDPOINT = "api/authentication/logout";
 
     // Timeouts (seconds)
     public static final int CONNECT_TIMEOUT = 30;
     public static final int READ_TIMEOUT = 30;
     public static final int WRITE_TIMEOUT = 30;
+    public static final long ADAPTIVE_TIMEOUT_FLOOR_MS = 3_000; // Timeout theo route không thấp hơn
+    public static final long ADAPTIVE_TIMEOUT_CEILING_MS = READ_TIMEOUT * 1_000L; // và không vượt quá
+    public static final int ADAPTIVE_TIMEOUT_MULTIPLIER = 3; // Timeout = p99 gần đây × hệ số
+    public static final int LATENCY_WINDOW_SIZE = 128; // Số mẫu gần nhất mỗi route
+    public static final int LATENCY_MIN_SAMPLES = 20; // Chưa đủ mẫu thì dùng ceiling, không hedge
+    public static final int TOKEN_REFRESH_TIMEOUT = 15; // Thời gian tối đa chờ refresh đang chạy
+    public static final int TOKEN_REFRESH_SKEW_SECONDS = 60; // Refresh trước khi access token hết hạn
+
+    // Startup
+    public static final boolean PREWARM_NETWORK_ON_STARTUP = true; // Dựng network stack trên background thread khi app start
+
+    // Connection pool / dispatcher (dùng chung cho mọi OkHttpClient)
+    public static final int MAX_IDLE_CONNECTIONS = 5;
+    public static final int KEEP_ALIVE_DURATION = 300; // seconds
+    public static final int MAX_REQUESTS = 64;
+    public static final int MAX_REQUESTS_PER_HOST = 5;
+    public static final long CONNECTION_PREWARM_INTERVAL_MS = 60_000; // Không prewarm lại trong khoảng này
+
+    // Session persistence
+    public static final boolean SESSION_SYNC_WRITES = true; // commit() (fsync) mỗi record thay vì apply()
+    public static final int SESSION_FLUSH_TIMEOUT = 5; // seconds
+
+    // HTTP cache
+    public static final long HTTP_CACHE_SIZE = 10L * 1024 * 1024; // 10 MB
+
+    // Request coalescing
+    public static final long COALESCING_MEMO_TTL_MS = 1_000; // Giữ response GET thành công thêm 1s, 0 = tắt
+
+    // Request scheduling theo trạng thái mạng
+    public static final long SCHEDULER_BATCH_WINDOW_MS = 2_000; // Gom call @Deferrable trong khoảng này
+
+    // Hedged requests (@Hedge)
+    public static final double HEDGE_BUDGET_RATIO = 0.1; // Tối đa ~10% request được gửi thêm
+    public static final int HEDGE_BUDGET_MAX_TOKENS = 10;
+
+    // Check-in upload
+    public static final int CHECK_IN_BATCH_SIZE = 50;
+    public static final int ATTENDANCE_SYNC_PAGE_SIZE = 500; // Số record mỗi trang khi sync thay đổi lịch sử vào thống kê
+    public static final long CHECK_IN_BACKOFF_BASE_MS = 1_000;
+    public static final long CHECK_IN_BACKOFF_MAX_MS = 60_000;
+
+    // Mã check-in xoay vòng (QR trên máy chiếu)
+    public static final long CHECK_IN_CODE_STEP_MS = 5_000; // Dùng khi server không trả stepSeconds
+    public static final int CHECK_IN_CODE_DIGITS = 6;
+    public static final int CHECK_IN_CODE_PRECOMPUTE = 3; // Số mã được tính sẵn trước mã đang hiển thị
+    public static final long SESSION_ROSTER_REFRESH_MS = 5_000; // Tải lại danh sách điểm danh của buổi khi đang chiếu mã
+
+    // Home
+    public static final long HOME_DATA_TTL_MS = 5 * 60_000; // Dữ liệu home prefetch lúc login còn dùng được trong khoảng này
+
+    // Metrics
+    public static final boolean NETWORK_METRICS_ENABLED = true; // ~0,5 µs/call cho listener, không đo được so với end-to-end (NetworkMetricsTest.overhead_perCall_metricsOnVsOff)
+
+    // Logging
+    public static final float LOG_SAMPLE_RATE = 1f; // 0..1, tỉ lệ request được log
+    public static final long LOG_MAX_BODY_BYTES = 4096;
+
+    // Errors
+    public static final long ERROR_BODY_MAX_BYTES = 16 * 1024; // Error body lớn hơn (trang lỗi của proxy) bị cắt
 
     // Headers
     public static final String HEADER_AUTHORIZATION = "Authorization";
     public static final String HEADER_CONTENT_TYPE = "Content-Type";
     public static final String HEADER_ACCEPT = "Accept";
+    public static final String HEADER_DEVICE_FINGERPRINT = "X-Device-Fingerprint";
+    public static final String HEADER_DEVICE_ID = "X-Device-Id";
 
     // Values
     public static final String BEARER_PREFIX = "Bearer ";
     public static final String CONTENT_TYPE_JSON = "application/json";
 
     // HTTP Status Codes
+    public static final int HTTP_NOT_MODIFIED = 304;
     public static final int HTTP_UNAUTHORIZED = 401;
     public static final int HTTP_FORBIDDEN = 403;
+    public static final int HTTP_GATEWAY_TIMEOUT = 504;
 
     /**
      * Get base URL based on build type
@@ -40,6 +105,13 @@ public final class NetworkConfig {
         return BASE_URL;
     }
 
+    /**
+     * Network log level theo build type - release không log gì
+     */
+    public static NetworkLogger.Level getLogLevel() {
+        return BuildConfig.DEBUG ? NetworkLogger.Level.BODY : NetworkLogger.Level.NONE;
+    }
+
     /**
      * Get full endpoint URL
      */
@@ -0,0 +1,154 @@
+package com.zentry.app.network;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+
+/**
+ * Interceptor ghi log network thay cho HttpLoggingInterceptor(BODY).
+ * - Chỉ log một phần request theo tỉ lệ sampling
+ * - Body bị giới hạn N bytes (response dùng peekBody nên không copy toàn bộ body)
+ * - Ẩn header Authorization/Cookie và các trường token/password trong body
+ * Level NONE thì không nên add interceptor này vào client (xem RetrofitClient).
+ */
+public class NetworkLogger implements Interceptor {
+    private static final String REDACTED = "██";
+    private static final Set<String> REDACTED_HEADERS = new HashSet<>(Arrays.asList(
+            NetworkConfig.HEADER_AUTHORIZATION.toLowerCase(), "cookie", "set-cookie"));
+    private static final Pattern REDACTED_FIELDS = Pattern.compile(
+            "\"(access_token|refresh_token|accessToken|refreshToken|password)\"\\s*:\\s*\"[^\"]*\"?");
+
+    public enum Level {
+        NONE,
+        BASIC,
+        HEADERS,
+        BODY
+    }
+
+    /**
+     * Nơi nhận log (mặc định Logcat)
+     */
+    public interface Sink {
+        void log(String message);
+    }
+
+    private final Level level;
+    private final float sampleRate;
+    private final long maxBodyBytes;
+    private final Sink sink;
+
+    public NetworkLogger(Level level, float sampleRate, long maxBodyBytes) {
+        this(level, sampleRate, maxBodyBytes, message -> Log.d("Network", message));
+    }
+
+    public NetworkLogger(Level level, float sampleRate, long maxBodyBytes, Sink sink) {
+        this.level = level;
+        this.sampleRate = sampleRate;
+        this.maxBodyBytes = maxBodyBytes;
+        this.sink = sink;
+    }
+
+    /**
+     * Logger theo cấu hình build hiện tại
+     */
+    public static NetworkLogger fromConfig() {
+        return new NetworkLogger(NetworkConfig.getLogLevel(), NetworkConfig.LOG_SAMPLE_RATE,
+                NetworkConfig.LOG_MAX_BODY_BYTES);
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        if (level == Level.NONE || !isSampled()) {
+            return chain.proceed(request);
+        }
+
+        boolean logHeaders = level == Level.HEADERS || level == Level.BODY;
+        boolean logBody = level == Level.BODY;
+
+        sink.log("--> " + request.method() + " " + request.url());
+        if (logHeaders) {
+            logHeaders(request.headers());
+        }
+        if (logBody && request.body() != null) {
+            sink.log(describeRequestBody(request.body()));
+        }
+
+        long startNs = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            sink.log("<-- HTTP FAILED: " + e);
+            throw e;
+        }
+        long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
+
+        sink.log("<-- " + response.code() + " " + response.request().url() + " (" + tookMs + "ms)");
+        if (logHeaders) {
+            logHeaders(response.headers());
+        }
+        if (logBody && response.body() != null) {
+            // peekBody chỉ đọc tối đa maxBodyBytes, phần còn lại vẫn stream bình thường
+            ResponseBody peeked = response.peekBody(maxBodyBytes);
+            long peekedBytes = peeked.contentLength();
+            sink.log(redact(peeked.string()) + truncationSuffix(response.body().contentLength(), peekedBytes));
+        }
+        return response;
+    }
+
+    private boolean isSampled() {
+        return sampleRate >= 1f || ThreadLocalRandom.current().nextFloat() < sampleRate;
+    }
+
+    private void logHeaders(Headers headers) {
+        for (int i = 0; i < headers.size(); i++) {
+            String name = headers.name(i);
+            String value = REDACTED_HEADERS.contains(name.toLowerCase()) ? REDACTED : headers.value(i);
+            sink.log(name + ": " + value);
+        }
+    }
+
+    private String describeRequestBody(RequestBody body) throws IOException {
+        long contentLength = body.contentLength();
+        if (body.isOneShot() || body.isDuplex() || contentLength < 0 || contentLength > maxBodyBytes) {
+            return "(" + contentLength + "-byte body omitted)";
+        }
+        Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        return redact(buffer.readString(StandardCharsets.UTF_8));
+    }
+
+    private String truncationSuffix(long contentLength, long peekedBytes) {
+        if (contentLength > maxBodyBytes || (contentLength < 0 && peekedBytes >= maxBodyBytes)) {
+            return " …(truncated to " + maxBodyBytes + " bytes)";
+        }
+        return "";
+    }
+
+    private static String redact(String body) {
+        return REDACTED_FIELDS.matcher(body).replaceAll("\"$1\":\"" + REDACTED + "\"");
+    }
+}
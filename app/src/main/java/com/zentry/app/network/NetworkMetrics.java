@@ -0,0 +1,269 @@
+package com.zentry.app.network;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import retrofit2.Invocation;
+
+/**
+ * Đo thời gian từng giai đoạn của mỗi call theo route bằng OkHttp EventListener.
+ * - Route = Interface.method của Retrofit (vd "IAuthenticationAPI.login"), fallback METHOD /path
+ * - Mỗi giai đoạn ghi vào một {@link LatencyHistogram} lock-free, đọc được p50/p95/p99 trong process
+ * - dump() ghi toàn bộ ra file JSON để đính kèm bug report
+ * Mỗi event chỉ là một lần System.nanoTime() và vài phép gán nên có thể để bật ở release.
+ */
+public final class NetworkMetrics implements EventListener.Factory {
+    private static volatile NetworkMetrics instance;
+
+    public enum Phase {
+        DNS,
+        CONNECT,
+        TLS,
+        REQUEST,
+        TTFB,
+        RESPONSE_BODY,
+        TOTAL
+    }
+
+    private final Map<String, RouteStats> routes = new ConcurrentHashMap<>();
+
+    public static NetworkMetrics getInstance() {
+        if (instance == null) {
+            synchronized (NetworkMetrics.class) {
+                if (instance == null) {
+                    instance = new NetworkMetrics();
+                }
+            }
+        }
+        return instance;
+    }
+
+    NetworkMetrics() {
+    }
+
+    @NonNull
+    @Override
+    public EventListener create(@NonNull Call call) {
+        return new CallTimer(routeStats(routeOf(call.request())));
+    }
+
+    /**
+     * Histogram của một route/giai đoạn, null nếu route chưa có call nào
+     */
+    public LatencyHistogram getHistogram(String route, Phase phase) {
+        RouteStats stats = routes.get(route);
+        return stats != null ? stats.histograms.get(phase) : null;
+    }
+
+    /**
+     * Percentile (ms) của một route/giai đoạn, 0 nếu chưa có dữ liệu
+     */
+    public double getPercentileMillis(String route, Phase phase, double percentile) {
+        LatencyHistogram histogram = getHistogram(route, phase);
+        return histogram != null ? histogram.getPercentileMicros(percentile) / 1000.0 : 0;
+    }
+
+    public List<String> getRoutes() {
+        return new ArrayList<>(new TreeMap<>(routes).keySet());
+    }
+
+    /**
+     * Ghi count, mean, p50/p95/p99 (ms) của mọi route và giai đoạn ra file JSON
+     */
+    public void dump(File file) throws IOException {
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8);
+             JsonWriter json = new JsonWriter(writer)) {
+            json.setIndent("  ");
+            json.beginObject();
+            json.name("generatedAt").value(System.currentTimeMillis());
+            json.name("routes").beginObject();
+            for (Map.Entry<String, RouteStats> route : new TreeMap<>(routes).entrySet()) {
+                json.name(route.getKey()).beginObject();
+                json.name("failures").value(route.getValue().failures.get());
+                for (Map.Entry<Phase, LatencyHistogram> phase : route.getValue().histograms.entrySet()) {
+                    LatencyHistogram histogram = phase.getValue();
+                    if (histogram.getCount() == 0) {
+                        continue;
+                    }
+                    json.name(phase.getKey().name().toLowerCase()).beginObject();
+                    json.name("count").value(histogram.getCount());
+                    json.name("meanMs").value(histogram.getMeanMicros() / 1000.0);
+                    json.name("p50Ms").value(histogram.getPercentileMicros(50) / 1000.0);
+                    json.name("p95Ms").value(histogram.getPercentileMicros(95) / 1000.0);
+                    json.name("p99Ms").value(histogram.getPercentileMicros(99) / 1000.0);
+                    json.endObject();
+                }
+                json.endObject();
+            }
+            json.endObject();
+            json.endObject();
+        }
+    }
+
+    /**
+     * Xóa toàn bộ số liệu đã ghi
+     */
+    public void reset() {
+        routes.clear();
+    }
+
+    static String routeOf(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation != null) {
+            Method method = invocation.method();
+            return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        }
+        return request.method() + " " + request.url().encodedPath();
+    }
+
+    private RouteStats routeStats(String route) {
+        RouteStats stats = routes.get(route);
+        if (stats == null) {
+            RouteStats created = new RouteStats();
+            stats = routes.putIfAbsent(route, created);
+            if (stats == null) {
+                stats = created;
+            }
+        }
+        return stats;
+    }
+
+    private static final class RouteStats {
+        final Map<Phase, LatencyHistogram> histograms = new EnumMap<>(Phase.class);
+        final AtomicLong failures = new AtomicLong();
+
+        RouteStats() {
+            // Tạo đủ trước để map chỉ đọc sau khi publish
+            for (Phase phase : Phase.values()) {
+                histograms.put(phase, new LatencyHistogram());
+            }
+        }
+
+        void record(Phase phase, long startNanos, long endNanos) {
+            if (startNanos != 0 && endNanos >= startNanos) {
+                histograms.get(phase).record(TimeUnit.NANOSECONDS.toMicros(endNanos - startNanos));
+            }
+        }
+    }
+
+    /**
+     * Listener của một call - các event của một call xảy ra tuần tự nên không cần đồng bộ
+     */
+    private static final class CallTimer extends EventListener {
+        private final RouteStats stats;
+        private long callStart;
+        private long dnsStart;
+        private long connectStart;
+        private long secureConnectStart;
+        private long requestStart;
+        private long requestEnd;
+        private long responseBodyStart;
+
+        CallTimer(RouteStats stats) {
+            this.stats = stats;
+        }
+
+        @Override
+        public void callStart(@NonNull Call call) {
+            callStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsStart(@NonNull Call call, @NonNull String domainName) {
+            dnsStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsEnd(@NonNull Call call, @NonNull String domainName, @NonNull List<InetAddress> inetAddressList) {
+            stats.record(Phase.DNS, dnsStart, System.nanoTime());
+        }
+
+        @Override
+        public void connectStart(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress, @NonNull Proxy proxy) {
+            connectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectStart(@NonNull Call call) {
+            secureConnectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectEnd(@NonNull Call call, Handshake handshake) {
+            stats.record(Phase.TLS, secureConnectStart, System.nanoTime());
+        }
+
+        @Override
+        public void connectEnd(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress,
+                               @NonNull Proxy proxy, Protocol protocol) {
+            stats.record(Phase.CONNECT, connectStart, System.nanoTime());
+        }
+
+        @Override
+        public void requestHeadersStart(@NonNull Call call) {
+            requestStart = System.nanoTime();
+        }
+
+        @Override
+        public void requestHeadersEnd(@NonNull Call call, @NonNull Request request) {
+            requestEnd = System.nanoTime();
+        }
+
+        @Override
+        public void requestBodyEnd(@NonNull Call call, long byteCount) {
+            requestEnd = System.nanoTime();
+        }
+
+        @Override
+        public void responseHeadersStart(@NonNull Call call) {
+            long now = System.nanoTime();
+            stats.record(Phase.REQUEST, requestStart, requestEnd);
+            stats.record(Phase.TTFB, requestEnd, now);
+        }
+
+        @Override
+        public void responseBodyStart(@NonNull Call call) {
+            responseBodyStart = System.nanoTime();
+        }
+
+        @Override
+        public void responseBodyEnd(@NonNull Call call, long byteCount) {
+            stats.record(Phase.RESPONSE_BODY, responseBodyStart, System.nanoTime());
+        }
+
+        @Override
+        public void callEnd(@NonNull Call call) {
+            stats.record(Phase.TOTAL, callStart, System.nanoTime());
+        }
+
+        @Override
+        public void callFailed(@NonNull Call call, @NonNull IOException ioe) {
+            stats.failures.incrementAndGet();
+        }
+    }
+}
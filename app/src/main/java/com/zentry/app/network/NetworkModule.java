@@ -1,24 +1,30 @@
 package com.zentry.app.network;
 
 import android.content.Context;
+import android.os.Process;
+import android.os.Trace;
+import android.util.Log;
+
 import retrofit2.Retrofit;
 
 /**
  * Centralized Network Module - Entry point cho tất cả network operations
  * Singleton pattern để đảm bảo consistency across app
+ * Object graph (AuthManager, OkHttp, Retrofit) được tạo lazy ở lần dùng đầu tiên
+ * hoặc prewarm trên background thread khi app khởi động (xem {@link #prewarm(Context)}).
  */
 public final class NetworkModule {
+    private static final String TAG = "NetworkModule";
     private static volatile NetworkModule instance;
-    private final AuthManager authManager;
-    private final Retrofit retrofit;
+    private final Context appContext;
+    private volatile Retrofit retrofit;
 
     private NetworkModule(Context context) {
-        this.authManager = new AuthManager(context.getApplicationContext());
-        this.retrofit = RetrofitClient.getInstance(authManager);
+        this.appContext = context.getApplicationContext();
     }
 
     /**
-     * Thread-safe singleton
+     * Thread-safe singleton - không tạo Retrofit/OkHttp ở đây
      */
     public static NetworkModule getInstance(Context context) {
         if (instance == null) {
@@ -31,18 +37,58 @@ public final class NetworkModule {
         return instance;
     }
 
+    /**
+     * Dựng sẵn network stack trên background thread để màn hình đầu tiên không phải chờ
+     * (SSLContext, OkHttp client, Gson, đọc session từ prefs)
+     */
+    public static void prewarm(Context context) {
+        Context appContext = context.getApplicationContext();
+        Thread thread = new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            try {
+                getInstance(appContext).getRetrofit();
+            } catch (RuntimeException e) {
+                // Lần dùng thật sẽ thử tạo lại và báo lỗi đúng chỗ
+                Log.w(TAG, "Network prewarm failed", e);
+            }
+        }, "network-prewarm");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
     /**
      * Get AuthManager instance
      */
     public AuthManager getAuthManager() {
-        return authManager;
+        Trace.beginSection("NetworkModule.authManager");
+        try {
+            return AuthManager.getInstance(appContext);
+        } finally {
+            Trace.endSection();
+        }
     }
 
     /**
      * Get Retrofit instance - tự động handle auth
      */
     public Retrofit getRetrofit() {
-        return retrofit;
+        Retrofit current = retrofit;
+        if (current == null) {
+            synchronized (this) {
+                current = retrofit;
+                if (current == null) {
+                    AuthManager authManager = getAuthManager();
+                    Trace.beginSection("NetworkModule.retrofit");
+                    try {
+                        current = RetrofitClient.getInstance(appContext, authManager);
+                    } finally {
+                        Trace.endSection();
+                    }
+                    retrofit = current;
+                }
+            }
+        }
+        return current;
     }
 
     /**
@@ -50,7 +96,7 @@ public final class NetworkModule {
      * AuthInterceptor sẽ tự động detect và handle
      */
     public <T> T createService(Class<T> serviceClass) {
-        return retrofit.create(serviceClass);
+        return getRetrofit().create(serviceClass);
     }
 
     /**
@@ -58,9 +104,10 @@ public final class NetworkModule {
      */
     public static synchronized void reset() {
         if (instance != null) {
-            instance.authManager.logout();
+            instance.getAuthManager().logout();
+            HttpCache.clear();
             RetrofitClient.reset();
             instance = null;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,12 @@
+package com.zentry.app.network;
+
+import java.io.IOException;
+
+/**
+ * Request bị từ chối ngay vì thiết bị đang offline (không chờ timeout)
+ */
+public class OfflineException extends IOException {
+    public OfflineException() {
+        super("No network connection");
+    }
+}
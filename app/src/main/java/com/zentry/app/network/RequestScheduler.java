@@ -0,0 +1,287 @@
+package com.zentry.app.network;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Request;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+/**
+ * Điều phối request theo trạng thái mạng, đặt trước các CallAdapter khác của Retrofit.
+ * - Offline: call {@link Deferrable} được giữ lại, các call khác fail ngay bằng {@link OfflineException}
+ * - Có mạng trở lại: mọi call đang giữ được gửi cùng một lượt
+ * - Online: call {@link Deferrable} được gom trong batchWindow rồi gửi cùng lúc để radio chỉ bật một lần;
+ *   nếu có call thường đi ra (radio đang bật sẵn) thì gửi luôn cả batch
+ */
+public class RequestScheduler extends CallAdapter.Factory implements ConnectivitySource.Listener {
+    private final ConnectivitySource connectivity;
+    private final long batchWindowMillis;
+    private final List<Runnable> parked = new ArrayList<>(); // guarded by this
+    private ScheduledFuture<?> pendingFlush; // guarded by this
+    private boolean shutdown; // guarded by this
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "request-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong parkedCount = new AtomicLong();
+    private final AtomicLong releasedBatchCount = new AtomicLong();
+    private final AtomicLong failFastCount = new AtomicLong();
+
+    public RequestScheduler(ConnectivitySource connectivity, long batchWindowMillis) {
+        this.connectivity = connectivity;
+        this.batchWindowMillis = batchWindowMillis;
+        connectivity.addListener(this);
+    }
+
+    @Override
+    public CallAdapter<?, ?> get(@NonNull Type returnType, @NonNull Annotation[] annotations,
+                                 @NonNull Retrofit retrofit) {
+        boolean deferrable = isDeferrable(annotations);
+        return wrap(retrofit.nextCallAdapter(this, returnType, annotations), deferrable);
+    }
+
+    private static boolean isDeferrable(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof Deferrable) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private <R, T> CallAdapter<R, T> wrap(CallAdapter<R, T> delegate, boolean deferrable) {
+        return new CallAdapter<R, T>() {
+            @NonNull
+            @Override
+            public Type responseType() {
+                return delegate.responseType();
+            }
+
+            @NonNull
+            @Override
+            public T adapt(@NonNull Call<R> call) {
+                return delegate.adapt(new ScheduledCall<>(call, deferrable));
+            }
+        };
+    }
+
+    @Override
+    public void onConnectivityChanged(boolean online) {
+        if (online) {
+            flush();
+        }
+    }
+
+    /**
+     * Ngừng theo dõi kết nối; call đang giữ được thả ra để không bị treo
+     * (offline thì sẽ lỗi như call bình thường), call deferrable đến sau fail ngay bằng IOException
+     */
+    public void shutdown() {
+        synchronized (this) {
+            shutdown = true;
+        }
+        connectivity.removeListener(this);
+        release(true);
+        timer.shutdown();
+    }
+
+    /**
+     * Số call deferrable đã phải chờ (offline hoặc gom batch)
+     */
+    public long getParkedCount() {
+        return parkedCount.get();
+    }
+
+    /**
+     * Số lượt gửi batch - mỗi lượt tương ứng một lần bật radio
+     */
+    public long getReleasedBatchCount() {
+        return releasedBatchCount.get();
+    }
+
+    /**
+     * Số call bị từ chối ngay vì offline
+     */
+    public long getFailFastCount() {
+        return failFastCount.get();
+    }
+
+    /**
+     * Giữ call lại tới lượt flush tiếp theo
+     *
+     * @throws IOException nếu scheduler đã shutdown - không còn ai flush, call sẽ bị treo mãi
+     */
+    private void park(Runnable start) throws IOException {
+        synchronized (this) {
+            if (shutdown) {
+                throw new IOException("Request scheduler is shut down");
+            }
+            parkedCount.incrementAndGet();
+            parked.add(start);
+            if (connectivity.isOnline() && pendingFlush == null) {
+                pendingFlush = timer.schedule(this::flush, batchWindowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Gửi mọi call đang giữ nếu đang online
+     */
+    void flush() {
+        release(false);
+    }
+
+    private void release(boolean force) {
+        List<Runnable> batch;
+        synchronized (this) {
+            if (pendingFlush != null) {
+                pendingFlush.cancel(false);
+                pendingFlush = null;
+            }
+            if (parked.isEmpty() || (!force && !connectivity.isOnline())) {
+                return;
+            }
+            batch = new ArrayList<>(parked);
+            parked.clear();
+        }
+        releasedBatchCount.incrementAndGet();
+        for (Runnable start : batch) {
+            start.run();
+        }
+    }
+
+    private final class ScheduledCall<R> implements Call<R> {
+        private final Call<R> delegate;
+        private final boolean deferrable;
+        private final AtomicBoolean executed = new AtomicBoolean();
+        private final CountDownLatch released = new CountDownLatch(1);
+        private volatile boolean canceled;
+
+        ScheduledCall(Call<R> delegate, boolean deferrable) {
+            this.delegate = delegate;
+            this.deferrable = deferrable;
+        }
+
+        @NonNull
+        @Override
+        public Response<R> execute() throws IOException {
+            markExecuted();
+            if (deferrable) {
+                park(released::countDown);
+                try {
+                    released.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for network");
+                }
+            } else {
+                checkOnline();
+            }
+            return delegate.execute();
+        }
+
+        @Override
+        public void enqueue(@NonNull Callback<R> callback) {
+            markExecuted();
+            Callback<R> forwarding = new Callback<R>() {
+                @Override
+                public void onResponse(@NonNull Call<R> call, @NonNull Response<R> response) {
+                    callback.onResponse(ScheduledCall.this, response);
+                }
+
+                @Override
+                public void onFailure(@NonNull Call<R> call, @NonNull Throwable t) {
+                    callback.onFailure(ScheduledCall.this, t);
+                }
+            };
+
+            if (deferrable) {
+                try {
+                    park(() -> delegate.enqueue(forwarding));
+                } catch (IOException e) {
+                    callback.onFailure(this, e);
+                }
+                return;
+            }
+            try {
+                checkOnline();
+            } catch (OfflineException e) {
+                callback.onFailure(this, e);
+                return;
+            }
+            delegate.enqueue(forwarding);
+        }
+
+        private void checkOnline() throws OfflineException {
+            if (!connectivity.isOnline()) {
+                failFastCount.incrementAndGet();
+                throw new OfflineException();
+            }
+            // Radio đang được bật cho call này - gửi luôn các call deferrable đang chờ
+            flush();
+        }
+
+        private void markExecuted() {
+            if (!executed.compareAndSet(false, true)) {
+                throw new IllegalStateException("Already executed.");
+            }
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return executed.get();
+        }
+
+        @Override
+        public void cancel() {
+            canceled = true;
+            delegate.cancel();
+            // Call đang chờ trong execute() được thả ra và nhận IOException "Canceled" từ delegate
+            released.countDown();
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        @SuppressWarnings("MethodDoesntCallSuperMethod")
+        @NonNull
+        @Override
+        public Call<R> clone() {
+            return new ScheduledCall<>(delegate.clone(), deferrable);
+        }
+
+        @NonNull
+        @Override
+        public Request request() {
+            return delegate.request();
+        }
+
+        @NonNull
+        @Override
+        public Timeout timeout() {
+            return delegate.timeout();
+        }
+    }
+}
@@ -1,79 +1,196 @@
 package com.zentry.app.network;
 
-import java.util.concurrent.TimeUnit;
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.TrustManager;
+import android.content.Context;
+import android.os.Trace;
 
 import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
 public class RetrofitClient {
-    private static Retrofit retrofitInstance = null;
+    // volatile: đọc ngoài lock (double-checked locking, các getter metrics) từ thread khác thread đã tạo.
+    // retrofitInstance được gán sau cùng nên thấy nó khác null là thấy đủ các factory bên dưới.
+    // Chỉ retrofitInstance bị reset; các thành phần còn lại sống theo process vì service proxy
+    // tạo trước logout (repository singleton) vẫn dùng chúng
+    private static volatile Retrofit retrofitInstance = null;
+    private static volatile RouteLatencyTracker latencyTracker = null;
+    private static volatile TokenRefreshCoordinator refreshCoordinator = null;
+    private static volatile TokenRefreshScheduler refreshScheduler = null;
+    private static volatile CoalescingCallAdapterFactory coalescingFactory = null;
+    private static volatile HedgingCallAdapterFactory hedgingFactory = null;
+    private static volatile RequestScheduler requestScheduler = null;
+    private static volatile ConnectivitySource connectivitySource = null; // Một callback ConnectivityManager cho cả process
 
     /**
      * Singleton Retrofit instance cho toàn bộ app
      * Tự động handle auth và non-auth APIs
      */
-    public static Retrofit getInstance(AuthManager authManager) {
+    public static Retrofit getInstance(Context context, AuthManager authManager) {
         if (retrofitInstance == null) {
             synchronized (RetrofitClient.class) {
                 if (retrofitInstance == null) {
-                    retrofitInstance = createRetrofit(authManager);
+                    retrofitInstance = createRetrofit(context, authManager);
                 }
             }
         }
         return retrofitInstance;
     }
 
-    private static Retrofit createRetrofit(AuthManager authManager) {
-        // Logging interceptor
-        HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor();
-        loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
+    private static Retrofit createRetrofit(Context context, AuthManager authManager) {
+        Trace.beginSection("RetrofitClient.httpCache");
+        HttpCache httpCache;
+        try {
+            httpCache = HttpCache.getInstance(context);
+        } finally {
+            Trace.endSection();
+        }
+
+        // Latency gần đây theo route - dùng cho timeout thích ứng và hedge
+        if (latencyTracker == null) {
+            latencyTracker = new RouteLatencyTracker();
+        }
+
+        // Derive từ base client để dùng chung connection pool với refresh token
+        // (lần đầu sẽ khởi tạo SSLContext của base client)
+        Trace.beginSection("RetrofitClient.okHttp");
+        OkHttpClient client;
+        try {
+            OkHttpClient.Builder clientBuilder = HttpClientFactory.newBuilder()
+                    .cache(httpCache.getCache())
+                    // Ngoài cùng: mọi interceptor bên dưới và Retrofit chỉ thấy error body đã bị cắt
+                    .addInterceptor(new ErrorBodyLimitInterceptor(NetworkConfig.ERROR_BODY_MAX_BYTES))
+                    .addInterceptor(httpCache.applicationInterceptor())
+                    .addInterceptor(new AdaptiveTimeoutInterceptor(latencyTracker))
+                    .addNetworkInterceptor(httpCache.networkInterceptor())
+                    .addNetworkInterceptor(ConnectionPrewarmer.getInstance().loginConnectionTracker());
 
-        OkHttpClient.Builder clientBuilder = new OkHttpClient.Builder()
-                .connectTimeout(NetworkConfig.CONNECT_TIMEOUT, TimeUnit.SECONDS)
-                .readTimeout(NetworkConfig.READ_TIMEOUT, TimeUnit.SECONDS)
-                .writeTimeout(NetworkConfig.WRITE_TIMEOUT, TimeUnit.SECONDS)
-                .addInterceptor(loggingInterceptor);
+            // Thời gian DNS / connect / TLS / TTFB... theo route
+            if (NetworkConfig.NETWORK_METRICS_ENABLED) {
+                clientBuilder.eventListenerFactory(NetworkMetrics.getInstance());
+            }
+
+            // Thêm auth interceptor nếu có AuthManager
+            if (authManager != null) {
+                if (refreshCoordinator == null) {
+                    refreshCoordinator = new TokenRefreshCoordinator(authManager);
+                }
+                clientBuilder.addInterceptor(new AuthInterceptor(authManager, refreshCoordinator));
+                // Fingerprint thiết bị cho các call check-in (@DeviceBound)
+                clientBuilder.addInterceptor(new DeviceFingerprintInterceptor(authManager));
+
+                // Refresh chủ động trước khi token hết hạn. Theo session của AuthManager
+                // (login lên lịch, logout hủy), không theo vòng đời Retrofit
+                if (refreshScheduler == null) {
+                    refreshScheduler = new TokenRefreshScheduler(authManager, refreshCoordinator);
+                    refreshScheduler.start();
+                }
+            }
 
-        // Thêm auth interceptor nếu có AuthManager
-        if (authManager != null) {
-            clientBuilder.addInterceptor(new AuthInterceptor(authManager));
+            // Logging theo build type (release: không add interceptor).
+            // Đặt sau AuthInterceptor để log cả request gửi lại sau khi refresh token
+            NetworkLogger networkLogger = NetworkLogger.fromConfig();
+            if (networkLogger.getLevel() != NetworkLogger.Level.NONE) {
+                clientBuilder.addInterceptor(networkLogger);
+            }
+
+            client = clientBuilder.build();
+            httpCache.attach(client);
+        } finally {
+            Trace.endSection();
+        }
+
+        // Offline: fail nhanh hoặc giữ call @Deferrable tới khi có mạng.
+        // Dùng chung cho cả process và không bị reset: service proxy tạo trước logout
+        // (NetworkModule, CheckInRepository...) vẫn đi qua scheduler này
+        if (connectivitySource == null) {
+            connectivitySource = new AndroidConnectivitySource(context.getApplicationContext());
+        }
+        if (requestScheduler == null) {
+            requestScheduler = new RequestScheduler(connectivitySource, NetworkConfig.SCHEDULER_BATCH_WINDOW_MS);
         }
 
-        // SSL configuration cho development (CHỈ dùng khi debug)
-//        if (BuildConfig.DEBUG) {
-            configureTrustAllSSL(clientBuilder);
-//        }
+        // Gộp các GET giống nhau đang chạy (nhiều fragment observe cùng dữ liệu)
+        if (coalescingFactory == null) {
+            coalescingFactory = CoalescingCallAdapterFactory.create(authManager);
+        }
+        // Hedge các GET có @Hedge, giới hạn bởi retry budget
+        if (hedgingFactory == null) {
+            hedgingFactory = new HedgingCallAdapterFactory(latencyTracker,
+                    new RetryBudget(NetworkConfig.HEDGE_BUDGET_RATIO, NetworkConfig.HEDGE_BUDGET_MAX_TOKENS));
+        }
+
+        Trace.beginSection("RetrofitClient.build");
+        try {
+            return buildRetrofit(NetworkConfig.getBaseUrl(), client, requestScheduler, hedgingFactory, coalescingFactory);
+        } finally {
+            Trace.endSection();
+        }
+    }
 
+    /**
+     * Chuỗi call adapter của app. Factory add trước bọc sát call OkHttp hơn:
+     * coalescing(hedging(scheduler(call))). Hedge phải nằm trong coalescing - nếu nằm ngoài,
+     * bản sao hedge (clone của CoalescingCall) chỉ gắn lại vào flight đang chạy, không gửi request nào.
+     */
+    static Retrofit buildRetrofit(String baseUrl, OkHttpClient client, RequestScheduler requestScheduler,
+                                  HedgingCallAdapterFactory hedgingFactory,
+                                  CoalescingCallAdapterFactory coalescingFactory) {
         return new Retrofit.Builder()
-                .baseUrl(NetworkConfig.getBaseUrl())
-                .client(clientBuilder.build())
-                .addConverterFactory(GsonConverterFactory.create())
+                .baseUrl(baseUrl)
+                .client(client)
+                .addCallAdapterFactory(requestScheduler)
+                .addCallAdapterFactory(hedgingFactory)
+                .addCallAdapterFactory(coalescingFactory)
+                .addConverterFactory(GsonConverterFactory.create(GsonProvider.getGson()))
                 .build();
     }
 
     /**
-     * Reset retrofit instance (dùng khi logout hoặc cần refresh toàn bộ)
+     * Reset retrofit instance (dùng khi logout hoặc cần refresh toàn bộ).
+     * Xóa response đã gộp của user cũ; scheduler refresh tự hủy lịch khi session bị xóa
      */
     public static void reset() {
         synchronized (RetrofitClient.class) {
             retrofitInstance = null;
+            if (coalescingFactory != null) {
+                coalescingFactory.clearMemo();
+            }
         }
     }
 
-    private static void configureTrustAllSSL(OkHttpClient.Builder builder) {
-        try {
-            TrustManager[] trustAllCerts = new TrustManager[]{new TrustAllCerts()};
-            SSLContext sslContext = SSLContext.getInstance("SSL");
-            sslContext.init(null, trustAllCerts, new java.security.SecureRandom());
-
-            builder.sslSocketFactory(sslContext.getSocketFactory(), new TrustAllCerts())
-                    .hostnameVerifier(new TrustAllHostnameVerifier());
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to configure SSL", e);
-        }
+    /**
+     * Retrofit đã được tạo (và chưa bị reset) hay chưa
+     */
+    static boolean isCreated() {
+        return retrofitInstance != null;
+    }
+
+    /**
+     * Scheduler refresh chủ động (null nếu client được tạo không có AuthManager),
+     * dùng để đọc số lần refresh chủ động / do 401
+     */
+    public static TokenRefreshScheduler getRefreshScheduler() {
+        return refreshScheduler;
+    }
+
+    /**
+     * Factory gộp request, dùng để đọc số network call đã tiết kiệm được
+     */
+    public static CoalescingCallAdapterFactory getCoalescingFactory() {
+        return coalescingFactory;
+    }
+
+    /**
+     * Factory hedge request, dùng để đọc số request hedge / số lần hết budget
+     */
+    public static HedgingCallAdapterFactory getHedgingFactory() {
+        return hedgingFactory;
+    }
+
+    /**
+     * Scheduler theo trạng thái mạng, dùng để đọc số call bị giữ / fail nhanh khi offline
+     */
+    public static RequestScheduler getRequestScheduler() {
+        return requestScheduler;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package com.zentry.app.network;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Giới hạn số request gửi thêm (hedge, retry) theo tỉ lệ với số request thật,
+ * để khi server chậm thì client không nhân đôi tải lên server.
+ * Mỗi request nạp ratio token (tối đa maxTokens), mỗi lần gửi thêm tốn 1 token.
+ */
+public final class RetryBudget {
+    private static final long SCALE = 1_000; // Lưu token dạng milli-token để dùng AtomicLong
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    public RetryBudget(double ratio, int maxTokens) {
+        this.depositPerRequest = Math.round(ratio * SCALE);
+        this.maxBalance = (long) maxTokens * SCALE;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    /**
+     * Ghi nhận một request thật
+     */
+    public void deposit() {
+        long current;
+        long next;
+        do {
+            current = balance.get();
+            next = Math.min(maxBalance, current + depositPerRequest);
+        } while (current != next && !balance.compareAndSet(current, next));
+    }
+
+    /**
+     * Lấy 1 token để gửi thêm request
+     *
+     * @return false nếu đã hết budget
+     */
+    public boolean tryAcquire() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+}
@@ -0,0 +1,82 @@
+package com.zentry.app.network;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Độ trễ gần đây của từng route (cửa sổ trượt N mẫu gần nhất, đơn vị ms).
+ * Khác với {@link NetworkMetrics} (cộng dồn từ lúc mở app), cửa sổ này theo kịp khi mạng
+ * thay đổi (đổi Wi-Fi, mạng trường nghẽn) nên dùng để tính timeout và thời điểm hedge.
+ */
+public final class RouteLatencyTracker {
+    private final int windowSize;
+    private final int minSamples;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    public RouteLatencyTracker() {
+        this(NetworkConfig.LATENCY_WINDOW_SIZE, NetworkConfig.LATENCY_MIN_SAMPLES);
+    }
+
+    public RouteLatencyTracker(int windowSize, int minSamples) {
+        this.windowSize = windowSize;
+        this.minSamples = minSamples;
+    }
+
+    public void record(String route, long millis) {
+        Window window = windows.get(route);
+        if (window == null) {
+            Window created = new Window(windowSize);
+            window = windows.putIfAbsent(route, created);
+            if (window == null) {
+                window = created;
+            }
+        }
+        window.record(millis);
+    }
+
+    /**
+     * Percentile (0..100) của cửa sổ hiện tại, -1 nếu chưa đủ mẫu để tin được
+     */
+    public long getPercentile(String route, double percentile) {
+        Window window = windows.get(route);
+        if (window == null) {
+            return -1;
+        }
+        long[] samples = window.snapshot();
+        if (samples.length < minSamples) {
+            return -1;
+        }
+        Arrays.sort(samples);
+        int index = (int) Math.ceil(percentile / 100.0 * samples.length) - 1;
+        return samples[Math.max(0, Math.min(samples.length - 1, index))];
+    }
+
+    /**
+     * Ring buffer lock-free: ghi đè mẫu cũ nhất
+     */
+    private static final class Window {
+        private final AtomicLongArray samples;
+        private final AtomicLong written = new AtomicLong();
+
+        Window(int size) {
+            this.samples = new AtomicLongArray(size);
+        }
+
+        void record(long millis) {
+            long slot = written.getAndIncrement();
+            samples.set((int) (slot % samples.length()), millis);
+        }
+
+        long[] snapshot() {
+            int size = (int) Math.min(written.get(), samples.length());
+            long[] copy = new long[size];
+            for (int i = 0; i < size; i++) {
+                copy[i] = samples.get(i);
+            }
+            return copy;
+        }
+    }
+}
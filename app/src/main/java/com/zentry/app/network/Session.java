@@ -0,0 +1,94 @@
+package com.zentry.app.network;
+
+/**
+ * Snapshot bất biến của phiên đăng nhập.
+ * AuthManager thay thế toàn bộ snapshot mỗi lần thay đổi nên access/refresh token
+ * luôn được đọc từ cùng một lần ghi.
+ */
+public final class Session {
+    public static final Session EMPTY = new Session(null, null, 0, null, null, false, false);
+
+    private final String accessToken;
+    private final String refreshToken;
+    private final long tokenExpiresAt;
+    private final String userId;
+    private final String role;
+    private final boolean loggedIn;
+    private final boolean rememberMe;
+    private final DeviceRegistration device;
+
+    public Session(String accessToken, String refreshToken, long tokenExpiresAt,
+                   String userId, String role, boolean loggedIn, boolean rememberMe) {
+        this(accessToken, refreshToken, tokenExpiresAt, userId, role, loggedIn, rememberMe, DeviceRegistration.EMPTY);
+    }
+
+    public Session(String accessToken, String refreshToken, long tokenExpiresAt,
+                   String userId, String role, boolean loggedIn, boolean rememberMe, DeviceRegistration device) {
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+        this.tokenExpiresAt = tokenExpiresAt;
+        this.userId = userId;
+        this.role = role;
+        this.loggedIn = loggedIn;
+        this.rememberMe = rememberMe;
+        this.device = device;
+    }
+
+    public Session withTokens(String accessToken, String refreshToken, long tokenExpiresAt) {
+        return new Session(accessToken, refreshToken, tokenExpiresAt, userId, role, true, rememberMe, device);
+    }
+
+    public Session withUserInfo(String userId, String role) {
+        return new Session(accessToken, refreshToken, tokenExpiresAt, userId, role, loggedIn, rememberMe, device);
+    }
+
+    public Session withRememberMe(boolean rememberMe) {
+        return new Session(accessToken, refreshToken, tokenExpiresAt, userId, role, loggedIn, rememberMe, device);
+    }
+
+    public Session withDevice(DeviceRegistration device) {
+        return new Session(accessToken, refreshToken, tokenExpiresAt, userId, role, loggedIn, rememberMe, device);
+    }
+
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    /**
+     * Thời điểm access token hết hạn (epoch millis), 0 nếu không rõ
+     */
+    public long getTokenExpiresAt() {
+        return tokenExpiresAt;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public boolean isRememberMe() {
+        return rememberMe;
+    }
+
+    /**
+     * Định danh/đăng ký thiết bị, không bao giờ null
+     */
+    public DeviceRegistration getDevice() {
+        return device;
+    }
+
+    public boolean hasValidTokens() {
+        return accessToken != null && refreshToken != null;
+    }
+
+    public boolean isLoggedIn() {
+        return loggedIn && hasValidTokens();
+    }
+}
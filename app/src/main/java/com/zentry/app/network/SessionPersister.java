@@ -0,0 +1,111 @@
+package com.zentry.app.network;
+
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Ghi Session xuống SharedPreferences trên một I/O thread riêng.
+ * Mỗi lần ghi là một record đầy đủ trong một editor; các thay đổi dồn dập
+ * trong lúc đang chờ ghi được gộp lại thành một lần ghi duy nhất.
+ */
+final class SessionPersister {
+    private static final String TAG = "SessionPersister";
+
+    private static final String ACCESS_TOKEN_KEY = "access_token";
+    private static final String REFRESH_TOKEN_KEY = "refresh_token";
+    private static final String TOKEN_EXPIRES_AT_KEY = "token_expires_at";
+    private static final String USER_ID_KEY = "user_id";
+    private static final String USER_ROLE_KEY = "user_role";
+    private static final String IS_LOGGED_IN_KEY = "is_logged_in";
+    private static final String REMEMBER_ME_KEY = "remember_me";
+    private static final String DEVICE_FINGERPRINT_KEY = "device_fingerprint";
+    private static final String DEVICE_ID_KEY = "device_id";
+    private static final String DEVICE_USER_ID_KEY = "device_user_id";
+
+    private final SharedPreferences sharedPreferences;
+    private final boolean syncWrites;
+    private final Supplier<Session> latestSession;
+    private final AtomicBoolean writeScheduled = new AtomicBoolean();
+    private final ExecutorService ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "session-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param syncWrites true: dùng commit() (fsync một lần mỗi record), false: apply()
+     */
+    SessionPersister(SharedPreferences sharedPreferences, boolean syncWrites, Supplier<Session> latestSession) {
+        this.sharedPreferences = sharedPreferences;
+        this.syncWrites = syncWrites;
+        this.latestSession = latestSession;
+    }
+
+    Session load() {
+        return new Session(
+                sharedPreferences.getString(ACCESS_TOKEN_KEY, null),
+                sharedPreferences.getString(REFRESH_TOKEN_KEY, null),
+                sharedPreferences.getLong(TOKEN_EXPIRES_AT_KEY, 0),
+                sharedPreferences.getString(USER_ID_KEY, null),
+                sharedPreferences.getString(USER_ROLE_KEY, null),
+                sharedPreferences.getBoolean(IS_LOGGED_IN_KEY, false),
+                sharedPreferences.getBoolean(REMEMBER_ME_KEY, false),
+                new DeviceRegistration(
+                        sharedPreferences.getString(DEVICE_FINGERPRINT_KEY, null),
+                        sharedPreferences.getString(DEVICE_ID_KEY, null),
+                        sharedPreferences.getString(DEVICE_USER_ID_KEY, null)));
+    }
+
+    /**
+     * Lên lịch ghi snapshot mới nhất; bỏ qua nếu đã có lần ghi đang chờ
+     */
+    void schedule() {
+        if (writeScheduled.compareAndSet(false, true)) {
+            ioExecutor.execute(this::write);
+        }
+    }
+
+    /**
+     * Chờ các lần ghi đang chờ hoàn tất (dùng khi cần chắc chắn dữ liệu đã xuống đĩa)
+     */
+    void flush(long timeout, TimeUnit unit) {
+        try {
+            ioExecutor.submit(() -> { }).get(timeout, unit);
+        } catch (Exception e) {
+            Log.w(TAG, "Failed to flush session", e);
+        }
+    }
+
+    private void write() {
+        // Reset trước khi đọc snapshot để thay đổi đến sau sẽ lên lịch lần ghi mới
+        writeScheduled.set(false);
+        Session session = latestSession.get();
+
+        SharedPreferences.Editor editor = sharedPreferences.edit()
+                .clear()
+                .putString(ACCESS_TOKEN_KEY, session.getAccessToken())
+                .putString(REFRESH_TOKEN_KEY, session.getRefreshToken())
+                .putLong(TOKEN_EXPIRES_AT_KEY, session.getTokenExpiresAt())
+                .putString(USER_ID_KEY, session.getUserId())
+                .putString(USER_ROLE_KEY, session.getRole())
+                .putBoolean(IS_LOGGED_IN_KEY, session.isLoggedIn())
+                .putBoolean(REMEMBER_ME_KEY, session.isRememberMe())
+                .putString(DEVICE_FINGERPRINT_KEY, session.getDevice().getFingerprint())
+                .putString(DEVICE_ID_KEY, session.getDevice().getDeviceId())
+                .putString(DEVICE_USER_ID_KEY, session.getDevice().getUserId());
+
+        if (syncWrites) {
+            if (!editor.commit()) {
+                Log.e(TAG, "Failed to persist session");
+            }
+        } else {
+            editor.apply();
+        }
+    }
+}
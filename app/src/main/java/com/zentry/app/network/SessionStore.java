@@ -0,0 +1,100 @@
+package com.zentry.app.network;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Session dạng observable, dùng chung cho mọi màn hình trong process.
+ * Đọc từ Session trong bộ nhớ của AuthManager (không đọc prefs) và phát lại mỗi khi
+ * session thay đổi: login, refresh token, logout (kể cả khi refresh thất bại ở background).
+ * Trạng thái login và role chỉ phát khi giá trị thực sự đổi.
+ * LiveData luôn được cập nhật trên main thread; các thay đổi dồn dập được gộp lại như postValue.
+ */
+public final class SessionStore {
+    private static volatile SessionStore instance;
+
+    private final AuthManager authManager;
+    private final Executor mainExecutor;
+    private final MutableLiveData<Session> session;
+    private final MutableLiveData<Boolean> loggedIn;
+    private final MutableLiveData<String> role;
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+
+    public static SessionStore getInstance(Context context) {
+        if (instance == null) {
+            synchronized (SessionStore.class) {
+                if (instance == null) {
+                    instance = new SessionStore(AuthManager.getInstance(context),
+                            new Handler(Looper.getMainLooper())::post);
+                }
+            }
+        }
+        return instance;
+    }
+
+    SessionStore(AuthManager authManager, Executor mainExecutor) {
+        this.authManager = authManager;
+        this.mainExecutor = mainExecutor;
+        Session current = authManager.getSession();
+        this.session = new MutableLiveData<>(current);
+        this.loggedIn = new MutableLiveData<>(current.isLoggedIn());
+        this.role = new MutableLiveData<>(current.getRole());
+        authManager.addSessionListener(changed -> scheduleDispatch());
+    }
+
+    /**
+     * Snapshot hiện tại (không chờ LiveData dispatch)
+     */
+    public Session getCurrent() {
+        return authManager.getSession();
+    }
+
+    /**
+     * Toàn bộ session (tokens, user info) mỗi lần thay đổi
+     */
+    public LiveData<Session> getSession() {
+        return session;
+    }
+
+    public LiveData<Boolean> getLoggedIn() {
+        return loggedIn;
+    }
+
+    public LiveData<String> getRole() {
+        return role;
+    }
+
+    /**
+     * Listener có thể chạy trên bất kỳ thread nào (refresh token chạy trên OkHttp thread).
+     * Mọi cập nhật đều đi qua main thread và đọc snapshot mới nhất lúc dispatch, nên một session cũ
+     * phát muộn từ background không thể ghi đè session mới hơn (ví dụ sau logout).
+     */
+    private void scheduleDispatch() {
+        if (dispatchScheduled.compareAndSet(false, true)) {
+            mainExecutor.execute(this::dispatch);
+        }
+    }
+
+    private void dispatch() {
+        // Reset trước khi đọc snapshot để thay đổi đến sau sẽ lên lịch lần dispatch mới
+        dispatchScheduled.set(false);
+        Session next = authManager.getSession();
+        if (next != session.getValue()) {
+            session.setValue(next);
+        }
+        if (!Boolean.valueOf(next.isLoggedIn()).equals(loggedIn.getValue())) {
+            loggedIn.setValue(next.isLoggedIn());
+        }
+        if (!Objects.equals(next.getRole(), role.getValue())) {
+            role.setValue(next.getRole());
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.zentry.app.network;
+
+import android.util.Log;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.zentry.app.model.request.RefreshTokenRequest;
+import com.zentry.app.model.response.TokenModel;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+/**
+ * Single-flight token refresh.
+ * Request 401 đầu tiên sẽ thực hiện refresh, các request còn lại chờ trên cùng một future
+ * (có timeout) thay vì xếp hàng sau một lock chung.
+ */
+public class TokenRefreshCoordinator {
+    private static final String TAG = "TokenRefreshCoordinator";
+
+    private final AuthManager authManager;
+    private final HttpUrl refreshUrl;
+    private final OkHttpClient refreshClient;
+    private final AtomicReference<CompletableFuture<TokenModel>> inFlight = new AtomicReference<>();
+    private final AtomicLong proactiveRefreshCount = new AtomicLong();
+    private final AtomicLong reactiveRefreshCount = new AtomicLong();
+
+    public TokenRefreshCoordinator(AuthManager authManager) {
+        this(authManager, HttpUrl.get(NetworkConfig.getEndpointUrl(NetworkConfig.AUTH_REFRESH_ENDPOINT)));
+    }
+
+    TokenRefreshCoordinator(AuthManager authManager, HttpUrl refreshUrl) {
+        this(authManager, refreshUrl, HttpClientFactory.createRefreshClient());
+    }
+
+    TokenRefreshCoordinator(AuthManager authManager, HttpUrl refreshUrl, OkHttpClient refreshClient) {
+        this.authManager = authManager;
+        this.refreshUrl = refreshUrl;
+        this.refreshClient = refreshClient;
+    }
+
+    /**
+     * Lấy access token mới sau khi staleAccessToken bị server từ chối.
+     * @return access token mới, hoặc null nếu refresh thất bại / quá thời gian chờ
+     */
+    public String refreshAfterUnauthorized(String staleAccessToken) {
+        String currentToken = authManager.getAccessToken();
+        if (currentToken != null && !currentToken.equals(staleAccessToken)) {
+            // Một request khác đã refresh xong
+            return currentToken;
+        }
+
+        TokenModel newTokens = awaitRefresh(staleAccessToken, false);
+        return newTokens != null ? newTokens.getAccessToken() : null;
+    }
+
+    /**
+     * Refresh trước khi access token hết hạn (gọi từ TokenRefreshScheduler).
+     * Nếu thất bại thì giữ nguyên tokens, request 401 sau đó sẽ refresh lại theo cách thông thường.
+     * @return true nếu đã có tokens mới
+     */
+    public boolean refreshProactively() {
+        String currentToken = authManager.getAccessToken();
+        if (currentToken == null) {
+            return false;
+        }
+        return awaitRefresh(currentToken, true) != null;
+    }
+
+    /**
+     * Số lần refresh chủ động trước khi token hết hạn
+     */
+    public long getProactiveRefreshCount() {
+        return proactiveRefreshCount.get();
+    }
+
+    /**
+     * Số lần refresh do request nhận 401
+     */
+    public long getReactiveRefreshCount() {
+        return reactiveRefreshCount.get();
+    }
+
+    private TokenModel awaitRefresh(String staleAccessToken, boolean proactive) {
+        while (true) {
+            CompletableFuture<TokenModel> current = inFlight.get();
+            if (current != null) {
+                return await(current);
+            }
+
+            CompletableFuture<TokenModel> created = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, created)) {
+                runRefresh(created, staleAccessToken, proactive);
+                return created.getNow(null);
+            }
+        }
+    }
+
+    private void runRefresh(CompletableFuture<TokenModel> future, String staleAccessToken, boolean proactive) {
+        TokenModel result = null;
+        try {
+            // Lần refresh trước có thể đã hoàn tất ngay trước khi future này được tạo
+            String currentToken = authManager.getAccessToken();
+            if (currentToken != null && !currentToken.equals(staleAccessToken)) {
+                result = new TokenModel(currentToken, authManager.getRefreshToken(),
+                        authManager.getUserId(), authManager.getUserRole(), remainingSeconds());
+            } else {
+                result = refreshToken();
+                if (result != null) {
+                    authManager.saveTokens(result.getAccessToken(), result.getRefreshToken(), result.getExpiresIn());
+                    (proactive ? proactiveRefreshCount : reactiveRefreshCount).incrementAndGet();
+                } else if (!proactive) {
+                    authManager.clearTokens();
+                }
+            }
+        } finally {
+            // Lưu token trước khi gỡ future để request đến muộn thấy token mới
+            inFlight.compareAndSet(future, null);
+            future.complete(result);
+        }
+    }
+
+    private long remainingSeconds() {
+        long expiresAt = authManager.getTokenExpiresAt();
+        return expiresAt > 0 ? Math.max(0, (expiresAt - System.currentTimeMillis()) / 1000L) : 0;
+    }
+
+    private TokenModel await(CompletableFuture<TokenModel> future) {
+        try {
+            return future.get(NetworkConfig.TOKEN_REFRESH_TIMEOUT, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            Log.w(TAG, "Timed out waiting for token refresh");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Log.e(TAG, "Token refresh failed", e.getCause());
+        }
+        return null;
+    }
+
+    private TokenModel refreshToken() {
+        String refreshToken = authManager.getRefreshToken();
+        if (refreshToken == null) {
+            return null;
+        }
+
+        Log.d(TAG, "Refreshing token...");
+
+        try {
+            Gson gson = GsonProvider.getGson();
+            RequestBody requestBody = RequestBody.create(
+                    MediaType.parse(NetworkConfig.CONTENT_TYPE_JSON),
+                    gson.toJson(new RefreshTokenRequest(refreshToken))
+            );
+
+            Request request = new Request.Builder()
+                    .url(refreshUrl)
+                    .post(requestBody)
+                    .build();
+
+            try (Response response = refreshClient.newCall(request).execute()) {
+                if (response.isSuccessful() && response.body() != null) {
+                    // Decode thẳng từ stream của body, không đọc ra String trung gian.
+                    // expiresIn = 0 nếu server không trả về (khi đó đọc exp trong JWT)
+                    TokenModel tokenModel;
+                    try (JsonReader reader = new JsonReader(response.body().charStream())) {
+                        tokenModel = gson.getAdapter(TokenModel.class).read(reader);
+                    }
+                    if (tokenModel == null || tokenModel.getAccessToken() == null
+                            || tokenModel.getRefreshToken() == null) {
+                        Log.e(TAG, "Token refresh returned an incomplete body");
+                        return null;
+                    }
+
+                    // Response refresh chỉ có access/refresh token,
+                    // userId và role giữ lại từ lần login trước
+                    tokenModel.setUserId(authManager.getUserId());
+                    tokenModel.setRole(authManager.getUserRole());
+
+                    Log.d(TAG, "Token refreshed successfully");
+                    return tokenModel;
+                }
+                Log.e(TAG, "Token refresh failed: " + response.code() + " " + response.message());
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error refreshing token", e);
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,105 @@
+package com.zentry.app.network;
+
+import android.util.Log;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Refresh access token trước khi hết hạn (NetworkConfig.TOKEN_REFRESH_SKEW_SECONDS),
+ * để request thông thường gần như không gặp 401.
+ * Tự lên lịch lại mỗi khi tokens thay đổi: login lên lịch, refresh lên lịch lần kế tiếp,
+ * logout hủy lịch. Một instance cho cả process, không stop khi logout.
+ */
+public class TokenRefreshScheduler {
+    private static final String TAG = "TokenRefreshScheduler";
+    // Tránh refresh liên tục khi server cấp token sống ngắn hơn skew
+    private static final long MIN_REFRESH_DELAY_MILLIS = 5_000;
+
+    private final AuthManager authManager;
+    private final TokenRefreshCoordinator refreshCoordinator;
+    private final long skewMillis;
+    private final long minDelayMillis;
+    private final ScheduledExecutorService executor;
+
+    private final AuthManager.OnSessionChangedListener sessionListener = session -> reschedule();
+
+    private ScheduledFuture<?> pendingRefresh;
+
+    public TokenRefreshScheduler(AuthManager authManager, TokenRefreshCoordinator refreshCoordinator) {
+        this(authManager, refreshCoordinator, TimeUnit.SECONDS.toMillis(NetworkConfig.TOKEN_REFRESH_SKEW_SECONDS));
+    }
+
+    public TokenRefreshScheduler(AuthManager authManager, TokenRefreshCoordinator refreshCoordinator, long skewMillis) {
+        this(authManager, refreshCoordinator, skewMillis, MIN_REFRESH_DELAY_MILLIS);
+    }
+
+    TokenRefreshScheduler(AuthManager authManager, TokenRefreshCoordinator refreshCoordinator,
+                          long skewMillis, long minDelayMillis) {
+        this.authManager = authManager;
+        this.refreshCoordinator = refreshCoordinator;
+        this.skewMillis = skewMillis;
+        this.minDelayMillis = minDelayMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-refresh-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        authManager.addSessionListener(sessionListener);
+        reschedule();
+    }
+
+    public void stop() {
+        authManager.removeSessionListener(sessionListener);
+        synchronized (this) {
+            cancelPending();
+        }
+        executor.shutdownNow();
+    }
+
+    /**
+     * Hủy lịch cũ và lên lịch refresh mới dựa trên thời điểm hết hạn đã lưu
+     */
+    public synchronized void reschedule() {
+        cancelPending();
+        if (executor.isShutdown()) {
+            return;
+        }
+
+        Session session = authManager.getSession();
+        long expiresAt = session.getTokenExpiresAt();
+        if (expiresAt <= 0 || !session.hasValidTokens()) {
+            return;
+        }
+
+        long delay = Math.max(minDelayMillis, expiresAt - skewMillis - System.currentTimeMillis());
+        pendingRefresh = executor.schedule(this::refresh, delay, TimeUnit.MILLISECONDS);
+    }
+
+    public long getProactiveRefreshCount() {
+        return refreshCoordinator.getProactiveRefreshCount();
+    }
+
+    public long getReactiveRefreshCount() {
+        return refreshCoordinator.getReactiveRefreshCount();
+    }
+
+    private void refresh() {
+        // Thành công thì saveTokens sẽ kích hoạt sessionListener và lên lịch lần kế tiếp
+        if (!refreshCoordinator.refreshProactively()) {
+            Log.w(TAG, "Proactive refresh failed, falling back to refresh on 401");
+        }
+    }
+
+    private void cancelPending() {
+        if (pendingRefresh != null) {
+            pendingRefresh.cancel(false);
+            pendingRefresh = null;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.zentry.app.repository;
+
+import android.content.Context;
+
+import com.zentry.app.adapter.AttendancePagingSource;
+import com.zentry.app.api.IAttendanceAPI;
+import com.zentry.app.model.response.AttendanceRecordModel;
+import com.zentry.app.model.stats.AttendanceSummary;
+import com.zentry.app.network.NetworkConfig;
+import com.zentry.app.network.NetworkModule;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Supplier;
+
+import retrofit2.Response;
+
+/**
+ * Lịch sử điểm danh theo trang, làm nguồn dữ liệu cho AttendanceAdapter.
+ * Mỗi trang tải về cũng được cộng vào thống kê ({@link AttendanceStatsRepository});
+ * thống kê được sync qua endpoint thay đổi, chỉ lấy record mới hơn watermark đã lưu.
+ */
+public class AttendanceHistoryRepository implements AttendancePagingSource {
+    private static volatile AttendanceHistoryRepository instance;
+
+    private final IAttendanceAPI api;
+    private final AttendanceStatsRepository stats;
+    private final Supplier<String> currentUserId;
+
+    public static AttendanceHistoryRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (AttendanceHistoryRepository.class) {
+                if (instance == null) {
+                    Context appContext = context.getApplicationContext();
+                    NetworkModule networkModule = NetworkModule.getInstance(appContext);
+                    instance = new AttendanceHistoryRepository(networkModule.createService(IAttendanceAPI.class),
+                            AttendanceStatsRepository.getInstance(appContext),
+                            networkModule.getAuthManager()::getUserId);
+                }
+            }
+        }
+        return instance;
+    }
+
+    AttendanceHistoryRepository(IAttendanceAPI api, AttendanceStatsRepository stats,
+                                Supplier<String> currentUserId) {
+        this.api = api;
+        this.stats = stats;
+        this.currentUserId = currentUserId;
+    }
+
+    @Override
+    public List<AttendanceRecordModel> load(int offset, int limit) throws IOException {
+        List<AttendanceRecordModel> page = bodyOf(api.getHistory(offset, limit).execute());
+        stats.onRecordsSynced(page);
+        return page;
+    }
+
+    /**
+     * Sync thống kê tổng hợp của user hiện tại: mở file thống kê đã lưu, tải từng trang record
+     * thay đổi sau watermark và cộng dồn (không giữ trang nào lại), rồi lưu lại. Gọi trên background thread.
+     */
+    public AttendanceSummary loadOverallSummary() throws IOException {
+        String userId = currentUserId.get();
+        if (userId == null) {
+            return stats.getOverallSummary();
+        }
+        long generation = stats.getGeneration();
+        if (!stats.load(userId, generation)) {
+            return stats.getOverallSummary();
+        }
+        List<AttendanceRecordModel> page;
+        do {
+            page = bodyOf(api.getHistoryChanges(stats.getWatermarkUpdatedAt(), stats.getWatermarkId(),
+                    NetworkConfig.ATTENDANCE_SYNC_PAGE_SIZE).execute());
+            if (!stats.applyChanges(page, generation)) {
+                // Logout giữa chừng
+                return stats.getOverallSummary();
+            }
+        } while (page.size() >= NetworkConfig.ATTENDANCE_SYNC_PAGE_SIZE);
+        stats.persist(generation);
+        return stats.getOverallSummary();
+    }
+
+    /**
+     * Nguồn dữ liệu toàn bộ record của một môn cho export.
+     * Không cộng vào thống kê để export không giữ lại record nào trong bộ nhớ.
+     */
+    public AttendancePagingSource courseRecords(String courseCode) {
+        return (offset, limit) -> bodyOf(api.getCourseRecords(courseCode, offset, limit).execute());
+    }
+
+    private static List<AttendanceRecordModel> bodyOf(Response<List<AttendanceRecordModel>> response)
+            throws IOException {
+        List<AttendanceRecordModel> page = response.body();
+        if (!response.isSuccessful() || page == null) {
+            if (response.errorBody() != null) {
+                response.errorBody().close();
+            }
+            throw new IOException("Failed to load attendance records: HTTP " + response.code());
+        }
+        return page;
+    }
+}
@@ -0,0 +1,200 @@
+package com.zentry.app.repository;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.zentry.app.model.response.AttendanceRecordModel;
+import com.zentry.app.model.stats.AttendanceStatsEngine;
+import com.zentry.app.model.stats.AttendanceSummary;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Giữ {@link AttendanceStatsEngine} của user hiện tại, lưu xuống file riêng của từng user
+ * kèm watermark (updatedAt, id) của record cuối cùng đã sync.
+ * Mở app chỉ đọc lại file; mỗi lần sync chỉ áp dụng các record thay đổi sau watermark.
+ */
+public class AttendanceStatsRepository {
+    private static final String TAG = "AttendanceStatsRepo";
+    private static final String SNAPSHOT_FILE_PREFIX = "attendance_stats_";
+    private static final String SNAPSHOT_FILE_SUFFIX = ".bin";
+
+    private static volatile AttendanceStatsRepository instance;
+
+    private final File directory;
+    private volatile AttendanceStatsEngine engine = new AttendanceStatsEngine();
+    private volatile boolean ready; // đã có thống kê của user hiện tại (từ file hoặc sau lần sync đầu)
+    private String userId; // guarded by this - user của engine và watermark, null nếu chưa load
+    private long watermarkUpdatedAt; // guarded by this
+    private String watermarkId = ""; // guarded by this
+    private long generation; // guarded by this - tăng khi clear() để bỏ kết quả sync của user trước
+
+    public static AttendanceStatsRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (AttendanceStatsRepository.class) {
+                if (instance == null) {
+                    instance = new AttendanceStatsRepository(context.getApplicationContext().getFilesDir());
+                }
+            }
+        }
+        return instance;
+    }
+
+    AttendanceStatsRepository(File directory) {
+        this.directory = directory;
+    }
+
+    public AttendanceStatsEngine getEngine() {
+        return engine;
+    }
+
+    public AttendanceSummary getOverallSummary() {
+        return engine.getOverallSummary();
+    }
+
+    /**
+     * Cộng một trang lịch sử vừa tải (màn lịch sử) vào thống kê. Không dời watermark:
+     * cùng record đến lại qua sync thì apply() bỏ qua vì không đổi trạng thái.
+     */
+    public void onRecordsSynced(List<AttendanceRecordModel> page) {
+        engine.applyAll(page);
+    }
+
+    /**
+     * Đã có thống kê của user hiện tại chưa (false sau khi mở app lần đầu hoặc logout)
+     */
+    public boolean isBuilt() {
+        return ready;
+    }
+
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    public synchronized long getWatermarkUpdatedAt() {
+        return watermarkUpdatedAt;
+    }
+
+    public synchronized String getWatermarkId() {
+        return watermarkId;
+    }
+
+    /**
+     * Mở thống kê đã lưu của user (chỉ đọc file lần đầu cho mỗi user). Gọi trên background thread.
+     *
+     * @param generation giá trị {@link #getGeneration()} lúc bắt đầu sync
+     * @return false nếu đã logout kể từ lúc đó - kết quả bị bỏ
+     */
+    public boolean load(String userId, long generation) {
+        synchronized (this) {
+            if (generation != this.generation) {
+                return false;
+            }
+            if (userId.equals(this.userId)) {
+                return true;
+            }
+        }
+
+        // Đọc ngoài lock để isBuilt()/getGeneration() không phải chờ
+        File file = snapshotFile(userId);
+        AttendanceStatsEngine loaded = new AttendanceStatsEngine();
+        long loadedUpdatedAt = 0;
+        String loadedId = "";
+        boolean found = false;
+        if (file.exists()) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                loadedUpdatedAt = in.readLong();
+                loadedId = in.readUTF();
+                loaded = AttendanceStatsEngine.readFrom(in);
+                found = true;
+            } catch (IOException e) {
+                // File hỏng: sync lại từ đầu
+                Log.w(TAG, "Failed to read attendance stats snapshot", e);
+                loaded = new AttendanceStatsEngine();
+                loadedUpdatedAt = 0;
+                loadedId = "";
+            }
+        }
+
+        synchronized (this) {
+            if (generation != this.generation) {
+                return false;
+            }
+            engine = loaded;
+            this.userId = userId;
+            watermarkUpdatedAt = loadedUpdatedAt;
+            watermarkId = loadedId;
+            ready = found;
+            return true;
+        }
+    }
+
+    /**
+     * Áp dụng một trang record thay đổi (sắp theo updatedAt, id) và dời watermark tới record cuối trang
+     *
+     * @return false nếu đã logout kể từ lúc bắt đầu sync - trang bị bỏ
+     */
+    public synchronized boolean applyChanges(List<AttendanceRecordModel> page, long generation) {
+        if (generation != this.generation) {
+            return false;
+        }
+        engine.applyAll(page);
+        if (!page.isEmpty()) {
+            AttendanceRecordModel last = page.get(page.size() - 1);
+            watermarkUpdatedAt = last.getUpdatedAt();
+            watermarkId = last.getId() != null ? last.getId() : "";
+        }
+        return true;
+    }
+
+    /**
+     * Ghi thống kê và watermark xuống file của user (ghi file tạm rồi rename để không bao giờ
+     * để lại file ghi dở). Gọi sau khi sync xong.
+     *
+     * @return false nếu đã logout kể từ lúc bắt đầu sync - không ghi gì
+     */
+    public synchronized boolean persist(long generation) throws IOException {
+        if (generation != this.generation || userId == null) {
+            return false;
+        }
+        File file = snapshotFile(userId);
+        File temp = new File(directory, file.getName() + ".tmp");
+        try (FileOutputStream fileOut = new FileOutputStream(temp)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut));
+            out.writeLong(watermarkUpdatedAt);
+            out.writeUTF(watermarkId);
+            engine.writeTo(out);
+            out.flush();
+            fileOut.getFD().sync();
+        }
+        if (!temp.renameTo(file)) {
+            throw new IOException("Failed to replace " + file);
+        }
+        ready = true;
+        return true;
+    }
+
+    /**
+     * Xóa thống kê trong bộ nhớ khi logout. File của user vẫn giữ để lần login sau chỉ sync phần thay đổi.
+     */
+    public synchronized void clear() {
+        engine = new AttendanceStatsEngine();
+        ready = false;
+        userId = null;
+        watermarkUpdatedAt = 0;
+        watermarkId = "";
+        generation++;
+    }
+
+    private File snapshotFile(String userId) {
+        return new File(directory, CheckInRepository.userFileName(SNAPSHOT_FILE_PREFIX, userId, SNAPSHOT_FILE_SUFFIX));
+    }
+}
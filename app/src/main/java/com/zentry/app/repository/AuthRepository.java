@@ -1,23 +1,82 @@
 package com.zentry.app.repository;
 
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
 import com.zentry.app.api.IAuthenticationAPI;
 import com.zentry.app.model.request.LoginRequest;
+import com.zentry.app.model.response.ErrorResponse;
 import com.zentry.app.model.response.TokenModel;
 import com.zentry.app.network.AuthManager;
+import com.zentry.app.network.ConnectionPrewarmer;
+import com.zentry.app.network.ErrorBodyParser;
+import com.zentry.app.network.HttpCache;
+import com.zentry.app.network.NetworkModule;
 import com.zentry.app.network.RetrofitClient;
 
-import retrofit2.Call;
-import retrofit2.Callback;
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
 import retrofit2.Response;
 
+/**
+ * Đăng nhập/đăng xuất.
+ * Gọi API, decode response, đọc error body và lưu session đều chạy trên ioExecutor;
+ * main thread chỉ nhận kết quả cuối cùng qua callback.
+ */
 public class AuthRepository {
+    private static final String DEFAULT_LOGIN_ERROR = "Invalid credentials";
+    private static final String DEFAULT_NETWORK_ERROR = "Network error occurred";
+
+    private static volatile AuthRepository instance;
+
     private final IAuthenticationAPI api;
     private final AuthManager authManager;
+    private final Executor ioExecutor;
+    private final Executor mainExecutor;
+    private final PostLoginPipeline postLoginPipeline; // null: không prefetch (test)
+    private final AttendanceStatsRepository attendanceStats; // null: không có thống kê (test)
 
     private boolean isMockingLogin = false;
-    public AuthRepository(AuthManager authManager) {
+
+    /**
+     * Một AuthRepository cho cả process - ViewModel của các fragment dùng chung
+     * thay vì mỗi lần tạo lại repository và Retrofit service proxy
+     */
+    public static AuthRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (AuthRepository.class) {
+                if (instance == null) {
+                    instance = new AuthRepository(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private AuthRepository(Context context) {
+        this(NetworkModule.getInstance(context).getAuthManager(),
+                NetworkModule.getInstance(context).createService(IAuthenticationAPI.class),
+                Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "auth-io");
+                    thread.setDaemon(true);
+                    return thread;
+                }),
+                new Handler(Looper.getMainLooper())::post,
+                PostLoginPipeline.getInstance(context),
+                AttendanceStatsRepository.getInstance(context));
+    }
+
+    AuthRepository(AuthManager authManager, IAuthenticationAPI api, Executor ioExecutor, Executor mainExecutor,
+                   PostLoginPipeline postLoginPipeline, AttendanceStatsRepository attendanceStats) {
         this.authManager = authManager;
-        this.api = RetrofitClient.getInstance(authManager).create(IAuthenticationAPI.class);
+        this.api = api;
+        this.ioExecutor = ioExecutor;
+        this.mainExecutor = mainExecutor;
+        this.postLoginPipeline = postLoginPipeline;
+        this.attendanceStats = attendanceStats;
     }
 
     /**
@@ -29,7 +88,7 @@ public class AuthRepository {
     }
 
     /**
-     * Login user với callback
+     * Login user với callback - callback luôn được gọi trên main thread
      */
     public void login(LoginRequest request, LoginCallback callback) {
 
@@ -59,44 +118,48 @@ public class AuthRepository {
 //            return; // Quan trọng: Thoát khỏi phương thức sau khi mock
 //        }
 
-        api.login(request).enqueue(new Callback<TokenModel>() {
-            @Override
-            public void onResponse(Call<TokenModel> call, Response<TokenModel> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    TokenModel tokenModel = response.body();
-
-                    // Lưu tokens vào AuthManager
-                    authManager.saveTokens(
-                            tokenModel.getAccessToken(),
-                            tokenModel.getRefreshToken()
-                    );
-
-                    // Lưu thông tin user (ID và Role)
-                    // Đảm bảo TokenModel có getUserId() và getRole()
-                    authManager.saveUserInfo(tokenModel.getUserId(), tokenModel.getRole()); // <--- CẬP NHẬT: LƯU CẢ ROLE
-
-                    callback.onSuccess(tokenModel);
-                } else {
-                    String errorMessage = "Invalid credentials";
-                    try {
-                        if (response.errorBody() != null) {
-                            // Parse error message từ server nếu có
-                            errorMessage = response.errorBody().string();
-                        }
-                    } catch (Exception e) {
-                        // Giữ default error message
-                    }
-                    callback.onError(errorMessage);
-                }
+        ioExecutor.execute(() -> {
+            Response<TokenModel> response;
+            try {
+                response = api.login(request).execute();
+            } catch (IOException | RuntimeException e) {
+                String message = e.getMessage() != null ? e.getMessage() : DEFAULT_NETWORK_ERROR;
+                mainExecutor.execute(() -> callback.onError(message));
+                return;
             }
 
-            @Override
-            public void onFailure(Call<TokenModel> call, Throwable t) {
-                callback.onError(t.getMessage() != null ? t.getMessage() : "Network error occurred");
+            TokenModel tokenModel = response.body();
+            if (response.isSuccessful() && tokenModel != null) {
+                // Lưu tokens và thông tin user (ID và Role) trong một lần ghi
+                authManager.edit()
+                        .putTokens(
+                                tokenModel.getAccessToken(),
+                                tokenModel.getRefreshToken(),
+                                tokenModel.getExpiresIn())
+                        .putUserInfo(tokenModel.getUserId(), tokenModel.getRole())
+                        .commit();
+
+                // Prefetch home và warm màn hình đích song song với việc ghi session xuống đĩa
+                if (postLoginPipeline != null) {
+                    postLoginPipeline.start(tokenModel);
+                }
+                mainExecutor.execute(() -> callback.onSuccess(tokenModel));
+            } else {
+                // Error body bị giới hạn kích thước - trang lỗi lớn của proxy không bị đọc hết
+                ErrorResponse error = ErrorBodyParser.parse(response.code(), response.errorBody());
+                String message = error.getDisplayMessage(DEFAULT_LOGIN_ERROR);
+                mainExecutor.execute(() -> callback.onError(message));
             }
         });
     }
 
+    /**
+     * Mở sẵn connection tới server trong lúc user nhập form để login không phải chờ handshake
+     */
+    public void prewarmConnection() {
+        ConnectionPrewarmer.getInstance().prewarm();
+    }
+
     /**
      * Logout user
      */
@@ -107,7 +170,12 @@ public class AuthRepository {
         // Clear local tokens và trạng thái remember me
         authManager.logout(); // authManager.logout() đã bao gồm clear tokens và remember me
 
-        // Reset Retrofit instance để clear cache (nếu cần)
+        // Xóa dữ liệu home, thống kê, HTTP cache của user cũ và reset Retrofit instance
+        HomeDataCache.getInstance().clear();
+        if (attendanceStats != null) {
+            attendanceStats.clear();
+        }
+        HttpCache.clear();
         RetrofitClient.reset();
 
         if (callback != null) {
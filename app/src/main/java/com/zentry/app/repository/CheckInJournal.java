@@ -0,0 +1,215 @@
+package com.zentry.app.repository;
+
+import android.util.Log;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.zentry.app.model.request.CheckInRequest;
+import com.zentry.app.network.GsonProvider;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Nhật ký check-in append-only trên đĩa.
+ * - append() chỉ thêm vào bộ nhớ và hàng đợi ghi: O(1), không I/O trên thread gọi
+ * - Một writer thread ghi dồn các dòng đang chờ rồi fsync một lần (group commit)
+ * - Check-in đã upload được đánh dấu bằng dòng ACK; file được truncate khi không còn gì chờ
+ * - Khi mở lại (sau khi process bị kill) các check-in chưa ACK được khôi phục
+ */
+public class CheckInJournal {
+    private static final String TAG = "CheckInJournal";
+    private static final String APPEND_PREFIX = "A ";
+    private static final String ACK_PREFIX = "K ";
+
+    private final File file;
+    private final Gson gson = GsonProvider.getGson();
+    private final Map<String, CheckInRequest> pending = new LinkedHashMap<>(); // guarded by this
+    private final ConcurrentLinkedQueue<String> writeQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final CountDownLatch recovered = new CountDownLatch(1);
+    private boolean danglingLine; // chỉ truy cập trên writer thread
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "check-in-journal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CheckInJournal(File file) {
+        this.file = file;
+        writer.execute(this::recover);
+    }
+
+    /**
+     * Ghi nhận check-in - an toàn để gọi từ main thread
+     */
+    public void append(CheckInRequest checkIn) {
+        synchronized (this) {
+            pending.put(checkIn.getIdempotencyKey(), checkIn);
+        }
+        enqueueWrite(APPEND_PREFIX + gson.toJson(checkIn, CheckInRequest.class));
+    }
+
+    /**
+     * Lấy tối đa max check-in cũ nhất chưa được upload (chờ khôi phục xong nếu cần)
+     */
+    public List<CheckInRequest> peek(int max) throws InterruptedException {
+        recovered.await();
+        List<CheckInRequest> batch = new ArrayList<>(Math.min(max, 64));
+        synchronized (this) {
+            Iterator<CheckInRequest> iterator = pending.values().iterator();
+            while (iterator.hasNext() && batch.size() < max) {
+                batch.add(iterator.next());
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Đánh dấu các check-in đã được server nhận
+     */
+    public void acknowledge(Collection<String> idempotencyKeys) {
+        synchronized (this) {
+            for (String key : idempotencyKeys) {
+                pending.remove(key);
+            }
+        }
+        for (String key : idempotencyKeys) {
+            enqueueWrite(ACK_PREFIX + key);
+        }
+    }
+
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    /**
+     * Chờ mọi dòng đang chờ được ghi và fsync xuống đĩa
+     */
+    public void flush() throws InterruptedException {
+        try {
+            writer.submit(() -> { }).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void enqueueWrite(String line) {
+        writeQueue.offer(line);
+        if (drainScheduled.compareAndSet(false, true)) {
+            writer.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        // Reset trước khi poll để dòng đến sau sẽ lên lịch lần drain mới
+        drainScheduled.set(false);
+        if (writeQueue.isEmpty()) {
+            return;
+        }
+
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            BufferedWriter bufferedWriter = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            if (danglingLine) {
+                // Kết thúc dòng ghi dở từ lần chạy trước để không dính vào dòng mới
+                bufferedWriter.write('\n');
+                danglingLine = false;
+            }
+            String line;
+            while ((line = writeQueue.poll()) != null) {
+                bufferedWriter.write(line);
+                bufferedWriter.write('\n');
+            }
+            bufferedWriter.flush();
+            out.getFD().sync();
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to write check-in journal", e);
+        }
+
+        compactIfIdle();
+    }
+
+    private void compactIfIdle() {
+        synchronized (this) {
+            if (!pending.isEmpty() || !writeQueue.isEmpty() || file.length() == 0) {
+                return;
+            }
+            try {
+                new FileOutputStream(file, false).close();
+            } catch (IOException e) {
+                Log.e(TAG, "Failed to compact check-in journal", e);
+            }
+        }
+    }
+
+    private void recover() {
+        Map<String, CheckInRequest> recoveredEntries = new LinkedHashMap<>();
+        try {
+            if (file.exists()) {
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        readLine(line, recoveredEntries);
+                    }
+                }
+                danglingLine = !endsWithNewline(file);
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to read check-in journal", e);
+        } finally {
+            synchronized (this) {
+                // Check-in khôi phục cũ hơn check-in mới append trong lúc đang đọc
+                recoveredEntries.putAll(pending);
+                pending.clear();
+                pending.putAll(recoveredEntries);
+            }
+            recovered.countDown();
+        }
+    }
+
+    private static boolean endsWithNewline(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            if (raf.length() == 0) {
+                return true;
+            }
+            raf.seek(raf.length() - 1);
+            return raf.read() == '\n';
+        }
+    }
+
+    private void readLine(String line, Map<String, CheckInRequest> entries) {
+        if (line.startsWith(APPEND_PREFIX)) {
+            try {
+                CheckInRequest checkIn = gson.fromJson(line.substring(APPEND_PREFIX.length()), CheckInRequest.class);
+                if (checkIn != null && checkIn.getIdempotencyKey() != null) {
+                    entries.put(checkIn.getIdempotencyKey(), checkIn);
+                }
+            } catch (JsonParseException e) {
+                // Dòng cuối bị ghi dở khi process chết - bỏ qua
+            }
+        } else if (line.startsWith(ACK_PREFIX)) {
+            entries.remove(line.substring(ACK_PREFIX.length()));
+        }
+    }
+}
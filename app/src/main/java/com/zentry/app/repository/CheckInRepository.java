@@ -0,0 +1,136 @@
+package com.zentry.app.repository;
+
+import android.content.Context;
+
+import com.zentry.app.api.IAttendanceAPI;
+import com.zentry.app.model.request.CheckInRequest;
+import com.zentry.app.network.NetworkConfig;
+import com.zentry.app.network.NetworkModule;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Check-in offline-first: ghi vào journal trên máy ngay lập tức, upload ở background.
+ * Mỗi user có journal riêng: check-in chưa gửi của user đã logout được giữ lại
+ * và chỉ upload khi chính user đó đăng nhập lại.
+ */
+public class CheckInRepository {
+    private static final String JOURNAL_FILE_PREFIX = "check_in_journal_";
+    private static final String JOURNAL_FILE_SUFFIX = ".log";
+
+    private static volatile CheckInRepository instance;
+
+    private final File directory;
+    private final IAttendanceAPI api;
+    private final Supplier<String> currentUserId;
+    private final Map<String, UserJournal> journals = new HashMap<>(); // guarded by this
+
+    public static CheckInRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (CheckInRepository.class) {
+                if (instance == null) {
+                    Context appContext = context.getApplicationContext();
+                    NetworkModule networkModule = NetworkModule.getInstance(appContext);
+                    instance = new CheckInRepository(appContext.getFilesDir(),
+                            networkModule.createService(IAttendanceAPI.class),
+                            networkModule.getAuthManager()::getUserId);
+                }
+            }
+        }
+        return instance;
+    }
+
+    CheckInRepository(File directory, IAttendanceAPI api, Supplier<String> currentUserId) {
+        this.directory = directory;
+        this.api = api;
+        this.currentUserId = currentUserId;
+
+        // Upload các check-in còn sót lại từ lần chạy trước
+        retryUpload();
+    }
+
+    /**
+     * Ghi nhận check-in cho user đang đăng nhập - O(1) trên main thread,
+     * không phụ thuộc số check-in đang chờ
+     * @param step bước thời gian của mã QR đã quét, được lưu trong journal cùng mã
+     * @return idempotency key của check-in
+     */
+    public String submit(String sessionId, long step, String code) {
+        String userId = currentUserId.get();
+        if (userId == null) {
+            throw new IllegalStateException("Check-in requires a signed-in user");
+        }
+        UserJournal userJournal = journalFor(userId);
+        CheckInRequest checkIn = new CheckInRequest(
+                UUID.randomUUID().toString(), sessionId, step, code, System.currentTimeMillis());
+        userJournal.journal.append(checkIn);
+        userJournal.uploader.requestUpload();
+        return checkIn.getIdempotencyKey();
+    }
+
+    /**
+     * Số check-in của user đang đăng nhập chưa được server xác nhận
+     */
+    public int getPendingCount() {
+        String userId = currentUserId.get();
+        return userId != null ? journalFor(userId).journal.size() : 0;
+    }
+
+    /**
+     * Thử upload lại check-in của user đang đăng nhập (ví dụ khi có mạng trở lại, sau khi login)
+     */
+    public void retryUpload() {
+        String userId = currentUserId.get();
+        if (userId != null) {
+            journalFor(userId).uploader.requestUpload();
+        }
+    }
+
+    private synchronized UserJournal journalFor(String userId) {
+        UserJournal userJournal = journals.get(userId);
+        if (userJournal == null) {
+            CheckInJournal journal = new CheckInJournal(new File(directory, journalFileName(userId)));
+            CheckInUploader uploader = new CheckInUploader(journal, api, NetworkConfig.CHECK_IN_BATCH_SIZE,
+                    userId, currentUserId);
+            userJournal = new UserJournal(journal, uploader);
+            journals.put(userId, userJournal);
+        }
+        return userJournal;
+    }
+
+    /**
+     * Tên file journal của user: ký tự ngoài [A-Za-z0-9-] được escape thành _xxxx để hai user khác nhau
+     * không bao giờ trùng file
+     */
+    static String journalFileName(String userId) {
+        return userFileName(JOURNAL_FILE_PREFIX, userId, JOURNAL_FILE_SUFFIX);
+    }
+
+    static String userFileName(String prefix, String userId, String suffix) {
+        StringBuilder name = new StringBuilder(prefix);
+        for (int i = 0; i < userId.length(); i++) {
+            char c = userId.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-') {
+                name.append(c);
+            } else {
+                name.append('_').append(String.format(Locale.ROOT, "%04x", (int) c));
+            }
+        }
+        return name.append(suffix).toString();
+    }
+
+    private static final class UserJournal {
+        final CheckInJournal journal;
+        final CheckInUploader uploader;
+
+        UserJournal(CheckInJournal journal, CheckInUploader uploader) {
+            this.journal = journal;
+            this.uploader = uploader;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.zentry.app.repository;
+
+import android.util.Log;
+
+import com.zentry.app.api.IAttendanceAPI;
+import com.zentry.app.model.request.CheckInBatchRequest;
+import com.zentry.app.model.request.CheckInRequest;
+import com.zentry.app.network.NetworkConfig;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import retrofit2.Response;
+
+/**
+ * Upload check-in từ CheckInJournal theo batch, retry với exponential backoff.
+ * Mỗi check-in mang idempotencyKey nên gửi lại sau lỗi mạng không tạo bản ghi trùng.
+ * - Journal thuộc về một user: chỉ upload khi user đó đang đăng nhập
+ * - 401/403: giữ nguyên check-in, dừng tới khi được yêu cầu upload lại (login lại)
+ * - Batch bị từ chối (4xx) được chia đôi để chỉ bỏ đúng check-in lỗi
+ */
+public class CheckInUploader {
+    private static final String TAG = "CheckInUploader";
+    private static final int HTTP_REQUEST_TIMEOUT = 408;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final int MAX_BACKOFF_SHIFT = 16;
+
+    private enum Result {
+        ACCEPTED,
+        REJECTED,
+        RETRY,
+        UNAUTHORIZED
+    }
+
+    private final CheckInJournal journal;
+    private final IAttendanceAPI api;
+    private final int batchSize;
+    private final String ownerId;
+    private final Supplier<String> currentUserId;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "check-in-uploader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private int failedAttempts; // chỉ truy cập trên executor thread
+
+    /**
+     * @param ownerId       user sở hữu journal
+     * @param currentUserId user đang đăng nhập (đọc trước mỗi request)
+     */
+    public CheckInUploader(CheckInJournal journal, IAttendanceAPI api, int batchSize,
+                           String ownerId, Supplier<String> currentUserId) {
+        this.journal = journal;
+        this.api = api;
+        this.batchSize = batchSize;
+        this.ownerId = ownerId;
+        this.currentUserId = currentUserId;
+    }
+
+    /**
+     * Yêu cầu upload ngay; bỏ qua nếu đã có lần upload (hoặc retry) đang chờ
+     */
+    public void requestUpload() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::uploadPending);
+        }
+    }
+
+    private void uploadPending() {
+        scheduled.set(false);
+        try {
+            while (true) {
+                List<CheckInRequest> batch = journal.peek(batchSize);
+                if (batch.isEmpty()) {
+                    failedAttempts = 0;
+                    return;
+                }
+
+                Result result = uploadOrSplit(batch);
+                if (result == Result.RETRY) {
+                    scheduleRetry();
+                    return;
+                }
+                if (result == Result.UNAUTHORIZED) {
+                    // Không retry với session này - requestUpload() sau khi login lại sẽ tiếp tục
+                    failedAttempts = 0;
+                    return;
+                }
+                failedAttempts = 0;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Upload batch; nếu bị từ chối thì chia đôi cho tới khi tìm ra check-in lỗi.
+     *
+     * @return ACCEPTED nếu mọi check-in trong batch đã được server nhận hoặc bị bỏ,
+     * RETRY / UNAUTHORIZED nếu phải dừng (phần đã xử lý vẫn được acknowledge)
+     */
+    private Result uploadOrSplit(List<CheckInRequest> batch) {
+        Result result = upload(batch);
+        if (result == Result.ACCEPTED) {
+            journal.acknowledge(keysOf(batch));
+            return Result.ACCEPTED;
+        }
+        if (result != Result.REJECTED) {
+            return result;
+        }
+        if (batch.size() == 1) {
+            // Gửi lại cũng không thành công - bỏ riêng check-in này để không chặn hàng đợi
+            Log.w(TAG, "Check-in rejected, dropping " + batch.get(0).getIdempotencyKey());
+            journal.acknowledge(keysOf(batch));
+            return Result.ACCEPTED;
+        }
+        int middle = batch.size() / 2;
+        Result first = uploadOrSplit(batch.subList(0, middle));
+        if (first != Result.ACCEPTED) {
+            return first;
+        }
+        return uploadOrSplit(batch.subList(middle, batch.size()));
+    }
+
+    private Result upload(List<CheckInRequest> batch) {
+        // Token và header thiết bị là của user đang đăng nhập - không gửi check-in của user khác
+        if (!ownerId.equals(currentUserId.get())) {
+            return Result.UNAUTHORIZED;
+        }
+        try {
+            Response<Void> response = api.submitCheckIns(new CheckInBatchRequest(batch)).execute();
+            if (response.isSuccessful()) {
+                return Result.ACCEPTED;
+            }
+            int code = response.code();
+            if (code == NetworkConfig.HTTP_UNAUTHORIZED || code == NetworkConfig.HTTP_FORBIDDEN) {
+                // AuthInterceptor đã thử refresh: session hết hạn hoặc thiết bị chưa được chấp nhận
+                Log.w(TAG, "Check-in upload not authorized: " + code + ", keeping " + batch.size() + " entries");
+                return Result.UNAUTHORIZED;
+            }
+            if (code == HTTP_REQUEST_TIMEOUT || code == HTTP_TOO_MANY_REQUESTS || code >= 500) {
+                return Result.RETRY;
+            }
+            return Result.REJECTED;
+        } catch (IOException e) {
+            Log.w(TAG, "Check-in upload failed, will retry", e);
+            return Result.RETRY;
+        }
+    }
+
+    private void scheduleRetry() {
+        long delay = backoffDelay(failedAttempts++);
+        if (scheduled.compareAndSet(false, true)) {
+            executor.schedule(this::uploadPending, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static long backoffDelay(int attempt) {
+        long delay = Math.min(NetworkConfig.CHECK_IN_BACKOFF_MAX_MS,
+                NetworkConfig.CHECK_IN_BACKOFF_BASE_MS << Math.min(attempt, MAX_BACKOFF_SHIFT));
+        // Jitter để hàng trăm máy trong cùng giảng đường không retry cùng lúc
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    private static List<String> keysOf(List<CheckInRequest> batch) {
+        List<String> keys = new ArrayList<>(batch.size());
+        for (CheckInRequest checkIn : batch) {
+            keys.add(checkIn.getIdempotencyKey());
+        }
+        return keys;
+    }
+}
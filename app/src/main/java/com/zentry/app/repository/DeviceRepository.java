@@ -0,0 +1,145 @@
+package com.zentry.app.repository;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.zentry.app.api.IDeviceAPI;
+import com.zentry.app.model.request.RegisterDeviceRequest;
+import com.zentry.app.model.response.ErrorResponse;
+import com.zentry.app.model.response.RegisteredDeviceModel;
+import com.zentry.app.network.AuthManager;
+import com.zentry.app.network.DeviceRegistration;
+import com.zentry.app.network.ErrorBodyParser;
+import com.zentry.app.network.NetworkModule;
+import com.zentry.app.util.DeviceFingerprint;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import retrofit2.Response;
+
+/**
+ * Đăng ký thiết bị điểm danh.
+ * Fingerprint được tính một lần trên "device-io" rồi lưu trong Session của AuthManager (cùng lần ghi
+ * với session); các lần check-in sau chỉ đọc lại từ bộ nhớ qua DeviceFingerprintInterceptor.
+ */
+public class DeviceRepository {
+    private static final String DEFAULT_REGISTER_ERROR = "Device registration failed";
+    private static final String DEFAULT_NETWORK_ERROR = "Network error";
+
+    private static volatile DeviceRepository instance;
+
+    private final AuthManager authManager;
+    private final IDeviceAPI api;
+    private final Function<Context, DeviceFingerprint.Identity> identitySource;
+    private final Context appContext;
+    private final Executor ioExecutor;
+    private final Executor mainExecutor;
+
+    public static DeviceRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (DeviceRepository.class) {
+                if (instance == null) {
+                    Context appContext = context.getApplicationContext();
+                    NetworkModule networkModule = NetworkModule.getInstance(appContext);
+                    instance = new DeviceRepository(appContext, networkModule.getAuthManager(),
+                            networkModule.createService(IDeviceAPI.class), DeviceFingerprint::compute,
+                            Executors.newSingleThreadExecutor(runnable -> {
+                                Thread thread = new Thread(runnable, "device-io");
+                                thread.setDaemon(true);
+                                return thread;
+                            }),
+                            new Handler(Looper.getMainLooper())::post);
+                }
+            }
+        }
+        return instance;
+    }
+
+    DeviceRepository(Context appContext, AuthManager authManager, IDeviceAPI api,
+                     Function<Context, DeviceFingerprint.Identity> identitySource,
+                     Executor ioExecutor, Executor mainExecutor) {
+        this.appContext = appContext;
+        this.authManager = authManager;
+        this.api = api;
+        this.identitySource = identitySource;
+        this.ioExecutor = ioExecutor;
+        this.mainExecutor = mainExecutor;
+    }
+
+    /**
+     * Thiết bị đã được đăng ký cho user đang đăng nhập
+     */
+    public boolean isRegistered() {
+        return authManager.getDeviceRegistration().isRegisteredFor(authManager.getUserId());
+    }
+
+    /**
+     * Tính sẵn fingerprint nếu chưa có (gọi sau khi login) - không chặn
+     */
+    public void ensureFingerprint() {
+        if (authManager.getDeviceRegistration().getFingerprint() != null) {
+            return;
+        }
+        ioExecutor.execute(() -> {
+            // Kiểm tra lại trên io thread: các lần gọi trước đã xếp hàng có thể đã tính xong
+            if (authManager.getDeviceRegistration().getFingerprint() == null) {
+                authManager.edit()
+                        .putDeviceFingerprint(identitySource.apply(appContext).getFingerprint())
+                        .commit();
+            }
+        });
+    }
+
+    /**
+     * Đăng ký thiết bị cho user đang đăng nhập; đã đăng ký rồi thì báo thành công ngay.
+     * Callback luôn được gọi trên main thread.
+     */
+    public void register(RegisterCallback callback) {
+        if (isRegistered()) {
+            mainExecutor.execute(callback::onRegistered);
+            return;
+        }
+        ioExecutor.execute(() -> {
+            String userId = authManager.getUserId();
+            // Cần public key và chuỗi attestation nên tính lại (key đã có trong Keystore, không sinh lại)
+            DeviceFingerprint.Identity identity = identitySource.apply(appContext);
+            DeviceRegistration device = authManager.getDeviceRegistration();
+            if (!identity.getFingerprint().equals(device.getFingerprint())) {
+                authManager.edit().putDeviceFingerprint(identity.getFingerprint()).commit();
+            }
+
+            Response<RegisteredDeviceModel> response;
+            try {
+                response = api.register(new RegisterDeviceRequest(identity.getFingerprint(),
+                        DeviceFingerprint.deviceName(), identity.getPublicKey(), identity.getAttestationChain()))
+                        .execute();
+            } catch (IOException | RuntimeException e) {
+                String message = e.getMessage() != null ? e.getMessage() : DEFAULT_NETWORK_ERROR;
+                mainExecutor.execute(() -> callback.onError(message));
+                return;
+            }
+
+            RegisteredDeviceModel registered = response.body();
+            if (response.isSuccessful() && registered != null && registered.getDeviceId() != null) {
+                authManager.edit().putDeviceRegistration(registered.getDeviceId(), userId).commit();
+                mainExecutor.execute(callback::onRegistered);
+            } else {
+                ErrorResponse error = ErrorBodyParser.parse(response.code(), response.errorBody());
+                String message = error.getDisplayMessage(DEFAULT_REGISTER_ERROR);
+                mainExecutor.execute(() -> callback.onError(message));
+            }
+        });
+    }
+
+    /**
+     * Callback interface cho đăng ký thiết bị
+     */
+    public interface RegisterCallback {
+        void onRegistered();
+        void onError(String message);
+    }
+}
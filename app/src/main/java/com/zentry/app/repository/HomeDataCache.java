@@ -0,0 +1,103 @@
+package com.zentry.app.repository;
+
+import android.os.Looper;
+import android.os.SystemClock;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.zentry.app.model.entity.UserRole;
+import com.zentry.app.model.response.ClassSessionModel;
+import com.zentry.app.network.NetworkConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Dữ liệu màn hình home (lịch hôm nay / lịch dạy) giữ trong bộ nhớ.
+ * Được điền sẵn bởi {@link PostLoginPipeline} trong lúc điều hướng nên home render được ngay;
+ * xóa khi logout để user sau không thấy lịch của user trước.
+ */
+public class HomeDataCache {
+    private static volatile HomeDataCache instance;
+
+    private final MutableLiveData<HomeData> data = new MutableLiveData<>();
+    private volatile HomeData current;
+
+    public static HomeDataCache getInstance() {
+        if (instance == null) {
+            synchronized (HomeDataCache.class) {
+                if (instance == null) {
+                    instance = new HomeDataCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    HomeDataCache() {
+    }
+
+    /**
+     * Dữ liệu còn dùng được cho user/role này, null nếu chưa có hoặc đã quá HOME_DATA_TTL_MS
+     */
+    public HomeData get(UserRole role, String userId) {
+        HomeData snapshot = current;
+        if (snapshot == null || snapshot.role != role || !equals(snapshot.userId, userId)) {
+            return null;
+        }
+        if (SystemClock.elapsedRealtime() - snapshot.loadedAt > NetworkConfig.HOME_DATA_TTL_MS) {
+            return null;
+        }
+        return snapshot;
+    }
+
+    public LiveData<HomeData> getData() {
+        return data;
+    }
+
+    public synchronized void put(HomeData homeData) {
+        current = homeData;
+        publish(homeData);
+    }
+
+    public synchronized void clear() {
+        current = null;
+        publish(null);
+    }
+
+    private void publish(HomeData homeData) {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            data.setValue(homeData);
+        } else {
+            data.postValue(homeData);
+        }
+    }
+
+    private static boolean equals(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    /**
+     * Snapshot bất biến của dữ liệu home
+     */
+    public static final class HomeData {
+        private final UserRole role;
+        private final String userId;
+        private final List<ClassSessionModel> sessions;
+        private final long loadedAt;
+
+        public HomeData(UserRole role, String userId, List<ClassSessionModel> sessions) {
+            this.role = role;
+            this.userId = userId;
+            this.sessions = Collections.unmodifiableList(new ArrayList<>(sessions));
+            this.loadedAt = SystemClock.elapsedRealtime();
+        }
+
+        public UserRole getRole() { return role; }
+        public String getUserId() { return userId; }
+        public List<ClassSessionModel> getSessions() { return sessions; }
+        public long getLoadedAt() { return loadedAt; }
+    }
+}
@@ -0,0 +1,116 @@
+package com.zentry.app.repository;
+
+import android.content.Context;
+import android.content.res.XmlResourceParser;
+import android.os.Process;
+import android.os.Trace;
+import android.util.Log;
+
+import com.zentry.app.R;
+import com.zentry.app.model.entity.UserRole;
+import com.zentry.app.model.response.TokenModel;
+import com.zentry.app.navigation.AreaManager;
+import com.zentry.app.ui.fragment.lecture.LectureHomeFragment;
+import com.zentry.app.ui.fragment.student.StudentHomeFragment;
+
+import org.xmlpull.v1.XmlPullParser;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Việc cần làm ngay sau khi login thành công, chạy song song trước khi UI điều hướng:
+ * - Session: đã commit vào bộ nhớ, AuthManager ghi xuống đĩa trên I/O thread riêng
+ * - Prefetch dữ liệu home theo role vào {@link HomeDataCache}
+ * - Sinh viên: tính sẵn fingerprint thiết bị để check-in không phải tính,
+ *   upload check-in còn chờ từ phiên trước của chính user này
+ * - Warm màn hình đích: load class fragment, parse trước layout và nav graph
+ * Nhờ vậy home fragment render từ cache ngay khi điều hướng xong.
+ */
+public class PostLoginPipeline {
+    private static final String TAG = "PostLoginPipeline";
+
+    private static volatile PostLoginPipeline instance;
+
+    private final Context appContext;
+    private final ScheduleRepository scheduleRepository;
+    private final DeviceRepository deviceRepository;
+    private final CheckInRepository checkInRepository;
+    private final Executor warmExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            runnable.run();
+        }, "post-login-warm");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public static PostLoginPipeline getInstance(Context context) {
+        if (instance == null) {
+            synchronized (PostLoginPipeline.class) {
+                if (instance == null) {
+                    instance = new PostLoginPipeline(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private PostLoginPipeline(Context context) {
+        this.appContext = context;
+        this.scheduleRepository = ScheduleRepository.getInstance(context);
+        this.deviceRepository = DeviceRepository.getInstance(context);
+        this.checkInRepository = CheckInRepository.getInstance(context);
+    }
+
+    /**
+     * Bắt đầu pipeline - không chặn, gọi sau khi session đã được commit
+     */
+    public void start(TokenModel tokenModel) {
+        UserRole role = AreaManager.getUserRoleFromString(tokenModel.getRole());
+        if (role == null) {
+            return; // SignInFragment sẽ báo lỗi role
+        }
+        scheduleRepository.load(role);
+        if (role == UserRole.STUDENT) {
+            deviceRepository.ensureFingerprint();
+            checkInRepository.retryUpload();
+        }
+        warmExecutor.execute(() -> warmDestination(role));
+    }
+
+    private void warmDestination(UserRole role) {
+        Trace.beginSection("PostLoginPipeline.warm");
+        try {
+            Class<?> fragmentClass;
+            int layout;
+            int graph;
+            if (role == UserRole.STUDENT) {
+                fragmentClass = StudentHomeFragment.class;
+                layout = R.layout.fragment_student_home;
+                graph = R.navigation.student_nav_graph;
+            } else {
+                fragmentClass = LectureHomeFragment.class;
+                layout = R.layout.fragment_lecture_home;
+                graph = R.navigation.lecture_nav_graph;
+            }
+            // Khởi tạo class (verify, static init) để main thread không phải làm lúc tạo fragment
+            Class.forName(fragmentClass.getName(), true, fragmentClass.getClassLoader());
+            // Parse trước để XML block nằm sẵn trong cache của Resources
+            readThrough(layout);
+            readThrough(graph);
+        } catch (Exception e) {
+            Log.w(TAG, "Failed to warm home destination", e);
+        } finally {
+            Trace.endSection();
+        }
+    }
+
+    private void readThrough(int xmlResId) throws Exception {
+        try (XmlResourceParser parser = appContext.getResources().getXml(xmlResId)) {
+            while (parser.next() != XmlPullParser.END_DOCUMENT) {
+                // chỉ đọc qua
+            }
+        }
+    }
+}
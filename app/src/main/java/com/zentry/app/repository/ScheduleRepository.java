@@ -0,0 +1,101 @@
+package com.zentry.app.repository;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+
+import com.zentry.app.api.IScheduleAPI;
+import com.zentry.app.model.entity.UserRole;
+import com.zentry.app.model.response.ClassSessionModel;
+import com.zentry.app.network.AuthManager;
+import com.zentry.app.network.NetworkModule;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Lịch học/lịch dạy cho màn hình home, kết quả đưa vào {@link HomeDataCache}.
+ * load() gọi nhiều lần (prefetch lúc login rồi home fragment gọi lại) chỉ ra một request.
+ */
+public class ScheduleRepository {
+    private static final String TAG = "ScheduleRepository";
+
+    private static volatile ScheduleRepository instance;
+
+    private final IScheduleAPI api;
+    private final HomeDataCache cache;
+    private final AuthManager authManager;
+    private final Set<String> loading = ConcurrentHashMap.newKeySet(); // userId + role đang tải
+
+    public static ScheduleRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (ScheduleRepository.class) {
+                if (instance == null) {
+                    NetworkModule networkModule = NetworkModule.getInstance(context.getApplicationContext());
+                    instance = new ScheduleRepository(networkModule.createService(IScheduleAPI.class),
+                            HomeDataCache.getInstance(), networkModule.getAuthManager());
+                }
+            }
+        }
+        return instance;
+    }
+
+    ScheduleRepository(IScheduleAPI api, HomeDataCache cache, AuthManager authManager) {
+        this.api = api;
+        this.cache = cache;
+        this.authManager = authManager;
+    }
+
+    public LiveData<HomeDataCache.HomeData> getHomeData() {
+        return cache.getData();
+    }
+
+    /**
+     * Tải dữ liệu home của role nếu cache chưa có; bỏ qua nếu user hiện tại đang có request cho role này.
+     * Request của user trước (đổi tài khoản khi chưa xong) không chặn request của user mới.
+     */
+    public void load(UserRole role) {
+        String userId = authManager.getUserId();
+        String key = loadingKey(userId, role);
+        if (cache.get(role, userId) != null || !loading.add(key)) {
+            return;
+        }
+
+        Call<List<ClassSessionModel>> call = role == UserRole.STUDENT
+                ? api.getTodaySessions()
+                : api.getTeachingSchedule();
+        call.enqueue(new Callback<List<ClassSessionModel>>() {
+            @Override
+            public void onResponse(@NonNull Call<List<ClassSessionModel>> call,
+                                   @NonNull Response<List<ClassSessionModel>> response) {
+                loading.remove(key);
+                List<ClassSessionModel> sessions = response.body();
+                // Bỏ kết quả nếu user đã logout/đổi tài khoản trong lúc chờ
+                if (response.isSuccessful() && sessions != null && isSameUser(userId)) {
+                    cache.put(new HomeDataCache.HomeData(role, userId, sessions));
+                }
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<List<ClassSessionModel>> call, @NonNull Throwable t) {
+                loading.remove(key);
+                Log.w(TAG, "Failed to load home data for " + role, t);
+            }
+        });
+    }
+
+    private static String loadingKey(String userId, UserRole role) {
+        return role.name() + ':' + userId;
+    }
+
+    private boolean isSameUser(String userId) {
+        return userId != null && userId.equals(authManager.getUserId());
+    }
+}
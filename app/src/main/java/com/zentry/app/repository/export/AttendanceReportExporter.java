@@ -0,0 +1,160 @@
+package com.zentry.app.repository.export;
+
+import com.zentry.app.adapter.AttendancePagingSource;
+import com.zentry.app.model.entity.AttendanceStatus;
+import com.zentry.app.model.response.AttendanceRecordModel;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Export điểm danh của cả môn ra CSV/XLSX theo kiểu streaming.
+ * - Dữ liệu được lấy từng trang từ {@link AttendancePagingSource}, ghi xong trang nào bỏ trang đó:
+ *   bộ nhớ dùng chỉ phụ thuộc pageSize và buffer ghi, không phụ thuộc số dòng
+ * - Ghi qua FileChannel với buffer cố định vào file tạm, đổi tên khi xong
+ * - Hủy bằng cách interrupt thread đang export (vd Future.cancel(true)); file tạm bị xóa
+ * Gọi trên background thread.
+ */
+public class AttendanceReportExporter {
+    public enum Format {
+        CSV("csv"),
+        XLSX("xlsx");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /**
+     * Tiến độ export, gọi trên thread export sau mỗi trang
+     */
+    public interface ProgressListener {
+        void onProgress(long rowsWritten);
+    }
+
+    static final int DEFAULT_PAGE_SIZE = 500;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final String[] HEADER = {"Course", "Session", "Date", "Student ID", "Student name", "Status"};
+    private static final String[] STATUS_LABELS = {"Absent", "Present", "Late"}; // theo AttendanceStatus.ordinal()
+
+    private final AttendancePagingSource source;
+    private final int pageSize;
+
+    public AttendanceReportExporter(AttendancePagingSource source) {
+        this(source, DEFAULT_PAGE_SIZE);
+    }
+
+    public AttendanceReportExporter(AttendancePagingSource source, int pageSize) {
+        this.source = source;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Tên file báo cáo của một môn. Mã môn đến từ server nên chỉ giữ [A-Za-z0-9_-],
+     * ký tự khác (kể cả '/' và '.') thành '_' - tên file không thể trỏ ra ngoài thư mục reports
+     */
+    public static String fileName(String courseCode, Format format) {
+        StringBuilder name = new StringBuilder();
+        if (courseCode != null) {
+            for (int i = 0; i < courseCode.length(); i++) {
+                char c = courseCode.charAt(i);
+                boolean safe = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                        || c == '-' || c == '_';
+                name.append(safe ? c : '_');
+            }
+        }
+        if (name.length() == 0) {
+            name.append("course");
+        }
+        return name.append("-attendance.").append(format.getExtension()).toString();
+    }
+
+    /**
+     * Export toàn bộ dữ liệu của source ra target
+     *
+     * @return số dòng dữ liệu đã ghi (không tính header)
+     * @throws InterruptedIOException nếu bị hủy
+     */
+    public long export(File target, Format format, ProgressListener listener) throws IOException {
+        File partial = new File(target.getPath() + ".part");
+        boolean completed = false;
+        try (FileOutputStream file = new FileOutputStream(partial);
+             FileChannel channel = file.getChannel();
+             ReportRowWriter writer = open(format, channel)) {
+            long rows = writeRows(writer, listener);
+            writer.finish();
+            channel.force(false);
+            completed = true;
+            return rows;
+        } catch (ClosedByInterruptException e) {
+            // Bị interrupt đúng lúc đang ghi xuống channel
+            InterruptedIOException cancelled = new InterruptedIOException("Export cancelled");
+            cancelled.initCause(e);
+            throw cancelled;
+        } finally {
+            if (completed) {
+                if (!partial.renameTo(target)) {
+                    //noinspection ResultOfMethodCallIgnored
+                    partial.delete();
+                    throw new IOException("Failed to move report to " + target);
+                }
+            } else {
+                //noinspection ResultOfMethodCallIgnored
+                partial.delete();
+            }
+        }
+    }
+
+    private long writeRows(ReportRowWriter writer, ProgressListener listener) throws IOException {
+        writer.writeRow(HEADER);
+        long rows = 0;
+        while (true) {
+            checkCancelled();
+            List<AttendanceRecordModel> page = source.load((int) rows, pageSize);
+            for (AttendanceRecordModel record : page) {
+                AttendanceStatus status = record.getStatus() != null ? record.getStatus() : AttendanceStatus.ABSENT;
+                writer.writeRow(record.getCourseCode(), record.getSessionId(), record.getSessionDate(),
+                        record.getStudentId(), record.getStudentName(), STATUS_LABELS[status.ordinal()]);
+            }
+            rows += page.size();
+            if (listener != null) {
+                listener.onProgress(rows);
+            }
+            if (page.size() < pageSize) {
+                return rows;
+            }
+        }
+    }
+
+    private static ReportRowWriter open(Format format, FileChannel channel) throws IOException {
+        OutputStream stream = new BufferedOutputStream(Channels.newOutputStream(channel), WRITE_BUFFER_SIZE);
+        if (format == Format.XLSX) {
+            return new XlsxReportWriter(stream, "Attendance");
+        }
+        return new CsvReportWriter(new BufferedWriter(
+                new OutputStreamWriter(stream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE));
+    }
+
+    private static void checkCancelled() throws InterruptedIOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Export cancelled");
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.zentry.app.repository.export;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * CSV theo RFC 4180, UTF-8 có BOM để Excel hiển thị đúng tên tiếng Việt.
+ * Ô bắt đầu bằng = + - @ được thêm dấu ' để Excel không chạy như công thức.
+ */
+final class CsvReportWriter implements ReportRowWriter {
+    private final Writer out;
+
+    CsvReportWriter(Writer out) throws IOException {
+        this.out = out;
+        out.write('\uFEFF');
+    }
+
+    @Override
+    public void writeRow(String... cells) throws IOException {
+        for (int i = 0; i < cells.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeCell(cells[i]);
+        }
+        out.write("\r\n");
+    }
+
+    private void writeCell(String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        char first = value.charAt(0);
+        boolean formula = first == '=' || first == '+' || first == '-' || first == '@';
+        boolean quote = formula;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        if (formula) {
+            out.write('\'');
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
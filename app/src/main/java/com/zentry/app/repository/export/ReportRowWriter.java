@@ -0,0 +1,16 @@
+package com.zentry.app.repository.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Ghi báo cáo từng dòng ra file - không giữ các dòng đã ghi trong bộ nhớ
+ */
+interface ReportRowWriter extends Closeable {
+    void writeRow(String... cells) throws IOException;
+
+    /**
+     * Ghi phần kết thúc của file (nếu có); chỉ gọi khi export thành công
+     */
+    void finish() throws IOException;
+}
@@ -0,0 +1,132 @@
+package com.zentry.app.repository.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * XLSX tối thiểu (một sheet, chuỗi inline, không sharedStrings) ghi streaming:
+ * các phần cố định được ghi trước, sheet1.xml là entry cuối nên từng dòng đi thẳng vào zip.
+ */
+final class XlsxReportWriter implements ReportRowWriter {
+    static final int MAX_ROWS = 1_048_576; // Giới hạn số dòng của Excel
+
+    private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+    private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String REL_NS = "http://schemas.openxmlformats.org/package/2006/relationships";
+    private static final String DOC_REL_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private final ZipOutputStream zip;
+    private final Writer out;
+    private int rows;
+
+    XlsxReportWriter(OutputStream stream, String sheetName) throws IOException {
+        this.zip = new ZipOutputStream(stream);
+        this.out = new OutputStreamWriter(zip, StandardCharsets.UTF_8);
+
+        writeEntry("[Content_Types].xml", XML_HEADER
+                + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+                + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+                + "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+                + "<Override PartName=\"/xl/worksheets/sheet1.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>"
+                + "</Types>");
+        writeEntry("_rels/.rels", XML_HEADER
+                + "<Relationships xmlns=\"" + REL_NS + "\">"
+                + "<Relationship Id=\"rId1\" Type=\"" + DOC_REL_NS + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+                + "</Relationships>");
+        writeEntry("xl/workbook.xml", XML_HEADER
+                + "<workbook xmlns=\"" + MAIN_NS + "\" xmlns:r=\"" + DOC_REL_NS + "\">"
+                + "<sheets><sheet name=\"" + escape(sheetName) + "\" sheetId=\"1\" r:id=\"rId1\"/></sheets>"
+                + "</workbook>");
+        writeEntry("xl/_rels/workbook.xml.rels", XML_HEADER
+                + "<Relationships xmlns=\"" + REL_NS + "\">"
+                + "<Relationship Id=\"rId1\" Type=\"" + DOC_REL_NS + "/worksheet\" Target=\"worksheets/sheet1.xml\"/>"
+                + "</Relationships>");
+
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+        out.write(XML_HEADER);
+        out.write("<worksheet xmlns=\"" + MAIN_NS + "\"><sheetData>");
+    }
+
+    @Override
+    public void writeRow(String... cells) throws IOException {
+        if (rows == MAX_ROWS) {
+            throw new IOException("XLSX supports at most " + MAX_ROWS + " rows, export as CSV instead");
+        }
+        rows++;
+        out.write("<row>");
+        for (String cell : cells) {
+            out.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+            out.write(escape(cell));
+            out.write("</t></is></c>");
+        }
+        out.write("</row>");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.write("</sheetData></worksheet>");
+        out.flush();
+        zip.closeEntry();
+        zip.finish();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void writeEntry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        out.write(content);
+        out.flush();
+        zip.closeEntry();
+    }
+
+    /**
+     * Escape ký tự đặc biệt của XML, bỏ ký tự điều khiển không hợp lệ trong XML 1.0
+     */
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder escaped = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String replacement;
+            switch (c) {
+                case '&':
+                    replacement = "&amp;";
+                    break;
+                case '<':
+                    replacement = "&lt;";
+                    break;
+                case '>':
+                    replacement = "&gt;";
+                    break;
+                case '"':
+                    replacement = "&quot;";
+                    break;
+                default:
+                    replacement = c < 0x20 && c != '\t' && c != '\n' && c != '\r' ? "" : null;
+                    break;
+            }
+            if (replacement != null && escaped == null) {
+                escaped = new StringBuilder(value.length() + 16).append(value, 0, i);
+            }
+            if (escaped != null) {
+                if (replacement != null) {
+                    escaped.append(replacement);
+                } else {
+                    escaped.append(c);
+                }
+            }
+        }
+        return escaped != null ? escaped.toString() : value;
+    }
+}
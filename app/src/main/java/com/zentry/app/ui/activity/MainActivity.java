@@ -1,27 +1,25 @@
 package com.zentry.app.ui.activity;
 
 import android.os.Bundle;
+import android.os.Trace;
 
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.zentry.app.R;
-import com.zentry.app.api.IAuthenticationAPI;
-import com.zentry.app.network.NetworkModule;
 
 public class MainActivity extends AppCompatActivity {
-    private NetworkModule networkModule;
-
-    private IAuthenticationAPI authAPI;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
-        super.onCreate(savedInstanceState);
-        setContentView(R.layout.activity_main);
-
-        // Khởi tạo network module - CHỈ CẦN DÒN NÀY
-        networkModule = NetworkModule.getInstance(this);
-
-        // Tạo tất cả API services - AuthInterceptor tự động handle auth
-        authAPI = networkModule.createService(IAuthenticationAPI.class);
+        Trace.beginSection("MainActivity.onCreate");
+        try {
+            super.onCreate(savedInstanceState);
+            setContentView(R.layout.activity_main);
+
+            // Network module được tạo lazy khi fragment đầu tiên cần (hoặc prewarm từ ZentryApplication),
+            // không dựng Retrofit/OkHttp trước frame đầu tiên
+        } finally {
+            Trace.endSection();
+        }
     }
-}
\ No newline at end of file
+}
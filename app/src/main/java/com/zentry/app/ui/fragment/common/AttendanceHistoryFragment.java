@@ -0,0 +1,36 @@
+package com.zentry.app.ui.fragment.common;
+
+import android.os.Bundle;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.fragment.app.Fragment;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.zentry.app.R;
+import com.zentry.app.adapter.AttendanceAdapter;
+import com.zentry.app.repository.AttendanceHistoryRepository;
+
+/**
+ * Lịch sử điểm danh của user đang đăng nhập, tải theo trang khi scroll.
+ * Mỗi trang tải về cũng được cộng vào thống kê điểm danh (xem {@link AttendanceHistoryRepository}).
+ */
+public class AttendanceHistoryFragment extends Fragment {
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container, @Nullable Bundle savedInstanceState) {
+        View view = inflater.inflate(R.layout.fragment_attendance_history, container, false);
+
+        RecyclerView rvHistory = view.findViewById(R.id.rv_attendance_history);
+        rvHistory.setLayoutManager(new LinearLayoutManager(requireContext()));
+        AttendanceAdapter.configure(rvHistory);
+        AttendanceAdapter adapter = new AttendanceAdapter(AttendanceHistoryRepository.getInstance(requireContext()));
+        rvHistory.setAdapter(adapter);
+        adapter.refresh();
+
+        return view;
+    }
+}
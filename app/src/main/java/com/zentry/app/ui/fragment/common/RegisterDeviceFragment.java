@@ -1,4 +1,61 @@
 package com.zentry.app.ui.fragment.common;
 
-public class RegisterDeviceFragment {
+import android.os.Bundle;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Button;
+import android.widget.ProgressBar;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
+import androidx.navigation.fragment.NavHostFragment;
+
+import com.zentry.app.R;
+import com.zentry.app.viewmodel.DeviceViewModel;
+
+/**
+ * Đăng ký thiết bị một lần trước lần check-in đầu tiên; đăng ký xong chuyển thẳng sang quét mã
+ */
+public class RegisterDeviceFragment extends Fragment {
+    private TextView tvMessage;
+    private ProgressBar progressBar;
+    private Button btnRegister;
+    private DeviceViewModel deviceViewModel;
+
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container, @Nullable Bundle savedInstanceState) {
+        View view = inflater.inflate(R.layout.fragment_register_device, container, false);
+
+        tvMessage = view.findViewById(R.id.tv_register_device_message);
+        progressBar = view.findViewById(R.id.progress_register_device);
+        btnRegister = view.findViewById(R.id.btn_register_device);
+
+        deviceViewModel = new ViewModelProvider(this).get(DeviceViewModel.class);
+        btnRegister.setOnClickListener(v -> deviceViewModel.register());
+        observeViewModel();
+
+        return view;
+    }
+
+    private void observeViewModel() {
+        deviceViewModel.getLoading().observe(getViewLifecycleOwner(), loading -> {
+            boolean busy = Boolean.TRUE.equals(loading);
+            progressBar.setVisibility(busy ? View.VISIBLE : View.GONE);
+            btnRegister.setEnabled(!busy);
+        });
+        deviceViewModel.getError().observe(getViewLifecycleOwner(), message -> {
+            if (message != null) {
+                tvMessage.setText(message);
+            }
+        });
+        deviceViewModel.getRegistered().observe(getViewLifecycleOwner(), registered -> {
+            if (Boolean.TRUE.equals(registered)) {
+                NavHostFragment.findNavController(this).navigate(R.id.action_registerDevice_to_scanCheckIn);
+            }
+        });
+    }
 }
@@ -1,4 +1,216 @@
 package com.zentry.app.ui.fragment.common;
 
-public class SessionFragment {
+import android.graphics.Bitmap;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.WindowManager;
+import android.widget.Button;
+import android.widget.ImageView;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
+import androidx.navigation.fragment.NavHostFragment;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.zentry.app.R;
+import com.zentry.app.adapter.SessionRosterAdapter;
+import com.zentry.app.model.entity.AttendanceStatus;
+import com.zentry.app.model.roster.AttendanceRoster;
+import com.zentry.app.network.LatencyHistogram;
+import com.zentry.app.util.SessionCodeRotator;
+import com.zentry.app.viewmodel.SessionViewModel;
+
+/**
+ * Màn hình chiếu mã check-in xoay vòng của buổi học (giảng viên).
+ * Mỗi tick chỉ copy frame đã tính sẵn vào một bitmap dùng lại, không encode QR trên main thread.
+ * Độ lệch giữa lúc đổi mã thực tế và đầu step được ghi vào histogram và log khi rời màn hình.
+ * Bên dưới mã là danh sách điểm danh live của buổi: chỉ bind lại các dòng vừa đổi,
+ * chạm vào dòng để đổi trạng thái sinh viên.
+ */
+public class SessionFragment extends Fragment {
+    public static final String ARG_SESSION_ID = "sessionId";
+    public static final String ARG_COURSE_CODE = "courseCode";
+
+    private static final String TAG = "SessionFragment";
+    private static final long RETRY_DELAY_MS = 16; // Frame chưa sẵn sàng: thử lại ở frame vẽ sau
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable tick = this::onTick;
+    private final LatencyHistogram rotationJitter = new LatencyHistogram(); // micro giây
+
+    private ImageView ivQr;
+    private TextView tvCode;
+    private TextView tvRosterCounts;
+    private RecyclerView rvRoster;
+    private SessionRosterAdapter rosterAdapter;
+    private SessionViewModel viewModel;
+    private SessionCodeRotator rotator;
+    private Bitmap bitmap;
+    private long shownStep = Long.MIN_VALUE;
+    private long missedFrames;
+
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container, @Nullable Bundle savedInstanceState) {
+        View view = inflater.inflate(R.layout.fragment_session, container, false);
+
+        TextView tvTitle = view.findViewById(R.id.tv_session_title);
+        ivQr = view.findViewById(R.id.iv_check_in_qr);
+        tvCode = view.findViewById(R.id.tv_check_in_code);
+        Button btnEnd = view.findViewById(R.id.btn_end_check_in);
+        tvRosterCounts = view.findViewById(R.id.tv_roster_counts);
+        rvRoster = view.findViewById(R.id.rv_session_roster);
+        rvRoster.setLayoutManager(new LinearLayoutManager(requireContext()));
+        rvRoster.setHasFixedSize(true);
+
+        Bundle args = requireArguments();
+        String sessionId = args.getString(ARG_SESSION_ID);
+        String courseCode = args.getString(ARG_COURSE_CODE);
+        if (courseCode != null) {
+            tvTitle.setText("Check-in " + courseCode);
+        }
+        btnEnd.setOnClickListener(v -> NavHostFragment.findNavController(this).navigateUp());
+
+        viewModel = new ViewModelProvider(this).get(SessionViewModel.class);
+        viewModel.getRotator().observe(getViewLifecycleOwner(), this::bind);
+        viewModel.getRoster().observe(getViewLifecycleOwner(), this::bindRoster);
+        viewModel.getRosterVersion().observe(getViewLifecycleOwner(), version -> onRosterChanged());
+        viewModel.getError().observe(getViewLifecycleOwner(), message -> {
+            if (message != null) {
+                Toast.makeText(getContext(), message, Toast.LENGTH_LONG).show();
+            }
+        });
+
+        // QR chiếm 60% cạnh ngắn của màn hình, phần còn lại cho danh sách điểm danh
+        int screenMin = Math.min(getResources().getDisplayMetrics().widthPixels,
+                getResources().getDisplayMetrics().heightPixels);
+        viewModel.start(sessionId, screenMin * 3 / 5);
+
+        return view;
+    }
+
+    private void bind(SessionCodeRotator rotator) {
+        if (rotator == null) {
+            return;
+        }
+        this.rotator = rotator;
+        int size = rotator.getSizePx();
+        bitmap = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
+        ivQr.setImageBitmap(bitmap);
+        shownStep = Long.MIN_VALUE;
+        restartTicks();
+    }
+
+    private void bindRoster(AttendanceRoster roster) {
+        if (roster == null) {
+            return;
+        }
+        // View tạo lại (xoay màn hình): adapter mới bind cả danh sách, bỏ các thay đổi đang chờ
+        roster.drainChanges();
+        rosterAdapter = new SessionRosterAdapter(roster, viewModel::getStudentName, viewModel::toggle);
+        rvRoster.setAdapter(rosterAdapter);
+        showCounts(roster);
+    }
+
+    private void onRosterChanged() {
+        AttendanceRoster roster = viewModel.getRoster().getValue();
+        if (rosterAdapter == null || roster == null) {
+            return;
+        }
+        rosterAdapter.applyChanges();
+        showCounts(roster);
+    }
+
+    private void showCounts(AttendanceRoster roster) {
+        tvRosterCounts.setText("Present " + roster.count(AttendanceStatus.PRESENT)
+                + " · Late " + roster.count(AttendanceStatus.LATE)
+                + " · Absent " + roster.count(AttendanceStatus.ABSENT)
+                + " / " + roster.size());
+    }
+
+    @Override
+    public void onStart() {
+        super.onStart();
+        viewModel.setRosterPolling(true);
+        // Máy chiếu không được tắt màn hình giữa buổi
+        requireActivity().getWindow().addFlags(WindowManager.LayoutParams.FLAG_KEEP_SCREEN_ON);
+        restartTicks();
+    }
+
+    @Override
+    public void onStop() {
+        super.onStop();
+        viewModel.setRosterPolling(false);
+        handler.removeCallbacks(tick);
+        requireActivity().getWindow().clearFlags(WindowManager.LayoutParams.FLAG_KEEP_SCREEN_ON);
+        if (rotationJitter.getCount() > 0) {
+            Log.i(TAG, "Rotation jitter p50=" + rotationJitter.getPercentileMicros(50) / 1000.0
+                    + " ms p99=" + rotationJitter.getPercentileMicros(99) / 1000.0
+                    + " ms over " + rotationJitter.getCount() + " rotations, " + missedFrames + " late frames");
+        }
+    }
+
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        handler.removeCallbacks(tick);
+        rotator = null;
+        bitmap = null;
+        rosterAdapter = null;
+    }
+
+    private void restartTicks() {
+        handler.removeCallbacks(tick);
+        if (rotator != null) {
+            handler.post(tick);
+        }
+    }
+
+    private void onTick() {
+        if (rotator == null || bitmap == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long step = rotator.getGenerator().stepAt(now);
+        if (step != shownStep && !show(step)) {
+            missedFrames++;
+            handler.postDelayed(tick, RETRY_DELAY_MS);
+            return;
+        }
+        long nextStepAt = rotator.getGenerator().stepStartMillis(step + 1);
+        handler.postDelayed(tick, Math.max(1, nextStepAt - System.currentTimeMillis()));
+    }
+
+    /**
+     * Copy frame của step vào bitmap, false nếu frame chưa được tính xong
+     */
+    private boolean show(long step) {
+        SessionCodeRotator.Frame frame = rotator.frameFor(step);
+        if (frame == null) {
+            return false;
+        }
+        int size = rotator.getSizePx();
+        bitmap.setPixels(frame.getPixels(), 0, size, 0, 0, size, size);
+        String code = frame.getCode();
+        if (frame.getStep() != step) {
+            return false; // Bị ghi đè trong lúc copy
+        }
+        ivQr.invalidate();
+        tvCode.setText(code);
+        if (shownStep != Long.MIN_VALUE) {
+            long late = System.currentTimeMillis() - rotator.getGenerator().stepStartMillis(step);
+            rotationJitter.record(late * 1_000);
+        }
+        shownStep = step;
+        return true;
+    }
 }
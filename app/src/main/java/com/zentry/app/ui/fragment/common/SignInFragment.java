@@ -64,6 +64,13 @@ public class SignInFragment extends Fragment {
 
         // Password toggle click
         binding.ivTogglePassword.setOnClickListener(v -> togglePasswordVisibility());
+
+        // User bắt đầu nhập email -> mở sẵn connection cho request login
+        binding.edtEmail.setOnFocusChangeListener((v, hasFocus) -> {
+            if (hasFocus) {
+                viewModel.prewarmConnection();
+            }
+        });
     }
 
     private void setupPasswordToggle() {
@@ -1,4 +1,6 @@
 package com.zentry.app.ui.fragment.lecture;
+import android.content.Intent;
+import android.net.Uri;
 import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -9,20 +11,44 @@ import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.appcompat.app.AlertDialog;
+import androidx.core.content.FileProvider;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
+import androidx.navigation.fragment.NavHostFragment;
 
 import com.zentry.app.R;
+import com.zentry.app.model.entity.UserRole;
+import com.zentry.app.model.response.ClassSessionModel;
+import com.zentry.app.model.stats.AttendanceSummary;
+import com.zentry.app.repository.HomeDataCache;
+import com.zentry.app.repository.export.AttendanceReportExporter;
+import com.zentry.app.ui.fragment.common.SessionFragment;
+import com.zentry.app.util.TimeToHome;
 import com.zentry.app.viewmodel.AuthViewModel;
+import com.zentry.app.viewmodel.HomeViewModel;
 import com.zentry.app.navigation.AreaManager;
 
+import java.io.File;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
 public class LectureHomeFragment extends Fragment {
+    private static final String FILE_PROVIDER_SUFFIX = ".fileprovider"; // theo authorities trong AndroidManifest
     private TextView tvWelcome;
+    private TextView tvSchedule;
     private Button btnLogout;
     private Button btnCreateLecture;
     private Button btnManageAttendance;
     private Button btnViewReports;
+    private Button btnExportReport;
+    private View layoutExportProgress;
+    private TextView tvExportProgress;
+    private Button btnCancelExport;
     private AuthViewModel authViewModel;
+    private HomeViewModel homeViewModel;
 
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container, @Nullable Bundle savedInstanceState) {
@@ -32,20 +58,27 @@ public class LectureHomeFragment extends Fragment {
         initViewModel();
         setupClickListeners();
         loadUserInfo();
+        loadHomeData();
 
         return view;
     }
 
     private void initViews(View view) {
         tvWelcome = view.findViewById(R.id.tv_welcome);
+        tvSchedule = view.findViewById(R.id.tv_schedule);
         btnLogout = view.findViewById(R.id.btn_logout);
         btnCreateLecture = view.findViewById(R.id.btn_create_lecture);
         btnManageAttendance = view.findViewById(R.id.btn_manage_attendance);
         btnViewReports = view.findViewById(R.id.btn_view_reports);
+        btnExportReport = view.findViewById(R.id.btn_export_report);
+        layoutExportProgress = view.findViewById(R.id.layout_export_progress);
+        tvExportProgress = view.findViewById(R.id.tv_export_progress);
+        btnCancelExport = view.findViewById(R.id.btn_cancel_export);
     }
 
     private void initViewModel() {
         authViewModel = new ViewModelProvider(this).get(AuthViewModel.class);
+        homeViewModel = new ViewModelProvider(this).get(HomeViewModel.class);
     }
 
     private void setupClickListeners() {
@@ -53,12 +86,14 @@ public class LectureHomeFragment extends Fragment {
         btnCreateLecture.setOnClickListener(v -> handleCreateLecture());
         btnManageAttendance.setOnClickListener(v -> handleManageAttendance());
         btnViewReports.setOnClickListener(v -> handleViewReports());
+        btnExportReport.setOnClickListener(v -> handleExportReport());
+        btnCancelExport.setOnClickListener(v -> homeViewModel.cancelExport());
     }
 
     private void loadUserInfo() {
-        // Lấy thông tin user từ token hoặc SharedPreferences
-        authViewModel.getUserToken().observe(getViewLifecycleOwner(), tokenModel -> {
-            if (tokenModel != null) {
+        // Lấy thông tin user từ session dùng chung (không đọc lại SharedPreferences)
+        authViewModel.getSession().observe(getViewLifecycleOwner(), session -> {
+            if (session.isLoggedIn()) {
                 String welcomeMessage = "Welcome, Lecturer!";
                 // Nếu có thông tin user name trong token
                 // welcomeMessage = "Welcome, Prof. " + tokenModel.getUserName() + "!";
@@ -67,6 +102,54 @@ public class LectureHomeFragment extends Fragment {
         });
     }
 
+    private void loadHomeData() {
+        // Thường đã được prefetch lúc login - render ngay từ cache, không chờ mạng
+        HomeDataCache.HomeData cached = homeViewModel.getHomeData().getValue();
+        boolean warm = cached != null && cached.getRole() == UserRole.TEACHER;
+        homeViewModel.load(UserRole.TEACHER);
+        // Thống kê cho "View Reports": mở từ file đã lưu rồi sync phần thay đổi ở background
+        homeViewModel.loadAttendanceStats();
+        homeViewModel.getHomeData().observe(getViewLifecycleOwner(), homeData -> {
+            if (homeData == null || homeData.getRole() != UserRole.TEACHER) {
+                return;
+            }
+            tvSchedule.setText(formatSchedule(homeData.getSessions()));
+            TimeToHome.markHomeUsable("LectureHome", warm);
+        });
+        homeViewModel.getExportProgress().observe(getViewLifecycleOwner(), rows -> {
+            // Đang export: hiện tiến độ và nút hủy, không cho bắt đầu export khác
+            layoutExportProgress.setVisibility(rows != null ? View.VISIBLE : View.GONE);
+            btnExportReport.setEnabled(rows == null);
+            if (rows != null) {
+                tvExportProgress.setText(String.format(Locale.US, "Exporting... %,d rows", rows));
+            }
+        });
+        homeViewModel.getExportResult().observe(getViewLifecycleOwner(), result -> {
+            if (result != null) {
+                Toast.makeText(getContext(), result, Toast.LENGTH_LONG).show();
+            }
+        });
+        homeViewModel.getExportedFile().observe(getViewLifecycleOwner(), file -> {
+            if (file != null) {
+                homeViewModel.onExportedFileShared();
+                shareReport(file);
+            }
+        });
+    }
+
+    private String formatSchedule(List<ClassSessionModel> sessions) {
+        if (sessions.isEmpty()) {
+            return "No upcoming classes";
+        }
+        StringBuilder text = new StringBuilder("Teaching schedule: " + sessions.size() + " session(s)");
+        for (ClassSessionModel session : sessions) {
+            text.append('\n').append(session.getCourseCode())
+                    .append(" - ").append(session.getStartTime())
+                    .append(" - Room ").append(session.getRoom());
+        }
+        return text.toString();
+    }
+
     private void handleLogout() {
         // Clear user session
         authViewModel.logout();
@@ -87,17 +170,78 @@ public class LectureHomeFragment extends Fragment {
     }
 
     private void handleManageAttendance() {
-        // Navigate to attendance management
-        Toast.makeText(getContext(), "Manage Attendance feature coming soon!", Toast.LENGTH_SHORT).show();
+        // Mở điểm danh (chiếu mã QR) cho buổi đầu tiên trong lịch dạy
+        HomeDataCache.HomeData homeData = homeViewModel.getHomeData().getValue();
+        if (homeData == null || homeData.getSessions().isEmpty()) {
+            Toast.makeText(getContext(), "No session to check in", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        ClassSessionModel session = homeData.getSessions().get(0);
+        Bundle args = new Bundle();
+        args.putString(SessionFragment.ARG_SESSION_ID, session.getId());
+        args.putString(SessionFragment.ARG_COURSE_CODE, session.getCourseCode());
+        NavHostFragment.findNavController(this).navigate(R.id.action_lectureHome_to_session, args);
+    }
 
-        // Implement navigation to attendance management fragment
-        // NavHostFragment.findNavController(this)
-        //     .navigate(R.id.action_lectureHome_to_manageAttendance);
+    private void handleExportReport() {
+        // Chọn môn (các môn trong lịch dạy) rồi chọn định dạng
+        HomeDataCache.HomeData homeData = homeViewModel.getHomeData().getValue();
+        Set<String> courses = new LinkedHashSet<>();
+        if (homeData != null) {
+            for (ClassSessionModel session : homeData.getSessions()) {
+                if (session.getCourseCode() != null) {
+                    courses.add(session.getCourseCode());
+                }
+            }
+        }
+        if (courses.isEmpty()) {
+            Toast.makeText(getContext(), "No course to export", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        String[] courseCodes = courses.toArray(new String[0]);
+        new AlertDialog.Builder(requireContext())
+                .setTitle("Export attendance for")
+                .setItems(courseCodes, (dialog, which) -> chooseExportFormat(courseCodes[which]))
+                .setNegativeButton("Cancel", null)
+                .show();
+    }
+
+    private void chooseExportFormat(String courseCode) {
+        AttendanceReportExporter.Format[] formats = AttendanceReportExporter.Format.values();
+        String[] labels = {"CSV", "Excel (XLSX)"}; // theo AttendanceReportExporter.Format.ordinal()
+        new AlertDialog.Builder(requireContext())
+                .setTitle(courseCode + " report format")
+                .setItems(labels, (dialog, which) -> homeViewModel.exportCourseReport(courseCode, formats[which]))
+                .setNegativeButton("Cancel", null)
+                .show();
+    }
+
+    private void shareReport(File file) {
+        Uri uri = FileProvider.getUriForFile(requireContext(),
+                requireContext().getPackageName() + FILE_PROVIDER_SUFFIX, file);
+        String mimeType = file.getName().endsWith(".xlsx")
+                ? "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"
+                : "text/csv";
+        Intent send = new Intent(Intent.ACTION_SEND)
+                .setType(mimeType)
+                .putExtra(Intent.EXTRA_STREAM, uri)
+                .addFlags(Intent.FLAG_GRANT_READ_URI_PERMISSION);
+        startActivity(Intent.createChooser(send, "Share " + file.getName()));
     }
 
     private void handleViewReports() {
-        // Navigate to reports and analytics
-        Toast.makeText(getContext(), "View Reports feature coming soon!", Toast.LENGTH_SHORT).show();
+        // Tóm tắt từ thống kê đã tính sẵn cho tới khi có màn hình báo cáo
+        if (!homeViewModel.isAttendanceLoaded()) {
+            homeViewModel.loadAttendanceStats(); // lần tải trước có thể đã lỗi
+            Toast.makeText(getContext(), "Loading attendance data...", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        AttendanceSummary summary = homeViewModel.getOverallAttendance();
+        String message = summary.getTotal() == 0
+                ? "No attendance data yet"
+                : String.format(Locale.US, "Attendance rate: %.1f%% (%d records)",
+                        summary.getAttendanceRate() * 100, summary.getTotal());
+        Toast.makeText(getContext(), message, Toast.LENGTH_SHORT).show();
 
         // Implement navigation to reports fragment
         // NavHostFragment.findNavController(this)
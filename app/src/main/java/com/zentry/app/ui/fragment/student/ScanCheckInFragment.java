@@ -0,0 +1,170 @@
+package com.zentry.app.ui.fragment.student;
+
+import android.Manifest;
+import android.content.pm.PackageManager;
+import android.os.Bundle;
+import android.util.Log;
+import android.util.Size;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Toast;
+
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.camera.core.CameraSelector;
+import androidx.camera.core.ImageAnalysis;
+import androidx.camera.core.ImageProxy;
+import androidx.camera.core.Preview;
+import androidx.camera.core.resolutionselector.ResolutionSelector;
+import androidx.camera.core.resolutionselector.ResolutionStrategy;
+import androidx.camera.lifecycle.ProcessCameraProvider;
+import androidx.camera.view.PreviewView;
+import androidx.core.content.ContextCompat;
+import androidx.fragment.app.Fragment;
+import androidx.navigation.fragment.NavHostFragment;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.zentry.app.R;
+import com.zentry.app.repository.CheckInRepository;
+import com.zentry.app.util.CheckInPayload;
+import com.zentry.app.util.CheckInScanPipeline;
+import com.zentry.app.util.LumaFrame;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Sinh viên quét mã check-in xoay vòng trên máy chiếu.
+ * Analyzer của CameraX chỉ copy mặt phẳng Y vào buffer của {@link CheckInScanPipeline} rồi trả frame
+ * cho camera ngay; decode chạy trên thread riêng của pipeline và chỉ xử lý frame mới nhất.
+ */
+public class ScanCheckInFragment extends Fragment {
+    private static final String TAG = "ScanCheckInFragment";
+    private static final float ROI_FRACTION = 0.7f; // Vùng giữa khung hình, sinh viên hướng camera vào mã
+    private static final Size ANALYSIS_SIZE = new Size(1280, 720); // Đủ đọc QR từ cuối giảng đường
+
+    private PreviewView previewView;
+    private CheckInScanPipeline pipeline;
+    private ExecutorService analysisExecutor;
+    private ProcessCameraProvider cameraProvider;
+    private long scanStartedAt;
+
+    private final ActivityResultLauncher<String> cameraPermission = registerForActivityResult(
+            new ActivityResultContracts.RequestPermission(), granted -> {
+                if (granted) {
+                    startCamera();
+                } else {
+                    Toast.makeText(getContext(), "Camera permission is required to check in", Toast.LENGTH_LONG).show();
+                    NavHostFragment.findNavController(this).navigateUp();
+                }
+            });
+
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container, @Nullable Bundle savedInstanceState) {
+        View view = inflater.inflate(R.layout.fragment_scan_check_in, container, false);
+        previewView = view.findViewById(R.id.preview_view);
+
+        analysisExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "checkin-camera");
+            thread.setDaemon(true);
+            return thread;
+        });
+        pipeline = new CheckInScanPipeline(payload -> previewView.post(() -> onCodeScanned(payload)), ROI_FRACTION);
+        pipeline.start();
+
+        if (ContextCompat.checkSelfPermission(requireContext(), Manifest.permission.CAMERA)
+                == PackageManager.PERMISSION_GRANTED) {
+            startCamera();
+        } else {
+            cameraPermission.launch(Manifest.permission.CAMERA);
+        }
+        return view;
+    }
+
+    private void startCamera() {
+        scanStartedAt = System.nanoTime();
+        ListenableFuture<ProcessCameraProvider> future = ProcessCameraProvider.getInstance(requireContext());
+        future.addListener(() -> {
+            if (getView() == null) {
+                return; // View đã bị hủy trong lúc chờ camera
+            }
+            try {
+                cameraProvider = future.get();
+            } catch (Exception e) {
+                Log.e(TAG, "Camera unavailable", e);
+                Toast.makeText(getContext(), "Camera unavailable", Toast.LENGTH_LONG).show();
+                return;
+            }
+            Preview preview = new Preview.Builder().build();
+            preview.setSurfaceProvider(previewView.getSurfaceProvider());
+
+            ImageAnalysis analysis = new ImageAnalysis.Builder()
+                    .setResolutionSelector(new ResolutionSelector.Builder()
+                            .setResolutionStrategy(new ResolutionStrategy(ANALYSIS_SIZE,
+                                    ResolutionStrategy.FALLBACK_RULE_CLOSEST_LOWER_THEN_HIGHER))
+                            .build())
+                    .setBackpressureStrategy(ImageAnalysis.STRATEGY_KEEP_ONLY_LATEST)
+                    .setOutputImageFormat(ImageAnalysis.OUTPUT_IMAGE_FORMAT_YUV_420_888)
+                    .build();
+            analysis.setAnalyzer(analysisExecutor, this::analyze);
+
+            cameraProvider.unbindAll();
+            cameraProvider.bindToLifecycle(getViewLifecycleOwner(), CameraSelector.DEFAULT_BACK_CAMERA,
+                    preview, analysis);
+        }, ContextCompat.getMainExecutor(requireContext()));
+    }
+
+    /**
+     * Copy mặt phẳng Y vào buffer của pipeline; frame camera được đóng ngay để camera không phải chờ decode
+     */
+    private void analyze(@NonNull ImageProxy image) {
+        try {
+            LumaFrame frame = pipeline.acquireFrame();
+            if (frame == null) {
+                return;
+            }
+            ImageProxy.PlaneProxy luma = image.getPlanes()[0];
+            ByteBuffer buffer = luma.getBuffer();
+            int size = buffer.remaining();
+            byte[] data = frame.ensureCapacity(Math.max(size, luma.getRowStride() * image.getHeight()));
+            buffer.get(data, 0, size);
+            frame.setGeometry(image.getWidth(), image.getHeight(), luma.getRowStride(),
+                    image.getImageInfo().getTimestamp());
+            pipeline.submit(frame);
+        } finally {
+            image.close();
+        }
+    }
+
+    private void onCodeScanned(CheckInPayload payload) {
+        long elapsedMs = (System.nanoTime() - scanStartedAt) / 1_000_000;
+        Log.i(TAG, "Check-in code read in " + elapsedMs + " ms (" + pipeline.getSubmittedCount() + " frames, "
+                + pipeline.getDroppedCount() + " dropped, decode p50="
+                + pipeline.getDecodeLatency().getPercentileMicros(50) / 1000.0 + " ms)");
+        if (getView() == null) {
+            return;
+        }
+        if (cameraProvider != null) {
+            cameraProvider.unbindAll();
+        }
+        // Journal ghi ngay trên máy, upload nền - không chờ mạng
+        CheckInRepository.getInstance(requireContext()).submit(payload.getSessionId(), payload.getStep(), payload.getCode());
+        Toast.makeText(getContext(), "Checked in", Toast.LENGTH_SHORT).show();
+        NavHostFragment.findNavController(this).navigateUp();
+    }
+
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        pipeline.stop();
+        analysisExecutor.shutdown();
+        if (cameraProvider != null) {
+            cameraProvider.unbindAll();
+            cameraProvider = null;
+        }
+    }
+}
@@ -12,17 +12,29 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
+import androidx.navigation.fragment.NavHostFragment;
 
 import com.zentry.app.R;
+import com.zentry.app.model.entity.UserRole;
+import com.zentry.app.model.response.ClassSessionModel;
+import com.zentry.app.repository.DeviceRepository;
+import com.zentry.app.repository.HomeDataCache;
+import com.zentry.app.util.TimeToHome;
 import com.zentry.app.viewmodel.AuthViewModel;
+import com.zentry.app.viewmodel.HomeViewModel;
 import com.zentry.app.navigation.AreaManager;
 
+import java.util.List;
+
 public class StudentHomeFragment extends Fragment {
     private TextView tvWelcome;
+    private TextView tvSchedule;
     private Button btnLogout;
+    private Button btnCheckIn;
     private Button btnViewLectures;
     private Button btnViewAttendance;
     private AuthViewModel authViewModel;
+    private HomeViewModel homeViewModel;
 
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container, @Nullable Bundle savedInstanceState) {
@@ -32,31 +44,36 @@ public class StudentHomeFragment extends Fragment {
         initViewModel();
         setupClickListeners();
         loadUserInfo();
+        loadHomeData();
 
         return view;
     }
 
     private void initViews(View view) {
         tvWelcome = view.findViewById(R.id.tv_welcome);
+        tvSchedule = view.findViewById(R.id.tv_schedule);
         btnLogout = view.findViewById(R.id.btn_logout);
+        btnCheckIn = view.findViewById(R.id.btn_check_in);
         btnViewLectures = view.findViewById(R.id.btn_view_lectures);
         btnViewAttendance = view.findViewById(R.id.btn_view_attendance);
     }
 
     private void initViewModel() {
         authViewModel = new ViewModelProvider(this).get(AuthViewModel.class);
+        homeViewModel = new ViewModelProvider(this).get(HomeViewModel.class);
     }
 
     private void setupClickListeners() {
         btnLogout.setOnClickListener(v -> handleLogout());
+        btnCheckIn.setOnClickListener(v -> handleCheckIn());
         btnViewLectures.setOnClickListener(v -> handleViewLectures());
         btnViewAttendance.setOnClickListener(v -> handleViewAttendance());
     }
 
     private void loadUserInfo() {
-        // Lấy thông tin user từ token hoặc SharedPreferences
-        authViewModel.getUserToken().observe(getViewLifecycleOwner(), tokenModel -> {
-            if (tokenModel != null) {
+        // Lấy thông tin user từ session dùng chung (không đọc lại SharedPreferences)
+        authViewModel.getSession().observe(getViewLifecycleOwner(), session -> {
+            if (session.isLoggedIn()) {
                 String welcomeMessage = "Welcome, Student!";
                 // Nếu có thông tin user name trong token
                 // welcomeMessage = "Welcome, " + tokenModel.getUserName() + "!";
@@ -65,6 +82,33 @@ public class StudentHomeFragment extends Fragment {
         });
     }
 
+    private void loadHomeData() {
+        // Thường đã được prefetch lúc login - render ngay từ cache, không chờ mạng
+        HomeDataCache.HomeData cached = homeViewModel.getHomeData().getValue();
+        boolean warm = cached != null && cached.getRole() == UserRole.STUDENT;
+        homeViewModel.load(UserRole.STUDENT);
+        homeViewModel.getHomeData().observe(getViewLifecycleOwner(), homeData -> {
+            if (homeData == null || homeData.getRole() != UserRole.STUDENT) {
+                return;
+            }
+            tvSchedule.setText(formatSchedule(homeData.getSessions()));
+            TimeToHome.markHomeUsable("StudentHome", warm);
+        });
+    }
+
+    private String formatSchedule(List<ClassSessionModel> sessions) {
+        if (sessions.isEmpty()) {
+            return "No classes today";
+        }
+        StringBuilder text = new StringBuilder("Today: " + sessions.size() + " session(s)");
+        for (ClassSessionModel session : sessions) {
+            text.append('\n').append(session.getCourseCode())
+                    .append(" - ").append(session.getStartTime())
+                    .append(" - Room ").append(session.getRoom());
+        }
+        return text.toString();
+    }
+
     private void handleLogout() {
         // Clear user session
         authViewModel.logout();
@@ -75,6 +119,14 @@ public class StudentHomeFragment extends Fragment {
         Toast.makeText(getContext(), "Logged out successfully", Toast.LENGTH_SHORT).show();
     }
 
+    private void handleCheckIn() {
+        // Lần đầu phải đăng ký thiết bị - trạng thái đọc từ session trong bộ nhớ
+        int destination = DeviceRepository.getInstance(requireContext()).isRegistered()
+                ? R.id.action_studentHome_to_scanCheckIn
+                : R.id.action_studentHome_to_registerDevice;
+        NavHostFragment.findNavController(this).navigate(destination);
+    }
+
     private void handleViewLectures() {
         // Navigate to lectures list for student
         Toast.makeText(getContext(), "View Lectures feature coming soon!", Toast.LENGTH_SHORT).show();
@@ -85,12 +137,9 @@ public class StudentHomeFragment extends Fragment {
     }
 
     private void handleViewAttendance() {
-        // Navigate to attendance history for student
-        Toast.makeText(getContext(), "View Attendance feature coming soon!", Toast.LENGTH_SHORT).show();
-
-        // Implement navigation to attendance fragment
-        // NavHostFragment.findNavController(this)
-        //     .navigate(R.id.action_studentHome_to_attendanceHistory);
+        // Lịch sử điểm danh của sinh viên, tải theo trang
+        NavHostFragment.findNavController(this)
+                .navigate(R.id.action_studentHome_to_attendanceHistory);
     }
 
     @Override
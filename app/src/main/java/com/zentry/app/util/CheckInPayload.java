@@ -0,0 +1,63 @@
+package com.zentry.app.util;
+
+/**
+ * Nội dung QR check-in: "ZENTRY:&lt;sessionId&gt;:&lt;step&gt;:&lt;code&gt;".
+ * Máy giảng viên sinh bằng {@link SessionCodeGenerator}, máy sinh viên đọc lại khi quét.
+ */
+public final class CheckInPayload {
+    static final String PREFIX = "ZENTRY:";
+
+    private final String sessionId;
+    private final long step;
+    private final String code;
+
+    public CheckInPayload(String sessionId, long step, String code) {
+        this.sessionId = sessionId;
+        this.step = step;
+        this.code = code;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public long getStep() {
+        return step;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public static String format(String sessionId, long step, String code) {
+        return PREFIX + sessionId + ":" + step + ":" + code;
+    }
+
+    /**
+     * @return null nếu text không phải mã check-in hợp lệ (QR khác trong phòng, mã bị cắt...)
+     */
+    public static CheckInPayload parse(String text) {
+        if (text == null || !text.startsWith(PREFIX)) {
+            return null;
+        }
+        // Tách từ bên phải: sessionId có thể chứa ':'
+        int codeSeparator = text.lastIndexOf(':');
+        int stepSeparator = text.lastIndexOf(':', codeSeparator - 1);
+        if (stepSeparator <= PREFIX.length() || codeSeparator == text.length() - 1) {
+            return null;
+        }
+        String code = text.substring(codeSeparator + 1);
+        for (int i = 0; i < code.length(); i++) {
+            if (code.charAt(i) < '0' || code.charAt(i) > '9') {
+                return null;
+            }
+        }
+        long step;
+        try {
+            step = Long.parseLong(text.substring(stepSeparator + 1, codeSeparator));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return new CheckInPayload(text.substring(PREFIX.length(), stepSeparator), step, code);
+    }
+}
@@ -0,0 +1,176 @@
+package com.zentry.app.util;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.PlanarYUVLuminanceSource;
+import com.google.zxing.ReaderException;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.qrcode.QRCodeReader;
+import com.zentry.app.network.LatencyHistogram;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Đọc mã check-in từ frame camera, Java thuần (không phụ thuộc Android) để test/đo trên JVM.
+ * - Chỉ giữ frame mới nhất: frame chờ decode bị thay bằng frame mới thì frame cũ bị bỏ
+ * - Decode thẳng mặt phẳng Y qua PlanarYUVLuminanceSource, không đổi sang RGB
+ * - Chỉ decode vùng vuông giữa khung hình (ROI), chỉ tìm QR
+ * - Dừng ngay khi đọc được mã check-in hợp lệ; QR khác trong phòng bị bỏ qua
+ * Buffer frame lấy từ pool cố định qua acquireFrame() và được trả lại sau khi decode.
+ */
+public final class CheckInScanPipeline {
+    /**
+     * Gọi một lần trên thread decode khi đọc được mã hợp lệ
+     */
+    public interface Listener {
+        void onCheckInCode(CheckInPayload payload);
+    }
+
+    private static final int POOL_SIZE = 3; // Camera đang ghi, frame đang chờ, frame đang decode
+
+    private final Listener listener;
+    private final float roiFraction;
+    private final QRCodeReader reader = new QRCodeReader();
+    private final Map<DecodeHintType, Object> hints = new EnumMap<>(DecodeHintType.class);
+    private final ArrayBlockingQueue<LumaFrame> free = new ArrayBlockingQueue<>(POOL_SIZE);
+    private final AtomicReference<LumaFrame> latest = new AtomicReference<>();
+    private final AtomicBoolean finished = new AtomicBoolean();
+    private final Object signal = new Object();
+    private volatile Thread worker;
+
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final LatencyHistogram decodeLatency = new LatencyHistogram(); // micro giây
+
+    /**
+     * @param roiFraction cạnh ROI so với cạnh ngắn của frame (0..1]
+     */
+    public CheckInScanPipeline(Listener listener, float roiFraction) {
+        this.listener = listener;
+        this.roiFraction = roiFraction;
+        hints.put(DecodeHintType.POSSIBLE_FORMATS, Collections.singletonList(BarcodeFormat.QR_CODE));
+        for (int i = 0; i < POOL_SIZE; i++) {
+            free.add(new LumaFrame());
+        }
+    }
+
+    /**
+     * Buffer trống để camera ghi frame vào, null nếu cả pool đang bận (bỏ frame camera này)
+     */
+    public LumaFrame acquireFrame() {
+        return finished.get() ? null : free.poll();
+    }
+
+    /**
+     * Đưa frame đã ghi vào hàng chờ decode, thay frame đang chờ (nếu có)
+     */
+    public void submit(LumaFrame frame) {
+        submittedCount.incrementAndGet();
+        LumaFrame stale = latest.getAndSet(frame);
+        if (stale != null) {
+            droppedCount.incrementAndGet();
+            free.offer(stale);
+        }
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+    }
+
+    /**
+     * Trả lại frame đã acquire nhưng không dùng
+     */
+    public void release(LumaFrame frame) {
+        free.offer(frame);
+    }
+
+    public void start() {
+        Thread thread = new Thread(this::runWorker, "checkin-scan");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    public void stop() {
+        finished.set(true);
+        Thread thread = worker;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    public boolean isFinished() {
+        return finished.get();
+    }
+
+    /**
+     * Decode đồng bộ một frame trên thread hiện tại
+     *
+     * @return null nếu không có mã check-in hợp lệ trong ROI
+     */
+    public CheckInPayload decode(LumaFrame frame) {
+        long startNs = System.nanoTime();
+        int side = (int) (Math.min(frame.getWidth(), frame.getHeight()) * roiFraction);
+        int left = (frame.getWidth() - side) / 2;
+        int top = (frame.getHeight() - side) / 2;
+        PlanarYUVLuminanceSource source = new PlanarYUVLuminanceSource(frame.getData(),
+                frame.getRowStride(), frame.getHeight(), left, top, side, side, false);
+        try {
+            return CheckInPayload.parse(reader.decode(new BinaryBitmap(new HybridBinarizer(source)), hints).getText());
+        } catch (ReaderException e) {
+            return null;
+        } finally {
+            reader.reset();
+            decodeLatency.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNs));
+        }
+    }
+
+    /**
+     * Số frame camera đã đưa vào
+     */
+    public long getSubmittedCount() {
+        return submittedCount.get();
+    }
+
+    /**
+     * Số frame bị thay bằng frame mới hơn trước khi kịp decode
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public LatencyHistogram getDecodeLatency() {
+        return decodeLatency;
+    }
+
+    private void runWorker() {
+        while (!finished.get()) {
+            LumaFrame frame = latest.getAndSet(null);
+            if (frame == null) {
+                synchronized (signal) {
+                    if (latest.get() == null && !finished.get()) {
+                        try {
+                            signal.wait();
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                }
+                continue;
+            }
+            CheckInPayload payload = decode(frame);
+            free.offer(frame);
+            if (payload != null && finished.compareAndSet(false, true)) {
+                listener.onCheckInCode(payload);
+                return;
+            }
+        }
+    }
+}
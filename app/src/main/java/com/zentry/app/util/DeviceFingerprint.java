@@ -0,0 +1,143 @@
+package com.zentry.app.util;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.os.Build;
+import android.provider.Settings;
+import android.security.keystore.KeyGenParameterSpec;
+import android.security.keystore.KeyProperties;
+import android.util.Base64;
+import android.util.Log;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.cert.Certificate;
+import java.security.spec.ECGenParameterSpec;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Tính định danh thiết bị: SHA-256 của ANDROID_ID, hãng/model và public key của một EC key
+ * trong Android Keystore (key bị xóa khi gỡ app nên mỗi lần cài là một thiết bị mới với server).
+ * Sinh key và đọc chuỗi attestation tốn vài trăm ms nên chỉ gọi một lần trên background thread;
+ * kết quả được cache trong Session của AuthManager (xem DeviceRepository).
+ */
+public final class DeviceFingerprint {
+    private static final String TAG = "DeviceFingerprint";
+    private static final String KEYSTORE_PROVIDER = "AndroidKeyStore";
+    private static final String KEY_ALIAS = "zentry_device_key";
+
+    /**
+     * Kết quả tính định danh, dùng cho request đăng ký
+     */
+    public static final class Identity {
+        private final String fingerprint;
+        private final String publicKey;
+        private final List<String> attestationChain;
+
+        public Identity(String fingerprint, String publicKey, List<String> attestationChain) {
+            this.fingerprint = fingerprint;
+            this.publicKey = publicKey;
+            this.attestationChain = attestationChain;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public String getPublicKey() {
+            return publicKey;
+        }
+
+        public List<String> getAttestationChain() {
+            return attestationChain;
+        }
+    }
+
+    /**
+     * Tính định danh - chậm, không gọi trên main thread
+     */
+    @SuppressLint("HardwareIds")
+    public static Identity compute(Context context) {
+        String androidId = Settings.Secure.getString(context.getContentResolver(), Settings.Secure.ANDROID_ID);
+
+        byte[] publicKey = null;
+        List<String> chain = Collections.emptyList();
+        try {
+            Certificate[] certificates = loadOrCreateKey();
+            publicKey = certificates[0].getPublicKey().getEncoded();
+            chain = new ArrayList<>(certificates.length);
+            for (Certificate certificate : certificates) {
+                chain.add(Base64.encodeToString(certificate.getEncoded(), Base64.NO_WRAP));
+            }
+        } catch (GeneralSecurityException | IOException e) {
+            // Không có Keystore dùng được: định danh chỉ còn ổn định nhờ được cache
+            Log.w(TAG, "Keystore unavailable, fingerprint falls back to a random install id", e);
+        }
+
+        MessageDigest digest = sha256();
+        update(digest, androidId);
+        update(digest, Build.MANUFACTURER);
+        update(digest, Build.MODEL);
+        if (publicKey != null) {
+            digest.update(publicKey);
+        } else {
+            update(digest, UUID.randomUUID().toString());
+        }
+        String fingerprint = Base64.encodeToString(digest.digest(),
+                Base64.URL_SAFE | Base64.NO_WRAP | Base64.NO_PADDING);
+        return new Identity(fingerprint,
+                publicKey != null ? Base64.encodeToString(publicKey, Base64.NO_WRAP) : null, chain);
+    }
+
+    /**
+     * Tên hiển thị của thiết bị trong danh sách thiết bị của tài khoản
+     */
+    public static String deviceName() {
+        return Build.MANUFACTURER + " " + Build.MODEL;
+    }
+
+    private static Certificate[] loadOrCreateKey() throws GeneralSecurityException, IOException {
+        KeyStore keyStore = KeyStore.getInstance(KEYSTORE_PROVIDER);
+        keyStore.load(null);
+        if (!keyStore.containsAlias(KEY_ALIAS)) {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(KeyProperties.KEY_ALGORITHM_EC, KEYSTORE_PROVIDER);
+            generator.initialize(new KeyGenParameterSpec.Builder(KEY_ALIAS, KeyProperties.PURPOSE_SIGN)
+                    .setAlgorithmParameterSpec(new ECGenParameterSpec("secp256r1"))
+                    .setDigests(KeyProperties.DIGEST_SHA256)
+                    .setAttestationChallenge(KEY_ALIAS.getBytes(StandardCharsets.UTF_8))
+                    .build());
+            generator.generateKeyPair();
+        }
+        Certificate[] certificates = keyStore.getCertificateChain(KEY_ALIAS);
+        if (certificates == null || certificates.length == 0) {
+            throw new GeneralSecurityException("No certificate for " + KEY_ALIAS);
+        }
+        return certificates;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0); // Phân tách field
+    }
+
+    private DeviceFingerprint() {
+        throw new AssertionError("DeviceFingerprint should not be instantiated");
+    }
+}
@@ -0,0 +1,53 @@
+package com.zentry.app.util;
+
+/**
+ * Một frame camera chỉ gồm mặt phẳng Y (độ sáng) của YUV_420_888 - đủ để đọc QR, không cần đổi sang RGB.
+ * Buffer được {@link CheckInScanPipeline} cấp và dùng lại, chỉ cấp phát lại khi độ phân giải tăng.
+ */
+public final class LumaFrame {
+    private byte[] data = new byte[0];
+    private int width;
+    private int height;
+    private int rowStride;
+    private long timestampNanos;
+
+    /**
+     * Mảng để camera copy mặt phẳng Y vào, tối thiểu size byte
+     */
+    public byte[] ensureCapacity(int size) {
+        if (data.length < size) {
+            data = new byte[size];
+        }
+        return data;
+    }
+
+    /**
+     * @param rowStride số byte mỗi dòng trong data (có thể lớn hơn width do padding của camera)
+     */
+    public void setGeometry(int width, int height, int rowStride, long timestampNanos) {
+        this.width = width;
+        this.height = height;
+        this.rowStride = rowStride;
+        this.timestampNanos = timestampNanos;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getRowStride() {
+        return rowStride;
+    }
+
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+}
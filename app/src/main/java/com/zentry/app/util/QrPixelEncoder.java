@@ -0,0 +1,68 @@
+package com.zentry.app.util;
+
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import com.google.zxing.qrcode.encoder.Encoder;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Vẽ QR vào mảng pixel ARGB có sẵn (sizePx × sizePx) thay vì tạo BitMatrix/Bitmap mới mỗi lần.
+ * Module được phóng theo bội số nguyên và căn giữa, xung quanh chừa quiet zone 4 module.
+ */
+public final class QrPixelEncoder {
+    public static final int BLACK = 0xFF000000;
+    public static final int WHITE = 0xFFFFFFFF;
+    private static final int QUIET_ZONE_MODULES = 4;
+
+    private final int sizePx;
+    private final Map<EncodeHintType, Object> hints = new EnumMap<>(EncodeHintType.class);
+
+    public QrPixelEncoder(int sizePx) {
+        this.sizePx = sizePx;
+        hints.put(EncodeHintType.CHARACTER_SET, "ISO-8859-1"); // Payload chỉ có ASCII
+    }
+
+    public int getSizePx() {
+        return sizePx;
+    }
+
+    /**
+     * Số phần tử mảng pixel cần cho mỗi frame
+     */
+    public int getPixelCount() {
+        return sizePx * sizePx;
+    }
+
+    /**
+     * Encode contents và ghi đè toàn bộ pixels (row-major, stride = sizePx)
+     */
+    public void encodeInto(String contents, int[] pixels) throws WriterException {
+        ByteMatrix matrix = Encoder.encode(contents, ErrorCorrectionLevel.M, hints).getMatrix();
+        int modules = matrix.getWidth();
+        int scale = sizePx / (modules + 2 * QUIET_ZONE_MODULES);
+        if (scale < 1) {
+            throw new WriterException("QR needs " + modules + " modules, too large for " + sizePx + " px");
+        }
+        int origin = (sizePx - modules * scale) / 2;
+
+        Arrays.fill(pixels, 0, getPixelCount(), WHITE);
+        for (int y = 0; y < modules; y++) {
+            int rowStart = (origin + y * scale) * sizePx + origin;
+            // Vẽ một dòng pixel rồi copy cho các dòng còn lại của module
+            for (int x = 0; x < modules; x++) {
+                if (matrix.get(x, y) == 1) {
+                    int start = rowStart + x * scale;
+                    Arrays.fill(pixels, start, start + scale, BLACK);
+                }
+            }
+            for (int line = 1; line < scale; line++) {
+                System.arraycopy(pixels, rowStart, pixels, rowStart + line * sizePx, modules * scale);
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.zentry.app.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Locale;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Sinh mã check-in theo TOTP (RFC 6238, HMAC-SHA1) cho một buổi học.
+ * - Key của buổi = HMAC(secret, sessionId): secret lộ ở buổi này không sinh được mã cho buổi khác
+ * - Mỗi stepMillis ra một mã mới nên ảnh chụp màn hình gửi cho bạn chỉ dùng được trong vài giây
+ * Mac và buffer được dùng lại giữa các lần tính; các method tính mã đồng bộ trên this.
+ */
+public final class SessionCodeGenerator {
+    private static final String HMAC_ALGORITHM = "HmacSHA1";
+    private static final int[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000};
+
+    private final String sessionId;
+    private final long stepMillis;
+    private final int digits;
+    private final Mac mac;
+    private final byte[] counter = new byte[8];
+    private final byte[] hash;
+
+    /**
+     * @param sessionSecret secret server cấp cho buổi học
+     */
+    public static SessionCodeGenerator forSession(String sessionId, byte[] sessionSecret, long stepMillis, int digits) {
+        byte[] sessionKey = newMac(sessionSecret).doFinal(sessionId.getBytes(StandardCharsets.UTF_8));
+        return new SessionCodeGenerator(sessionId, sessionKey, stepMillis, digits);
+    }
+
+    SessionCodeGenerator(String sessionId, byte[] key, long stepMillis, int digits) {
+        if (digits < 1 || digits >= POWERS_OF_TEN.length) {
+            throw new IllegalArgumentException("digits must be in [1, " + (POWERS_OF_TEN.length - 1) + "]");
+        }
+        this.sessionId = sessionId;
+        this.stepMillis = stepMillis;
+        this.digits = digits;
+        this.mac = newMac(key);
+        this.hash = new byte[mac.getMacLength()];
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public long getStepMillis() {
+        return stepMillis;
+    }
+
+    /**
+     * Time step chứa thời điểm epochMillis
+     */
+    public long stepAt(long epochMillis) {
+        return Math.floorDiv(epochMillis, stepMillis);
+    }
+
+    /**
+     * Thời điểm (epoch ms) bắt đầu của step
+     */
+    public long stepStartMillis(long step) {
+        return step * stepMillis;
+    }
+
+    /**
+     * Mã của step dạng số (chưa pad số 0)
+     */
+    public synchronized int codeAt(long step) {
+        for (int i = counter.length - 1; i >= 0; i--) {
+            counter[i] = (byte) step;
+            step >>>= 8;
+        }
+        try {
+            mac.update(counter);
+            mac.doFinal(hash, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+        // Dynamic truncation (RFC 4226 §5.3)
+        int offset = hash[hash.length - 1] & 0x0f;
+        int binary = ((hash[offset] & 0x7f) << 24)
+                | ((hash[offset + 1] & 0xff) << 16)
+                | ((hash[offset + 2] & 0xff) << 8)
+                | (hash[offset + 3] & 0xff);
+        return binary % POWERS_OF_TEN[digits];
+    }
+
+    /**
+     * Mã của step dạng chuỗi đủ digits chữ số (để sinh viên nhập tay khi không quét được QR)
+     */
+    public String formatCode(int code) {
+        return String.format(Locale.US, "%0" + digits + "d", code);
+    }
+
+    /**
+     * Nội dung QR của step: sessionId, step và mã; server chấp nhận lệch vài step để bù độ trễ quét
+     */
+    public String payloadAt(long step, String code) {
+        return CheckInPayload.format(sessionId, step, code);
+    }
+
+    private static Mac newMac(byte[] key) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(key, HMAC_ALGORITHM));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            // HmacSHA1 luôn có trên Android/JVM
+            throw new IllegalStateException("HmacSHA1 unavailable", e);
+        }
+    }
+}
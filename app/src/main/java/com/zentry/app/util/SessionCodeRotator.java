@@ -0,0 +1,151 @@
+package com.zentry.app.util;
+
+import android.util.Log;
+
+import com.google.zxing.WriterException;
+
+/**
+ * Tính trước mã và ảnh QR của các step sắp tới trên thread "session-code" để lúc đổi mã,
+ * thread UI chỉ copy một mảng pixel có sẵn vào bitmap.
+ * - Ring gồm ahead + 2 frame, mảng pixel cấp một lần lúc tạo: mỗi lần xoay không sinh rác
+ * - Frame của step đang hiển thị và step vừa hiển thị không bị ghi đè; worker chỉ ghi các step phía trước
+ * - frameFor() không cấp phát, không khóa lâu: gọi được trong mỗi tick của UI
+ */
+public final class SessionCodeRotator {
+    private static final String TAG = "SessionCodeRotator";
+
+    /**
+     * Mã và ảnh QR của một step. Sau khi copy pixels nên kiểm tra lại getStep() -
+     * nếu đã đổi thì frame vừa bị ghi đè trong lúc copy (chỉ xảy ra khi đồng hồ nhảy lùi)
+     */
+    public static final class Frame {
+        private volatile long step = Long.MIN_VALUE;
+        private String code;
+        private final int[] pixels;
+
+        Frame(int pixelCount) {
+            this.pixels = new int[pixelCount];
+        }
+
+        public long getStep() {
+            return step;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public int[] getPixels() {
+            return pixels;
+        }
+    }
+
+    private final SessionCodeGenerator generator;
+    private final QrPixelEncoder encoder;
+    private final int ahead;
+    private final Frame[] frames;
+
+    private final Object lock = new Object();
+    private long targetStep = Long.MIN_VALUE; // guarded by lock - worker tính sẵn tới step này
+    private boolean running; // guarded by lock
+    private Thread worker;
+
+    public SessionCodeRotator(SessionCodeGenerator generator, QrPixelEncoder encoder, int ahead) {
+        this.generator = generator;
+        this.encoder = encoder;
+        this.ahead = ahead;
+        this.frames = new Frame[ahead + 2];
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = new Frame(encoder.getPixelCount());
+        }
+    }
+
+    public SessionCodeGenerator getGenerator() {
+        return generator;
+    }
+
+    public int getSizePx() {
+        return encoder.getSizePx();
+    }
+
+    /**
+     * Bắt đầu tính trước từ step hiện tại
+     */
+    public void start(long nowMillis) {
+        synchronized (lock) {
+            if (running) {
+                return;
+            }
+            running = true;
+            worker = new Thread(this::runWorker, "session-code");
+            worker.setDaemon(true);
+            worker.start();
+        }
+        request(generator.stepAt(nowMillis) + ahead);
+    }
+
+    public void stop() {
+        synchronized (lock) {
+            running = false;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Frame đã tính sẵn của step, null nếu worker chưa kịp (UI thử lại ở frame sau).
+     * Đồng thời báo worker tính tiếp các step phía sau.
+     */
+    public Frame frameFor(long step) {
+        request(step + ahead);
+        Frame frame = frames[(int) Math.floorMod(step, (long) frames.length)];
+        return frame.step == step ? frame : null;
+    }
+
+    private void request(long upTo) {
+        synchronized (lock) {
+            if (upTo > targetStep) {
+                targetStep = upTo;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private void runWorker() {
+        long prepared = Long.MIN_VALUE; // step lớn nhất đã tính
+        while (true) {
+            long target;
+            synchronized (lock) {
+                while (running && prepared >= targetStep) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (!running) {
+                    return;
+                }
+                target = targetStep;
+            }
+            // Bỏ qua các step đã trôi qua (vd app bị pause lâu)
+            for (long step = Math.max(prepared + 1, target - ahead); step <= target; step++) {
+                prepare(step);
+            }
+            prepared = target;
+        }
+    }
+
+    private void prepare(long step) {
+        Frame frame = frames[(int) Math.floorMod(step, (long) frames.length)];
+        frame.step = Long.MIN_VALUE; // UI không dùng frame trong lúc ghi
+        String code = generator.formatCode(generator.codeAt(step));
+        try {
+            encoder.encodeInto(generator.payloadAt(step, code), frame.pixels);
+        } catch (WriterException e) {
+            Log.e(TAG, "Failed to encode check-in code for step " + step, e);
+            return;
+        }
+        frame.code = code;
+        frame.step = step; // Publish (volatile write sau khi ghi xong pixels)
+    }
+}
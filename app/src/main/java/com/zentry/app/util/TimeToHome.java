@@ -0,0 +1,44 @@
+package com.zentry.app.util;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+/**
+ * Đo time-to-usable-home: từ lúc bấm login tới khi home hiển thị dữ liệu.
+ * Log kèm nhãn prefetched/cold để so sánh khi dữ liệu đã có sẵn trong cache và khi phải tải lại.
+ */
+public final class TimeToHome {
+    private static final String TAG = "TimeToHome";
+
+    private static volatile long loginStartedAt; // 0 = không có phép đo đang chạy
+    private static volatile long lastMillis = -1;
+
+    public static void markLoginStarted() {
+        loginStartedAt = SystemClock.elapsedRealtime();
+    }
+
+    /**
+     * Gọi khi home render dữ liệu lần đầu; chỉ phép đo đầu tiên sau mỗi lần login được ghi
+     * @param warm true nếu dữ liệu đã có sẵn lúc home được tạo
+     */
+    public static void markHomeUsable(String screen, boolean warm) {
+        long startedAt = loginStartedAt;
+        if (startedAt == 0) {
+            return;
+        }
+        loginStartedAt = 0;
+        lastMillis = SystemClock.elapsedRealtime() - startedAt;
+        Log.i(TAG, screen + " usable " + lastMillis + " ms after login (" + (warm ? "prefetched" : "cold") + ")");
+    }
+
+    /**
+     * Kết quả đo gần nhất (ms), -1 nếu chưa có
+     */
+    public static long getLastMillis() {
+        return lastMillis;
+    }
+
+    private TimeToHome() {
+        throw new AssertionError("TimeToHome should not be instantiated");
+    }
+}
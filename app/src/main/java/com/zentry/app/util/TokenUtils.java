@@ -1,4 +1,50 @@
 package com.zentry.app.util;
 
-public class TokenUtils {
+import android.util.Base64;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tiện ích xử lý JWT access token
+ */
+public final class TokenUtils {
+
+    /**
+     * Đọc claim "exp" của JWT
+     * @return thời điểm hết hạn (epoch millis), hoặc 0 nếu token không phải JWT hợp lệ
+     */
+    public static long getExpiryMillis(String jwt) {
+        if (jwt == null) {
+            return 0;
+        }
+        String[] parts = jwt.split("\\.");
+        if (parts.length < 2) {
+            return 0;
+        }
+        try {
+            byte[] payload = Base64.decode(parts[1], Base64.URL_SAFE | Base64.NO_WRAP | Base64.NO_PADDING);
+            JSONObject claims = new JSONObject(new String(payload, StandardCharsets.UTF_8));
+            return claims.optLong("exp", 0) * 1000L;
+        } catch (IllegalArgumentException | JSONException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Tính thời điểm hết hạn tuyệt đối: ưu tiên expires_in từ server, nếu không có thì đọc exp trong JWT
+     * @return epoch millis, hoặc 0 nếu không xác định được
+     */
+    public static long computeExpiresAt(String accessToken, long expiresInSeconds, long nowMillis) {
+        if (expiresInSeconds > 0) {
+            return nowMillis + expiresInSeconds * 1000L;
+        }
+        return getExpiryMillis(accessToken);
+    }
+
+    private TokenUtils() {
+        throw new AssertionError("TokenUtils should not be instantiated");
+    }
 }
@@ -8,13 +8,15 @@ import androidx.lifecycle.MutableLiveData;
 
 import com.zentry.app.model.request.LoginRequest;
 import com.zentry.app.model.response.TokenModel;
-import com.zentry.app.network.AuthManager;
+import com.zentry.app.network.Session;
+import com.zentry.app.network.SessionStore;
 import com.zentry.app.repository.AuthRepository;
+import com.zentry.app.util.TimeToHome;
 
 public class AuthViewModel extends AndroidViewModel {
     private final AuthRepository repository;
-    // AuthManager không cần thiết phải là một trường riêng ở đây
-    // vì nó đã được truyền vào repository.
+    // Session dùng chung cho cả app, ViewModel chỉ observe chứ không tự đọc prefs
+    private final SessionStore sessionStore;
 
     // LiveData cho UI
     private final MutableLiveData<Boolean> loginSuccess = new MutableLiveData<>();
@@ -25,9 +27,9 @@ public class AuthViewModel extends AndroidViewModel {
 
     public AuthViewModel(@NonNull Application application) {
         super(application);
-        // Khởi tạo AuthManager và truyền vào AuthRepository
-        AuthManager authManager = new AuthManager(application.getApplicationContext());
-        this.repository = new AuthRepository(authManager);
+        // Repository và SessionStore là singleton - tạo ViewModel mới không dựng lại object graph
+        this.repository = AuthRepository.getInstance(application);
+        this.sessionStore = SessionStore.getInstance(application);
 
         repository.setMockingLogin(true);
 
@@ -35,16 +37,12 @@ public class AuthViewModel extends AndroidViewModel {
         loading.setValue(false);
 
         // Khởi tạo userToken nếu đã có token và user info được lưu
-        if (repository.isLoggedIn()) {
-            // Tạo một TokenModel từ dữ liệu đã lưu
-            String accessToken = authManager.getAccessToken();
-            String refreshToken = authManager.getRefreshToken();
-            String userId = authManager.getUserId();
-            String role = authManager.getUserRole();
-            // expiresIn không có trong AuthManager, bạn có thể lấy từ lúc login
-            // hoặc bỏ qua nếu không cần quản lý thời gian hết hạn ở đây.
-            // Để đơn giản, ta có thể khởi tạo TokenModel mà không có expiresIn hoặc đặt giá trị mặc định.
-            TokenModel currentToken = new TokenModel(accessToken, refreshToken, userId, role, 0);
+        Session session = sessionStore.getCurrent();
+        if (session.isLoggedIn()) {
+            // Tạo một TokenModel từ session trong bộ nhớ
+            // expiresIn không cần ở đây, thời điểm hết hạn đã nằm trong Session
+            TokenModel currentToken = new TokenModel(session.getAccessToken(), session.getRefreshToken(),
+                    session.getUserId(), session.getRole(), 0);
             userToken.setValue(currentToken);
         }
     }
@@ -59,6 +57,7 @@ public class AuthViewModel extends AndroidViewModel {
 
         loading.setValue(true);
         error.setValue(null); // Xóa lỗi trước đó
+        TimeToHome.markLoginStarted();
 
         repository.login(request, new AuthRepository.LoginCallback() {
             @Override
@@ -78,6 +77,13 @@ public class AuthViewModel extends AndroidViewModel {
         });
     }
 
+    /**
+     * Prewarm connection khi user bắt đầu nhập (có guard, gọi nhiều lần không sao)
+     */
+    public void prewarmConnection() {
+        repository.prewarmConnection();
+    }
+
     /**
      * Logout user
      */
@@ -153,7 +159,7 @@ public class AuthViewModel extends AndroidViewModel {
      * Kiểm tra nếu user là Student (dựa trên role đã lưu)
      */
     public boolean isStudent() {
-        String role = repository.getUserRole();
+        String role = sessionStore.getCurrent().getRole();
         return role != null && role.equalsIgnoreCase("student");
     }
 
@@ -161,7 +167,7 @@ public class AuthViewModel extends AndroidViewModel {
      * Kiểm tra nếu user là Lecturer (dựa trên role đã lưu)
      */
     public boolean isLecturer() {
-        String role = repository.getUserRole();
+        String role = sessionStore.getCurrent().getRole();
         return role != null && role.equalsIgnoreCase("lecturer");
     }
 
@@ -185,4 +191,15 @@ public class AuthViewModel extends AndroidViewModel {
     public LiveData<TokenModel> getUserToken() {
         return userToken;
     }
+
+    /**
+     * Session dùng chung - phát lại khi login, refresh token hoặc logout
+     */
+    public LiveData<Session> getSession() {
+        return sessionStore.getSession();
+    }
+
+    public LiveData<Boolean> getLoggedIn() {
+        return sessionStore.getLoggedIn();
+    }
 }
\ No newline at end of file
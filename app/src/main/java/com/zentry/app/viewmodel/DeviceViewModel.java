@@ -0,0 +1,61 @@
+package com.zentry.app.viewmodel;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.zentry.app.repository.DeviceRepository;
+
+public class DeviceViewModel extends AndroidViewModel {
+    private final DeviceRepository repository;
+
+    private final MutableLiveData<Boolean> registered = new MutableLiveData<>();
+    private final MutableLiveData<Boolean> loading = new MutableLiveData<>(false);
+    private final MutableLiveData<String> error = new MutableLiveData<>();
+
+    public DeviceViewModel(@NonNull Application application) {
+        super(application);
+        this.repository = DeviceRepository.getInstance(application);
+        registered.setValue(repository.isRegistered());
+    }
+
+    public LiveData<Boolean> getRegistered() {
+        return registered;
+    }
+
+    public LiveData<Boolean> getLoading() {
+        return loading;
+    }
+
+    public LiveData<String> getError() {
+        return error;
+    }
+
+    public boolean isRegistered() {
+        return repository.isRegistered();
+    }
+
+    public void register() {
+        if (Boolean.TRUE.equals(loading.getValue())) {
+            return;
+        }
+        loading.setValue(true);
+        error.setValue(null);
+        repository.register(new DeviceRepository.RegisterCallback() {
+            @Override
+            public void onRegistered() {
+                loading.setValue(false);
+                registered.setValue(true);
+            }
+
+            @Override
+            public void onError(String message) {
+                loading.setValue(false);
+                error.setValue(message);
+            }
+        });
+    }
+}
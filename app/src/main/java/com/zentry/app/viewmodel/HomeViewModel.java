@@ -0,0 +1,169 @@
+package com.zentry.app.viewmodel;
+
+import android.app.Application;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.zentry.app.model.entity.UserRole;
+import com.zentry.app.model.stats.AttendanceSummary;
+import com.zentry.app.repository.AttendanceHistoryRepository;
+import com.zentry.app.repository.AttendanceStatsRepository;
+import com.zentry.app.repository.HomeDataCache;
+import com.zentry.app.repository.ScheduleRepository;
+import com.zentry.app.repository.export.AttendanceReportExporter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class HomeViewModel extends AndroidViewModel {
+    private static final String TAG = "HomeViewModel";
+    private static final String REPORTS_DIR = "reports";
+
+    private final ScheduleRepository repository;
+    private final MutableLiveData<Long> exportProgress = new MutableLiveData<>(); // null khi không export
+    private final MutableLiveData<String> exportResult = new MutableLiveData<>();
+    private final MutableLiveData<File> exportedFile = new MutableLiveData<>(); // file vừa export, chờ chia sẻ
+    private final ExecutorService exportExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "report-export");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService statsExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "attendance-stats");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Future<?> exportTask;
+    private Future<?> statsTask;
+
+    public HomeViewModel(@NonNull Application application) {
+        super(application);
+        this.repository = ScheduleRepository.getInstance(application);
+    }
+
+    /**
+     * Dữ liệu home dùng chung - thường đã được prefetch lúc login
+     */
+    public LiveData<HomeDataCache.HomeData> getHomeData() {
+        return repository.getHomeData();
+    }
+
+    /**
+     * Tải dữ liệu home nếu cache chưa có (ví dụ khi auto-login bằng Remember Me)
+     */
+    public void load(UserRole role) {
+        repository.load(role);
+    }
+
+    /**
+     * Thống kê điểm danh tổng hợp - đọc từ summary đã tính sẵn, không duyệt lại record
+     */
+    public AttendanceSummary getOverallAttendance() {
+        return AttendanceStatsRepository.getInstance(getApplication()).getOverallSummary();
+    }
+
+    /**
+     * Đã có thống kê của user hiện tại chưa (đọc từ file đã lưu hoặc sau lần sync đầu)
+     */
+    public boolean isAttendanceLoaded() {
+        return AttendanceStatsRepository.getInstance(getApplication()).isBuilt();
+    }
+
+    /**
+     * Sync thống kê điểm danh ở background: chỉ tải các record thay đổi từ lần sync trước
+     */
+    public void loadAttendanceStats() {
+        if (statsTask != null && !statsTask.isDone()) {
+            return;
+        }
+        AttendanceHistoryRepository history = AttendanceHistoryRepository.getInstance(getApplication());
+        statsTask = statsExecutor.submit(() -> {
+            try {
+                history.loadOverallSummary();
+            } catch (IOException e) {
+                // Thử lại ở lần mở báo cáo tiếp theo
+                Log.w(TAG, "Failed to load attendance history for stats", e);
+            }
+        });
+    }
+
+    /**
+     * Export điểm danh cả môn ra file trong thư mục reports của app (streaming, chạy nền).
+     * Tiến độ (số dòng đã ghi, null khi xong) qua getExportProgress(), thông báo qua getExportResult(),
+     * file hoàn chỉnh qua getExportedFile() để màn hình chia sẻ qua FileProvider.
+     */
+    public void exportCourseReport(String courseCode, AttendanceReportExporter.Format format) {
+        if (exportTask != null && !exportTask.isDone()) {
+            return; // Đang export
+        }
+        Application application = getApplication();
+        File baseDir = application.getExternalFilesDir(null) != null
+                ? application.getExternalFilesDir(null)
+                : application.getFilesDir();
+        File target = new File(new File(baseDir, REPORTS_DIR), AttendanceReportExporter.fileName(courseCode, format));
+        AttendanceReportExporter exporter = new AttendanceReportExporter(
+                AttendanceHistoryRepository.getInstance(application).courseRecords(courseCode));
+
+        exportProgress.setValue(0L);
+        exportTask = exportExecutor.submit(() -> {
+            try {
+                File dir = target.getParentFile();
+                if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+                    throw new IOException("Cannot create " + dir);
+                }
+                long rows = exporter.export(target, format, exportProgress::postValue);
+                exportResult.postValue("Exported " + rows + " rows to " + target.getName());
+                exportedFile.postValue(target);
+            } catch (InterruptedIOException e) {
+                exportResult.postValue("Export cancelled");
+            } catch (IOException e) {
+                exportResult.postValue("Export failed: " + e.getMessage());
+            } finally {
+                exportProgress.postValue(null);
+            }
+        });
+    }
+
+    /**
+     * Hủy export đang chạy - file dở dang bị xóa
+     */
+    public void cancelExport() {
+        if (exportTask != null) {
+            exportTask.cancel(true);
+        }
+    }
+
+    public LiveData<Long> getExportProgress() {
+        return exportProgress;
+    }
+
+    public LiveData<String> getExportResult() {
+        return exportResult;
+    }
+
+    public LiveData<File> getExportedFile() {
+        return exportedFile;
+    }
+
+    /**
+     * Màn hình đã mở chia sẻ cho file vừa export - không mở lại khi view được tạo lại
+     */
+    public void onExportedFileShared() {
+        exportedFile.setValue(null);
+    }
+
+    @Override
+    protected void onCleared() {
+        cancelExport();
+        exportExecutor.shutdown();
+        statsExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,285 @@
+package com.zentry.app.viewmodel;
+
+import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Base64;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.zentry.app.api.IAttendanceAPI;
+import com.zentry.app.model.entity.AttendanceStatus;
+import com.zentry.app.model.request.MarkAttendanceRequest;
+import com.zentry.app.model.response.AttendanceRecordModel;
+import com.zentry.app.model.response.CheckInCodeSecretModel;
+import com.zentry.app.model.roster.AttendanceRoster;
+import com.zentry.app.network.NetworkConfig;
+import com.zentry.app.network.NetworkModule;
+import com.zentry.app.util.QrPixelEncoder;
+import com.zentry.app.util.SessionCodeGenerator;
+import com.zentry.app.util.SessionCodeRotator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Mở điểm danh cho một buổi học: lấy secret từ server rồi dựng {@link SessionCodeRotator}.
+ * Rotator sống theo ViewModel nên xoay màn hình không phải tính lại các mã đã tính sẵn.
+ * Danh sách điểm danh của buổi giữ trong {@link AttendanceRoster}, tải lại định kỳ để thấy
+ * sinh viên vừa check-in; giảng viên chạm vào một dòng để đổi trạng thái.
+ * Roster chỉ được sửa trên main thread; getRosterVersion() tăng mỗi lần roster đổi,
+ * màn hình lấy các dòng đổi bằng roster.drainChanges().
+ */
+public class SessionViewModel extends AndroidViewModel {
+    private final IAttendanceAPI api;
+    private final MutableLiveData<SessionCodeRotator> rotator = new MutableLiveData<>();
+    private final MutableLiveData<String> error = new MutableLiveData<>();
+    private final MutableLiveData<AttendanceRoster> roster = new MutableLiveData<>();
+    private final MutableLiveData<Integer> rosterVersion = new MutableLiveData<>(0);
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable refreshRoster = this::refreshRoster;
+    private final Map<String, Integer> pendingMarks = new HashMap<>(); // số lần đổi đang chờ server, theo sinh viên
+    private Call<CheckInCodeSecretModel> pending;
+    private Call<List<AttendanceRecordModel>> pendingRoster;
+    private String sessionId;
+    private String[] studentNames;
+    private boolean rosterPolling;
+
+    public SessionViewModel(@NonNull Application application) {
+        super(application);
+        this.api = NetworkModule.getInstance(application).createService(IAttendanceAPI.class);
+    }
+
+    public LiveData<SessionCodeRotator> getRotator() {
+        return rotator;
+    }
+
+    public LiveData<String> getError() {
+        return error;
+    }
+
+    public LiveData<AttendanceRoster> getRoster() {
+        return roster;
+    }
+
+    public LiveData<Integer> getRosterVersion() {
+        return rosterVersion;
+    }
+
+    /**
+     * Tên sinh viên theo index của roster (null nếu server không trả tên)
+     */
+    public String getStudentName(int index) {
+        return studentNames[index];
+    }
+
+    /**
+     * @param sizePx cạnh của ảnh QR, cố định trong suốt buổi
+     */
+    public void start(String sessionId, int sizePx) {
+        this.sessionId = sessionId;
+        if (rotator.getValue() != null || pending != null) {
+            return;
+        }
+        pending = api.startCheckInCode(sessionId);
+        pending.enqueue(new Callback<CheckInCodeSecretModel>() {
+            @Override
+            public void onResponse(@NonNull Call<CheckInCodeSecretModel> call,
+                                   @NonNull Response<CheckInCodeSecretModel> response) {
+                pending = null;
+                CheckInCodeSecretModel secret = response.body();
+                if (!response.isSuccessful() || secret == null || secret.getSecret() == null) {
+                    error.setValue("Cannot start check-in (" + response.code() + ")");
+                    return;
+                }
+                rotator.setValue(createRotator(sessionId, secret, sizePx));
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<CheckInCodeSecretModel> call, @NonNull Throwable t) {
+                pending = null;
+                if (!call.isCanceled()) {
+                    error.setValue("Cannot start check-in: " + t.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Tải lại roster định kỳ khi màn hình hiển thị (onStart), dừng khi ẩn (onStop)
+     */
+    public void setRosterPolling(boolean polling) {
+        rosterPolling = polling;
+        handler.removeCallbacks(refreshRoster);
+        if (polling) {
+            handler.post(refreshRoster);
+        }
+    }
+
+    /**
+     * Giảng viên chạm vào dòng: vắng -> có mặt -> đi muộn -> vắng.
+     * Roster đổi ngay; server từ chối thì trả lại trạng thái cũ.
+     */
+    public void toggle(int index) {
+        AttendanceRoster current = roster.getValue();
+        if (current == null) {
+            return;
+        }
+        AttendanceStatus previous = current.getStatus(index);
+        AttendanceStatus next = nextStatus(previous);
+        String studentId = current.studentIdAt(index);
+        current.mark(index, next);
+        pendingMarks.merge(studentId, 1, Integer::sum);
+        bumpRosterVersion();
+
+        api.markAttendance(sessionId, studentId, new MarkAttendanceRequest(next)).enqueue(new Callback<Void>() {
+            @Override
+            public void onResponse(@NonNull Call<Void> call, @NonNull Response<Void> response) {
+                pendingMarks.computeIfPresent(studentId, (id, count) -> count > 1 ? count - 1 : null);
+                if (!response.isSuccessful()) {
+                    revert("Cannot update attendance (" + response.code() + ")");
+                }
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<Void> call, @NonNull Throwable t) {
+                pendingMarks.computeIfPresent(studentId, (id, count) -> count > 1 ? count - 1 : null);
+                revert("Cannot update attendance: " + t.getMessage());
+            }
+
+            private void revert(String message) {
+                // Chỉ trả lại nếu chưa bị đổi tiếp sau lần chạm này
+                if (current.getStatus(index) == next && current.mark(index, previous)) {
+                    bumpRosterVersion();
+                }
+                error.setValue(message);
+            }
+        });
+    }
+
+    static AttendanceStatus nextStatus(AttendanceStatus status) {
+        switch (status) {
+            case ABSENT:
+                return AttendanceStatus.PRESENT;
+            case PRESENT:
+                return AttendanceStatus.LATE;
+            default:
+                return AttendanceStatus.ABSENT;
+        }
+    }
+
+    private void refreshRoster() {
+        if (!rosterPolling || sessionId == null || pendingRoster != null) {
+            return;
+        }
+        pendingRoster = api.getSessionRecords(sessionId);
+        pendingRoster.enqueue(new Callback<List<AttendanceRecordModel>>() {
+            @Override
+            public void onResponse(@NonNull Call<List<AttendanceRecordModel>> call,
+                                   @NonNull Response<List<AttendanceRecordModel>> response) {
+                pendingRoster = null;
+                List<AttendanceRecordModel> records = response.body();
+                if (response.isSuccessful() && records != null) {
+                    applyRoster(records);
+                }
+                scheduleRosterRefresh();
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<List<AttendanceRecordModel>> call, @NonNull Throwable t) {
+                pendingRoster = null;
+                if (!call.isCanceled()) {
+                    scheduleRosterRefresh();
+                }
+            }
+        });
+    }
+
+    private void scheduleRosterRefresh() {
+        if (rosterPolling) {
+            handler.postDelayed(refreshRoster, NetworkConfig.SESSION_ROSTER_REFRESH_MS);
+        }
+    }
+
+    private void applyRoster(List<AttendanceRecordModel> records) {
+        AttendanceRoster current = roster.getValue();
+        if (current == null) {
+            // Lần đầu: dựng roster theo thứ tự server trả về, bỏ dòng trùng sinh viên
+            Map<String, AttendanceRecordModel> byStudent = new LinkedHashMap<>();
+            for (AttendanceRecordModel record : records) {
+                if (record.getStudentId() != null) {
+                    byStudent.put(record.getStudentId(), record);
+                }
+            }
+            AttendanceRoster created = new AttendanceRoster(new ArrayList<>(byStudent.keySet()));
+            String[] names = new String[created.size()];
+            int index = 0;
+            for (AttendanceRecordModel record : byStudent.values()) {
+                names[index] = record.getStudentName();
+                created.mark(index, statusOf(record));
+                index++;
+            }
+            created.drainChanges(); // Cả danh sách được bind lần đầu
+            studentNames = names;
+            roster.setValue(created);
+            return;
+        }
+        boolean changed = false;
+        for (AttendanceRecordModel record : records) {
+            // Dòng giảng viên vừa sửa giữ trạng thái local cho tới khi server trả lời
+            if (record.getStudentId() != null && !pendingMarks.containsKey(record.getStudentId())) {
+                changed |= current.mark(record.getStudentId(), statusOf(record));
+            }
+        }
+        if (changed) {
+            bumpRosterVersion();
+        }
+    }
+
+    private static AttendanceStatus statusOf(AttendanceRecordModel record) {
+        return record.getStatus() != null ? record.getStatus() : AttendanceStatus.ABSENT;
+    }
+
+    private void bumpRosterVersion() {
+        rosterVersion.setValue(rosterVersion.getValue() + 1);
+    }
+
+    private static SessionCodeRotator createRotator(String sessionId, CheckInCodeSecretModel secret, int sizePx) {
+        long stepMillis = secret.getStepSeconds() > 0
+                ? secret.getStepSeconds() * 1_000L
+                : NetworkConfig.CHECK_IN_CODE_STEP_MS;
+        int digits = secret.getDigits() > 0 ? secret.getDigits() : NetworkConfig.CHECK_IN_CODE_DIGITS;
+        SessionCodeGenerator generator = SessionCodeGenerator.forSession(sessionId,
+                Base64.decode(secret.getSecret(), Base64.DEFAULT), stepMillis, digits);
+        SessionCodeRotator created = new SessionCodeRotator(generator, new QrPixelEncoder(sizePx),
+                NetworkConfig.CHECK_IN_CODE_PRECOMPUTE);
+        created.start(System.currentTimeMillis());
+        return created;
+    }
+
+    @Override
+    protected void onCleared() {
+        if (pending != null) {
+            pending.cancel();
+        }
+        rosterPolling = false;
+        handler.removeCallbacks(refreshRoster);
+        if (pendingRoster != null) {
+            pendingRoster.cancel();
+        }
+        SessionCodeRotator current = rotator.getValue();
+        if (current != null) {
+            current.stop();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.zentry.app.adapter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.app.Activity;
+import android.app.Application;
+import android.os.Looper;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.zentry.app.model.entity.AttendanceStatus;
+import com.zentry.app.model.response.AttendanceRecordModel;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)
+public class AttendanceAdapterTest {
+    private static final int TOTAL = 2_000;
+    private static final int PAGE_SIZE = 50;
+
+    private ExecutorService loadExecutor;
+    private ExecutorService diffExecutor;
+    private final AtomicInteger diffCalls = new AtomicInteger();
+    private final AtomicBoolean diffOnMain = new AtomicBoolean();
+    private final AtomicBoolean loadOnMain = new AtomicBoolean();
+    private int bindCount;
+
+    private RecyclerView recyclerView;
+    private AttendanceAdapter adapter;
+
+    @Before
+    public void setUp() {
+        loadExecutor = Executors.newSingleThreadExecutor();
+        diffExecutor = Executors.newSingleThreadExecutor();
+
+        AttendancePagingSource source = (offset, limit) -> {
+            loadOnMain.compareAndSet(false, isMainThread());
+            List<AttendanceRecordModel> page = new ArrayList<>();
+            for (int i = offset; i < Math.min(TOTAL, offset + limit); i++) {
+                page.add(new AttendanceRecordModel("r" + i, "s" + (i / 40), "PRN211", "SE" + i, null,
+                        "2025-07-01", AttendanceStatus.values()[i % 3]));
+            }
+            return page;
+        };
+        DiffUtil.ItemCallback<AttendanceRecordModel> recordingCallback =
+                new DiffUtil.ItemCallback<AttendanceRecordModel>() {
+                    @Override
+                    public boolean areItemsTheSame(@NonNull AttendanceRecordModel oldItem,
+                                                   @NonNull AttendanceRecordModel newItem) {
+                        recordDiff();
+                        return AttendanceAdapter.DIFF_CALLBACK.areItemsTheSame(oldItem, newItem);
+                    }
+
+                    @Override
+                    public boolean areContentsTheSame(@NonNull AttendanceRecordModel oldItem,
+                                                      @NonNull AttendanceRecordModel newItem) {
+                        recordDiff();
+                        return AttendanceAdapter.DIFF_CALLBACK.areContentsTheSame(oldItem, newItem);
+                    }
+                };
+
+        adapter = new AttendanceAdapter(source, PAGE_SIZE, loadExecutor, diffExecutor, recordingCallback) {
+            @Override
+            public void onBindViewHolder(@NonNull RecordViewHolder holder, int position) {
+                bindCount++;
+                super.onBindViewHolder(holder, position);
+            }
+        };
+
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        recyclerView = new RecyclerView(activity);
+        recyclerView.setLayoutManager(new LinearLayoutManager(activity));
+        AttendanceAdapter.configure(recyclerView);
+        recyclerView.setAdapter(adapter);
+        activity.setContentView(recyclerView, new ViewGroup.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
+    }
+
+    @After
+    public void tearDown() {
+        loadExecutor.shutdownNow();
+        diffExecutor.shutdownNow();
+    }
+
+    @Test
+    public void scrolling_pagesInWithBackgroundDiffsAndRecycledHolders() throws Exception {
+        adapter.refresh();
+        assertTrue(pumpMain(() -> adapter.getItemCount() == PAGE_SIZE, 5_000));
+
+        // Scroll qua ~1000 dòng, mỗi lần gần cuối lại tải thêm trang
+        for (int i = 0; i < 500 && adapter.getItemCount() < 1_000; i++) {
+            int before = adapter.getItemCount();
+            recyclerView.scrollBy(0, 300);
+            // Đa số lần scroll không chạm ngưỡng tải trang - chỉ chờ ngắn
+            pumpMain(() -> adapter.getItemCount() > before, 100);
+        }
+
+        assertTrue(adapter.getItemCount() >= 1_000);
+        assertTrue("appending pages should be diffed", diffCalls.get() > 0);
+        assertFalse("diff ran on the main thread", diffOnMain.get());
+        assertFalse("page loaded on the main thread", loadOnMain.get());
+
+        // Hàng trăm lần bind nhưng chỉ vài chục holder được inflate
+        assertTrue(bindCount > 300);
+        assertTrue("holders were not reused: " + adapter.getCreatedViewHolderCount(),
+                adapter.getCreatedViewHolderCount() < 40);
+    }
+
+    @Test
+    public void stableIds_followRecordIds() throws Exception {
+        adapter.refresh();
+        assertTrue(pumpMain(() -> adapter.getItemCount() == PAGE_SIZE, 5_000));
+
+        assertTrue(adapter.hasStableIds());
+        assertEquals(AttendanceAdapter.stableId("r7"), adapter.getItemId(7));
+        assertFalse(adapter.getItemId(7) == adapter.getItemId(8));
+    }
+
+    private void recordDiff() {
+        diffCalls.incrementAndGet();
+        diffOnMain.compareAndSet(false, isMainThread());
+    }
+
+    /**
+     * Chạy main looper cho tới khi condition đúng hoặc hết thời gian
+     */
+    private static boolean pumpMain(BooleanSupplier condition, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            shadowOf(Looper.getMainLooper()).idle();
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private static boolean isMainThread() {
+        return Looper.getMainLooper().getThread() == Thread.currentThread();
+    }
+}
@@ -0,0 +1,275 @@
+package com.zentry.app.model.roster;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.zentry.app.model.entity.AttendanceStatus;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+public class AttendanceRosterTest {
+
+    @Test
+    public void mark_updatesStatusAndCounts() {
+        AttendanceRoster roster = new AttendanceRoster(Arrays.asList("s1", "s2", "s3"));
+        assertEquals(3, roster.count(AttendanceStatus.ABSENT));
+
+        assertTrue(roster.mark("s2", AttendanceStatus.PRESENT));
+        assertTrue(roster.mark(2, AttendanceStatus.LATE));
+        assertFalse(roster.mark(2, AttendanceStatus.LATE)); // không đổi
+        assertFalse(roster.mark("unknown", AttendanceStatus.PRESENT));
+
+        assertEquals(AttendanceStatus.PRESENT, roster.getStatus(1));
+        assertEquals(AttendanceStatus.LATE, roster.getStatus(2));
+        assertEquals(1, roster.count(AttendanceStatus.ABSENT));
+        assertEquals(1, roster.count(AttendanceStatus.PRESENT));
+        assertEquals(1, roster.count(AttendanceStatus.LATE));
+
+        assertTrue(roster.unmark(1));
+        assertEquals(AttendanceStatus.ABSENT, roster.getStatus(1));
+        assertEquals(2, roster.count(AttendanceStatus.ABSENT));
+    }
+
+    @Test
+    public void drainChanges_returnsEachChangedRowOnce() {
+        AttendanceRoster roster = new AttendanceRoster(ids(200));
+        roster.mark(130, AttendanceStatus.PRESENT);
+        roster.mark(3, AttendanceStatus.LATE);
+        roster.mark(130, AttendanceStatus.LATE);
+        roster.mark(64, AttendanceStatus.PRESENT);
+
+        assertArrayEquals(new int[]{3, 64, 130}, roster.drainChanges());
+        assertFalse(roster.hasChanges());
+        assertEquals(0, roster.drainChanges().length);
+    }
+
+    @Test
+    public void randomLiveToggles_matchNaiveModel() {
+        // So với model "một object mỗi dòng" ở 10k sinh viên
+        int size = 10_000;
+        AttendanceRoster roster = new AttendanceRoster(ids(size));
+        List<AttendanceStatus> naive = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            naive.add(AttendanceStatus.ABSENT);
+        }
+        AttendanceStatus[] statuses = AttendanceStatus.values();
+        Random random = new Random(42);
+        TreeSet<Integer> expectedChanges = new TreeSet<>();
+
+        for (int op = 0; op < 100_000; op++) {
+            int index = random.nextInt(size);
+            AttendanceStatus status = statuses[random.nextInt(statuses.length)];
+            if (naive.get(index) != status) {
+                expectedChanges.add(index);
+            }
+            naive.set(index, status);
+            roster.mark(index, status);
+
+            if (op % 10_000 == 0) {
+                int[] drained = roster.drainChanges();
+                assertEquals(expectedChanges.size(), drained.length);
+                expectedChanges.clear();
+            }
+        }
+
+        for (AttendanceStatus status : statuses) {
+            int expected = 0;
+            for (AttendanceStatus value : naive) {
+                if (value == status) {
+                    expected++;
+                }
+            }
+            assertEquals(expected, roster.count(status));
+        }
+        for (int i = 0; i < size; i++) {
+            assertEquals(naive.get(i), roster.getStatus(i));
+        }
+    }
+
+    @Test
+    public void indexOf_findsEveryStudentIncludingHashCollisions() {
+        List<String> ids = ids(10_000);
+        ids.add("Aa");
+        ids.add("BB"); // cùng hashCode với "Aa"
+        AttendanceRoster roster = new AttendanceRoster(ids);
+
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i, roster.indexOf(ids.get(i)));
+        }
+        assertEquals(-1, roster.indexOf("C#"));
+        assertEquals(-1, new AttendanceRoster(new ArrayList<>()).indexOf("s1"));
+    }
+
+    /**
+     * Đo ở 1k và 10k dòng so với model "một object mỗi dòng + HashMap id -> dòng, đếm bằng cách duyệt":
+     * - footprint: số byte cấp phát khi dựng (chuỗi id dùng chung, không tính); không có gì bị bỏ
+     *   trong lúc dựng nên bằng phần giữ lại trên heap
+     * - mark: 200k lần mark theo student id (như khi áp dụng roster vừa tải), thứ tự ngẫu nhiên sinh sẵn
+     * - count: 30k lần đọc số lượng một trạng thái (bộ đếm trên màn hình sau mỗi lần cập nhật)
+     * Thời gian lấy lượt nhanh nhất trong 5 lượt để bỏ ảnh hưởng của JIT và GC.
+     */
+    @Test
+    public void measurement_footprintAndMarkCountThroughput_vsNaiveModel() {
+        for (int size : new int[]{1_000, 10_000}) {
+            List<String> ids = ids(size);
+
+            long before = allocatedBytes();
+            AttendanceRoster roster = new AttendanceRoster(ids);
+            double rosterBytesPerRow = (allocatedBytes() - before) / (double) size;
+
+            before = allocatedBytes();
+            NaiveRoster naive = new NaiveRoster(ids);
+            double naiveBytesPerRow = (allocatedBytes() - before) / (double) size;
+
+            AttendanceStatus[] statuses = AttendanceStatus.values();
+            Random random = new Random(size);
+            String[] markIds = new String[200_000];
+            AttendanceStatus[] markStatuses = new AttendanceStatus[markIds.length];
+            for (int i = 0; i < markIds.length; i++) {
+                markIds[i] = ids.get(random.nextInt(size));
+                markStatuses[i] = statuses[random.nextInt(statuses.length)];
+            }
+
+            long[] rosterNanos = {Long.MAX_VALUE, Long.MAX_VALUE};
+            long[] naiveNanos = {Long.MAX_VALUE, Long.MAX_VALUE};
+            for (int round = 0; round < 5; round++) {
+                long[] rosterRound = markAndCount(roster, markIds, markStatuses);
+                long[] naiveRound = markAndCount(naive, markIds, markStatuses);
+                for (int i = 0; i < 2; i++) {
+                    rosterNanos[i] = Math.min(rosterNanos[i], rosterRound[i]);
+                    naiveNanos[i] = Math.min(naiveNanos[i], naiveRound[i]);
+                }
+            }
+
+            System.out.printf(Locale.ROOT,
+                    "%,d rows: %.1f B/row vs naive %.1f B/row, mark %.1f ns vs naive %.1f ns, count %.1f ns vs naive %.1f ns%n",
+                    size, rosterBytesPerRow, naiveBytesPerRow,
+                    rosterNanos[0] / (double) markIds.length, naiveNanos[0] / (double) markIds.length,
+                    rosterNanos[1] / (double) COUNT_READS, naiveNanos[1] / (double) COUNT_READS);
+
+            for (AttendanceStatus status : statuses) {
+                assertEquals(naive.count(status), roster.count(status));
+            }
+            assertTrue(rosterBytesPerRow * 2 < naiveBytesPerRow);
+            assertTrue(rosterNanos[1] * 10 < naiveNanos[1]);
+            // Mark cùng bậc với HashMap (dò bảng int[] + equals), kèm ghi nhận dòng đổi cho UI
+            assertTrue(rosterNanos[0] < naiveNanos[0] * 3);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void duplicateStudent_isRejected() {
+        new AttendanceRoster(Arrays.asList("s1", "s1"));
+    }
+
+    private static final int COUNT_READS = 30_000;
+
+    /**
+     * @return {thời gian mark, thời gian count} tính bằng nano giây
+     */
+    private static long[] markAndCount(AttendanceRoster roster, String[] ids, AttendanceStatus[] statuses) {
+        long start = System.nanoTime();
+        for (int i = 0; i < ids.length; i++) {
+            roster.mark(ids[i], statuses[i]);
+        }
+        long markNanos = System.nanoTime() - start;
+        roster.drainChanges();
+
+        AttendanceStatus[] values = AttendanceStatus.values();
+        long sink = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < COUNT_READS; i++) {
+            sink += roster.count(values[i % values.length]);
+        }
+        long countNanos = System.nanoTime() - start;
+        assertEquals(COUNT_READS / values.length * (long) roster.size(), sink);
+        return new long[]{markNanos, countNanos};
+    }
+
+    private static long[] markAndCount(NaiveRoster roster, String[] ids, AttendanceStatus[] statuses) {
+        long start = System.nanoTime();
+        for (int i = 0; i < ids.length; i++) {
+            roster.mark(ids[i], statuses[i]);
+        }
+        long markNanos = System.nanoTime() - start;
+
+        AttendanceStatus[] values = AttendanceStatus.values();
+        long sink = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < COUNT_READS; i++) {
+            sink += roster.count(values[i % values.length]);
+        }
+        long countNanos = System.nanoTime() - start;
+        assertEquals(COUNT_READS / values.length * (long) roster.rows.size(), sink);
+        return new long[]{markNanos, countNanos};
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Model trước đây: một object trạng thái mỗi dòng, tra theo id qua HashMap, đếm bằng cách duyệt
+     */
+    private static final class NaiveRoster {
+        final List<Row> rows;
+        final Map<String, Row> byId;
+
+        NaiveRoster(List<String> ids) {
+            rows = new ArrayList<>(ids.size());
+            byId = new HashMap<>(ids.size() * 2); // Đủ lớn để không resize (bảng cũ sẽ bị tính vào footprint)
+            for (String id : ids) {
+                Row row = new Row(id);
+                rows.add(row);
+                byId.put(id, row);
+            }
+        }
+
+        void mark(String studentId, AttendanceStatus status) {
+            Row row = byId.get(studentId);
+            if (row != null) {
+                row.status = status;
+            }
+        }
+
+        int count(AttendanceStatus status) {
+            int count = 0;
+            for (Row row : rows) {
+                if (row.status == status) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    private static final class Row {
+        final String studentId;
+        AttendanceStatus status = AttendanceStatus.ABSENT;
+
+        Row(String studentId) {
+            this.studentId = studentId;
+        }
+    }
+
+    private static List<String> ids(int size) {
+        List<String> ids = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ids.add("SE" + (100_000 + i));
+        }
+        return ids;
+    }
+}
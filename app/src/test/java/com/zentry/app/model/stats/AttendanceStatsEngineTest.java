@@ -0,0 +1,266 @@
+package com.zentry.app.model.stats;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import com.zentry.app.model.entity.AttendanceStatus;
+import com.zentry.app.model.response.AttendanceRecordModel;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.concurrent.ForkJoinPool;
+
+public class AttendanceStatsEngineTest {
+
+    @Test
+    public void incrementalApply_matchesParallelRebuild() {
+        // 20 lớp × 50 sinh viên × 100 buổi = 100k record, sync về theo thứ tự ngẫu nhiên
+        List<AttendanceRecordModel> records = semester(20, 50, 100, new Random(7));
+        List<AttendanceRecordModel> shuffled = new ArrayList<>(records);
+        Collections.shuffle(shuffled, new Random(11));
+
+        AttendanceStatsEngine incremental = new AttendanceStatsEngine();
+        for (int from = 0; from < shuffled.size(); from += 500) {
+            incremental.applyAll(shuffled.subList(from, Math.min(shuffled.size(), from + 500)));
+        }
+        AttendanceStatsEngine rebuilt = AttendanceStatsEngine.rebuild(records, new ForkJoinPool(4));
+
+        assertEquals(records.size(), incremental.getRecordCount());
+        assertEquals(records.size(), rebuilt.getRecordCount());
+        assertSameSummary(rebuilt.getOverallSummary(), incremental.getOverallSummary());
+        for (int course = 0; course < 20; course++) {
+            String courseCode = courseCode(course);
+            assertSameSummary(rebuilt.getCourseSummary(courseCode), incremental.getCourseSummary(courseCode));
+            assertEquals(rebuilt.getCourseWeeklySummaries(courseCode).size(),
+                    incremental.getCourseWeeklySummaries(courseCode).size());
+            for (int student = 0; student < 50; student += 7) {
+                String studentId = studentId(course, student);
+                assertSameSummary(rebuilt.getStudentSummary(studentId), incremental.getStudentSummary(studentId));
+                AttendanceSummary expected = rebuilt.getStudentCourseSummary(studentId, courseCode);
+                AttendanceSummary actual = incremental.getStudentCourseSummary(studentId, courseCode);
+                assertSameSummary(expected, actual);
+                assertEquals(expected.getCurrentStreak(), actual.getCurrentStreak());
+                assertEquals(expected.getLongestStreak(), actual.getLongestStreak());
+            }
+        }
+    }
+
+    @Test
+    public void snapshot_restoresSummariesStreaksAndRecordIndex() throws Exception {
+        AttendanceStatsEngine engine = new AttendanceStatsEngine();
+        engine.applyAll(semester(4, 10, 30, new Random(3)));
+
+        AttendanceStatsEngine restored = roundTrip(engine);
+
+        assertEquals(engine.getRecordCount(), restored.getRecordCount());
+        assertSameSummary(engine.getOverallSummary(), restored.getOverallSummary());
+        for (int course = 0; course < 4; course++) {
+            String courseCode = courseCode(course);
+            assertSameSummary(engine.getCourseSummary(courseCode), restored.getCourseSummary(courseCode));
+            assertEquals(engine.getCourseWeeklySummaries(courseCode).size(),
+                    restored.getCourseWeeklySummaries(courseCode).size());
+            for (int student = 0; student < 10; student++) {
+                String studentId = studentId(course, student);
+                assertSameSummary(engine.getStudentSummary(studentId), restored.getStudentSummary(studentId));
+                AttendanceSummary expected = engine.getStudentCourseSummary(studentId, courseCode);
+                AttendanceSummary actual = restored.getStudentCourseSummary(studentId, courseCode);
+                assertSameSummary(expected, actual);
+                assertEquals(expected.getCurrentStreak(), actual.getCurrentStreak());
+                assertEquals(expected.getLongestStreak(), actual.getLongestStreak());
+            }
+        }
+
+        // Record đã lưu bị sửa sau khi mở lại: trạng thái cũ phải được trừ đúng
+        AttendanceRecordModel corrected = new AttendanceRecordModel("0-0-0", "0-0", courseCode(0),
+                studentId(0, 0), null, "2025-01-01", AttendanceStatus.ABSENT);
+        engine.apply(corrected);
+        restored.apply(corrected);
+        assertSameSummary(engine.getStudentCourseSummary(studentId(0, 0), courseCode(0)),
+                restored.getStudentCourseSummary(studentId(0, 0), courseCode(0)));
+        assertSameSummary(engine.getOverallSummary(), restored.getOverallSummary());
+    }
+
+    @Test(expected = IOException.class)
+    public void snapshot_rejectsUnknownVersion() throws Exception {
+        byte[] bytes = {0, 0, 0, 99};
+        AttendanceStatsEngine.readFrom(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    /**
+     * Đo ở 100k và 1M record: sync lần đầu (apply từng trang 500), ghi/đọc snapshot và
+     * một lần sync tăng dần (một trang 500 record thay đổi) sau khi mở lại từ snapshot.
+     * Record sinh theo từng trang, không dựng list toàn bộ.
+     */
+    @Test
+    public void timing_100kTo1M_reopenFromSnapshotAndApplyChanges() throws Exception {
+        for (int courses : new int[]{20, 200}) {
+            int students = 50;
+            int sessions = 100;
+            int total = courses * students * sessions;
+            Random random = new Random(courses);
+
+            long start = System.nanoTime();
+            AttendanceStatsEngine engine = new AttendanceStatsEngine();
+            for (int course = 0; course < courses; course++) {
+                for (int session = 0; session < sessions; session += 10) {
+                    engine.applyAll(sessions(course, session, 10, students, random));
+                }
+            }
+            long initialSyncNanos = System.nanoTime() - start;
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            start = System.nanoTime();
+            engine.writeTo(new DataOutputStream(bytes));
+            long writeNanos = System.nanoTime() - start;
+            AttendanceSummary expected = engine.getOverallSummary();
+            engine = null; // chỉ giữ một engine cỡ 1M trong heap của test
+
+            start = System.nanoTime();
+            AttendanceStatsEngine reopened = AttendanceStatsEngine.readFrom(
+                    new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+            long readNanos = System.nanoTime() - start;
+
+            // 500 record thay đổi sau watermark: sửa điểm danh 10 buổi của một lớp
+            List<AttendanceRecordModel> changes = sessions(courses / 2, 40, 10, students, new Random(1));
+            start = System.nanoTime();
+            reopened.applyAll(changes);
+            long changesNanos = System.nanoTime() - start;
+
+            System.out.printf(Locale.ROOT,
+                    "%,d records: initial sync %d ms, snapshot %,d KB write %d ms read %d ms, %d changes %.2f ms%n",
+                    total, initialSyncNanos / 1_000_000, bytes.size() / 1024, writeNanos / 1_000_000,
+                    readNanos / 1_000_000, changes.size(), changesNanos / 1e6);
+
+            assertEquals(total, reopened.getRecordCount());
+            assertEquals(expected.getTotal(), reopened.getOverallSummary().getTotal());
+            // Mở lại + sync phần thay đổi phải rẻ hơn hẳn tính lại từ đầu
+            assertTrue(changesNanos * 10 < initialSyncNanos);
+            assertTrue(readNanos < initialSyncNanos);
+        }
+    }
+
+    @Test
+    public void streaks_handleLateArrivalsAndCorrections() {
+        AttendanceStatsEngine engine = new AttendanceStatsEngine();
+        engine.apply(record("1", "2025-09-01", AttendanceStatus.PRESENT));
+        engine.apply(record("2", "2025-09-03", AttendanceStatus.ABSENT));
+        engine.apply(record("4", "2025-09-08", AttendanceStatus.LATE));
+        engine.apply(record("5", "2025-09-10", AttendanceStatus.PRESENT));
+
+        AttendanceSummary summary = engine.getStudentCourseSummary("SE1", "PRN211");
+        assertEquals(2, summary.getCurrentStreak());
+        assertEquals(2, summary.getLongestStreak());
+
+        // Buổi 05/09 sync về sau cùng
+        engine.apply(record("3", "2025-09-05", AttendanceStatus.PRESENT));
+        summary = engine.getStudentCourseSummary("SE1", "PRN211");
+        assertEquals(3, summary.getCurrentStreak());
+
+        // Sửa điểm danh: vắng 03/09 -> đi muộn
+        assertTrue(engine.apply(record("2", "2025-09-03", AttendanceStatus.LATE)));
+        assertFalse(engine.apply(record("2", "2025-09-03", AttendanceStatus.LATE)));
+        summary = engine.getStudentCourseSummary("SE1", "PRN211");
+        assertEquals(5, summary.getCurrentStreak());
+        assertEquals(0, summary.getAbsent());
+        assertEquals(2, summary.getLate());
+        assertEquals(1.0, engine.getCourseSummary("PRN211").getAttendanceRate(), 1e-9);
+    }
+
+    @Test
+    public void weeklyBuckets_startOnMonday() {
+        AttendanceStatsEngine engine = new AttendanceStatsEngine();
+        engine.apply(record("1", "2025-09-01", AttendanceStatus.PRESENT)); // thứ Hai
+        engine.apply(record("2", "2025-09-07", AttendanceStatus.ABSENT)); // Chủ nhật cùng tuần
+        engine.apply(record("3", "2025-09-08", AttendanceStatus.PRESENT)); // tuần sau
+
+        SortedMap<Integer, AttendanceSummary> weeks = engine.getCourseWeeklySummaries("PRN211");
+        assertEquals(2, weeks.size());
+        Map.Entry<Integer, AttendanceSummary> first = weeks.entrySet().iterator().next();
+        assertEquals(AttendanceStatsEngine.epochDay("2025-09-01"), (int) first.getKey());
+        assertEquals(0.5, first.getValue().getAttendanceRate(), 1e-9);
+    }
+
+    @Test
+    public void invalidRecords_areIgnored() {
+        AttendanceStatsEngine engine = new AttendanceStatsEngine();
+        assertFalse(engine.apply(new AttendanceRecordModel("1", "s", "PRN211", "SE1", null,
+                "01/09/2025", AttendanceStatus.PRESENT)));
+        assertFalse(engine.apply(new AttendanceRecordModel("2", "s", null, "SE1", null,
+                "2025-09-01", AttendanceStatus.PRESENT)));
+        assertEquals(0, engine.getRecordCount());
+        assertEquals(0, AttendanceStatsEngine.epochDay("1970-01-01"));
+        assertEquals(20_332, AttendanceStatsEngine.epochDay("2025-09-01"));
+    }
+
+    private static AttendanceRecordModel record(String id, String date, AttendanceStatus status) {
+        return new AttendanceRecordModel(id, "session-" + id, "PRN211", "SE1", null, date, status);
+    }
+
+    private static List<AttendanceRecordModel> semester(int courses, int students, int sessions, Random random) {
+        AttendanceStatus[] statuses = AttendanceStatus.values();
+        List<AttendanceRecordModel> records = new ArrayList<>(courses * students * sessions);
+        for (int course = 0; course < courses; course++) {
+            for (int session = 0; session < sessions; session++) {
+                String date = String.format("2025-%02d-%02d", 1 + session / 28, 1 + session % 28);
+                for (int student = 0; student < students; student++) {
+                    records.add(new AttendanceRecordModel(course + "-" + session + "-" + student,
+                            course + "-" + session, courseCode(course), studentId(course, student), null, date,
+                            statuses[random.nextInt(statuses.length)]));
+                }
+            }
+        }
+        return records;
+    }
+
+    private static List<AttendanceRecordModel> sessions(int course, int fromSession, int count, int students,
+                                                        Random random) {
+        AttendanceStatus[] statuses = AttendanceStatus.values();
+        List<AttendanceRecordModel> records = new ArrayList<>(count * students);
+        for (int session = fromSession; session < fromSession + count; session++) {
+            String date = String.format("2025-%02d-%02d", 1 + session / 28, 1 + session % 28);
+            for (int student = 0; student < students; student++) {
+                records.add(new AttendanceRecordModel(course + "-" + session + "-" + student,
+                        course + "-" + session, courseCode(course), studentId(course, student), null, date,
+                        statuses[random.nextInt(statuses.length)]));
+            }
+        }
+        return records;
+    }
+
+    private static AttendanceStatsEngine roundTrip(AttendanceStatsEngine engine) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        engine.writeTo(new DataOutputStream(bytes));
+        return AttendanceStatsEngine.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    private static String courseCode(int course) {
+        return "C" + course;
+    }
+
+    private static String studentId(int course, int student) {
+        // Mỗi sinh viên học 2 lớp để summary theo sinh viên phải gộp qua nhiều môn
+        return "SE" + ((course / 2) * 1000 + student);
+    }
+
+    private static void assertSameSummary(AttendanceSummary expected, AttendanceSummary actual) {
+        assertNotNull(expected);
+        assertNotNull(actual);
+        assertEquals(expected.getPresent(), actual.getPresent());
+        assertEquals(expected.getLate(), actual.getLate());
+        assertEquals(expected.getAbsent(), actual.getAbsent());
+    }
+}
@@ -0,0 +1,135 @@
+package com.zentry.app.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Call;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+
+public class AdaptiveTimeoutTest {
+    interface ScheduleApi {
+        @Hedge
+        @GET("api/schedules")
+        Call<ResponseBody> getSchedules();
+    }
+
+    private MockWebServer server;
+    private RouteLatencyTracker tracker;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        tracker = new RouteLatencyTracker(128, 20);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void stalledRequest_timesOutFromRecentLatency() throws Exception {
+        String route = "GET /api/check-ins";
+        recordSamples(route, 100);
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(new AdaptiveTimeoutInterceptor(tracker, 200, 30_000, 3))
+                .build();
+        server.enqueue(new MockResponse().setHeadersDelay(5, TimeUnit.SECONDS));
+
+        long startNs = System.nanoTime();
+        try {
+            client.newCall(new Request.Builder().url(server.url("/api/check-ins")).build()).execute();
+            fail("Expected timeout");
+        } catch (InterruptedIOException expected) {
+            // p99 100ms × 3 = 300ms thay vì 30s mặc định
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs) < 2_000);
+        assertEquals(300, tracker.getPercentile(route, 100));
+    }
+
+    @Test
+    public void unknownRoute_usesCeiling() {
+        AdaptiveTimeoutInterceptor interceptor = new AdaptiveTimeoutInterceptor(tracker, 200, 30_000, 3);
+        assertEquals(30_000, interceptor.timeoutFor("GET /api/unknown"));
+    }
+
+    @Test
+    public void hedge_takesWhicheverResponseArrivesFirst() throws Exception {
+        recordSamples("ScheduleApi.getSchedules", 100);
+        HedgingCallAdapterFactory factory = new HedgingCallAdapterFactory(tracker, new RetryBudget(0.1, 10));
+        ScheduleApi api = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(new OkHttpClient())
+                .addCallAdapterFactory(factory)
+                .build()
+                .create(ScheduleApi.class);
+        server.enqueue(new MockResponse().setHeadersDelay(3, TimeUnit.SECONDS).setBody("slow"));
+        server.enqueue(new MockResponse().setBody("fast"));
+
+        long startNs = System.nanoTime();
+        assertEquals("fast", api.getSchedules().execute().body().string());
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs) < 2_000);
+        assertEquals(2, server.getRequestCount());
+        assertEquals(1, factory.getHedgeCount());
+        assertEquals(1, factory.getHedgeWinCount());
+    }
+
+    @Test
+    public void hedge_inAppAdapterChain_sendsSecondRequest() throws Exception {
+        recordSamples("ScheduleApi.getSchedules", 100);
+        HedgingCallAdapterFactory hedging = new HedgingCallAdapterFactory(tracker, new RetryBudget(0.1, 10));
+        CoalescingCallAdapterFactory coalescing = new CoalescingCallAdapterFactory(() -> "user-1", 0);
+        RequestScheduler scheduler = new RequestScheduler(new FakeConnectivitySource(true), 60_000);
+        ScheduleApi api = RetrofitClient.buildRetrofit(server.url("/").toString(), new OkHttpClient(),
+                scheduler, hedging, coalescing).create(ScheduleApi.class);
+        server.enqueue(new MockResponse().setHeadersDelay(3, TimeUnit.SECONDS).setBody("slow"));
+        server.enqueue(new MockResponse().setBody("fast"));
+
+        try {
+            // Hedge không bị gộp vào chính request đang chậm
+            assertEquals("fast", api.getSchedules().execute().body().string());
+            assertEquals(2, server.getRequestCount());
+            assertEquals(1, hedging.getHedgeWinCount());
+            assertEquals(1, coalescing.getNetworkCallCount());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void retryBudget_capsExtraRequests() {
+        RetryBudget budget = new RetryBudget(0.1, 2);
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+
+        for (int i = 0; i < 10; i++) {
+            budget.deposit();
+        }
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+    }
+
+    private void recordSamples(String route, long millis) {
+        for (int i = 0; i < 20; i++) {
+            tracker.record(route, millis);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.zentry.app.network;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.net.NetworkCapabilities;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class AndroidConnectivitySourceTest {
+
+    @Test
+    public void unvalidatedInternet_isTried() {
+        assertTrue(AndroidConnectivitySource.isUsable(capabilities(NetworkCapabilities.NET_CAPABILITY_INTERNET)));
+        assertTrue(AndroidConnectivitySource.isUsable(capabilities(NetworkCapabilities.NET_CAPABILITY_INTERNET,
+                NetworkCapabilities.NET_CAPABILITY_VALIDATED)));
+    }
+
+    @Test
+    public void noNetworkOrCaptivePortal_isOffline() {
+        assertFalse(AndroidConnectivitySource.isUsable(null));
+        assertFalse(AndroidConnectivitySource.isUsable(capabilities()));
+        assertFalse(AndroidConnectivitySource.isUsable(capabilities(NetworkCapabilities.NET_CAPABILITY_INTERNET,
+                NetworkCapabilities.NET_CAPABILITY_CAPTIVE_PORTAL)));
+    }
+
+    private static NetworkCapabilities capabilities(int... capabilities) {
+        NetworkCapabilities.Builder builder = NetworkCapabilities.Builder.withoutDefaultCapabilities();
+        for (int capability : capabilities) {
+            builder.addCapability(capability);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.zentry.app.network;
+
+import static org.junit.Assert.assertEquals;
+
+import androidx.annotation.NonNull;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+@RunWith(RobolectricTestRunner.class)
+public class AuthInterceptorTest {
+    private static final int PARALLEL_CALLS = 200;
+
+    private final AtomicInteger refreshCalls = new AtomicInteger();
+    private MockWebServer server;
+    private OkHttpClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @NonNull
+            @Override
+            public MockResponse dispatch(@NonNull RecordedRequest request) throws InterruptedException {
+                if (("/" + NetworkConfig.AUTH_REFRESH_ENDPOINT).equals(request.getPath())) {
+                    refreshCalls.incrementAndGet();
+                    Thread.sleep(200); // Giữ refresh đủ lâu để các request khác cùng nhận 401
+                    return new MockResponse().setBody("{\"accessToken\":\"fresh\",\"refreshToken\":\"refresh-2\"}");
+                }
+                if ((NetworkConfig.BEARER_PREFIX + "fresh").equals(request.getHeader(NetworkConfig.HEADER_AUTHORIZATION))) {
+                    return new MockResponse().setBody("ok");
+                }
+                return new MockResponse().setResponseCode(NetworkConfig.HTTP_UNAUTHORIZED);
+            }
+        });
+        server.start();
+
+        AuthManager authManager = new AuthManager(ApplicationProvider.getApplicationContext());
+        authManager.saveTokens("stale", "refresh-1");
+
+        TokenRefreshCoordinator coordinator = new TokenRefreshCoordinator(
+                authManager, server.url(NetworkConfig.AUTH_REFRESH_ENDPOINT));
+        client = HttpClientFactory.newBuilder()
+                .addInterceptor(new AuthInterceptor(authManager, coordinator))
+                .build();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void parallelUnauthorizedCalls_refreshExactlyOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        for (int i = 0; i < PARALLEL_CALLS; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                Request request = new Request.Builder().url(server.url("api/data")).build();
+                try (Response response = client.newCall(request).execute()) {
+                    return response.code();
+                }
+            }));
+        }
+        start.countDown();
+
+        for (Future<Integer> result : results) {
+            assertEquals(200, (int) result.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(1, refreshCalls.get());
+    }
+
+    @Test
+    public void refreshReusesPooledConnection() throws Exception {
+        Request request = new Request.Builder().url(server.url("api/data")).build();
+        try (Response response = client.newCall(request).execute()) {
+            assertEquals(200, response.code());
+        }
+
+        // 401 -> refresh -> retry đều chạy trên cùng một connection
+        assertEquals(3, server.getRequestCount());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i, server.takeRequest().getSequenceNumber());
+        }
+    }
+}
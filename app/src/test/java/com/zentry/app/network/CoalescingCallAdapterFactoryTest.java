@@ -0,0 +1,190 @@
+package com.zentry.app.network;
+
+import static org.junit.Assert.assertEquals;
+
+import androidx.annotation.NonNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Call;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+import retrofit2.http.GET;
+import retrofit2.http.Header;
+import retrofit2.http.POST;
+
+public class CoalescingCallAdapterFactoryTest {
+    private static final int PARALLEL_CALLS = 100;
+
+    interface ScheduleApi {
+        @GET("api/schedules")
+        Call<ResponseBody> getSchedules();
+
+        @GET("api/broken")
+        Call<ResponseBody> getBroken();
+
+        @GET("api/schedules")
+        Call<ResponseBody> getSchedules(@Header("Accept-Language") String language);
+
+        @GET("api/schedules/ids")
+        Call<List<String>> getScheduleIds();
+
+        @POST("api/check-ins")
+        Call<ResponseBody> checkIn();
+    }
+
+    private MockWebServer server;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @NonNull
+            @Override
+            public MockResponse dispatch(@NonNull RecordedRequest request) throws InterruptedException {
+                Thread.sleep(300); // Giữ request đủ lâu để các call khác cùng đến khi đang chạy
+                if ("/api/broken".equals(request.getPath())) {
+                    return new MockResponse().setResponseCode(500).setBody("{\"message\":\"boom\"}");
+                }
+                if ("/api/schedules/ids".equals(request.getPath())) {
+                    return new MockResponse().setBody("[\"s1\",\"s2\"]");
+                }
+                return new MockResponse().setBody("schedules");
+            }
+        });
+        server.start();
+        executor = Executors.newFixedThreadPool(PARALLEL_CALLS);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+        server.shutdown();
+    }
+
+    @Test
+    public void concurrentIdenticalGets_shareOneNetworkCall() throws Exception {
+        CoalescingCallAdapterFactory factory = new CoalescingCallAdapterFactory(() -> "user-1", 0);
+        ScheduleApi api = createApi(factory);
+
+        List<String> bodies = runConcurrently(() -> api.getSchedules().execute().body().string());
+
+        for (String body : bodies) {
+            assertEquals("schedules", body);
+        }
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, factory.getNetworkCallCount());
+        assertEquals(PARALLEL_CALLS - 1, factory.getSavedCallCount());
+    }
+
+    @Test
+    public void errorBody_isReadableByEverySubscriber() throws Exception {
+        CoalescingCallAdapterFactory factory = new CoalescingCallAdapterFactory(() -> "user-1", 0);
+        ScheduleApi api = createApi(factory);
+
+        List<String> errors = runConcurrently(() -> {
+            Response<ResponseBody> response = api.getBroken().execute();
+            return response.code() + " " + response.errorBody().string();
+        });
+
+        for (String error : errors) {
+            assertEquals("500 {\"message\":\"boom\"}", error);
+        }
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void nonIdempotentRequests_areNotCoalesced() throws Exception {
+        CoalescingCallAdapterFactory factory = new CoalescingCallAdapterFactory(() -> "user-1", 0);
+        ScheduleApi api = createApi(factory);
+
+        runConcurrently(() -> api.checkIn().execute().body().string());
+
+        assertEquals(PARALLEL_CALLS, server.getRequestCount());
+        assertEquals(0, factory.getSavedCallCount());
+    }
+
+    @Test
+    public void requestsWithHeaderParameters_areNotCoalesced() throws Exception {
+        CoalescingCallAdapterFactory factory = new CoalescingCallAdapterFactory(() -> "user-1", 60_000);
+        ScheduleApi api = createApi(factory);
+
+        runConcurrently(() -> api.getSchedules("vi").execute().body().string());
+
+        assertEquals(PARALLEL_CALLS, server.getRequestCount());
+        assertEquals(0, factory.getSavedCallCount());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void convertedCollectionBody_isReadOnly() throws Exception {
+        CoalescingCallAdapterFactory factory = new CoalescingCallAdapterFactory(() -> "user-1", 60_000);
+        ScheduleApi api = createApi(factory);
+
+        List<String> first = api.getScheduleIds().execute().body();
+        List<String> memoized = api.getScheduleIds().execute().body();
+        assertEquals(Arrays.asList("s1", "s2"), first);
+        assertEquals(1, factory.getMemoHitCount());
+
+        // Body từ memo dùng chung với subscriber trước, không ai được sửa
+        memoized.add("s3");
+    }
+
+    @Test
+    public void memo_servesFollowUpCallWithinTtl() throws Exception {
+        CoalescingCallAdapterFactory factory = new CoalescingCallAdapterFactory(() -> "user-1", 60_000);
+        ScheduleApi api = createApi(factory);
+
+        assertEquals("schedules", api.getSchedules().execute().body().string());
+        assertEquals("schedules", api.getSchedules().execute().body().string());
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, factory.getMemoHitCount());
+    }
+
+    private ScheduleApi createApi(CoalescingCallAdapterFactory factory) {
+        return new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(HttpClientFactory.newBuilder().build())
+                .addConverterFactory(GsonConverterFactory.create())
+                .addCallAdapterFactory(factory)
+                .build()
+                .create(ScheduleApi.class);
+    }
+
+    private List<String> runConcurrently(Callable<String> task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < PARALLEL_CALLS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+
+        List<String> results = new ArrayList<>();
+        for (Future<String> future : futures) {
+            results.add(future.get(10, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,99 @@
+package com.zentry.app.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.app.Application;
+
+import com.zentry.app.api.IAuthenticationAPI;
+import com.zentry.app.model.request.LoginRequest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)
+public class ConnectionPrewarmerTest {
+    private MockWebServer server;
+    private OkHttpClient baseClient;
+    private ConnectionPrewarmer prewarmer;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        baseClient = new OkHttpClient();
+        prewarmer = new ConnectionPrewarmer(baseClient.newBuilder(), server.url("/").toString());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void login_reusesPrewarmedConnection() throws Exception {
+        server.enqueue(new MockResponse());
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        assertTrue(prewarmer.prewarm());
+        assertFalse(prewarmer.prewarm()); // đang chạy / vừa prewarm
+        awaitIdleConnection();
+
+        assertEquals(200, authApi().login(new LoginRequest("user@fpt.edu.vn", "secret")).execute().code());
+
+        RecordedRequest prewarmRequest = server.takeRequest();
+        RecordedRequest loginRequest = server.takeRequest();
+        assertEquals("HEAD", prewarmRequest.getMethod());
+        assertEquals(1, loginRequest.getSequenceNumber()); // cùng connection với HEAD
+
+        assertEquals(1, prewarmer.getPrewarmCount());
+        assertEquals(1, prewarmer.getWarmLoginCount());
+        assertEquals(0, prewarmer.getColdLoginCount());
+        assertTrue(prewarmer.getSavedHandshakeMillis() >= 0);
+    }
+
+    @Test
+    public void loginWithoutPrewarm_isCountedCold() throws Exception {
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        authApi().login(new LoginRequest("user@fpt.edu.vn", "secret")).execute();
+
+        assertEquals("/" + NetworkConfig.AUTH_LOGIN_ENDPOINT, server.takeRequest().getPath());
+        assertEquals(0, prewarmer.getWarmLoginCount());
+        assertEquals(1, prewarmer.getColdLoginCount());
+    }
+
+    // Login đi qua đúng Retrofit interface của app để path khớp với endpoint thật
+    private IAuthenticationAPI authApi() {
+        OkHttpClient loginClient = baseClient.newBuilder()
+                .addNetworkInterceptor(prewarmer.loginConnectionTracker())
+                .build();
+        return new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(loginClient)
+                .addConverterFactory(GsonConverterFactory.create(GsonProvider.getGson()))
+                .build()
+                .create(IAuthenticationAPI.class);
+    }
+
+    private void awaitIdleConnection() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (baseClient.connectionPool().idleConnectionCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, baseClient.connectionPool().idleConnectionCount());
+    }
+}
@@ -0,0 +1,129 @@
+package com.zentry.app.network;
+
+import android.app.Application;
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.annotation.Nullable;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Application bọc context của Robolectric, đếm số lần mở và đọc từng file SharedPreferences
+ * để test kiểm tra được số lần object graph chạm tới disk
+ */
+public class CountingApplication extends Application {
+    private final Map<String, AtomicInteger> opens = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> reads = new ConcurrentHashMap<>();
+
+    public CountingApplication(Context base) {
+        attachBaseContext(base);
+    }
+
+    @Override
+    public Context getApplicationContext() {
+        return this;
+    }
+
+    @Override
+    public SharedPreferences getSharedPreferences(String name, int mode) {
+        counter(opens, name).incrementAndGet();
+        return new CountingPreferences(super.getSharedPreferences(name, mode), counter(reads, name));
+    }
+
+    /**
+     * Số lần file prefs được mở (mỗi lần tương ứng một object đọc session từ disk)
+     */
+    public int getOpenCount(String name) {
+        return counter(opens, name).get();
+    }
+
+    /**
+     * Số lần đọc giá trị từ file prefs
+     */
+    public int getReadCount(String name) {
+        return counter(reads, name).get();
+    }
+
+    private static AtomicInteger counter(Map<String, AtomicInteger> counters, String name) {
+        return counters.computeIfAbsent(name, key -> new AtomicInteger());
+    }
+
+    private static final class CountingPreferences implements SharedPreferences {
+        private final SharedPreferences delegate;
+        private final AtomicInteger reads;
+
+        CountingPreferences(SharedPreferences delegate, AtomicInteger reads) {
+            this.delegate = delegate;
+            this.reads = reads;
+        }
+
+        @Override
+        public Map<String, ?> getAll() {
+            reads.incrementAndGet();
+            return delegate.getAll();
+        }
+
+        @Nullable
+        @Override
+        public String getString(String key, @Nullable String defValue) {
+            reads.incrementAndGet();
+            return delegate.getString(key, defValue);
+        }
+
+        @Nullable
+        @Override
+        public Set<String> getStringSet(String key, @Nullable Set<String> defValues) {
+            reads.incrementAndGet();
+            return delegate.getStringSet(key, defValues);
+        }
+
+        @Override
+        public int getInt(String key, int defValue) {
+            reads.incrementAndGet();
+            return delegate.getInt(key, defValue);
+        }
+
+        @Override
+        public long getLong(String key, long defValue) {
+            reads.incrementAndGet();
+            return delegate.getLong(key, defValue);
+        }
+
+        @Override
+        public float getFloat(String key, float defValue) {
+            reads.incrementAndGet();
+            return delegate.getFloat(key, defValue);
+        }
+
+        @Override
+        public boolean getBoolean(String key, boolean defValue) {
+            reads.incrementAndGet();
+            return delegate.getBoolean(key, defValue);
+        }
+
+        @Override
+        public boolean contains(String key) {
+            reads.incrementAndGet();
+            return delegate.contains(key);
+        }
+
+        @Override
+        public Editor edit() {
+            return delegate.edit();
+        }
+
+        @Override
+        public void registerOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {
+            delegate.registerOnSharedPreferenceChangeListener(listener);
+        }
+
+        @Override
+        public void unregisterOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {
+            delegate.unregisterOnSharedPreferenceChangeListener(listener);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.zentry.app.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.zentry.app.api.IAttendanceAPI;
+import com.zentry.app.model.request.CheckInRequest;
+import com.zentry.app.repository.CheckInJournal;
+import com.zentry.app.repository.CheckInUploader;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+@RunWith(RobolectricTestRunner.class)
+public class DeviceFingerprintInterceptorTest {
+    private static final int CHECK_INS = 20;
+    private static final int BATCH_SIZE = 5;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final CountingApplication context = new CountingApplication(ApplicationProvider.getApplicationContext());
+    private MockWebServer server;
+    private AuthManager authManager;
+    private IAttendanceAPI api;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+
+        authManager = new AuthManager(context);
+        authManager.edit()
+                .putTokens("access", "refresh", 3600)
+                .putUserInfo("user-1", "student")
+                .putDeviceFingerprint("fp-1")
+                .putDeviceRegistration("device-9", "user-1")
+                .commit();
+
+        OkHttpClient client = HttpClientFactory.newBuilder()
+                .addInterceptor(new DeviceFingerprintInterceptor(authManager))
+                .build();
+        api = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .addConverterFactory(GsonConverterFactory.create(GsonProvider.getGson()))
+                .build()
+                .create(IAttendanceAPI.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void checkInUploads_carryCachedFingerprintWithoutDiskReads() throws Exception {
+        int readsBefore = context.getReadCount(AuthManager.PREF_NAME);
+        CheckInJournal journal = journalWith(CHECK_INS);
+        for (int i = 0; i < CHECK_INS / BATCH_SIZE; i++) {
+            server.enqueue(new MockResponse());
+        }
+
+        uploader(journal, "user-1").requestUpload();
+        awaitEmpty(journal);
+
+        for (int i = 0; i < CHECK_INS / BATCH_SIZE; i++) {
+            RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+            assertEquals("fp-1", request.getHeader(NetworkConfig.HEADER_DEVICE_FINGERPRINT));
+            assertEquals("device-9", request.getHeader(NetworkConfig.HEADER_DEVICE_ID));
+        }
+        // Header lấy từ Session trong bộ nhớ, không đọc lại prefs
+        assertEquals(readsBefore, context.getReadCount(AuthManager.PREF_NAME));
+    }
+
+    @Test
+    public void registrationOfAnotherUser_isNotSent() throws Exception {
+        // user-2 đăng nhập trên máy đã đăng ký cho user-1
+        authManager.edit().putUserInfo("user-2", "student").commit();
+        CheckInJournal journal = journalWith(1);
+        server.enqueue(new MockResponse());
+
+        uploader(journal, "user-2").requestUpload();
+        awaitEmpty(journal);
+
+        RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+        assertNull(request.getHeader(NetworkConfig.HEADER_DEVICE_FINGERPRINT));
+        assertNull(request.getHeader(NetworkConfig.HEADER_DEVICE_ID));
+    }
+
+    @Test
+    public void otherCalls_doNotCarryDeviceHeaders() throws Exception {
+        server.enqueue(new MockResponse().setBody("[]"));
+
+        api.getHistory(0, 20).execute();
+
+        RecordedRequest request = server.takeRequest();
+        assertNull(request.getHeader(NetworkConfig.HEADER_DEVICE_FINGERPRINT));
+        assertNull(request.getHeader(NetworkConfig.HEADER_DEVICE_ID));
+    }
+
+    @Test
+    public void deviceRegistration_survivesLogoutAndRestart() {
+        authManager.logout();
+        authManager.flush();
+
+        AuthManager restarted = new AuthManager(context);
+        DeviceRegistration device = restarted.getDeviceRegistration();
+        assertEquals("fp-1", device.getFingerprint());
+        assertTrue(device.isRegisteredFor("user-1"));
+        assertNull(restarted.getUserId());
+    }
+
+    @Test
+    public void newFingerprint_dropsOldRegistration() {
+        authManager.edit().putDeviceFingerprint("fp-2").commit();
+
+        DeviceRegistration device = authManager.getDeviceRegistration();
+        assertEquals("fp-2", device.getFingerprint());
+        assertNull(device.getDeviceId());
+    }
+
+    private CheckInUploader uploader(CheckInJournal journal, String ownerId) {
+        return new CheckInUploader(journal, api, BATCH_SIZE, ownerId, authManager::getUserId);
+    }
+
+    private CheckInJournal journalWith(int count) throws Exception {
+        CheckInJournal journal = new CheckInJournal(folder.newFile());
+        for (int i = 0; i < count; i++) {
+            journal.append(new CheckInRequest("key-" + i, "session-1", 1, "123456", 1_700_000_000_000L));
+        }
+        return journal;
+    }
+
+    private static void awaitEmpty(CheckInJournal journal) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (journal.size() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, journal.size());
+    }
+}
@@ -0,0 +1,129 @@
+package com.zentry.app.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+
+import com.zentry.app.model.response.ErrorResponse;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+import retrofit2.Call;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+
+public class ErrorBodyLimitInterceptorTest {
+    private static final long MAX_BYTES = 1024;
+    private static final long PAGE_BYTES = 2 * 1024 * 1024;
+
+    interface Api {
+        @GET("api/home")
+        Call<ResponseBody> home();
+    }
+
+    private final AtomicLong bytesRead = new AtomicLong();
+    private MockWebServer server;
+    private Api api;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(new ErrorBodyLimitInterceptor(MAX_BYTES))
+                .addInterceptor(chain -> countBodyReads(chain.proceed(chain.request())))
+                .build();
+        api = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .build()
+                .create(Api.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void hugeErrorPage_isNotBufferedByRetrofit() throws Exception {
+        server.enqueue(new MockResponse()
+                .setResponseCode(502)
+                .setHeader("Content-Type", "text/html")
+                .setBody(page()));
+
+        retrofit2.Response<ResponseBody> response = api.home().execute();
+        ErrorResponse error = ErrorBodyParser.parse(response.code(), response.errorBody(), MAX_BYTES);
+
+        // Giới hạn cộng tối đa một segment đọc trước, không phải 2 MB
+        assertTrue(bytesRead.get() < MAX_BYTES + 8 * 1024);
+        assertTrue(error.isTruncated());
+        assertNull(error.getMessage());
+    }
+
+    @Test
+    public void smallJsonError_isParsedAsBefore() throws Exception {
+        server.enqueue(new MockResponse()
+                .setResponseCode(401)
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"title\":\"Unauthorized\",\"status\":401}"));
+
+        retrofit2.Response<ResponseBody> response = api.home().execute();
+        ErrorResponse error = ErrorBodyParser.parse(response.code(), response.errorBody(), MAX_BYTES);
+
+        assertEquals("Unauthorized", error.getMessage());
+        assertEquals(401, error.getStatus());
+    }
+
+    @Test
+    public void successBody_isNotLimited() throws Exception {
+        server.enqueue(new MockResponse().setBody(page()));
+
+        try (ResponseBody body = api.home().execute().body()) {
+            assertEquals(PAGE_BYTES, body.source().readByteString().size());
+        }
+    }
+
+    private static Buffer page() {
+        Buffer page = new Buffer();
+        while (page.size() < PAGE_BYTES) {
+            page.writeByte('x');
+        }
+        return page;
+    }
+
+    private Response countBodyReads(Response response) {
+        ResponseBody body = response.body();
+        if (body == null) {
+            return response;
+        }
+        ForwardingSource counting = new ForwardingSource(body.source()) {
+            @Override
+            public long read(@NonNull Buffer sink, long byteCount) throws IOException {
+                long read = super.read(sink, byteCount);
+                if (read > 0) {
+                    bytesRead.addAndGet(read);
+                }
+                return read;
+            }
+        };
+        return response.newBuilder()
+                .body(ResponseBody.create(Okio.buffer(counting), body.contentType(), body.contentLength()))
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.zentry.app.network;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * ConnectivitySource điều khiển bằng tay cho unit test
+ */
+public class FakeConnectivitySource implements ConnectivitySource {
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean online;
+
+    public FakeConnectivitySource(boolean online) {
+        this.online = online;
+    }
+
+    public void setOnline(boolean online) {
+        if (this.online == online) {
+            return;
+        }
+        this.online = online;
+        for (Listener listener : listeners) {
+            listener.onConnectivityChanged(online);
+        }
+    }
+
+    @Override
+    public boolean isOnline() {
+        return online;
+    }
+
+    @Override
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+}
@@ -0,0 +1,117 @@
+package com.zentry.app.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.Gson;
+import com.zentry.app.model.entity.AttendanceStatus;
+import com.zentry.app.model.request.LoginRequest;
+import com.zentry.app.model.request.LoginRequestTypeAdapter;
+import com.zentry.app.model.request.MarkAttendanceRequest;
+import com.zentry.app.model.request.RefreshTokenRequest;
+import com.zentry.app.model.request.RefreshTokenRequestTypeAdapter;
+import com.zentry.app.model.response.TokenModel;
+import com.zentry.app.model.response.TokenModelTypeAdapter;
+
+import org.junit.Test;
+
+/**
+ * Adapter streaming phải cho cùng JSON với Gson reflection (output cũ của app)
+ */
+public class GsonProviderTest {
+    private static final String UNKNOWN_FIELDS = "\"extra\":{\"nested\":[1,2,{\"x\":null}]},\"flag\":true,";
+
+    private final Gson reflective = new Gson();
+    private final Gson gson = GsonProvider.getGson();
+
+    @Test
+    public void getGson_isSharedAndUsesStreamingAdapters() {
+        assertSame(gson, GsonProvider.getGson());
+        assertTrue(gson.getAdapter(TokenModel.class) instanceof TokenModelTypeAdapter);
+        assertTrue(gson.getAdapter(LoginRequest.class) instanceof LoginRequestTypeAdapter);
+        assertTrue(gson.getAdapter(RefreshTokenRequest.class) instanceof RefreshTokenRequestTypeAdapter);
+    }
+
+    @Test
+    public void tokenModel_writesSameJsonAsReflection() {
+        TokenModel full = new TokenModel("access", "refresh", "user-1", "student", 3600);
+        TokenModel partial = new TokenModel("access", null, null, null, 0);
+
+        assertEquals(reflective.toJson(full), gson.toJson(full));
+        assertEquals(reflective.toJson(partial), gson.toJson(partial));
+    }
+
+    @Test
+    public void tokenModel_readsReflectiveOutputAndSkipsUnknownFields() {
+        TokenModel original = new TokenModel("access", "refresh", "user-1", "lecturer", 1800);
+        String json = reflective.toJson(original);
+        String withUnknown = "{" + UNKNOWN_FIELDS + json.substring(1);
+
+        assertTokenEquals(original, gson.fromJson(json, TokenModel.class));
+        assertTokenEquals(original, gson.fromJson(withUnknown, TokenModel.class));
+    }
+
+    @Test
+    public void tokenModel_readsNullsAndCamelCaseRefreshResponse() {
+        TokenModel nulls = gson.fromJson(
+                "{\"access_token\":\"a\",\"refresh_token\":null,\"user_id\":null,\"role\":null,\"expires_in\":null}",
+                TokenModel.class);
+        assertTokenEquals(reflective.fromJson(
+                "{\"access_token\":\"a\",\"refresh_token\":null,\"user_id\":null,\"role\":null,\"expires_in\":null}",
+                TokenModel.class), nulls);
+
+        // Endpoint refresh trả camelCase
+        TokenModel refreshed = gson.fromJson("{\"accessToken\":\"fresh\",\"refreshToken\":\"r2\",\"expiresIn\":60}",
+                TokenModel.class);
+        assertTokenEquals(new TokenModel("fresh", "r2", null, null, 60), refreshed);
+        assertNull(gson.fromJson("null", TokenModel.class));
+    }
+
+    @Test
+    public void loginRequest_roundTripsLikeReflection() {
+        LoginRequest full = new LoginRequest("user@fpt.edu.vn", "p@ss\"word");
+        LoginRequest noPassword = new LoginRequest("user@fpt.edu.vn", null);
+
+        assertEquals(reflective.toJson(full), gson.toJson(full));
+        assertEquals(reflective.toJson(noPassword), gson.toJson(noPassword));
+
+        LoginRequest read = gson.fromJson("{" + UNKNOWN_FIELDS + "\"userName\":\"u\",\"password\":null}",
+                LoginRequest.class);
+        assertEquals("u", read.getUserName());
+        assertNull(read.getPassword());
+    }
+
+    @Test
+    public void refreshTokenRequest_roundTripsLikeReflection() {
+        RefreshTokenRequest request = new RefreshTokenRequest("refresh-1");
+
+        assertEquals(reflective.toJson(request), gson.toJson(request));
+        assertEquals(reflective.toJson(new RefreshTokenRequest(null)), gson.toJson(new RefreshTokenRequest(null)));
+
+        assertEquals("refresh-1", gson.fromJson("{" + UNKNOWN_FIELDS + "\"refreshToken\":\"refresh-1\"}",
+                RefreshTokenRequest.class).getRefreshToken());
+        assertNull(gson.fromJson("{\"refreshToken\":null}", RefreshTokenRequest.class).getRefreshToken());
+    }
+
+    @Test
+    public void markAttendanceRequest_roundTripsLikeReflection() {
+        MarkAttendanceRequest request = new MarkAttendanceRequest(AttendanceStatus.LATE);
+
+        assertEquals(reflective.toJson(request), gson.toJson(request));
+        assertEquals(reflective.toJson(new MarkAttendanceRequest(null)), gson.toJson(new MarkAttendanceRequest(null)));
+
+        assertEquals(AttendanceStatus.PRESENT, gson.fromJson("{" + UNKNOWN_FIELDS + "\"status\":\"PRESENT\"}",
+                MarkAttendanceRequest.class).getStatus());
+        assertNull(gson.fromJson("{\"status\":\"UNKNOWN\"}", MarkAttendanceRequest.class).getStatus());
+    }
+
+    private static void assertTokenEquals(TokenModel expected, TokenModel actual) {
+        assertEquals(expected.getAccessToken(), actual.getAccessToken());
+        assertEquals(expected.getRefreshToken(), actual.getRefreshToken());
+        assertEquals(expected.getUserId(), actual.getUserId());
+        assertEquals(expected.getRole(), actual.getRole());
+        assertEquals(expected.getExpiresIn(), actual.getExpiresIn());
+    }
+}
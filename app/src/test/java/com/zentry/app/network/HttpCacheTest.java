@@ -0,0 +1,160 @@
+package com.zentry.app.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import androidx.annotation.NonNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Call;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+
+public class HttpCacheTest {
+    interface LectureApi {
+        @CachePolicy(maxAgeSeconds = 0)
+        @GET("api/lectures")
+        Call<ResponseBody> getLectures();
+
+        @CachePolicy(maxAgeSeconds = 0, staleWhileRevalidateSeconds = 600)
+        @GET("api/schedules")
+        Call<ResponseBody> getSchedules();
+    }
+
+    @Rule
+    public TemporaryFolder cacheDir = new TemporaryFolder();
+
+    private MockWebServer server;
+    private HttpCache httpCache;
+    private LectureApi api;
+    private OkHttpClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+
+        httpCache = new HttpCache(cacheDir.getRoot(), 1024 * 1024);
+        client = new OkHttpClient.Builder()
+                .cache(httpCache.getCache())
+                .addInterceptor(httpCache.applicationInterceptor())
+                .addNetworkInterceptor(httpCache.networkInterceptor())
+                .build();
+        httpCache.attach(client);
+
+        api = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .build()
+                .create(LectureApi.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+        httpCache.getCache().close();
+    }
+
+    @Test
+    public void notModified_servesCachedBodyWithoutRedownload() throws Exception {
+        server.enqueue(new MockResponse().setHeader("ETag", "\"v1\"").setBody("[\"lecture\"]"));
+        server.enqueue(new MockResponse().setResponseCode(NetworkConfig.HTTP_NOT_MODIFIED));
+
+        assertEquals("[\"lecture\"]", api.getLectures().execute().body().string());
+        assertEquals("[\"lecture\"]", api.getLectures().execute().body().string());
+
+        RecordedRequest first = server.takeRequest();
+        RecordedRequest second = server.takeRequest();
+        assertNull(first.getHeader("If-None-Match"));
+        assertEquals("\"v1\"", second.getHeader("If-None-Match"));
+
+        assertEquals(1, httpCache.getMissCount());
+        assertEquals(1, httpCache.getConditionalHitCount());
+        assertEquals(0, httpCache.getHitCount());
+    }
+
+    @Test
+    public void staleHit_servesCachedBodyAndRevalidatesInBackground() throws Exception {
+        server.enqueue(new MockResponse().setHeader("ETag", "\"v1\"").setBody("v1"));
+        server.enqueue(new MockResponse().setHeader("ETag", "\"v2\"").setBody("v2"));
+
+        assertEquals("v1", api.getSchedules().execute().body().string());
+        // Hết maxAge: bản cũ được trả ngay, không chờ network
+        assertEquals("v1", api.getSchedules().execute().body().string());
+
+        server.takeRequest();
+        RecordedRequest revalidation = server.takeRequest(5, TimeUnit.SECONDS);
+        assertEquals("\"v1\"", revalidation.getHeader("If-None-Match"));
+        awaitRevalidationsDone();
+
+        // Lần đọc sau thấy bản đã revalidate
+        server.enqueue(new MockResponse().setResponseCode(NetworkConfig.HTTP_NOT_MODIFIED));
+        assertEquals("v2", api.getSchedules().execute().body().string());
+        assertEquals(1, httpCache.getMissCount());
+        assertEquals(2, httpCache.getHitCount());
+    }
+
+    @Test
+    public void concurrentStaleHits_shareOneRevalidation() throws Exception {
+        CountDownLatch releaseRevalidation = new CountDownLatch(1);
+        server.setDispatcher(new Dispatcher() {
+            @NonNull
+            @Override
+            public MockResponse dispatch(@NonNull RecordedRequest request) throws InterruptedException {
+                if (request.getHeader("If-None-Match") != null) {
+                    releaseRevalidation.await(5, TimeUnit.SECONDS);
+                    return new MockResponse().setResponseCode(NetworkConfig.HTTP_NOT_MODIFIED);
+                }
+                return new MockResponse().setHeader("ETag", "\"v1\"").setBody("v1");
+            }
+        });
+        assertEquals("v1", api.getSchedules().execute().body().string());
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<String>> reads = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            reads.add(executor.submit(() -> api.getSchedules().execute().body().string()));
+        }
+        for (Future<String> read : reads) {
+            assertEquals("v1", read.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(1, httpCache.getRevalidationCount());
+        releaseRevalidation.countDown();
+        awaitRevalidationsDone();
+        assertEquals(2, server.getRequestCount());
+
+        // Lượt revalidate trước đã xong - lần stale tiếp theo được revalidate lại
+        assertEquals("v1", api.getSchedules().execute().body().string());
+        assertEquals(2, httpCache.getRevalidationCount());
+    }
+
+    private void awaitRevalidationsDone() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (client.dispatcher().runningCallsCount() + client.dispatcher().queuedCallsCount() > 0
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, client.dispatcher().runningCallsCount());
+    }
+}
@@ -0,0 +1,157 @@
+package com.zentry.app.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+@RunWith(RobolectricTestRunner.class)
+public class NetworkLoggerTest {
+    private static final long MAX_BODY_BYTES = 64;
+
+    private final List<String> lines = Collections.synchronizedList(new ArrayList<>());
+    private MockWebServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void body_isCappedInLogButStreamedInFull() throws Exception {
+        StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 1_000; i++) {
+            large.append('x');
+        }
+        server.enqueue(new MockResponse().setBody(large.toString()));
+
+        try (Response response = client(NetworkLogger.Level.BODY, 1f).newCall(get()).execute()) {
+            assertEquals(large.toString(), response.body().string());
+        }
+
+        String bodyLine = findLine("xxx");
+        assertTrue(bodyLine.startsWith(large.substring(0, (int) MAX_BODY_BYTES)));
+        assertTrue(bodyLine.contains("truncated to " + MAX_BODY_BYTES + " bytes"));
+        assertFalse(bodyLine.contains(large.substring(0, (int) MAX_BODY_BYTES + 1)));
+    }
+
+    @Test
+    public void secrets_areRedacted() throws Exception {
+        server.enqueue(new MockResponse()
+                .setHeader("Set-Cookie", "sid=secret-cookie")
+                .setBody("{\"accessToken\":\"secret-access\",\"userId\":\"u1\"}"));
+
+        Request request = new Request.Builder()
+                .url(server.url("/api/auth/sign-in"))
+                .header(NetworkConfig.HEADER_AUTHORIZATION, "Bearer secret-bearer")
+                .post(RequestBody.create("{\"password\":\"secret-password\"}",
+                        MediaType.get(NetworkConfig.CONTENT_TYPE_JSON)))
+                .build();
+        client(NetworkLogger.Level.BODY, 1f).newCall(request).execute().close();
+
+        String log = String.join("\n", lines);
+        assertFalse(log.contains("secret-"));
+        assertTrue(log.contains("\"userId\":\"u1\""));
+    }
+
+    @Test
+    public void unsampledRequests_areNotLogged() throws Exception {
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        client(NetworkLogger.Level.BODY, 0f).newCall(get()).execute().close();
+
+        assertTrue(lines.isEmpty());
+    }
+
+    @Test
+    public void afterAuthInterceptor_logsRetryWithRefreshedToken() throws Exception {
+        server.setDispatcher(new Dispatcher() {
+            @NonNull
+            @Override
+            public MockResponse dispatch(@NonNull RecordedRequest request) {
+                if (("/" + NetworkConfig.AUTH_REFRESH_ENDPOINT).equals(request.getPath())) {
+                    return new MockResponse().setBody("{\"accessToken\":\"fresh\",\"refreshToken\":\"refresh-2\"}");
+                }
+                if ((NetworkConfig.BEARER_PREFIX + "fresh").equals(request.getHeader(NetworkConfig.HEADER_AUTHORIZATION))) {
+                    return new MockResponse().setBody("ok");
+                }
+                return new MockResponse().setResponseCode(NetworkConfig.HTTP_UNAUTHORIZED);
+            }
+        });
+        AuthManager authManager = new AuthManager(ApplicationProvider.getApplicationContext());
+        authManager.saveTokens("stale", "refresh-1");
+        TokenRefreshCoordinator coordinator = new TokenRefreshCoordinator(
+                authManager, server.url(NetworkConfig.AUTH_REFRESH_ENDPOINT));
+
+        // Cùng thứ tự với RetrofitClient
+        OkHttpClient client = HttpClientFactory.newBuilder()
+                .addInterceptor(new AuthInterceptor(authManager, coordinator))
+                .addInterceptor(new NetworkLogger(NetworkLogger.Level.BASIC, 1f, MAX_BODY_BYTES, lines::add))
+                .build();
+        try (Response response = client.newCall(get()).execute()) {
+            assertEquals(200, response.code());
+        }
+
+        // Request gốc (401) và request gửi lại sau refresh đều được log
+        assertEquals(2, countLines("--> GET " + server.url("/api/home")));
+        assertEquals(1, countLines("<-- 401 "));
+        assertEquals(1, countLines("<-- 200 "));
+    }
+
+    private int countLines(String prefix) {
+        int count = 0;
+        for (String line : lines) {
+            if (line.startsWith(prefix)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private OkHttpClient client(NetworkLogger.Level level, float sampleRate) {
+        return HttpClientFactory.newBuilder()
+                .addInterceptor(new NetworkLogger(level, sampleRate, MAX_BODY_BYTES, lines::add))
+                .build();
+    }
+
+    private Request get() {
+        return new Request.Builder().url(server.url("/api/home")).build();
+    }
+
+    private String findLine(String fragment) {
+        for (String line : lines) {
+            if (line.contains(fragment)) {
+                return line;
+            }
+        }
+        throw new AssertionError("No log line contains " + fragment + ": " + lines);
+    }
+}
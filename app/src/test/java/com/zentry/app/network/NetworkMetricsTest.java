@@ -0,0 +1,174 @@
+package com.zentry.app.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+public class NetworkMetricsTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void histogram_percentilesWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros);
+        }
+
+        assertEquals(10_000, histogram.getCount());
+        assertWithin(5_000, histogram.getPercentileMicros(50), 0.07);
+        assertWithin(9_500, histogram.getPercentileMicros(95), 0.07);
+        assertWithin(9_900, histogram.getPercentileMicros(99), 0.07);
+    }
+
+    @Test
+    public void histogram_concurrentRecordsAreNotLost() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    histogram.record(i % 1_000);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(800_000, histogram.getCount());
+    }
+
+    @Test
+    public void calls_areRecordedPerRouteAndDumped() throws Exception {
+        MockWebServer server = new MockWebServer();
+        server.start();
+        try {
+            NetworkMetrics metrics = new NetworkMetrics();
+            OkHttpClient client = new OkHttpClient.Builder()
+                    .eventListenerFactory(metrics)
+                    .build();
+            for (int i = 0; i < 3; i++) {
+                server.enqueue(new MockResponse().setBody("ok"));
+                try (Response response = client.newCall(new Request.Builder()
+                        .url(server.url("/api/schedules")).build()).execute()) {
+                    response.body().string();
+                }
+            }
+
+            String route = "GET /api/schedules";
+            assertEquals(3, metrics.getHistogram(route, NetworkMetrics.Phase.TOTAL).getCount());
+            assertEquals(3, metrics.getHistogram(route, NetworkMetrics.Phase.TTFB).getCount());
+            assertEquals(1, metrics.getHistogram(route, NetworkMetrics.Phase.CONNECT).getCount()); // connection được dùng lại
+
+            File dump = folder.newFile("network_metrics.json");
+            metrics.dump(dump);
+            try (Reader reader = new FileReader(dump)) {
+                JsonObject total = JsonParser.parseReader(reader).getAsJsonObject()
+                        .getAsJsonObject("routes").getAsJsonObject(route).getAsJsonObject("total");
+                assertEquals(3, total.get("count").getAsInt());
+                assertTrue(total.has("p99Ms"));
+            }
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    /**
+     * Chi phí mỗi call khi bật metrics (NetworkConfig.NETWORK_METRICS_ENABLED):
+     * - listener: tạo CallTimer và chạy đủ chuỗi event của một call dùng lại connection, không có mạng
+     * - end-to-end: cùng một request tới MockWebServer qua client có và không có metrics
+     * Lấy lượt nhanh nhất.
+     */
+    @Test
+    public void overhead_perCall_metricsOnVsOff() throws Exception {
+        NetworkMetrics metrics = new NetworkMetrics();
+        Request request = new Request.Builder().url("http://localhost/api/schedules").build();
+        Call call = new OkHttpClient().newCall(request);
+        long listenerNanos = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < 50_000; i++) {
+                EventListener listener = metrics.create(call);
+                listener.callStart(call);
+                listener.requestHeadersStart(call);
+                listener.requestHeadersEnd(call, request);
+                listener.responseHeadersStart(call);
+                listener.responseBodyStart(call);
+                listener.responseBodyEnd(call, 2);
+                listener.callEnd(call);
+            }
+            listenerNanos = Math.min(listenerNanos, (System.nanoTime() - start) / 50_000);
+        }
+
+        MockWebServer server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest recorded) {
+                return new MockResponse().setBody("ok");
+            }
+        });
+        server.start();
+        try {
+            OkHttpClient off = new OkHttpClient();
+            OkHttpClient on = new OkHttpClient.Builder().eventListenerFactory(new NetworkMetrics()).build();
+            Request served = new Request.Builder().url(server.url("/api/schedules")).build();
+            long offNanos = Long.MAX_VALUE;
+            long onNanos = Long.MAX_VALUE;
+            for (int round = 0; round < 3; round++) {
+                offNanos = Math.min(offNanos, timeCalls(off, served, 40));
+                onNanos = Math.min(onNanos, timeCalls(on, served, 40));
+            }
+
+            System.out.printf(Locale.ROOT,
+                    "metrics listener %.2f us/call; end-to-end %.1f us/call off, %.1f us/call on%n",
+                    listenerNanos / 1e3, offNanos / 1e3, onNanos / 1e3);
+        } finally {
+            server.shutdown();
+        }
+
+        assertEquals(250_000, metrics.getHistogram("GET /api/schedules", NetworkMetrics.Phase.TOTAL).getCount());
+        // Vài micro giây mỗi call, so với hàng chục mili giây của một request thật trên mạng di động
+        assertTrue("listener cost " + listenerNanos + " ns/call", listenerNanos < 10_000);
+    }
+
+    private static long timeCalls(OkHttpClient client, Request request, int calls) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            try (Response response = client.newCall(request).execute()) {
+                response.body().string();
+            }
+        }
+        return (System.nanoTime() - start) / calls;
+    }
+
+    private static void assertWithin(long expected, long actual, double relativeError) {
+        assertTrue("expected ~" + expected + " but was " + actual,
+                Math.abs(actual - expected) <= expected * relativeError);
+    }
+}
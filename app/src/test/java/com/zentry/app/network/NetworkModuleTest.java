@@ -0,0 +1,169 @@
+package com.zentry.app.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import android.app.Application;
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.zentry.app.api.IScheduleAPI;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+// Application mặc định để ZentryApplication không prewarm trong lúc test
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)
+public class NetworkModuleTest {
+    private static final int ITERATIONS = 15;
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        NetworkModule.reset();
+        RetrofitClient.reset();
+    }
+
+    @After
+    public void tearDown() {
+        NetworkModule.reset();
+        RetrofitClient.reset();
+    }
+
+    @Test
+    public void getInstance_doesNotBuildNetworkStack() {
+        NetworkModule module = NetworkModule.getInstance(context);
+        assertFalse(RetrofitClient.isCreated());
+
+        assertSame(module.getRetrofit(), module.getRetrofit());
+        assertTrue(RetrofitClient.isCreated());
+    }
+
+    @Test
+    public void prewarm_buildsNetworkStackInBackground() throws Exception {
+        NetworkModule.prewarm(context);
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!RetrofitClient.isCreated() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(RetrofitClient.isCreated());
+    }
+
+    @Test
+    public void requestScheduler_survivesRetrofitReset() {
+        NetworkModule.getInstance(context).getRetrofit();
+        RequestScheduler scheduler = RetrofitClient.getRequestScheduler();
+
+        // Logout: service proxy đã tạo vẫn giữ scheduler cũ, nên nó không được shutdown
+        RetrofitClient.reset();
+        NetworkModule.getInstance(context).getRetrofit();
+
+        assertSame(scheduler, RetrofitClient.getRequestScheduler());
+    }
+
+    @Test
+    public void proactiveRefreshAndFactories_surviveLogout() {
+        NetworkModule.getInstance(context).getRetrofit();
+        TokenRefreshScheduler refreshScheduler = RetrofitClient.getRefreshScheduler();
+        CoalescingCallAdapterFactory coalescing = RetrofitClient.getCoalescingFactory();
+        HedgingCallAdapterFactory hedging = RetrofitClient.getHedgingFactory();
+        assertNotNull(refreshScheduler);
+
+        // Logout rồi login user khác: repository singleton vẫn giữ service proxy cũ
+        RetrofitClient.reset();
+        NetworkModule.getInstance(context).getRetrofit();
+
+        assertSame(refreshScheduler, RetrofitClient.getRefreshScheduler());
+        assertSame(coalescing, RetrofitClient.getCoalescingFactory());
+        assertSame(hedging, RetrofitClient.getHedgingFactory());
+    }
+
+    @Test
+    public void scheduleEndpoint_isServedFromHttpCacheThroughNetworkModule() throws Exception {
+        HttpCache.clear();
+        MockWebServer server = new MockWebServer();
+        // Service tạo qua NetworkModule dùng NetworkConfig.getBaseUrl()
+        server.start(HttpUrl.get(NetworkConfig.getBaseUrl()).port());
+        try {
+            server.enqueue(new MockResponse().setHeader("ETag", "\"v1\"")
+                    .setBody("[{\"id\":\"s1\",\"courseCode\":\"PRN211\"}]"));
+            IScheduleAPI api = NetworkModule.getInstance(context).createService(IScheduleAPI.class);
+            HttpCache httpCache = HttpCache.getInstance(context);
+            long hitsBefore = httpCache.getHitCount();
+
+            assertEquals("PRN211", api.getTodaySessions().execute().body().get(0).getCourseCode());
+            // Bỏ memo của coalescing để lần đọc thứ hai phải đi qua OkHttp
+            RetrofitClient.getCoalescingFactory().clearMemo();
+            assertEquals("PRN211", api.getTodaySessions().execute().body().get(0).getCourseCode());
+
+            // @CachePolicy của endpoint thật: lần hai lấy từ cache, không gọi server
+            assertEquals(1, server.getRequestCount());
+            assertEquals(hitsBefore + 1, httpCache.getHitCount());
+        } finally {
+            server.shutdown();
+            HttpCache.clear();
+        }
+    }
+
+    @Test
+    public void getInstance_costsFarLessThanBuildingNetworkStack() throws Exception {
+        // Lần build đầu tiên tải class và khởi tạo SSLContext - không tính vào phép đo
+        NetworkModule.getInstance(context).getRetrofit();
+
+        long moduleNanos = medianNanos(() -> {
+            clearInstance();
+            NetworkModule.getInstance(context);
+        });
+        long stackNanos = medianNanos(() -> {
+            clearInstance();
+            RetrofitClient.reset();
+            NetworkModule.getInstance(context).getRetrofit();
+        });
+
+        // Cold start chỉ trả chi phí của getInstance(); nếu nó bắt đầu dựng OkHttp/Retrofit
+        // thì hai con số sẽ cùng bậc
+        assertTrue("getInstance " + moduleNanos + " ns vs network stack " + stackNanos + " ns",
+                moduleNanos * 10 < stackNanos);
+    }
+
+    private static long medianNanos(ThrowingRunnable step) throws Exception {
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            step.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2];
+    }
+
+    // Bỏ singleton mà không logout (NetworkModule.reset() sẽ dựng AuthManager)
+    private static void clearInstance() throws Exception {
+        Field instance = NetworkModule.class.getDeclaredField("instance");
+        instance.setAccessible(true);
+        instance.set(null, null);
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,163 @@
+package com.zentry.app.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import androidx.annotation.NonNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.OkHttpClient;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+import retrofit2.http.POST;
+
+public class RequestSchedulerTest {
+    interface SyncApi {
+        @GET("api/schedules")
+        Call<ResponseBody> getSchedules();
+
+        @Deferrable
+        @POST("api/attendance/check-ins/batch")
+        Call<ResponseBody> upload();
+    }
+
+    private MockWebServer server;
+    private FakeConnectivitySource connectivity;
+    private RequestScheduler scheduler;
+    private SyncApi api;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        connectivity = new FakeConnectivitySource(false);
+        scheduler = new RequestScheduler(connectivity, 60_000);
+        api = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(new OkHttpClient())
+                .addCallAdapterFactory(scheduler)
+                .build()
+                .create(SyncApi.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        scheduler.shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    public void offline_nonDeferrableCallFailsFast() throws Exception {
+        long startNs = System.nanoTime();
+        try {
+            api.getSchedules().execute();
+            fail("Expected OfflineException");
+        } catch (OfflineException expected) {
+            // không chờ timeout
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs) < 100);
+        assertEquals(0, server.getRequestCount());
+        assertEquals(1, scheduler.getFailFastCount());
+    }
+
+    @Test
+    public void offline_deferrableCallsAreReleasedInOneBatch() throws Exception {
+        CountDownLatch done = new CountDownLatch(3);
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse());
+            api.upload().enqueue(countingCallback(done));
+        }
+
+        Thread.sleep(100);
+        assertEquals(0, server.getRequestCount());
+        assertEquals(3, scheduler.getParkedCount());
+
+        connectivity.setOnline(true);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(3, server.getRequestCount());
+        assertEquals(1, scheduler.getReleasedBatchCount());
+    }
+
+    @Test
+    public void online_foregroundCallCarriesWaitingBackgroundCalls() throws Exception {
+        connectivity.setOnline(true);
+        CountDownLatch done = new CountDownLatch(2);
+        server.enqueue(new MockResponse());
+        server.enqueue(new MockResponse());
+        server.enqueue(new MockResponse());
+        api.upload().enqueue(countingCallback(done));
+        api.upload().enqueue(countingCallback(done));
+
+        // Batch window 60s - chỉ được gửi vì call thường đã bật radio
+        api.getSchedules().execute();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(3, server.getRequestCount());
+        assertEquals(1, scheduler.getReleasedBatchCount());
+    }
+
+    @Test
+    public void afterShutdown_deferrableCallsFailInsteadOfParking() throws Exception {
+        scheduler.shutdown();
+
+        // Offline: không ai flush nữa, call không được treo
+        try {
+            api.upload().execute();
+            fail("Expected IOException");
+        } catch (IOException expected) {
+            // fail ngay
+        }
+
+        // Online: không được schedule lên timer đã shutdown
+        connectivity.setOnline(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        api.upload().enqueue(new Callback<ResponseBody>() {
+            @Override
+            public void onResponse(@NonNull Call<ResponseBody> call, @NonNull Response<ResponseBody> response) {
+                done.countDown();
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<ResponseBody> call, @NonNull Throwable t) {
+                failure.set(t);
+                done.countDown();
+            }
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(failure.get() instanceof IOException);
+        assertEquals(0, server.getRequestCount());
+        assertEquals(0, scheduler.getParkedCount());
+    }
+
+    private static Callback<ResponseBody> countingCallback(CountDownLatch done) {
+        return new Callback<ResponseBody>() {
+            @Override
+            public void onResponse(@NonNull Call<ResponseBody> call, @NonNull Response<ResponseBody> response) {
+                done.countDown();
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<ResponseBody> call, @NonNull Throwable t) {
+                done.countDown();
+            }
+        };
+    }
+}
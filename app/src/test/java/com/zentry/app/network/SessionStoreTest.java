@@ -0,0 +1,135 @@
+package com.zentry.app.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.zentry.app.repository.AuthRepository;
+import com.zentry.app.repository.CheckInRepository;
+import com.zentry.app.repository.DeviceRepository;
+import com.zentry.app.repository.PostLoginPipeline;
+import com.zentry.app.repository.ScheduleRepository;
+import com.zentry.app.viewmodel.AuthViewModel;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+public class SessionStoreTest {
+    // Singleton mà AuthViewModel kéo theo - dựng lại từ đầu cho mỗi test
+    private static final Class<?>[] SINGLETONS = {
+            AuthManager.class, SessionStore.class, NetworkModule.class, HttpCache.class,
+            NetworkMetrics.class, ConnectionPrewarmer.class, AuthRepository.class, PostLoginPipeline.class,
+            ScheduleRepository.class, DeviceRepository.class, CheckInRepository.class
+    };
+
+    @Before
+    public void setUp() throws Exception {
+        resetSingletons();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        resetSingletons();
+    }
+
+    @Test
+    public void signInHomeLogout_readsSessionFromDiskOnce() {
+        CountingApplication application = new CountingApplication(ApplicationProvider.getApplicationContext());
+
+        // SignInFragment
+        AuthViewModel signInViewModel = new AuthViewModel(application);
+        SessionStore store = SessionStore.getInstance(application);
+        List<Boolean> loginStates = new ArrayList<>();
+        store.getLoggedIn().observeForever(loginStates::add);
+        assertEquals(1, application.getOpenCount(AuthManager.PREF_NAME));
+        int readsAfterLoad = application.getReadCount(AuthManager.PREF_NAME);
+
+        AuthManager.getInstance(application).edit()
+                .putTokens("access", "refresh", 3600)
+                .putUserInfo("user-1", "student")
+                .commit();
+        shadowOf(Looper.getMainLooper()).idle();
+
+        // StudentHomeFragment, rồi xoay màn hình
+        AuthViewModel homeViewModel = new AuthViewModel(application);
+        new AuthViewModel(application);
+        assertTrue(homeViewModel.isLoggedIn());
+        assertTrue(homeViewModel.isStudent());
+        assertEquals("user-1", homeViewModel.getSession().getValue().getUserId());
+        assertEquals("access", homeViewModel.getUserToken().getValue().getAccessToken());
+
+        homeViewModel.logout();
+        shadowOf(Looper.getMainLooper()).idle();
+
+        assertFalse(signInViewModel.getSession().getValue().isLoggedIn());
+        assertNull(store.getRole().getValue());
+        assertEquals(Boolean.FALSE, loginStates.get(loginStates.size() - 1));
+
+        // Ba ViewModel, một lần login và logout: AuthManager chỉ được dựng một lần,
+        // sau lần load đầu tiên session không bao giờ được đọc lại từ prefs
+        assertEquals(1, application.getOpenCount(AuthManager.PREF_NAME));
+        assertEquals(readsAfterLoad, application.getReadCount(AuthManager.PREF_NAME));
+    }
+
+    @Test
+    public void loggedInState_isOnlyPublishedWhenItChanges() {
+        AuthManager authManager = new AuthManager(ApplicationProvider.getApplicationContext());
+        SessionStore store = new SessionStore(authManager, new Handler(Looper.getMainLooper())::post);
+        List<Boolean> loginStates = new ArrayList<>();
+        store.getLoggedIn().observeForever(loginStates::add);
+
+        authManager.saveTokens("access-1", "refresh-1");
+        shadowOf(Looper.getMainLooper()).idle();
+        authManager.saveTokens("access-2", "refresh-2"); // refresh token: vẫn đang login
+        shadowOf(Looper.getMainLooper()).idle();
+        authManager.logout();
+        shadowOf(Looper.getMainLooper()).idle();
+
+        assertEquals(3, loginStates.size()); // giá trị ban đầu, login, logout
+        assertEquals(Boolean.TRUE, loginStates.get(1));
+        assertEquals(Boolean.FALSE, loginStates.get(2));
+    }
+
+    @Test
+    public void backgroundRefresh_cannotOverwriteLaterLogout() throws Exception {
+        AuthManager authManager = new AuthManager(ApplicationProvider.getApplicationContext());
+        authManager.saveTokens("access-1", "refresh-1");
+        SessionStore store = new SessionStore(authManager, new Handler(Looper.getMainLooper())::post);
+
+        // Refresh token xong trên OkHttp thread, ngay sau đó user logout trên main thread
+        Thread refresh = new Thread(() -> authManager.saveTokens("access-2", "refresh-2"));
+        refresh.start();
+        refresh.join();
+        authManager.logout();
+        shadowOf(Looper.getMainLooper()).idle();
+
+        assertFalse(store.getSession().getValue().isLoggedIn());
+        assertSame(authManager.getSession(), store.getSession().getValue());
+        assertEquals(Boolean.FALSE, store.getLoggedIn().getValue());
+    }
+
+    private static void resetSingletons() throws Exception {
+        RetrofitClient.reset();
+        for (Class<?> type : SINGLETONS) {
+            Field instance = type.getDeclaredField("instance");
+            instance.setAccessible(true);
+            instance.set(null, null);
+        }
+    }
+}
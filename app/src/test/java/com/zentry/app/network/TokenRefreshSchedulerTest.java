@@ -0,0 +1,95 @@
+package com.zentry.app.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+@RunWith(RobolectricTestRunner.class)
+public class TokenRefreshSchedulerTest {
+    private static final long EXPIRES_IN_SECONDS = 3600;
+    // Refresh khoảng 300 ms sau khi lưu token sống 1 giờ
+    private static final long SKEW_MILLIS = TimeUnit.SECONDS.toMillis(EXPIRES_IN_SECONDS) - 300;
+
+    private MockWebServer server;
+    private AuthManager authManager;
+    private TokenRefreshScheduler scheduler;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        authManager = new AuthManager(ApplicationProvider.getApplicationContext());
+        TokenRefreshCoordinator coordinator = new TokenRefreshCoordinator(authManager,
+                server.url(NetworkConfig.AUTH_REFRESH_ENDPOINT), new OkHttpClient());
+        scheduler = new TokenRefreshScheduler(authManager, coordinator, SKEW_MILLIS, 0);
+        scheduler.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        scheduler.stop();
+        server.shutdown();
+    }
+
+    @Test
+    public void refreshesBeforeExpiry() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"accessToken\":\"fresh\",\"refreshToken\":\"refresh-2\"}"));
+
+        long startNs = System.nanoTime();
+        authManager.saveTokens("access-1", "refresh-1", EXPIRES_IN_SECONDS);
+
+        RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+        assertNotNull(request);
+        assertEquals("/" + NetworkConfig.AUTH_REFRESH_ENDPOINT, request.getPath());
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
+        // Không refresh ngay khi lưu token, cũng không chờ tới lúc hết hạn
+        assertTrue("refresh after " + elapsedMs + " ms", elapsedMs >= 250 && elapsedMs < 3_000);
+        awaitAccessToken("fresh");
+        assertEquals(1, scheduler.getProactiveRefreshCount());
+    }
+
+    @Test
+    public void logout_cancelsPendingRefresh() throws Exception {
+        authManager.saveTokens("access-1", "refresh-1", EXPIRES_IN_SECONDS);
+        authManager.logout();
+
+        assertNull(server.takeRequest(800, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void nextLoginAfterLogout_isRefreshedAgain() throws Exception {
+        authManager.saveTokens("access-1", "refresh-1", EXPIRES_IN_SECONDS);
+        authManager.logout();
+        server.enqueue(new MockResponse().setBody("{\"accessToken\":\"fresh\",\"refreshToken\":\"refresh-2\"}"));
+
+        // Cùng một scheduler cho user đăng nhập sau
+        authManager.saveTokens("access-2", "refresh-2", EXPIRES_IN_SECONDS);
+
+        assertNotNull(server.takeRequest(5, TimeUnit.SECONDS));
+        awaitAccessToken("fresh");
+    }
+
+    private void awaitAccessToken(String expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!expected.equals(authManager.getAccessToken()) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, authManager.getAccessToken());
+    }
+}
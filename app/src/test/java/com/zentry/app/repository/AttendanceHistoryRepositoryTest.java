@@ -0,0 +1,164 @@
+package com.zentry.app.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.zentry.app.api.IAttendanceAPI;
+import com.zentry.app.model.entity.AttendanceStatus;
+import com.zentry.app.model.response.AttendanceRecordModel;
+import com.zentry.app.model.stats.AttendanceSummary;
+import com.zentry.app.network.GsonProvider;
+import com.zentry.app.network.NetworkConfig;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+public class AttendanceHistoryRepositoryTest {
+    private static final int PAGE = NetworkConfig.ATTENDANCE_SYNC_PAGE_SIZE;
+    private static final String CHANGES = "/api/attendance/history/changes";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MockWebServer server;
+    private IAttendanceAPI api;
+    private final AtomicReference<String> userId = new AtomicReference<>("u1");
+    private AttendanceStatsRepository stats;
+    private AttendanceHistoryRepository repository;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        api = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(GsonConverterFactory.create(GsonProvider.getGson()))
+                .build()
+                .create(IAttendanceAPI.class);
+        stats = new AttendanceStatsRepository(folder.getRoot());
+        repository = new AttendanceHistoryRepository(api, stats, userId::get);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void firstSync_appliesEveryChangePage_fromEmptyWatermark() throws Exception {
+        server.enqueue(new MockResponse().setBody(records(0, PAGE, "PRESENT")));
+        server.enqueue(new MockResponse().setBody(records(PAGE, 100, "ABSENT")));
+
+        AttendanceSummary summary = repository.loadOverallSummary();
+
+        assertEquals(PAGE + 100, summary.getTotal());
+        assertEquals(100, summary.getAbsent());
+        assertTrue(stats.isBuilt());
+        assertEquals(CHANGES + "?updatedAfter=0&afterId=&limit=" + PAGE, server.takeRequest().getPath());
+        assertEquals(CHANGES + "?updatedAfter=" + updatedAt(PAGE - 1) + "&afterId=r" + (PAGE - 1) + "&limit=" + PAGE,
+                server.takeRequest().getPath());
+    }
+
+    @Test
+    public void reopen_readsSavedSummary_andRequestsOnlyNewerChanges() throws Exception {
+        server.enqueue(new MockResponse().setBody(records(0, 3, "PRESENT")));
+        repository.loadOverallSummary();
+        server.takeRequest();
+
+        // Mở lại app: repository mới, chỉ có file đã lưu
+        AttendanceStatsRepository reopened = new AttendanceStatsRepository(folder.getRoot());
+        AttendanceHistoryRepository reopenedRepository = new AttendanceHistoryRepository(api, reopened, userId::get);
+        // r0 được sửa từ có mặt thành vắng sau lần sync trước
+        server.enqueue(new MockResponse().setBody("[" + record(0, "ABSENT", updatedAt(10)) + "]"));
+
+        AttendanceSummary summary = reopenedRepository.loadOverallSummary();
+
+        assertEquals(3, summary.getTotal());
+        assertEquals(1, summary.getAbsent());
+        assertEquals(CHANGES + "?updatedAfter=" + updatedAt(2) + "&afterId=r2&limit=" + PAGE,
+                server.takeRequest().getPath());
+        assertEquals(updatedAt(10), reopened.getWatermarkUpdatedAt());
+    }
+
+    @Test
+    public void logout_clearsMemory_nextLoginSyncsOnlyChangesSinceSnapshot() throws Exception {
+        server.enqueue(new MockResponse().setBody(records(0, 3, "LATE")));
+        repository.loadOverallSummary();
+        server.takeRequest();
+
+        stats.clear(); // logout
+        assertFalse(stats.isBuilt());
+        assertEquals(0, stats.getOverallSummary().getTotal());
+
+        server.enqueue(new MockResponse().setBody("[]"));
+        AttendanceSummary summary = repository.loadOverallSummary();
+
+        assertEquals(3, summary.getLate());
+        assertEquals(CHANGES + "?updatedAfter=" + updatedAt(2) + "&afterId=r2&limit=" + PAGE,
+                server.takeRequest().getPath());
+    }
+
+    @Test
+    public void otherUser_startsFromEmptyWatermark() throws Exception {
+        server.enqueue(new MockResponse().setBody(records(0, 3, "PRESENT")));
+        repository.loadOverallSummary();
+        server.takeRequest();
+
+        stats.clear(); // logout
+        userId.set("u2");
+        server.enqueue(new MockResponse().setBody(records(0, 1, "ABSENT")));
+        AttendanceSummary summary = repository.loadOverallSummary();
+
+        assertEquals(1, summary.getTotal());
+        assertEquals(CHANGES + "?updatedAfter=0&afterId=&limit=" + PAGE, server.takeRequest().getPath());
+    }
+
+    @Test
+    public void syncStartedBeforeLogout_isDiscarded() throws Exception {
+        long generation = stats.getGeneration();
+        assertTrue(stats.load("u1", generation));
+        stats.clear(); // logout trong lúc đang sync
+
+        boolean applied = stats.applyChanges(Collections.singletonList(new AttendanceRecordModel(
+                "r1", "s1", "PRN211", "st1", "Student", "2026-09-01", AttendanceStatus.PRESENT, 1L)), generation);
+
+        assertFalse(applied);
+        assertFalse(stats.persist(generation));
+        assertFalse(stats.isBuilt());
+        assertEquals(0, stats.getOverallSummary().getTotal());
+        assertEquals(0, folder.getRoot().list().length);
+    }
+
+    private static long updatedAt(int i) {
+        return 1_790_000_000_000L + i;
+    }
+
+    private static String records(int from, int count, String status) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = from; i < from + count; i++) {
+            if (i > from) {
+                json.append(',');
+            }
+            json.append(record(i, status, updatedAt(i)));
+        }
+        return json.append(']').toString();
+    }
+
+    private static String record(int i, String status, long updatedAt) {
+        return "{\"id\":\"r" + i + "\",\"sessionId\":\"s" + i
+                + "\",\"courseCode\":\"PRN211\",\"studentId\":\"st1\",\"studentName\":\"Student\""
+                + ",\"sessionDate\":\"2026-09-01\",\"status\":\"" + status + "\",\"updatedAt\":" + updatedAt + "}";
+    }
+}
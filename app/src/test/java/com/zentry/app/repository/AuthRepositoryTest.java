@@ -0,0 +1,207 @@
+package com.zentry.app.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.zentry.app.api.IAuthenticationAPI;
+import com.zentry.app.model.request.LoginRequest;
+import com.zentry.app.model.response.TokenModel;
+import com.zentry.app.network.AuthManager;
+import com.zentry.app.network.ErrorBodyLimitInterceptor;
+import com.zentry.app.network.GsonProvider;
+import com.zentry.app.network.NetworkConfig;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)
+public class AuthRepositoryTest {
+    private MockWebServer server;
+    private ExecutorService ioExecutor;
+    private AuthManager authManager;
+    private AuthRepository repository;
+    private AuthManager.OnSessionChangedListener sessionListener;
+
+    // I/O bị bắt gặp trên main thread
+    private final AtomicBoolean networkOnMain = new AtomicBoolean();
+    private final AtomicBoolean bodyReadOnMain = new AtomicBoolean();
+    private final AtomicBoolean sessionWriteOnMain = new AtomicBoolean();
+    private final AtomicLong bodyBytesRead = new AtomicLong();
+
+    private final AtomicReference<TokenModel> success = new AtomicReference<>();
+    private final AtomicReference<String> error = new AtomicReference<>();
+    private final AtomicBoolean callbackOnMain = new AtomicBoolean();
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+
+        // Cùng thứ tự với RetrofitClient: giới hạn error body nằm ngoài cùng
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(new ErrorBodyLimitInterceptor(NetworkConfig.ERROR_BODY_MAX_BYTES))
+                .addInterceptor(chain -> {
+                    networkOnMain.compareAndSet(false, isMainThread());
+                    return countBodyReads(chain.proceed(chain.request()));
+                })
+                .build();
+        IAuthenticationAPI api = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .addConverterFactory(GsonConverterFactory.create(GsonProvider.getGson()))
+                .build()
+                .create(IAuthenticationAPI.class);
+
+        authManager = AuthManager.getInstance(ApplicationProvider.getApplicationContext());
+        authManager.logout();
+        sessionListener = session -> sessionWriteOnMain.compareAndSet(false, isMainThread());
+        authManager.addSessionListener(sessionListener);
+
+        ioExecutor = Executors.newSingleThreadExecutor();
+        Handler mainHandler = new Handler(Looper.getMainLooper());
+        repository = new AuthRepository(authManager, api, ioExecutor, mainHandler::post, null, null);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        ioExecutor.shutdownNow();
+        authManager.removeSessionListener(sessionListener);
+        authManager.logout();
+        server.shutdown();
+    }
+
+    @Test
+    public void login_success_savesSessionOffMainThread() throws Exception {
+        server.enqueue(new MockResponse().setBody(
+                "{\"access_token\":\"access\",\"refresh_token\":\"refresh\",\"user_id\":\"u1\",\"role\":\"student\"}"));
+
+        login();
+
+        assertEquals("access", success.get().getAccessToken());
+        assertEquals("u1", authManager.getUserId());
+        assertTrue(callbackOnMain.get());
+        assertNoIoOnMainThread();
+    }
+
+    @Test
+    public void login_jsonError_isParsedIntoMessage() throws Exception {
+        server.enqueue(new MockResponse()
+                .setResponseCode(401)
+                .setHeader("Content-Type", "application/problem+json")
+                .setBody("{\"title\":\"Unauthorized\",\"detail\":\"Sai email hoặc mật khẩu\",\"status\":401}"));
+
+        login();
+
+        assertEquals("Unauthorized", error.get());
+        assertFalse(authManager.isLoggedIn());
+        assertTrue(callbackOnMain.get());
+        assertNoIoOnMainThread();
+    }
+
+    @Test
+    public void login_hugeProxyErrorPage_isReadOnlyUpToTheCap() throws Exception {
+        Buffer page = new Buffer().writeUtf8("<html><body>");
+        while (page.size() < 2 * 1024 * 1024) {
+            page.writeUtf8("<p>Bad gateway</p>");
+        }
+        server.enqueue(new MockResponse()
+                .setResponseCode(502)
+                .setHeader("Content-Type", "text/html")
+                .setBody(page));
+
+        login();
+
+        assertEquals("Invalid credentials", error.get());
+        // Cắt ở giới hạn (cộng một segment đọc trước), không đọc cả 2 MB
+        assertTrue(bodyBytesRead.get() < 64 * 1024);
+        assertNoIoOnMainThread();
+    }
+
+    private void login() throws InterruptedException {
+        repository.login(new LoginRequest("user@fpt.edu.vn", "password"), new AuthRepository.LoginCallback() {
+            @Override
+            public void onSuccess(TokenModel tokenModel) {
+                callbackOnMain.set(isMainThread());
+                success.set(tokenModel);
+            }
+
+            @Override
+            public void onError(String message) {
+                callbackOnMain.set(isMainThread());
+                error.set(message);
+            }
+        });
+
+        // Callback chỉ chạy khi main looper được idle
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (success.get() == null && error.get() == null) {
+            assertTrue("login timed out", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+            shadowOf(Looper.getMainLooper()).idle();
+        }
+    }
+
+    private void assertNoIoOnMainThread() {
+        assertFalse("network call on main thread", networkOnMain.get());
+        assertFalse("response body read on main thread", bodyReadOnMain.get());
+        assertFalse("session write on main thread", sessionWriteOnMain.get());
+    }
+
+    private Response countBodyReads(Response response) {
+        ResponseBody body = response.body();
+        if (body == null) {
+            return response;
+        }
+        ForwardingSource counting = new ForwardingSource(body.source()) {
+            @Override
+            public long read(@NonNull Buffer sink, long byteCount) throws IOException {
+                bodyReadOnMain.compareAndSet(false, isMainThread());
+                long read = super.read(sink, byteCount);
+                if (read > 0) {
+                    bodyBytesRead.addAndGet(read);
+                }
+                return read;
+            }
+        };
+        return response.newBuilder()
+                .body(ResponseBody.create(Okio.buffer(counting), body.contentType(), body.contentLength()))
+                .build();
+    }
+
+    private static boolean isMainThread() {
+        return Looper.getMainLooper().getThread() == Thread.currentThread();
+    }
+}
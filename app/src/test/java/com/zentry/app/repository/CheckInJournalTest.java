@@ -0,0 +1,83 @@
+package com.zentry.app.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.zentry.app.model.request.CheckInRequest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class CheckInJournalTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void reopen_recoversUnacknowledgedCheckInsInOrder() throws Exception {
+        File file = folder.newFile("journal.log");
+
+        CheckInJournal journal = new CheckInJournal(file);
+        journal.append(checkIn("a"));
+        journal.append(checkIn("b"));
+        journal.append(checkIn("c"));
+        journal.acknowledge(Collections.singletonList("a"));
+        journal.flush();
+
+        // Giả lập process chết giữa lúc ghi dòng cuối
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write("A {\"idempotencyKey\":\"d\",\"sess".getBytes(StandardCharsets.UTF_8));
+        }
+
+        CheckInJournal reopened = new CheckInJournal(file);
+        List<CheckInRequest> pending = reopened.peek(10);
+
+        assertEquals(2, pending.size());
+        assertEquals("b", pending.get(0).getIdempotencyKey());
+        assertEquals("c", pending.get(1).getIdempotencyKey());
+        assertEquals("session-1", pending.get(0).getSessionId());
+        assertEquals(56_666_666L, pending.get(0).getStep());
+    }
+
+    @Test
+    public void acknowledgingEverything_compactsFile() throws Exception {
+        File file = folder.newFile("journal.log");
+
+        CheckInJournal journal = new CheckInJournal(file);
+        journal.append(checkIn("a"));
+        journal.append(checkIn("b"));
+        journal.flush();
+        assertTrue(file.length() > 0);
+
+        journal.acknowledge(Arrays.asList("a", "b"));
+        journal.flush();
+
+        assertEquals(0, journal.size());
+        assertEquals(0, file.length());
+    }
+
+    @Test
+    public void peek_returnsOldestBatchFirst() throws Exception {
+        CheckInJournal journal = new CheckInJournal(folder.newFile("journal.log"));
+        for (int i = 0; i < 120; i++) {
+            journal.append(checkIn("k" + i));
+        }
+
+        List<CheckInRequest> batch = journal.peek(50);
+
+        assertEquals(50, batch.size());
+        assertEquals("k0", batch.get(0).getIdempotencyKey());
+        assertEquals("k49", batch.get(49).getIdempotencyKey());
+    }
+
+    private static CheckInRequest checkIn(String key) {
+        return new CheckInRequest(key, "session-1", 56_666_666L, "123456", 1_700_000_000_000L);
+    }
+}
@@ -0,0 +1,207 @@
+package com.zentry.app.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+
+import com.zentry.app.api.IAttendanceAPI;
+import com.zentry.app.model.request.CheckInRequest;
+import com.zentry.app.network.GsonProvider;
+import com.zentry.app.network.NetworkConfig;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+public class CheckInUploaderTest {
+    private static final String BAD_KEY = "k7";
+    private static final Pattern KEY = Pattern.compile("\"idempotencyKey\":\"([^\"]+)\"");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final AtomicReference<String> currentUser = new AtomicReference<>("user-a");
+    private MockWebServer server;
+    private IAttendanceAPI api;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        api = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(GsonConverterFactory.create(GsonProvider.getGson()))
+                .build()
+                .create(IAttendanceAPI.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void rejectedBatch_dropsOnlyTheBadEntry() throws Exception {
+        Set<String> accepted = ConcurrentHashMap.newKeySet();
+        // Server từ chối cả batch nếu có check-in lỗi
+        server.setDispatcher(new Dispatcher() {
+            @NonNull
+            @Override
+            public MockResponse dispatch(@NonNull RecordedRequest request) {
+                String body = request.getBody().clone().readUtf8();
+                if (body.contains("\"" + BAD_KEY + "\"")) {
+                    return new MockResponse().setResponseCode(422);
+                }
+                Matcher keys = KEY.matcher(body);
+                while (keys.find()) {
+                    accepted.add(keys.group(1));
+                }
+                return new MockResponse();
+            }
+        });
+        CheckInJournal journal = journalWith(10);
+
+        uploader(journal).requestUpload();
+
+        awaitPending(journal, 0);
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            expected.add("k" + i);
+        }
+        expected.remove(BAD_KEY);
+        assertEquals(expected, accepted);
+        // Chia đôi: số request tăng theo log(batch), không phải theo số check-in
+        assertTrue(server.getRequestCount() <= 1 + 2 * 4);
+    }
+
+    @Test
+    public void forbidden_keepsEntriesAndStops() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(NetworkConfig.HTTP_FORBIDDEN));
+        CheckInJournal journal = journalWith(5);
+
+        uploader(journal).requestUpload();
+
+        assertTrue(server.takeRequest(5, TimeUnit.SECONDS) != null);
+        // Không chia nhỏ, không retry với session này
+        assertNull(server.takeRequest(300, TimeUnit.MILLISECONDS));
+        assertEquals(5, journal.size());
+    }
+
+    @Test
+    public void unauthorized_resumesAfterLoginAgain() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(NetworkConfig.HTTP_UNAUTHORIZED));
+        server.enqueue(new MockResponse());
+        CheckInJournal journal = journalWith(3);
+        CheckInUploader uploader = uploader(journal);
+
+        uploader.requestUpload();
+        server.takeRequest(5, TimeUnit.SECONDS);
+        assertNull(server.takeRequest(300, TimeUnit.MILLISECONDS));
+        assertEquals(3, journal.size());
+
+        uploader.requestUpload();
+        awaitPending(journal, 0);
+    }
+
+    @Test
+    public void otherUsersJournal_isNotUploaded() throws Exception {
+        currentUser.set("user-b");
+        CheckInJournal journal = journalWith(3);
+
+        uploader(journal).requestUpload();
+
+        assertNull(server.takeRequest(300, TimeUnit.MILLISECONDS));
+        assertEquals(3, journal.size());
+    }
+
+    @Test
+    public void repository_keepsOneJournalPerUser() throws Exception {
+        List<String> bodies = new CopyOnWriteArrayList<>();
+        server.setDispatcher(new Dispatcher() {
+            @NonNull
+            @Override
+            public MockResponse dispatch(@NonNull RecordedRequest request) {
+                String body = request.getBody().readUtf8();
+                bodies.add(body);
+                // Session của user A đã hết hạn; user B upload bình thường
+                return body.contains("session-a")
+                        ? new MockResponse().setResponseCode(NetworkConfig.HTTP_UNAUTHORIZED)
+                        : new MockResponse();
+            }
+        });
+        CheckInRepository repository = new CheckInRepository(folder.getRoot(), api, currentUser::get);
+
+        repository.submit("session-a", 1, "111111");
+        awaitRequests(1);
+        assertEquals(1, repository.getPendingCount());
+
+        currentUser.set("user-b");
+        assertEquals(0, repository.getPendingCount());
+        repository.submit("session-b", 1, "222222");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (repository.getPendingCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, repository.getPendingCount());
+
+        // Check-in của A không bao giờ đi cùng token của B
+        for (String body : bodies) {
+            assertTrue(body.contains("session-a") != body.contains("session-b"));
+        }
+        assertTrue(bodies.get(bodies.size() - 1).contains("session-b"));
+        currentUser.set("user-a");
+        assertEquals(1, repository.getPendingCount());
+
+        assertNotEquals(CheckInRepository.journalFileName("user.a"), CheckInRepository.journalFileName("user_a"));
+    }
+
+    private CheckInUploader uploader(CheckInJournal journal) {
+        return new CheckInUploader(journal, api, NetworkConfig.CHECK_IN_BATCH_SIZE, "user-a", currentUser::get);
+    }
+
+    private CheckInJournal journalWith(int count) throws Exception {
+        CheckInJournal journal = new CheckInJournal(folder.newFile());
+        for (int i = 0; i < count; i++) {
+            journal.append(new CheckInRequest("k" + i, "session-1", 1, "123456", 1_700_000_000_000L));
+        }
+        return journal;
+    }
+
+    private void awaitPending(CheckInJournal journal, int expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (journal.size() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, journal.size());
+    }
+
+    private void awaitRequests(int expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (server.getRequestCount() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(server.getRequestCount() >= expected);
+    }
+}
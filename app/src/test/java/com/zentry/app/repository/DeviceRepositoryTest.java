@@ -0,0 +1,132 @@
+package com.zentry.app.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.zentry.app.api.IDeviceAPI;
+import com.zentry.app.network.AuthManager;
+import com.zentry.app.network.GsonProvider;
+import com.zentry.app.util.DeviceFingerprint;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+@RunWith(RobolectricTestRunner.class)
+public class DeviceRepositoryTest {
+    private final Context context = ApplicationProvider.getApplicationContext();
+    private final AtomicInteger computes = new AtomicInteger();
+    private final List<String> results = new ArrayList<>();
+    private MockWebServer server;
+    private AuthManager authManager;
+    private DeviceRepository repository;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        IDeviceAPI api = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(GsonConverterFactory.create(GsonProvider.getGson()))
+                .build()
+                .create(IDeviceAPI.class);
+
+        resetAuthManager();
+        authManager = AuthManager.getInstance(context);
+        authManager.edit().putTokens("access", "refresh", 3600).putUserInfo("user-1", "student").commit();
+        // Executor đồng bộ để test tuần tự
+        repository = new DeviceRepository(context, authManager, api, ignored -> {
+            computes.incrementAndGet();
+            return new DeviceFingerprint.Identity("fp-1", "pk", Collections.singletonList("cert"));
+        }, Runnable::run, Runnable::run);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+        authManager.flush();
+        resetAuthManager();
+    }
+
+    @Test
+    public void ensureFingerprint_computesOnce() {
+        repository.ensureFingerprint();
+        repository.ensureFingerprint();
+
+        assertEquals(1, computes.get());
+        assertEquals("fp-1", authManager.getDeviceRegistration().getFingerprint());
+    }
+
+    @Test
+    public void register_isOneShotPerUser() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"deviceId\":\"device-9\",\"fingerprint\":\"fp-1\"}"));
+
+        repository.register(callback());
+        repository.register(callback());
+
+        assertEquals(Collections.nCopies(2, "registered"), results);
+        assertEquals(1, server.getRequestCount());
+        RecordedRequest request = server.takeRequest();
+        assertEquals("/api/devices/register", request.getPath());
+        assertTrue(request.getBody().readUtf8().contains("\"fingerprint\":\"fp-1\""));
+        assertTrue(repository.isRegistered());
+
+        // Tài khoản khác trên cùng máy phải tự đăng ký
+        authManager.saveUserInfo("user-2", "student");
+        assertFalse(repository.isRegistered());
+    }
+
+    @Test
+    public void register_reportsServerError() {
+        server.enqueue(new MockResponse().setResponseCode(409)
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"message\":\"Device is registered to another account\"}"));
+
+        repository.register(callback());
+
+        assertEquals(Collections.singletonList("Device is registered to another account"), results);
+        assertFalse(repository.isRegistered());
+    }
+
+    private DeviceRepository.RegisterCallback callback() {
+        return new DeviceRepository.RegisterCallback() {
+            @Override
+            public void onRegistered() {
+                results.add("registered");
+            }
+
+            @Override
+            public void onError(String message) {
+                results.add(message);
+            }
+        };
+    }
+
+    /**
+     * Mỗi test một AuthManager mới trên prefs của Application hiện tại (constructor không public)
+     */
+    private static void resetAuthManager() throws Exception {
+        Field instance = AuthManager.class.getDeclaredField("instance");
+        instance.setAccessible(true);
+        instance.set(null, null);
+    }
+}
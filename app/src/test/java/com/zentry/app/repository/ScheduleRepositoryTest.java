@@ -0,0 +1,125 @@
+package com.zentry.app.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.app.Application;
+import android.os.Looper;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.zentry.app.api.IScheduleAPI;
+import com.zentry.app.model.entity.UserRole;
+import com.zentry.app.network.AuthManager;
+import com.zentry.app.network.GsonProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(application = Application.class)
+public class ScheduleRepositoryTest {
+    private static final String TODAY =
+            "[{\"id\":\"s1\",\"courseCode\":\"PRN211\",\"room\":\"304\",\"startTime\":\"07:30\"}]";
+    private static final String TODAY_USER_2 =
+            "[{\"id\":\"s2\",\"courseCode\":\"SWP391\",\"room\":\"210\",\"startTime\":\"09:30\"}]";
+
+    private MockWebServer server;
+    private AuthManager authManager;
+    private HomeDataCache cache;
+    private ScheduleRepository repository;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        IScheduleAPI api = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(GsonConverterFactory.create(GsonProvider.getGson()))
+                .build()
+                .create(IScheduleAPI.class);
+
+        authManager = AuthManager.getInstance(ApplicationProvider.getApplicationContext());
+        authManager.edit().putTokens("access", "refresh", 3600).putUserInfo("user-1", "student").commit();
+        cache = new HomeDataCache();
+        repository = new ScheduleRepository(api, cache, authManager);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        authManager.logout();
+        server.shutdown();
+    }
+
+    @Test
+    public void prefetchThenHomeLoad_sendsOneRequestAndHomeReadsCache() throws Exception {
+        server.enqueue(new MockResponse().setBody(TODAY).setBodyDelay(100, TimeUnit.MILLISECONDS));
+
+        repository.load(UserRole.STUDENT); // PostLoginPipeline
+        repository.load(UserRole.STUDENT); // StudentHomeFragment tạo xong trong lúc request đang chạy
+        awaitCached(UserRole.STUDENT, "user-1");
+
+        repository.load(UserRole.STUDENT); // quay lại home: cache còn mới
+        HomeDataCache.HomeData data = cache.get(UserRole.STUDENT, "user-1");
+        assertEquals("PRN211", data.getSessions().get(0).getCourseCode());
+        assertEquals(1, server.getRequestCount());
+
+        RecordedRequest request = server.takeRequest();
+        assertEquals("/api/schedules/student/today", request.getPath());
+    }
+
+    @Test
+    public void lecturer_loadsTeachingSchedule() throws Exception {
+        authManager.saveUserInfo("lecturer-1", "lecturer");
+        server.enqueue(new MockResponse().setBody(TODAY));
+
+        repository.load(UserRole.TEACHER);
+        awaitCached(UserRole.TEACHER, "lecturer-1");
+
+        assertEquals("/api/schedules/lecturer/teaching", server.takeRequest().getPath());
+        assertNull(cache.get(UserRole.STUDENT, "lecturer-1"));
+    }
+
+    @Test
+    public void resultForPreviousUser_isDiscarded() throws Exception {
+        server.enqueue(new MockResponse().setBody(TODAY).setBodyDelay(200, TimeUnit.MILLISECONDS));
+        server.enqueue(new MockResponse().setBody(TODAY_USER_2));
+
+        repository.load(UserRole.STUDENT);
+        server.takeRequest(); // request của user-1 đã đến server, response còn đang chờ
+        authManager.saveUserInfo("user-2", "student"); // đổi tài khoản khi prefetch chưa xong
+        repository.load(UserRole.STUDENT); // home của user-2 không chờ request của user-1
+        awaitCached(UserRole.STUDENT, "user-2");
+        Thread.sleep(500);
+        shadowOf(Looper.getMainLooper()).idle();
+
+        assertEquals(2, server.getRequestCount());
+        assertNull(cache.get(UserRole.STUDENT, "user-1"));
+        assertEquals("SWP391", cache.get(UserRole.STUDENT, "user-2").getSessions().get(0).getCourseCode());
+    }
+
+    private void awaitCached(UserRole role, String userId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (cache.get(role, userId) == null) {
+            assertTrue("home data not cached", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+            shadowOf(Looper.getMainLooper()).idle();
+        }
+        assertNotNull(cache.getData());
+    }
+}
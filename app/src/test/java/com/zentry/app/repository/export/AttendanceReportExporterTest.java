@@ -0,0 +1,158 @@
+package com.zentry.app.repository.export;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.zentry.app.adapter.AttendancePagingSource;
+import com.zentry.app.model.entity.AttendanceStatus;
+import com.zentry.app.model.response.AttendanceRecordModel;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+public class AttendanceReportExporterTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void csv_escapesQuotesCommasAndFormulas() throws Exception {
+        File target = new File(folder.getRoot(), "report.csv");
+        AttendancePagingSource source = singlePage(
+                record("1", "Nguyễn \"Bình\", Văn", AttendanceStatus.PRESENT),
+                record("2", "=HYPERLINK(\"x\")", AttendanceStatus.LATE),
+                record("3", "Line\nbreak", null));
+
+        long rows = new AttendanceReportExporter(source, 10).export(target, AttendanceReportExporter.Format.CSV, null);
+
+        assertEquals(3, rows);
+        String csv = readUtf8(target);
+        assertTrue(csv.startsWith("\uFEFFCourse,Session,Date,Student ID,Student name,Status\r\n"));
+        assertTrue(csv.contains("PRM392,s1,2024-09-10,SE1,\"Nguyễn \"\"Bình\"\", Văn\",Present\r\n"));
+        assertTrue(csv.contains("\"'=HYPERLINK(\"\"x\"\")\",Late\r\n"));
+        assertTrue(csv.contains("\"Line\nbreak\",Absent\r\n"));
+        assertFalse(new File(target.getPath() + ".part").exists());
+    }
+
+    @Test
+    public void xlsx_writesWorkbookParts() throws Exception {
+        File target = new File(folder.getRoot(), "report.xlsx");
+        AttendancePagingSource source = singlePage(
+                record("1", "A & B <C>", AttendanceStatus.PRESENT),
+                record("2", "Trần Thị D", AttendanceStatus.ABSENT));
+
+        new AttendanceReportExporter(source, 10).export(target, AttendanceReportExporter.Format.XLSX, null);
+
+        try (ZipFile zip = new ZipFile(target)) {
+            for (String part : Arrays.asList("[Content_Types].xml", "_rels/.rels", "xl/workbook.xml",
+                    "xl/_rels/workbook.xml.rels", "xl/worksheets/sheet1.xml")) {
+                assertNotNull(part, zip.getEntry(part));
+            }
+            ZipEntry sheet = zip.getEntry("xl/worksheets/sheet1.xml");
+            String xml = new Scanner(zip.getInputStream(sheet), "UTF-8").useDelimiter("\\A").next();
+            assertEquals(3, xml.split("<row>", -1).length - 1);
+            assertTrue(xml.contains("A &amp; B &lt;C&gt;"));
+            assertTrue(xml.contains("Trần Thị D"));
+        }
+    }
+
+    @Test
+    public void fileName_cannotLeaveReportsDirectory() throws Exception {
+        assertEquals("PRN211-attendance.csv",
+                AttendanceReportExporter.fileName("PRN211", AttendanceReportExporter.Format.CSV));
+        assertEquals("______etc_passwd-attendance.xlsx",
+                AttendanceReportExporter.fileName("../../etc/passwd", AttendanceReportExporter.Format.XLSX));
+        assertEquals("course-attendance.csv",
+                AttendanceReportExporter.fileName("", AttendanceReportExporter.Format.CSV));
+
+        File reports = folder.newFolder("reports");
+        File target = new File(reports, AttendanceReportExporter.fileName("..\\..", AttendanceReportExporter.Format.CSV));
+        assertEquals(reports.getCanonicalFile(), target.getCanonicalFile().getParentFile());
+    }
+
+    @Test
+    public void progress_reportedPerPage() throws Exception {
+        List<Long> progress = new ArrayList<>();
+        new AttendanceReportExporter(new GeneratedPagingSource(25), 10)
+                .export(new File(folder.getRoot(), "p.csv"), AttendanceReportExporter.Format.CSV, progress::add);
+
+        assertEquals(Arrays.asList(10L, 20L, 25L), progress);
+    }
+
+    @Test
+    public void interrupt_cancelsAndRemovesPartialFile() throws Exception {
+        File target = new File(folder.getRoot(), "cancel.csv");
+        AttendancePagingSource source = (offset, limit) -> {
+            if (offset >= 20) {
+                Thread.currentThread().interrupt(); // Người dùng bấm hủy giữa chừng
+            }
+            return new GeneratedPagingSource(Integer.MAX_VALUE).load(offset, limit);
+        };
+
+        try {
+            new AttendanceReportExporter(source, 10).export(target, AttendanceReportExporter.Format.CSV, null);
+            fail("Expected cancellation");
+        } catch (InterruptedIOException expected) {
+            assertTrue(Thread.interrupted());
+        }
+        assertFalse(target.exists());
+        assertArrayEquals(new String[0], folder.getRoot().list());
+    }
+
+    @Test
+    public void largeExport_runsUnderFixedHeapCap() throws Exception {
+        int rows = 500_000;
+        File target = new File(folder.getRoot(), "large.csv");
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process process = new ProcessBuilder(java, "-Xmx24m",
+                "-cp", System.getProperty("java.class.path"),
+                ExportHeapCapHarness.class.getName(), target.getPath(), String.valueOf(rows), "CSV")
+                .redirectErrorStream(true)
+                .start();
+        Scanner scanner = new Scanner(process.getInputStream(), "UTF-8").useDelimiter("\\A");
+        String output = scanner.hasNext() ? scanner.next() : "";
+        assertTrue("Export timed out", process.waitFor(2, TimeUnit.MINUTES));
+        assertEquals(output, 0, process.exitValue());
+
+        long lines = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(target), StandardCharsets.UTF_8))) {
+            while (reader.readLine() != null) {
+                lines++;
+            }
+        }
+        assertEquals(rows + 1, lines);
+    }
+
+    private static AttendancePagingSource singlePage(AttendanceRecordModel... records) {
+        List<AttendanceRecordModel> page = Arrays.asList(records);
+        return (offset, limit) -> offset == 0 ? page : Collections.emptyList();
+    }
+
+    private static AttendanceRecordModel record(String id, String studentName, AttendanceStatus status) {
+        return new AttendanceRecordModel(id, "s" + id, "PRM392", "SE" + id, studentName, "2024-09-10", status);
+    }
+
+    private static String readUtf8(File file) throws Exception {
+        return new Scanner(file, "UTF-8").useDelimiter("\\A").next();
+    }
+}
@@ -0,0 +1,20 @@
+package com.zentry.app.repository.export;
+
+import java.io.File;
+
+/**
+ * Chạy trong JVM con với -Xmx nhỏ: export args[1] dòng ra args[0].
+ * Exit code 0 nếu export xong, OutOfMemoryError làm JVM thoát với mã khác 0.
+ */
+public final class ExportHeapCapHarness {
+    private ExportHeapCapHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        File target = new File(args[0]);
+        int rows = Integer.parseInt(args[1]);
+        AttendanceReportExporter.Format format = AttendanceReportExporter.Format.valueOf(args[2]);
+        long written = new AttendanceReportExporter(new GeneratedPagingSource(rows)).export(target, format, null);
+        System.exit(written == rows ? 0 : 2);
+    }
+}
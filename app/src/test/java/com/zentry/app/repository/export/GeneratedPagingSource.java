@@ -0,0 +1,31 @@
+package com.zentry.app.repository.export;
+
+import com.zentry.app.adapter.AttendancePagingSource;
+import com.zentry.app.model.entity.AttendanceStatus;
+import com.zentry.app.model.response.AttendanceRecordModel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Source sinh dữ liệu theo offset, không giữ dòng nào trong bộ nhớ
+ */
+class GeneratedPagingSource implements AttendancePagingSource {
+    private final int total;
+
+    GeneratedPagingSource(int total) {
+        this.total = total;
+    }
+
+    @Override
+    public List<AttendanceRecordModel> load(int offset, int limit) {
+        int end = Math.min(total, offset + limit);
+        List<AttendanceRecordModel> page = new ArrayList<>(Math.max(0, end - offset));
+        for (int i = offset; i < end; i++) {
+            page.add(new AttendanceRecordModel("r" + i, "s" + (i / 40), "PRM392", "SE" + (100000 + i % 40),
+                    "Student " + (i % 40), "2024-09-" + (10 + i % 20),
+                    AttendanceStatus.values()[i % 3]));
+        }
+        return page;
+    }
+}
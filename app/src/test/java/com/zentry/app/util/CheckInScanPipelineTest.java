@@ -0,0 +1,210 @@
+package com.zentry.app.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.zentry.app.network.LatencyHistogram;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CheckInScanPipelineTest {
+    private static final int WIDTH = 1280;
+    private static final int HEIGHT = 720;
+    private static final int ROW_STRIDE = 1344; // Padding cuối dòng như camera thật
+    private static final float ROI = 0.7f;
+    private static final long DECODE_P99_BUDGET_MICROS = 33_000; // Một frame camera 30 fps
+
+    private final SessionCodeGenerator generator = SessionCodeGenerator.forSession("session-7",
+            "secret".getBytes(StandardCharsets.US_ASCII), 5_000, 6);
+
+    @Test
+    public void parse_acceptsOnlyCheckInPayloads() {
+        CheckInPayload payload = CheckInPayload.parse("ZENTRY:course:a:b:123:004211");
+        assertNotNull(payload);
+        assertEquals("course:a:b", payload.getSessionId());
+        assertEquals(123, payload.getStep());
+        assertEquals("004211", payload.getCode());
+
+        assertNull(CheckInPayload.parse("https://wifi.example.edu"));
+        assertNull(CheckInPayload.parse("ZENTRY:s1:12:"));
+        assertNull(CheckInPayload.parse("ZENTRY:s1:x:123456"));
+        assertNull(CheckInPayload.parse("ZENTRY:s1:12:12ab56"));
+    }
+
+    /**
+     * Decode bộ frame mẫu (QR chụp ở nhiều kích thước/độ lệch/độ tương phản),
+     * p99 độ trễ decode trong ngân sách và cấp phát mỗi frame dưới 2 lần kích thước ROI
+     */
+    @Test
+    public void decode_sampleCorpusWithinLatencyAndAllocationBudget() {
+        List<LumaFrame> corpus = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        Random random = new Random(42);
+        int[] qrSizes = {220, 300, 420};
+        for (int i = 0; i < 24; i++) {
+            long step = 10_000 + i;
+            String payload = generator.payloadAt(step, generator.formatCode(generator.codeAt(step)));
+            int qrSize = qrSizes[i % qrSizes.length];
+            int dx = random.nextInt(81) - 40;
+            int dy = random.nextInt(61) - 30;
+            int contrast = 120 + random.nextInt(120); // Máy chiếu mờ: đen không hẳn đen, trắng không hẳn trắng
+            corpus.add(frameWithQr(payload, qrSize, dx, dy, contrast, random));
+            expected.add(payload);
+        }
+
+        // Warm-up JIT trên pipeline riêng để histogram chỉ có số đo sau warm-up
+        CheckInScanPipeline warmUp = new CheckInScanPipeline(payload -> { }, ROI);
+        for (int round = 0; round < 5; round++) {
+            for (LumaFrame frame : corpus) {
+                warmUp.decode(frame);
+            }
+        }
+
+        CheckInScanPipeline pipeline = new CheckInScanPipeline(payload -> { }, ROI);
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < corpus.size(); i++) {
+            CheckInPayload decoded = pipeline.decode(corpus.get(i));
+            assertNotNull("Frame " + i + " not decoded", decoded);
+            assertEquals(expected.get(i), CheckInPayload.format(decoded.getSessionId(), decoded.getStep(), decoded.getCode()));
+        }
+        long allocatedPerFrame = (threads.getThreadAllocatedBytes(threadId) - allocatedBefore) / corpus.size();
+
+        LatencyHistogram latency = pipeline.getDecodeLatency();
+        int side = (int) (HEIGHT * ROI);
+        System.out.printf(Locale.ROOT, "decode p50 %d us, p99 %d us, %d B/frame (ROI %d B)%n",
+                latency.getPercentileMicros(50), latency.getPercentileMicros(99), allocatedPerFrame, side * side);
+        assertEquals(corpus.size(), latency.getCount());
+        assertTrue("p99 " + latency.getPercentileMicros(99) + " us",
+                latency.getPercentileMicros(99) <= DECODE_P99_BUDGET_MICROS);
+        // Bản sao luma của ROI và BitMatrix nhị phân hoá, không cấp phát cỡ cả frame
+        assertTrue(allocatedPerFrame + " B/frame", allocatedPerFrame < (long) side * side * 2);
+    }
+
+    @Test
+    public void decode_ignoresCodesOutsideRoi() {
+        CheckInScanPipeline pipeline = new CheckInScanPipeline(payload -> { }, 0.4f);
+        String payload = generator.payloadAt(1, generator.formatCode(generator.codeAt(1)));
+
+        // QR lệch trái, chỉ một phần nằm trong ROI nhỏ ở giữa
+        LumaFrame frame = frameWithQr(payload, 240, -200, 0, 255, new Random(1));
+
+        assertNull(pipeline.decode(frame));
+        assertNotNull(new CheckInScanPipeline(p -> { }, 1f).decode(frame));
+    }
+
+    @Test
+    public void submit_keepsOnlyLatestFrame() {
+        CheckInScanPipeline pipeline = new CheckInScanPipeline(payload -> { }, ROI);
+        LumaFrame first = pipeline.acquireFrame();
+        LumaFrame second = pipeline.acquireFrame();
+        LumaFrame third = pipeline.acquireFrame();
+        assertNull("Pool is fixed-size", pipeline.acquireFrame());
+
+        pipeline.submit(first);
+        pipeline.submit(second);
+        pipeline.submit(third);
+
+        assertEquals(3, pipeline.getSubmittedCount());
+        assertEquals(2, pipeline.getDroppedCount());
+        // Frame bị bỏ quay lại pool để camera ghi tiếp
+        assertSame(first, pipeline.acquireFrame());
+        assertSame(second, pipeline.acquireFrame());
+    }
+
+    @Test
+    public void worker_stopsOnFirstValidCode() throws Exception {
+        CountDownLatch decoded = new CountDownLatch(1);
+        AtomicInteger callbacks = new AtomicInteger();
+        List<CheckInPayload> results = new ArrayList<>();
+        CheckInScanPipeline pipeline = new CheckInScanPipeline(payload -> {
+            callbacks.incrementAndGet();
+            results.add(payload);
+            decoded.countDown();
+        }, ROI);
+        pipeline.start();
+
+        try {
+            // QR không phải của Zentry: bỏ qua, tiếp tục quét
+            submit(pipeline, frameWithQr("https://wifi.example.edu", 300, 0, 0, 255, new Random(2)));
+            String payload = generator.payloadAt(5, generator.formatCode(generator.codeAt(5)));
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (decoded.getCount() > 0 && System.currentTimeMillis() < deadline) {
+                LumaFrame frame = pipeline.acquireFrame();
+                if (frame != null) {
+                    copyInto(frameWithQr(payload, 300, 0, 0, 255, new Random(3)), frame);
+                    pipeline.submit(frame);
+                }
+                decoded.await(10, TimeUnit.MILLISECONDS);
+            }
+
+            assertTrue(decoded.await(0, TimeUnit.MILLISECONDS));
+            assertTrue(pipeline.isFinished());
+            assertNull("No frames accepted after finishing", pipeline.acquireFrame());
+            assertEquals(1, callbacks.get());
+            assertEquals("session-7", results.get(0).getSessionId());
+            assertEquals(5, results.get(0).getStep());
+        } finally {
+            pipeline.stop();
+        }
+    }
+
+    private static void submit(CheckInScanPipeline pipeline, LumaFrame source) {
+        LumaFrame frame = pipeline.acquireFrame();
+        copyInto(source, frame);
+        pipeline.submit(frame);
+    }
+
+    private static void copyInto(LumaFrame source, LumaFrame target) {
+        byte[] data = target.ensureCapacity(source.getData().length);
+        System.arraycopy(source.getData(), 0, data, 0, source.getData().length);
+        target.setGeometry(source.getWidth(), source.getHeight(), source.getRowStride(), source.getTimestampNanos());
+    }
+
+    /**
+     * Frame Y giả lập ảnh chụp máy chiếu: nền xám có nhiễu, QR ở giữa lệch (dx, dy)
+     */
+    private static LumaFrame frameWithQr(String payload, int qrSize, int dx, int dy, int contrast, Random random) {
+        QrPixelEncoder encoder = new QrPixelEncoder(qrSize);
+        int[] qr = new int[encoder.getPixelCount()];
+        try {
+            encoder.encodeInto(payload, qr);
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+
+        LumaFrame frame = new LumaFrame();
+        byte[] data = frame.ensureCapacity(ROW_STRIDE * HEIGHT);
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (90 + random.nextInt(40));
+        }
+        int dark = (255 - contrast) / 2;
+        int left = (WIDTH - qrSize) / 2 + dx;
+        int top = (HEIGHT - qrSize) / 2 + dy;
+        for (int y = 0; y < qrSize; y++) {
+            for (int x = 0; x < qrSize; x++) {
+                int base = qr[y * qrSize + x] == QrPixelEncoder.BLACK ? dark : dark + contrast;
+                int value = Math.max(0, Math.min(255, base + random.nextInt(17) - 8));
+                data[(top + y) * ROW_STRIDE + left + x] = (byte) value;
+            }
+        }
+        frame.setGeometry(WIDTH, HEIGHT, ROW_STRIDE, 0);
+        return frame;
+    }
+}
@@ -0,0 +1,54 @@
+package com.zentry.app.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+public class SessionCodeGeneratorTest {
+    private static final byte[] RFC_6238_KEY = "12345678901234567890".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    public void codeAt_matchesRfc6238Sha1Vectors() {
+        SessionCodeGenerator generator = new SessionCodeGenerator("s1", RFC_6238_KEY, 30_000, 8);
+
+        assertEquals("94287082", code(generator, 59L));
+        assertEquals("07081804", code(generator, 1111111109L));
+        assertEquals("14050471", code(generator, 1111111111L));
+        assertEquals("89005924", code(generator, 1234567890L));
+        assertEquals("69279037", code(generator, 2000000000L));
+        assertEquals("65353130", code(generator, 20000000000L));
+    }
+
+    @Test
+    public void forSession_derivesDifferentCodesPerSession() {
+        byte[] secret = "course-secret".getBytes(StandardCharsets.US_ASCII);
+        SessionCodeGenerator first = SessionCodeGenerator.forSession("session-1", secret, 5_000, 6);
+        SessionCodeGenerator second = SessionCodeGenerator.forSession("session-2", secret, 5_000, 6);
+
+        int same = 0;
+        for (long step = 0; step < 20; step++) {
+            if (first.codeAt(step) == second.codeAt(step)) {
+                same++;
+            }
+        }
+        assertNotEquals(20, same);
+        assertEquals(first.codeAt(7), SessionCodeGenerator.forSession("session-1", secret, 5_000, 6).codeAt(7));
+    }
+
+    @Test
+    public void stepAt_alignsToStepBoundaries() {
+        SessionCodeGenerator generator = new SessionCodeGenerator("s1", RFC_6238_KEY, 5_000, 6);
+
+        assertEquals(0, generator.stepAt(4_999));
+        assertEquals(1, generator.stepAt(5_000));
+        assertEquals(10_000, generator.stepStartMillis(2));
+        assertEquals("ZENTRY:s1:2:001234", generator.payloadAt(2, generator.formatCode(1234)));
+    }
+
+    private static String code(SessionCodeGenerator generator, long epochSeconds) {
+        return generator.formatCode(generator.codeAt(generator.stepAt(epochSeconds * 1_000)));
+    }
+}
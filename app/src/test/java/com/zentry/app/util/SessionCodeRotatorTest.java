@@ -0,0 +1,102 @@
+package com.zentry.app.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.RGBLuminanceSource;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.qrcode.QRCodeReader;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+
+public class SessionCodeRotatorTest {
+    private static final int SIZE_PX = 300;
+    private static final int AHEAD = 3;
+
+    private final SessionCodeGenerator generator = SessionCodeGenerator.forSession("session-42",
+            "secret".getBytes(StandardCharsets.US_ASCII), 5_000, 6);
+    private final SessionCodeRotator rotator = new SessionCodeRotator(generator, new QrPixelEncoder(SIZE_PX), AHEAD);
+
+    @After
+    public void tearDown() {
+        rotator.stop();
+    }
+
+    @Test
+    public void precomputesUpcomingStepsAsScannableQr() throws Exception {
+        long step = 1_000;
+        rotator.start(generator.stepStartMillis(step));
+
+        for (long s = step; s <= step + AHEAD; s++) {
+            SessionCodeRotator.Frame frame = awaitFrame(s);
+            assertEquals(generator.formatCode(generator.codeAt(s)), frame.getCode());
+            assertEquals(generator.payloadAt(s, frame.getCode()), decode(frame.getPixels()));
+        }
+    }
+
+    @Test
+    public void rotation_reusesRingWithoutOverwritingShownFrame() throws Exception {
+        long step = 50;
+        rotator.start(generator.stepStartMillis(step));
+        SessionCodeRotator.Frame shown = awaitFrame(step);
+        SessionCodeRotator.Frame first = shown;
+
+        // Xoay qua nhiều vòng ring: frame dùng lại đúng các object ban đầu
+        for (long s = step + 1; s <= step + 2 * (AHEAD + 2); s++) {
+            SessionCodeRotator.Frame next = awaitFrame(s);
+            assertEquals(s - 1, shown.getStep()); // Frame vừa hiển thị vẫn còn nguyên
+            if (s == step + AHEAD + 2) {
+                assertSame(first, next);
+            }
+            shown = next;
+        }
+    }
+
+    /**
+     * Thay cho benchmark: đo số byte cấp phát trên thread UI cho mỗi tick (phải ~0)
+     */
+    @Test
+    public void frameFor_doesNotAllocateOnTickPath() throws Exception {
+        long step = 7;
+        rotator.start(generator.stepStartMillis(step));
+        awaitFrame(step);
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        int ticks = 100_000;
+        long before = threads.getThreadAllocatedBytes(threadId);
+        long shown = 0;
+        for (int i = 0; i < ticks; i++) {
+            if (rotator.frameFor(step) != null) {
+                shown++;
+            }
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(ticks, shown);
+        assertTrue("Allocated " + allocated + " bytes over " + ticks + " ticks", allocated < 1_024);
+    }
+
+    private SessionCodeRotator.Frame awaitFrame(long step) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        SessionCodeRotator.Frame frame;
+        while ((frame = rotator.frameFor(step)) == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertNotNull("Frame for step " + step + " not ready", frame);
+        return frame;
+    }
+
+    private static String decode(int[] pixels) throws Exception {
+        RGBLuminanceSource source = new RGBLuminanceSource(SIZE_PX, SIZE_PX, pixels);
+        return new QRCodeReader().decode(new BinaryBitmap(new HybridBinarizer(source))).getText();
+    }
+}
@@ -0,0 +1,53 @@
+package com.zentry.app.util;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@RunWith(RobolectricTestRunner.class)
+public class TokenUtilsTest {
+    private static final long EXP_SECONDS = 1_893_456_000L; // 2030-01-01T00:00:00Z
+
+    @Test
+    public void getExpiryMillis_readsExpClaim() {
+        String jwt = jwt("{\"sub\":\"user-1\",\"exp\":" + EXP_SECONDS + "}");
+
+        assertEquals(EXP_SECONDS * 1000L, TokenUtils.getExpiryMillis(jwt));
+    }
+
+    @Test
+    public void getExpiryMillis_acceptsUrlSafePayloadWithoutPadding() {
+        // "?>" mã hóa thành ký tự '-'/'_' trong base64url
+        String jwt = jwt("{\"name\":\"?>?>\",\"exp\":" + EXP_SECONDS + "}");
+
+        assertEquals(EXP_SECONDS * 1000L, TokenUtils.getExpiryMillis(jwt));
+    }
+
+    @Test
+    public void getExpiryMillis_returnsZeroForMalformedTokens() {
+        assertEquals(0, TokenUtils.getExpiryMillis(null));
+        assertEquals(0, TokenUtils.getExpiryMillis("opaque-token"));
+        assertEquals(0, TokenUtils.getExpiryMillis("header.%%%.signature"));
+        assertEquals(0, TokenUtils.getExpiryMillis(jwt("not json")));
+        assertEquals(0, TokenUtils.getExpiryMillis(jwt("{\"sub\":\"user-1\"}")));
+    }
+
+    @Test
+    public void computeExpiresAt_prefersServerExpiresIn() {
+        String jwt = jwt("{\"exp\":" + EXP_SECONDS + "}");
+
+        assertEquals(1_000L + 3_600_000L, TokenUtils.computeExpiresAt(jwt, 3600, 1_000L));
+        assertEquals(EXP_SECONDS * 1000L, TokenUtils.computeExpiresAt(jwt, 0, 1_000L));
+    }
+
+    private static String jwt(String payload) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8)) + '.'
+                + encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + ".signature";
+    }
+}